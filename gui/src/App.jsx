@@ -1,10 +1,16 @@
 import { Toaster } from "react-hot-toast";
 import { useLocation } from "react-router-dom";
+import { useAtomValue } from "jotai";
+import { authAtom } from "./services/atoms";
+import { useChangeEvents } from "./services/hooks";
 import Header from "./components/Header";
 import RouterList from "./components/RouterList";
 
 const App = () => {
   const location = useLocation();
+  const auth = useAtomValue(authAtom);
+  // Push server-side changes into the query cache while logged in
+  useChangeEvents(auth?.token);
   const excludeHeaderRoutes = ["/"]; // maybe /signup later
 
   // Check if current path is in excluded routes
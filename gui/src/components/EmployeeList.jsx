@@ -18,7 +18,8 @@ import {
   Stack,
   InputAdornment,
   CircularProgress,
-  Typography
+  Typography,
+  MenuItem
 } from "@mui/material";
 import PersonAddAlt1Icon from "@mui/icons-material/PersonAddAlt1";
 import { toast } from "react-hot-toast";
@@ -28,7 +29,7 @@ import { useForm } from "react-hook-form";
 import { yupResolver } from "@hookform/resolvers/yup";
 
 import { employeesAtom } from "../services/atoms";
-import { useEmployeePartialDetails } from "../services/hooks";
+import { useEmployeeSummaryPage } from "../services/hooks";
 import { authAtom } from "../services/atoms";
 import { employeeSchema } from "../services/schema";
 import { createEmployee as apiCreateEmployee } from "../services/http";
@@ -36,6 +37,15 @@ import { userKeys, employeeKeys } from "../services/queryKeyFactory";
 
 const Loader = lazy(() => import("./Loader"));
 
+const PAGE_SIZE_OPTIONS = [10, 25, 50, 100];
+const SORT_OPTIONS = [
+  { value: "lastName", label: "Last Name (A-Z)" },
+  { value: "-lastName", label: "Last Name (Z-A)" },
+  { value: "firstName", label: "First Name (A-Z)" },
+  { value: "employeeNumber", label: "Employee Number (ascending)" },
+  { value: "-employeeNumber", label: "Employee Number (descending)" },
+];
+
 const EmployeeList = () => {
   const [employees, setEmployees] = useAtom(employeesAtom);
   const auth = useAtomValue(authAtom);
@@ -43,12 +53,39 @@ const EmployeeList = () => {
   const queryClient = useQueryClient();
   const [openCreateModal, setOpenCreateModal] = useState(false);
 
+  // Cursor paging: cursors[i] is the cursor that fetches page i (page 0 has none).
+  // Pages resume after the last row the server returned, so rows never repeat or
+  // get skipped when employees are added or removed between clicks.
+  const [pageSize, setPageSize] = useState(25);
+  const [sort, setSort] = useState("lastName");
+  const [nameInput, setNameInput] = useState("");
+  const [name, setName] = useState("");
+  const [cursors, setCursors] = useState([null]);
+  const pageIndex = cursors.length - 1;
+
+  // Debounce the last-name search so typing doesn't fire a request per keystroke
+  useEffect(() => {
+    const timer = setTimeout(() => setName(nameInput.trim()), 300);
+    return () => clearTimeout(timer);
+  }, [nameInput]);
+
+  // Any change to the ordering or filter starts again from the first page
+  useEffect(() => {
+    setCursors([null]);
+  }, [pageSize, sort, name]);
+
   const {
     data: employeesData,
     isLoading,
     isError,
     error,
-  } = useEmployeePartialDetails(auth?.token);
+    isFetching,
+  } = useEmployeeSummaryPage(auth?.token, {
+    limit: pageSize,
+    sort,
+    name,
+    cursor: cursors[pageIndex],
+  });
 
   // React Hook Form setup for create employee form
   const {
@@ -102,7 +139,7 @@ const EmployeeList = () => {
 
   useEffect(() => {
     if (employeesData) {
-      setEmployees(employeesData);
+      setEmployees(employeesData.items);
     }
   }, [employeesData, setEmployees]);
 
@@ -120,6 +157,16 @@ const EmployeeList = () => {
     "Pag-IBIG",
   ];
 
+  const handleNextPage = () => {
+    if (employeesData?.nextCursor) {
+      setCursors((prev) => [...prev, employeesData.nextCursor]);
+    }
+  };
+
+  const handlePreviousPage = () => {
+    setCursors((prev) => (prev.length > 1 ? prev.slice(0, -1) : prev));
+  };
+
   const handleOpenCreateModal = () => {
     reset(); // Reset form when opening
     setOpenCreateModal(true);
@@ -147,7 +194,40 @@ const EmployeeList = () => {
     <Box sx={{ p: 3 }}>
       {" "}
       {/* Added Box for padding */}
-      <Box sx={{ display: "flex", justifyContent: "flex-end", mb: 2 }}>
+      <Box
+        sx={{
+          display: "flex",
+          justifyContent: "space-between",
+          alignItems: "center",
+          flexWrap: "wrap",
+          gap: 2,
+          mb: 2,
+        }}
+      >
+        <Stack direction={{ xs: "column", sm: "row" }} spacing={2}>
+          <TextField
+            label="Search last name"
+            value={nameInput}
+            onChange={(e) => setNameInput(e.target.value)}
+            size="small"
+            variant="outlined"
+            sx={{ "& .MuiOutlinedInput-root": { borderRadius: 2 } }}
+          />
+          <TextField
+            select
+            label="Sort by"
+            value={sort}
+            onChange={(e) => setSort(e.target.value)}
+            size="small"
+            sx={{ minWidth: 220, "& .MuiOutlinedInput-root": { borderRadius: 2 } }}
+          >
+            {SORT_OPTIONS.map((option) => (
+              <MenuItem key={option.value} value={option.value}>
+                {option.label}
+              </MenuItem>
+            ))}
+          </TextField>
+        </Stack>
         <Button
           variant="contained"
           color="primary"
@@ -207,6 +287,50 @@ const EmployeeList = () => {
           </TableBody>
         </Table>
       </TableContainer>
+      <Box
+        sx={{
+          display: "flex",
+          justifyContent: "flex-end",
+          alignItems: "center",
+          gap: 2,
+          mt: 2,
+        }}
+      >
+        {isFetching && <CircularProgress size={20} />}
+        <TextField
+          select
+          label="Rows per page"
+          value={pageSize}
+          onChange={(e) => setPageSize(Number(e.target.value))}
+          size="small"
+          sx={{ minWidth: 130 }}
+        >
+          {PAGE_SIZE_OPTIONS.map((size) => (
+            <MenuItem key={size} value={size}>
+              {size}
+            </MenuItem>
+          ))}
+        </TextField>
+        <Typography variant="body2">Page {pageIndex + 1}</Typography>
+        <Button
+          variant="outlined"
+          size="small"
+          onClick={handlePreviousPage}
+          disabled={pageIndex === 0 || isFetching}
+          sx={{ borderRadius: 2 }}
+        >
+          Previous
+        </Button>
+        <Button
+          variant="outlined"
+          size="small"
+          onClick={handleNextPage}
+          disabled={!employeesData?.hasMore || isFetching}
+          sx={{ borderRadius: 2 }}
+        >
+          Next
+        </Button>
+      </Box>
       {/* NEW: Create Employee Modal */}
       <Dialog
         open={openCreateModal}
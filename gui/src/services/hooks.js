@@ -1,6 +1,7 @@
-import { useQuery } from "@tanstack/react-query";
-import { employeeKeys, salaryKeys } from "./queryKeyFactory";
-import { getEmployeePartialDetails, getEmployeeByEmployeeNumber, fetchEmployeeMonthlySalary, fetchMonthlyCutoffs } from "./http";
+import { useEffect } from "react";
+import { useQuery, useQueryClient, keepPreviousData } from "@tanstack/react-query";
+import { employeeKeys, salaryKeys, userKeys } from "./queryKeyFactory";
+import { getEmployeePartialDetails, getEmployeeSummaryPage, searchEmployees, getEmployeeByEmployeeNumber, fetchEmployeeMonthlySalary, fetchMonthlyCutoffs, getEmployeeChanges, streamChangeEvents } from "./http";
 
 export const useEmployeePartialDetails = (accessToken) => {
   return useQuery({
@@ -12,6 +13,30 @@ export const useEmployeePartialDetails = (accessToken) => {
   });
 };
 
+// One page of employee summaries. The previous page stays on screen while the next one loads.
+export const useEmployeeSummaryPage = (accessToken, params) => {
+  return useQuery({
+    queryKey: employeeKeys.page(params),
+    queryFn: () => getEmployeeSummaryPage(params),
+    placeholderData: keepPreviousData,
+    staleTime: 60 * 1000,
+    retry: 1,
+    enabled: !!accessToken,
+  });
+};
+
+// Type-ahead search; pass an already debounced query. Earlier results stay visible while typing.
+export const useEmployeeSearch = (accessToken, q, limit = 10) => {
+  return useQuery({
+    queryKey: employeeKeys.search(q, limit),
+    queryFn: () => searchEmployees(q, limit),
+    placeholderData: keepPreviousData,
+    staleTime: 30 * 1000,
+    retry: 1,
+    enabled: !!accessToken && !!q?.trim(),
+  });
+};
+
 export const useFetchByEmployeeNumber = (accessToken, employeeNumber) => {
   return useQuery({
     queryKey: employeeKeys.detail(employeeNumber),
@@ -46,3 +71,121 @@ export function useFetchEmployeeMonthlySalary(accessToken, employeeNumber, yearM
     },
   });
 }
+
+// Copies the fields a cached summary row has from the full employee record pushed by the server.
+const patchSummary = (summary, employee) =>
+  Object.fromEntries(Object.keys(summary).map((field) => [field, employee[field] ?? summary[field]]));
+
+// Applies one change event to the query cache: upserts replace the cached detail and patch the
+// matching list rows in place; deletes and new employees change page boundaries, so lists refetch.
+const applyChangeEvent = (queryClient, event) => {
+  switch (event.type) {
+    case "employee": {
+      if (event.op === "delete") {
+        queryClient.removeQueries({ queryKey: employeeKeys.detail(event.key) });
+        queryClient.invalidateQueries({ queryKey: employeeKeys.lists() });
+        queryClient.invalidateQueries({ queryKey: employeeKeys.detail("partialDetails") });
+        break;
+      }
+      queryClient.setQueryData(employeeKeys.detail(event.key), event.data);
+      let found = false;
+      const patchRows = (rows) =>
+        rows.map((row) => {
+          if (row.employeeNumber !== event.key) return row;
+          found = true;
+          return patchSummary(row, event.data);
+        });
+      queryClient.setQueriesData({ queryKey: employeeKeys.lists() }, (page) =>
+        page?.items ? { ...page, items: patchRows(page.items) } : page
+      );
+      queryClient.setQueryData(employeeKeys.detail("partialDetails"), (rows) =>
+        Array.isArray(rows) ? patchRows(rows) : rows
+      );
+      if (!found) {
+        queryClient.invalidateQueries({ queryKey: employeeKeys.lists() }); // A new employee
+      }
+      queryClient.invalidateQueries({ queryKey: salaryKeys.all });
+      break;
+    }
+    case "user":
+      queryClient.invalidateQueries({ queryKey: userKeys.all });
+      break;
+    case "payroll":
+      queryClient.invalidateQueries({ queryKey: salaryKeys.all });
+      break;
+    default:
+      break;
+  }
+};
+
+// Catches up after missed events: applies only the employees changed since the last seen version,
+// falling back to refetching everything when the server's change log no longer reaches back that far.
+const catchUp = async (queryClient, sync) => {
+  if (sync.epoch && sync.employeeVersion !== null) {
+    try {
+      const changeSet = await getEmployeeChanges(`${sync.epoch}.${sync.employeeVersion}`);
+      if (!changeSet.resyncRequired) {
+        changeSet.changes.forEach((change) => applyChangeEvent(queryClient, { type: "employee", ...change }));
+        sync.employeeVersion = changeSet.version;
+        queryClient.invalidateQueries({ queryKey: userKeys.all });
+        queryClient.invalidateQueries({ queryKey: salaryKeys.all });
+        return;
+      }
+      sync.employeeVersion = changeSet.version;
+    } catch (error) {
+      console.error("Delta sync failed, refetching:", error);
+    }
+  }
+  queryClient.invalidateQueries();
+};
+
+// Keeps the query cache in sync with server-side changes over /api/protected/events,
+// reconnecting with backoff when the stream drops; missed employee changes are fetched as a delta.
+export function useChangeEvents(accessToken) {
+  const queryClient = useQueryClient();
+
+  useEffect(() => {
+    if (!accessToken) return undefined;
+    const controller = new AbortController();
+    const sync = { epoch: null, employeeVersion: null };
+    let lastEventId = null;
+    let retryDelay = 1000;
+
+    const onOpen = (epoch) => {
+      if (sync.epoch && epoch !== sync.epoch) {
+        // The server restarted: versions start over, so nothing cached can be trusted
+        sync.employeeVersion = null;
+        lastEventId = null;
+        queryClient.invalidateQueries();
+      }
+      sync.epoch = epoch;
+    };
+    const onEvent = (event) => {
+      lastEventId = event.id;
+      retryDelay = 1000;
+      if (event.type === "resync") {
+        catchUp(queryClient, sync);
+        return;
+      }
+      if (event.type === "employee") {
+        sync.employeeVersion = event.version;
+      }
+      applyChangeEvent(queryClient, event);
+    };
+
+    const run = async () => {
+      while (!controller.signal.aborted) {
+        try {
+          await streamChangeEvents(onEvent, controller.signal, lastEventId, onOpen);
+        } catch (error) {
+          if (controller.signal.aborted) return;
+          console.error("Change event stream error:", error);
+        }
+        await new Promise((resolve) => setTimeout(resolve, retryDelay));
+        retryDelay = Math.min(retryDelay * 2, 30000);
+      }
+    };
+    run();
+    return () => controller.abort();
+  }, [accessToken, queryClient]);
+}
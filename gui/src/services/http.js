@@ -111,6 +111,24 @@ const getEmployeePartialDetails = async () => {
   }
 };
 
+// Cursor-paginated employee summaries: params = { limit, sort, cursor, name, status }.
+// Resolves to { items, nextCursor, hasMore, limit, sort }.
+const getEmployeeSummaryPage = async (params) => {
+  try {
+    const response = await http.get("/api/protected/employees", {
+      params: Object.fromEntries(
+        Object.entries(params).filter(([, value]) => value !== undefined && value !== null && value !== "")
+      ),
+    });
+    return response.data;
+  } catch (error) {
+    console.error("Error fetching employee page:", error);
+    throw new Error(
+      error.response?.data?.message || "Failed to fetch employees list!"
+    );
+  }
+};
+
 const getEmployeeByEmployeeNumber = async (employeeNumber) => {
   try {
     const response = await http.get(
@@ -180,15 +198,158 @@ const fetchEmployeeMonthlySalary = async (employeeNumber, yearMonth) => {
   }
 };
 
+// Details of several employees in one request, e.g. for a team view.
+// Resolves to { total, found, missing, results: [{ employeeNumber, status, message, data }] }.
+const getEmployeesByNumber = async (employeeNumbers) => {
+  try {
+    const response = await http.post("/api/protected/employees:multiGet", { employeeNumbers });
+    return response.data;
+  } catch (error) {
+    console.error("Error fetching employees:", error);
+    throw new Error(error.response?.data?.message || "Failed to fetch employees!");
+  }
+};
+
+// Monthly salaries of several employees in one request; same response shape as getEmployeesByNumber.
+const fetchEmployeesMonthlySalaries = async (employeeNumbers, yearMonth) => {
+  try {
+    const response = await http.post("/api/protected/employees/salary:multiGet", { employeeNumbers, yearMonth });
+    return response.data;
+  } catch (error) {
+    console.error("Error fetching employee monthly salaries:", error);
+    throw new Error(error.response?.data?.message || "Failed to fetch employee monthly salaries!");
+  }
+};
+
+// Ranked type-ahead search over names, positions and supervisors; tolerates typos in longer words.
+// Resolves to { query, items: [{ ...employee, score, matchedFields }], limit, truncated }.
+const searchEmployees = async (q, limit) => {
+  try {
+    const response = await http.get("/api/protected/employees/search", { params: { q, limit } });
+    return response.data;
+  } catch (error) {
+    console.error("Error searching employees:", error);
+    throw new Error(error.response?.data?.message || "Failed to search employees!");
+  }
+};
+
+// Distribution of a salary field: { field, count, lowest, highest, percentiles: { p50, ... }, bands: [{ from, to, count }] }.
+// params: { field, min, max, percentiles: "25,50,75,90", bounds: "0,20000,40000" or width: 10000 }
+const getSalaryStats = async (params) => {
+  try {
+    const response = await http.get("/api/protected/employees/salary-stats", { params });
+    return response.data;
+  } catch (error) {
+    console.error("Error fetching salary statistics:", error);
+    throw new Error(error.response?.data?.message || "Failed to fetch salary statistics!");
+  }
+};
+
+// An employee's reports down to `depth` levels (default 1): { depth, supervisor, supervisorEmployeeNumber,
+// employee: { employeeNumber, ..., directReports, subtreeHeadcount, subtreePayrollCost, reports: [...] } }.
+const getEmployeeReports = async (employeeNumber, depth = 1) => {
+  try {
+    const response = await http.get(`/api/protected/employees/${employeeNumber}/reports`, { params: { depth } });
+    return response.data;
+  } catch (error) {
+    console.error(`Error fetching reports of employee ${employeeNumber}:`, error);
+    throw new Error(error.response?.data?.message || "Failed to fetch reports!");
+  }
+};
+
+// Home page summary: { workforce: { headcount, headcountByStatus, monthlyPayrollCost },
+// latestCutoff, cutoffCount, recentChanges: [{ type, op, key, label, version, timestamp }] }.
+const getDashboard = async (changes = 10) => {
+  try {
+    const response = await http.get("/api/protected/dashboard", { params: { changes } });
+    return response.data;
+  } catch (error) {
+    console.error("Error fetching dashboard:", error);
+    throw new Error(error.response?.data?.message || "Failed to fetch dashboard!");
+  }
+};
+
+// Gross, deductions, net and employer contributions for a month, totalled by
+// "position", "status" or "supervisor". Groups come largest gross first.
+const getPayrollAnalytics = async (yearMonth, dimension = "position") => {
+  try {
+    const response = await http.get("/api/protected/analytics/payroll", { params: { yearMonth, dimension } });
+    return response.data;
+  } catch (error) {
+    console.error(`Error fetching payroll totals by ${dimension} for ${yearMonth}:`, error);
+    throw new Error(error.response?.data?.message || "Failed to fetch payroll analytics!");
+  }
+};
+
+// Employees changed or deleted since a data version ("<epoch>.<version>").
+// Resolves to { since, version, epoch, resyncRequired, changes: [{ op, key, version, data }] }.
+const getEmployeeChanges = async (since) => {
+  try {
+    const response = await http.get("/api/protected/employees/changes", { params: { since } });
+    return response.data;
+  } catch (error) {
+    console.error("Error fetching employee changes:", error);
+    throw new Error("Failed to fetch employee changes!");
+  }
+};
+
+// Opens the server-sent change feed and calls onEvent({ type, op, key, version, data }) for each event.
+// EventSource cannot send an Authorization header, so the stream is read with fetch instead.
+// onOpen receives the server epoch (versions from different epochs are not comparable).
+// Resolves when the stream ends; rejects on HTTP errors. Abort with the given signal.
+const streamChangeEvents = async (onEvent, signal, lastEventId, onOpen) => {
+  const headers = { Accept: "text/event-stream", Authorization: `Bearer ${getAccessToken()}` };
+  if (lastEventId) {
+    headers["Last-Event-ID"] = lastEventId;
+  }
+  const response = await fetch(`${baseURL}/api/protected/events`, { headers, signal, credentials: "include" });
+  if (!response.ok) {
+    throw new Error(`Event stream failed with status ${response.status}`);
+  }
+  onOpen?.(response.headers.get("X-Server-Epoch"));
+  const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+  let buffer = "";
+  for (;;) {
+    const { value, done } = await reader.read();
+    if (done) {
+      return;
+    }
+    buffer += value;
+    let boundary;
+    while ((boundary = buffer.indexOf("\n\n")) >= 0) {
+      const block = buffer.slice(0, boundary);
+      buffer = buffer.slice(boundary + 2);
+      const data = block
+        .split("\n")
+        .filter((line) => line.startsWith("data:"))
+        .map((line) => line.slice(5).trimStart())
+        .join("\n");
+      if (data) {
+        onEvent(JSON.parse(data)); // Comment-only blocks (heartbeats) carry no data
+      }
+    }
+  }
+};
+
 export {
   login,
   register,
   getAccessToken,
   getEmployeePartialDetails,
+  getEmployeeSummaryPage,
   getEmployeeByEmployeeNumber,
   updateEmployee,
   deleteEmployee,
   fetchEmployeeMonthlySalary,
+  getEmployeesByNumber,
+  fetchEmployeesMonthlySalaries,
   fetchMonthlyCutoffs,
-  createEmployee
+  createEmployee,
+  searchEmployees,
+  getSalaryStats,
+  getEmployeeReports,
+  getPayrollAnalytics,
+  getDashboard,
+  getEmployeeChanges,
+  streamChangeEvents
 };
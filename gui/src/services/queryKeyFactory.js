@@ -8,6 +8,8 @@ export const userKeys = {
 export const employeeKeys = {
   all: ["employees"],
   lists: () => [...employeeKeys.all, "list"],
+  page: (params) => [...employeeKeys.lists(), "page", params],
+  search: (q, limit) => [...employeeKeys.all, "search", q, limit],
   detail: (employeeNumber) => [...employeeKeys.all, "detail", employeeNumber],
   partialDetails: () => [...employeeKeys.all, "partialDetails"],
   fetchByEmployeeNum: () => [...employeeKeys.all, "fetchByEmployeeNum"]
@@ -5,14 +5,33 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.imperionite.cp2c.config.BigDecimalDeserializer;
+import com.imperionite.cp2c.config.ResponseCompression;
+import com.imperionite.cp2c.config.ServerThreading;
+import com.imperionite.cp2c.controller.AdmissionControl;
+import com.imperionite.cp2c.controller.AttendanceController;
 import com.imperionite.cp2c.controller.AuthController;
+import com.imperionite.cp2c.controller.ComputeDispatcher;
+import com.imperionite.cp2c.controller.DashboardController;
 import com.imperionite.cp2c.controller.EmployeeController;
+import com.imperionite.cp2c.controller.EventController;
+import com.imperionite.cp2c.controller.JsonResponseCache;
+import com.imperionite.cp2c.controller.JsonStreamWriter;
+import com.imperionite.cp2c.controller.MetricsController;
+import com.imperionite.cp2c.controller.ReportController;
+import com.imperionite.cp2c.dao.ChangeEventBus;
 import com.imperionite.cp2c.dao.EmployeeDao;
+import com.imperionite.cp2c.dao.PayrollLedgerDao;
 import com.imperionite.cp2c.dao.UserDao;
 import com.imperionite.cp2c.dto.MessageResponse;
 import com.imperionite.cp2c.model.Employee;
 import com.imperionite.cp2c.service.AuthService;
+import com.imperionite.cp2c.service.DashboardService;
 import com.imperionite.cp2c.service.EmployeeService;
+import com.imperionite.cp2c.service.PayrollAnalyticsService;
+import com.imperionite.cp2c.service.PayrollLedgerService;
+import com.imperionite.cp2c.service.PayrollRequestCoalescer;
+import com.imperionite.cp2c.service.PayrollSimulationService;
+import com.imperionite.cp2c.service.RemittanceReportService;
 import com.imperionite.cp2c.service.SalaryCalculatorService;
 
 import io.javalin.Javalin;
@@ -26,23 +45,36 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 public class Main {
 
     private static final String USERS_CSV_FILE_PATH = "data/users.csv";
     private static final String EMPLOYEES_CSV_FILE_PATH = "data/employees.csv"; // Path for dynamic employee data
+    private static final String PAYROLL_LEDGER_CSV_FILE_PATH = "data/payroll_ledger.csv"; // Posted monthly payroll results
 
     // This resource is used to *initially* copy employee data to the data/ directory if it doesn't exist
     private static final String INITIAL_EMPLOYEES_CSV_RESOURCE = "/employees.csv";
 
     private static final String SEED_USER_PASSWORD = "userPassword";
 
+    // Debug mode: pretty-print JSON responses (-Dcp2c.prettyJson=true or CP2C_PRETTY_JSON=true). Off by default
+    // because indentation inflates every payload.
+    private static final boolean PRETTY_JSON = Boolean.parseBoolean(
+            System.getProperty("cp2c.prettyJson", System.getenv("CP2C_PRETTY_JSON")));
+
     private static SalaryCalculatorService salaryCalculatorService;
     private static UserDao userDao;
     private static EmployeeDao employeeDao;
     private static AuthService authService;
     private static EmployeeService employeeService;
+    private static RemittanceReportService remittanceReportService;
+    private static PayrollAnalyticsService payrollAnalyticsService;
+    private static DashboardService dashboardService;
+    private static PayrollLedgerService payrollLedgerService;
+    private static PayrollSimulationService payrollSimulationService;
 
     public static void main(String[] args) throws IOException {
         Path dataDirPath = Paths.get("data");
@@ -81,13 +113,24 @@ public class Main {
             System.out.println("Existing employees.csv found in data/. Skipping initial data copy from resources.");
         }
 
-        userDao = new UserDao(USERS_CSV_FILE_PATH);
-        employeeDao = new EmployeeDao(EMPLOYEES_CSV_FILE_PATH);
+        // Employee, user and payroll changes are pushed to GUI clients over /api/protected/events
+        ChangeEventBus eventBus = new ChangeEventBus();
+        userDao = new UserDao(USERS_CSV_FILE_PATH, eventBus);
+        employeeDao = new EmployeeDao(EMPLOYEES_CSV_FILE_PATH, eventBus);
 
         authService = new AuthService(userDao);
         employeeService = new EmployeeService(employeeDao, userDao, authService);
         // FIX: Pass the dynamic employee CSV file path to SalaryCalculatorService
         salaryCalculatorService = new SalaryCalculatorService(EMPLOYEES_CSV_FILE_PATH);
+        remittanceReportService = new RemittanceReportService(salaryCalculatorService);
+        payrollAnalyticsService = new PayrollAnalyticsService(salaryCalculatorService, employeeService);
+        payrollLedgerService = new PayrollLedgerService(new PayrollLedgerDao(PAYROLL_LEDGER_CSV_FILE_PATH),
+                salaryCalculatorService, eventBus);
+        payrollSimulationService = new PayrollSimulationService(salaryCalculatorService);
+        // Home page summary; subscribes to the bus, so postings and user seeding below show as recent changes
+        dashboardService = new DashboardService(employeeService, salaryCalculatorService, eventBus);
+        // Post payroll for any attendance months not yet in the ledger, so YTD queries start warm
+        payrollLedgerService.syncPostedMonths();
 
         System.out.println("\n--- Starting User Data Seeding ---");
         List<Employee> allEmployees = employeeService.getAllEmployees();
@@ -96,25 +139,53 @@ public class Main {
             System.out.println("To seed users, ensure " + EMPLOYEES_CSV_FILE_PATH + " contains employee data.");
         } else {
             System.out.println("Found " + allEmployees.size() + " employees. Attempting to seed users...");
+            List<String> missingUsernames = new ArrayList<>();
             for (Employee employee : allEmployees) {
                 String employeeNumber = employee.getEmployeeNumber();
                 String username = "user-" + employeeNumber;
                 if (userDao.findByUsername(username).isEmpty()) {
                     System.out.println("Seeding user: " + username);
-                    authService.registerUser(username, SEED_USER_PASSWORD);
+                    missingUsernames.add(username);
                 } else {
                     System.out.println("User '" + username + "' already exists. Skipping seeding for this user.");
                 }
             }
+            // Registered together so the password hashes are computed in parallel
+            if (!missingUsernames.isEmpty()) {
+                authService.registerUsers(missingUsernames, SEED_USER_PASSWORD)
+                        .forEach((username, error) -> System.err.println("Could not seed user " + username + ": " + error));
+            }
             System.out.println("--- User Data Seeding Complete ---\n");
         }
 
-        Javalin app = Javalin.create(config -> {
-            // Create a new ObjectMapper instance and configure it for JSON mapping
-            ObjectMapper customObjectMapper = new ObjectMapper();
+        // Create a new ObjectMapper instance and configure it for JSON mapping
+        ObjectMapper customObjectMapper = new ObjectMapper();
+        if (PRETTY_JSON) {
             customObjectMapper.enable(SerializationFeature.INDENT_OUTPUT);
-            customObjectMapper.registerModule(new JavaTimeModule());
-            customObjectMapper.registerModule(new SimpleModule().addDeserializer(BigDecimal.class, new BigDecimalDeserializer()));
+            System.out.println("Pretty-printed JSON responses enabled (debug mode).");
+        }
+        customObjectMapper.registerModule(new JavaTimeModule());
+        customObjectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS); // ISO-8601 dates and times
+        customObjectMapper.registerModule(new SimpleModule().addDeserializer(BigDecimal.class, new BigDecimalDeserializer()));
+        // Pre-encoded bodies for the hot employee list/detail routes, using the same mapper settings
+        JsonResponseCache responseCache = new JsonResponseCache(customObjectMapper);
+        // Element-by-element writer for large array responses
+        JsonStreamWriter streamWriter = new JsonStreamWriter(customObjectMapper);
+        // Bounded executor for salary and payroll routes, so they never hold request threads
+        ComputeDispatcher computeDispatcher = new ComputeDispatcher();
+        // Identical concurrent salary/report requests share one in-flight computation
+        PayrollRequestCoalescer payrollCoalescer = new PayrollRequestCoalescer(salaryCalculatorService,
+                remittanceReportService, payrollLedgerService, payrollAnalyticsService, employeeService);
+        // Per route class (auth, reads, writes, payroll) concurrency limits that adapt to measured latency
+        AdmissionControl admissionControl = new AdmissionControl();
+
+        Javalin app = Javalin.create(config -> {
+            // Virtual-thread or fixed platform-thread request handling (-Dcp2c.serverThreads)
+            ServerThreading.configure(config);
+
+            // Gzip for compressible MIME types above a size threshold (-Dcp2c.gzipLevel, -Dcp2c.compressionMinBytes)
+            ResponseCompression.configure(config);
+
             // Pass the custom ObjectMapper to JavalinJackson and set it as the JSON mapper
             config.jsonMapper(new JavalinJackson(customObjectMapper));
 
@@ -127,6 +198,9 @@ public class Main {
                     it.allowHost("http://localhost:5173", "http://127.0.0.1:5173");
                     it.allowCredentials = true;
                     it.exposeHeader("Authorization");
+                    it.exposeHeader("ETag");
+                    it.exposeHeader(EmployeeController.DATA_VERSION_HEADER);
+                    it.exposeHeader(EventController.EPOCH_HEADER);
                 });
             });
 
@@ -137,6 +211,20 @@ public class Main {
             System.err.println("Authentication Error (401): " + e.getMessage() + " for path: " + ctx.path());
         });
 
+        app.exception(AdmissionControl.RejectedException.class, (e, ctx) -> {
+            ctx.header("Retry-After", "1");
+            ctx.status(e.getStatus()).json(new MessageResponse(e.getMessage()));
+        });
+
+        // The password-hashing pool's queue is full (see ComputeExecutors); shed logins like AdmissionControl does
+        app.exception(RejectedExecutionException.class, (e, ctx) -> {
+            ctx.header("Retry-After", "1");
+            boolean login = ctx.path().equals("/api/login");
+            ctx.status(login ? 429 : 503).json(new MessageResponse(login
+                    ? "Too many authentication requests. Please retry shortly."
+                    : "Server is busy. Please retry shortly."));
+        });
+
         app.exception(IllegalArgumentException.class, (e, ctx) -> {
             ctx.status(400).json(new MessageResponse(e.getMessage()));
             System.err.println("Bad Request (400): " + e.getMessage());
@@ -148,20 +236,52 @@ public class Main {
             e.printStackTrace();
         });
 
+        // Registered first, so requests over their class's limit are rejected before any other filter runs
+        admissionControl.register(app);
         AuthController.registerRoutes(app, authService);
-        EmployeeController.registerRoutes(app, employeeService, salaryCalculatorService);
+        EmployeeController.registerRoutes(app, employeeService, salaryCalculatorService, responseCache, streamWriter,
+                computeDispatcher, payrollCoalescer);
+        AttendanceController.registerRoutes(app, salaryCalculatorService, streamWriter);
+        ReportController.registerRoutes(app, remittanceReportService, payrollLedgerService, payrollSimulationService,
+                salaryCalculatorService, streamWriter, computeDispatcher, payrollCoalescer);
+        MetricsController.registerRoutes(app, computeDispatcher, payrollCoalescer, admissionControl);
+        EventController.registerRoutes(app, eventBus);
+        DashboardController.registerRoutes(app, dashboardService);
 
         System.out.println("Javalin server started on port 4567.");
         System.out.println("API Endpoints:");
         System.out.println("  POST /api/login (Public) - Login a user");
         System.out.println("  POST /api/register (Protected) - Register a new user");
         System.out.println("  GET /api/protected/employees (Protected) - Get all employee summaries");
+        System.out.println("  GET /api/protected/employees?limit=&cursor=&sort=&status=&position=&supervisor=&name= (Protected) - Paged employee summaries");
+        System.out.println("  GET /api/protected/employees/changes?since= (Protected) - Employees changed or deleted since a data version");
+        System.out.println("  GET /api/protected/employees/search?q=&limit= (Protected) - Ranked, typo-tolerant type-ahead employee search");
+        System.out.println("  GET /api/protected/employees?minBasicSalary=&maxBasicSalary=&minHourlyRate=&... (Protected) - Employees in a salary band");
+        System.out.println("  GET /api/protected/employees?filter=<expression> (Protected) - Employees matching a filter, e.g. status = \"Regular\" and basicSalary > 50000");
+        System.out.println("  GET /api/protected/employees/:employeeNumber/reports?depth= (Protected) - Org chart reports with subtree headcount and payroll cost");
+        System.out.println("  GET /api/protected/employees/salary-stats?field=&min=&max=&percentiles=&bounds=&width= (Protected) - Salary counts, percentiles and band histogram");
         System.out.println("  GET /api/protected/employees/{employeeNumber} (Protected) - Get employee details");
         System.out.println("  POST /api/protected/employees (Protected) - Create new employee");
         System.out.println("  PATCH /api/protected/employees/{employeeNumber} (Protected) - Update employee");
         System.out.println("  DELETE /api/protected/employees/{employeeNumber} (Protected) - Delete employee");
+        System.out.println("  POST /api/protected/employees:batch (Protected) - Batch create/update/delete employees");
+        System.out.println("  POST /api/protected/employees:multiGet (Protected) - Details of several employees at once");
         System.out.println("  GET /api/protected/monthly-cutoffs (Protected) - Get available monthly cutoffs (NEW)");
         System.out.println("  GET /api/protected/employees/{employeeNumber}/salary (Protected) - Calculate monthly salary (NEW)");
+        System.out.println("  POST /api/protected/employees/salary:multiGet (Protected) - Monthly salaries of several employees at once");
+        System.out.println("  GET /api/protected/attendance/summary?yearMonth=&employeeNumber= (Protected) - Attendance analytics");
+        System.out.println("  GET /api/protected/attendance/records?yearMonth=&employeeNumber= (Protected) - Raw attendance records (streamed)");
+        System.out.println("  GET /api/protected/payroll/{yearMonth}/results (Protected) - Salary results of every employee (streamed)");
+        System.out.println("  GET /api/protected/remittances/{yearMonth} (Protected) - SSS/PhilHealth/Pag-IBIG remittance totals");
+        System.out.println("  GET /api/protected/analytics/payroll?yearMonth=&dimension=position|status|supervisor (Protected) - Payroll totals by group");
+        System.out.println("  GET /api/protected/payroll/ytd?year=&throughMonth= (Protected) - Year-to-date totals, 13th month & tax reconciliation");
+        System.out.println("  POST /api/protected/payroll/simulations (Protected) - What-if payroll scenarios (no data is changed)");
+        System.out.println("  GET /api/protected/dashboard?changes= (Protected) - Headcount by status, payroll cost, latest cutoff, recent changes");
+        System.out.println("  GET /api/protected/metrics/compute (Protected) - Compute executor queue/execution metrics");
+        System.out.println("  GET /api/protected/metrics/single-flight (Protected) - Duplicate computations suppressed by coalescing");
+        System.out.println("  GET /api/protected/metrics/admission (Protected) - Admission limits, queues and rejections per route class");
+        System.out.println("  GET /api/protected/events (Protected) - Server-sent events: employee, user and payroll changes");
+        System.out.println("  GET /api/protected/metrics/events (Protected) - Event stream subscriber and delivery counters");
         System.out.println("  GET /api/protected/test (Protected) - Test authentication");
 
         app.get("/", ctx -> ctx.result("Employee Management System API is running!"));
@@ -0,0 +1,105 @@
+package com.imperionite.cp2c.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bounded platform-thread pools for CPU-heavy work, kept apart from request handling.
+ * When requests run on virtual threads, a long CPU-bound task would occupy one of the few carrier threads
+ * and stall every other request scheduled on it. Handing the work to these pools lets the request thread
+ * park instead, and caps how many cores such work can take no matter how many requests ask for it at once.
+ */
+public final class ComputeExecutors {
+
+    private static final int CORES = Runtime.getRuntime().availableProcessors();
+
+    // Hashes that may wait for a bcrypt thread; more than the admitted logins (AdmissionControl) can submit
+    private static final int PASSWORD_QUEUE_CAPACITY = Math.max(32, 8 * CORES);
+
+    // BCrypt hashing/verification: one thread per core and a bounded queue, like ComputeDispatcher;
+    // submissions beyond it fail with RejectedExecutionException instead of waiting without limit
+    private static final ExecutorService PASSWORD_HASHING = new ThreadPoolExecutor(CORES, CORES,
+            60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(PASSWORD_QUEUE_CAPACITY), daemonThreads("cp2c-bcrypt-"),
+            new ThreadPoolExecutor.AbortPolicy());
+
+    // Payroll calculations: parallel streams started inside this pool run on its workers, not the common pool
+    private static final ForkJoinPool PAYROLL = new ForkJoinPool(CORES, pool -> {
+        ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        worker.setName("cp2c-payroll-" + worker.getPoolIndex());
+        worker.setDaemon(true);
+        return worker;
+    }, null, false);
+
+    private ComputeExecutors() {
+    }
+
+    /**
+     * @return The executor for password hashing and verification. Its queue is bounded: submitting to it
+     *         throws RejectedExecutionException when the queue is full.
+     */
+    public static ExecutorService passwordHashing() {
+        return PASSWORD_HASHING;
+    }
+
+    /**
+     * @return The number of password-hashing threads; batches of hashes are submitted this many at a time.
+     */
+    public static int passwordHashingThreads() {
+        return CORES;
+    }
+
+    /**
+     * Runs a payroll computation on the bounded payroll pool and waits for its result.
+     * Parallel streams inside the computation are split across the pool's workers only.
+     *
+     * @param computation The computation to run.
+     * @param <T>         The result type.
+     * @return The computation's result.
+     */
+    public static <T> T payroll(Supplier<T> computation) {
+        Thread current = Thread.currentThread();
+        if (current instanceof ForkJoinWorkerThread && ((ForkJoinWorkerThread) current).getPool() == PAYROLL) {
+            return computation.get(); // Already on a payroll worker (nested computation)
+        }
+        return await(CompletableFuture.supplyAsync(computation, PAYROLL));
+    }
+
+    /**
+     * Waits for a future, rethrowing the task's own unchecked exception rather than a wrapper.
+     *
+     * @param future The future to wait for.
+     * @param <T>    The result type.
+     * @return The future's result.
+     */
+    public static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
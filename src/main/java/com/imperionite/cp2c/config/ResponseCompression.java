@@ -0,0 +1,95 @@
+package com.imperionite.cp2c.config;
+
+import io.javalin.config.JavalinConfig;
+import org.eclipse.jetty.server.handler.gzip.GzipHandler;
+import org.eclipse.jetty.util.compression.CompressionPool;
+import org.eclipse.jetty.util.compression.DeflaterPool;
+
+import java.util.zip.Deflater;
+
+/**
+ * Gzip response compression, done by Jetty's GzipHandler in place of Javalin's built-in compression:
+ * - Only the MIME types in COMPRESSIBLE_TYPES are compressed (Javalin only supports an exclusion list).
+ *   text/event-stream is left out so change-feed events are not held back in the compressor.
+ * - Bodies below the minimum size go out as-is; streamed bodies of unknown length are always compressed,
+ *   and each flush of the stream is flushed through the compressor.
+ * - Responses that already carry a Content-Encoding (precompressed JsonResponseCache hits) are passed through.
+ * On-the-fly compression runs at a low level: on the payroll export, level 1 costs under half the CPU
+ * of level 6 for about a third more bytes, and the export is CPU-bound. Cached bodies are compressed once
+ * per data version, so they use PRECOMPRESSED_LEVEL instead.
+ * Set the level with -Dcp2c.gzipLevel or CP2C_GZIP_LEVEL (0-9, default: 1; 0 disables compression) and the
+ * threshold with -Dcp2c.compressionMinBytes or CP2C_COMPRESSION_MIN_BYTES (default: 1024).
+ */
+public final class ResponseCompression {
+
+    public static final int PRECOMPRESSED_LEVEL = Deflater.BEST_COMPRESSION;
+
+    private static final int DEFAULT_LEVEL = Deflater.BEST_SPEED;
+    private static final int DEFAULT_MIN_BYTES = 1024;
+    private static final String[] COMPRESSIBLE_TYPES = {
+            "application/json", "application/x-jackson-smile", "application/cbor",
+            "text/plain", "text/csv", "text/html", "text/css", "application/javascript", "image/svg+xml"
+    };
+
+    private static final int MIN_BYTES = readInt("cp2c.compressionMinBytes", "CP2C_COMPRESSION_MIN_BYTES",
+            DEFAULT_MIN_BYTES, 0, Integer.MAX_VALUE);
+    private static final int LEVEL = readInt("cp2c.gzipLevel", "CP2C_GZIP_LEVEL", DEFAULT_LEVEL, 0, 9);
+
+    private ResponseCompression() {
+    }
+
+    /**
+     * Installs the compression handler in the Javalin config. Must be called inside Javalin.create(...).
+     *
+     * @param config The Javalin config.
+     */
+    public static void configure(JavalinConfig config) {
+        config.compression.none(); // Replaced by the GzipHandler below (or disabled, at level 0)
+        if (!isEnabled()) {
+            System.out.println("ResponseCompression: Response compression disabled.");
+            return;
+        }
+        config.jetty.contextHandlerConfig(handler -> {
+            GzipHandler gzip = new GzipHandler();
+            gzip.setIncludedMimeTypes(COMPRESSIBLE_TYPES);
+            gzip.setIncludedMethods("GET", "POST");
+            gzip.setMinGzipSize(MIN_BYTES);
+            gzip.setSyncFlush(true); // Streamed exports flush per chunk; keep that visible to the client
+            gzip.setDeflaterPool(new DeflaterPool(CompressionPool.DEFAULT_CAPACITY, LEVEL, true));
+            handler.insertHandler(gzip); // Wraps the servlet handler, so every route goes through it
+        });
+        System.out.println("ResponseCompression: Gzip at level " + LEVEL + " for responses of at least "
+                + MIN_BYTES + " bytes.");
+    }
+
+    /**
+     * @return false when compression is disabled (level 0); responses, cached ones included, then go out as-is.
+     */
+    public static boolean isEnabled() {
+        return LEVEL > 0;
+    }
+
+    /**
+     * @return The size in bytes below which response bodies are not compressed.
+     */
+    public static int getMinBytes() {
+        return MIN_BYTES;
+    }
+
+    private static int readInt(String property, String env, int defaultValue, int min, int max) {
+        String value = System.getProperty(property, System.getenv(env));
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed >= min && parsed <= max) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        System.err.println("ResponseCompression: Invalid " + property + " '" + value + "'; using " + defaultValue + ".");
+        return defaultValue;
+    }
+}
@@ -0,0 +1,84 @@
+package com.imperionite.cp2c.config;
+
+import io.javalin.config.JavalinConfig;
+import io.javalin.util.ConcurrencyUtil;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+
+import java.util.Locale;
+
+/**
+ * Chooses how Jetty runs request handlers:
+ * - virtual: one virtual thread per request (Java 21+), so handlers blocked on file I/O or lock waits
+ *   don't hold a platform thread. Falls back to platform mode on older runtimes.
+ * - platform: a fixed-size pool of platform threads (Jetty's classic model).
+ * Select with -Dcp2c.serverThreads=virtual|platform or CP2C_SERVER_THREADS (default: virtual); size the
+ * platform pool with -Dcp2c.maxServerThreads or CP2C_MAX_SERVER_THREADS (default: 250).
+ * CPU-heavy work is kept off request threads in either mode; see {@link ComputeExecutors}.
+ */
+public final class ServerThreading {
+
+    public enum Mode { VIRTUAL, PLATFORM }
+
+    private static final int MIN_PLATFORM_THREADS = 8;
+    private static final int DEFAULT_MAX_PLATFORM_THREADS = 250;
+
+    private ServerThreading() {
+    }
+
+    /**
+     * Applies the configured mode to the Javalin config. Must be called inside Javalin.create(...).
+     *
+     * @param config The Javalin config.
+     * @return The mode actually in effect.
+     */
+    public static Mode configure(JavalinConfig config) {
+        Mode requested = requestedMode();
+        if (requested == Mode.VIRTUAL && ConcurrencyUtil.isLoomAvailable()) {
+            ConcurrencyUtil.INSTANCE.setUseLoom(true); // Javalin builds Jetty's pool from virtual threads
+            System.out.println("ServerThreading: Handling requests on virtual threads.");
+            return Mode.VIRTUAL;
+        }
+        if (requested == Mode.VIRTUAL) {
+            System.out.println("ServerThreading: Virtual threads need Java 21+ (running "
+                    + Runtime.version().feature() + "); using platform threads.");
+        }
+
+        ConcurrencyUtil.INSTANCE.setUseLoom(false);
+        int maxThreads = maxPlatformThreads();
+        config.jetty.server(() -> {
+            QueuedThreadPool threadPool = new QueuedThreadPool(maxThreads, Math.min(MIN_PLATFORM_THREADS, maxThreads));
+            threadPool.setName("JettyServerThreadPool");
+            return new Server(threadPool);
+        });
+        System.out.println("ServerThreading: Handling requests on up to " + maxThreads + " platform threads.");
+        return Mode.PLATFORM;
+    }
+
+    private static Mode requestedMode() {
+        String value = System.getProperty("cp2c.serverThreads", System.getenv("CP2C_SERVER_THREADS"));
+        if (value == null || value.isBlank()) {
+            return Mode.VIRTUAL;
+        }
+        try {
+            return Mode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.println("ServerThreading: Unknown server thread mode '" + value + "'; using virtual.");
+            return Mode.VIRTUAL;
+        }
+    }
+
+    private static int maxPlatformThreads() {
+        String value = System.getProperty("cp2c.maxServerThreads", System.getenv("CP2C_MAX_SERVER_THREADS"));
+        if (value == null || value.isBlank()) {
+            return DEFAULT_MAX_PLATFORM_THREADS;
+        }
+        try {
+            return Math.max(MIN_PLATFORM_THREADS, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            System.err.println("ServerThreading: Invalid max server threads '" + value + "'; using "
+                    + DEFAULT_MAX_PLATFORM_THREADS + ".");
+            return DEFAULT_MAX_PLATFORM_THREADS;
+        }
+    }
+}
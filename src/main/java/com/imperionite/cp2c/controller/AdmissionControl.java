@@ -0,0 +1,315 @@
+package com.imperionite.cp2c.controller;
+
+import io.javalin.Javalin;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admission control for the API: every request is assigned a route class, and each class admits at most
+ * `limit` requests at a time. Requests over the limit wait in a bounded FIFO queue for a short time; when
+ * the queue is full or the wait runs out they are rejected at once with Retry-After (429 for logins,
+ * 503 otherwise) instead of piling up behind the work already running.
+ * Limits adapt to measured latency (time from admission to the end of the response, queue wait excluded),
+ * AIMD style: while at least half the limit is in use, a request finishing within its class's latency target
+ * grows the limit by 1/limit (about one per round of requests), and one over the target cuts it by a quarter,
+ * at most once per target interval. Payroll yields to reads: a read over its target also cuts the payroll limit,
+ * so cheap reads keep their latency while a payroll spike is shed.
+ * The change feed (a long-lived stream), metrics, CORS preflights and the root health check are not counted.
+ * Disable with -Dcp2c.admissionControl=false or CP2C_ADMISSION_CONTROL=false.
+ */
+public class AdmissionControl {
+
+    private static final String PERMIT_ATTRIBUTE = "cp2c.admission";
+    private static final double DECREASE_FACTOR = 0.75;
+    private static final int CORES = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Route classes, with their initial/min/max limits, wait queue, maximum wait and latency target.
+     */
+    public enum RouteClass {
+        // Logins hash passwords on one thread per core
+        AUTH(CORES, 1, 4 * CORES, 32, 500, 1000, 429),
+        READS(64, 8, 1024, 128, 50, 100, 503),
+        WRITES(16, 2, 256, 32, 250, 500, 503),
+        // Salary and payroll computations; ComputeDispatcher bounds the CPU they take
+        PAYROLL(2 * CORES, 1, 8 * CORES, 16, 1000, 2000, 503);
+
+        private final int initialLimit;
+        private final int minLimit;
+        private final int maxLimit;
+        private final int queueCapacity;
+        private final long maxWaitMillis;
+        private final long targetMillis;
+        private final int rejectStatus;
+
+        RouteClass(int initialLimit, int minLimit, int maxLimit, int queueCapacity, long maxWaitMillis,
+                   long targetMillis, int rejectStatus) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.queueCapacity = queueCapacity;
+            this.maxWaitMillis = maxWaitMillis;
+            this.targetMillis = targetMillis;
+            this.rejectStatus = rejectStatus;
+        }
+    }
+
+    /**
+     * Thrown by the before filter when a request is not admitted; Main maps it to its status.
+     */
+    public static final class RejectedException extends RuntimeException {
+        private final int status;
+
+        private RejectedException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+
+        public int getStatus() { return status; }
+    }
+
+    private final boolean enabled;
+    private final Map<RouteClass, Limiter> limiters = new EnumMap<>(RouteClass.class);
+
+    /**
+     * Creates the limiters, enabled unless -Dcp2c.admissionControl=false (or CP2C_ADMISSION_CONTROL=false).
+     */
+    public AdmissionControl() {
+        String value = System.getProperty("cp2c.admissionControl", System.getenv("CP2C_ADMISSION_CONTROL"));
+        this.enabled = value == null || value.isBlank() || !value.trim().equalsIgnoreCase("false");
+        for (RouteClass routeClass : RouteClass.values()) {
+            limiters.put(routeClass, new Limiter(routeClass));
+        }
+        System.out.println("AdmissionControl: " + (enabled ? "Enabled; initial limits " + initialLimits() : "Disabled."));
+    }
+
+    /**
+     * Registers the admission filters. Must be registered before any other before filter, so rejected
+     * requests do no other work.
+     *
+     * @param app The Javalin app instance to register the filters with.
+     */
+    public void register(Javalin app) {
+        if (!enabled) {
+            return;
+        }
+
+        // Admit the request in its route class, waiting briefly for a slot, or reject it with 429/503
+        app.before(ctx -> {
+            RouteClass routeClass = classify(ctx.method().name(), ctx.path());
+            if (routeClass != null) {
+                ctx.attribute(PERMIT_ATTRIBUTE, limiters.get(routeClass).acquire());
+            }
+        });
+
+        // Release the slot and feed the request's latency back into its class's limit
+        app.after(ctx -> {
+            Permit permit = ctx.attribute(PERMIT_ATTRIBUTE);
+            if (permit != null) {
+                ctx.attribute(PERMIT_ATTRIBUTE, null);
+                release(permit);
+            }
+        });
+    }
+
+    /**
+     * @param method The HTTP method.
+     * @param path   The request path.
+     * @return The route class the request is admitted in, or null if it is not subject to admission control.
+     */
+    static RouteClass classify(String method, String path) {
+        if (method.equals("OPTIONS")) {
+            return null;
+        }
+        if (path.equals("/api/login") || path.equals("/api/register")) {
+            return RouteClass.AUTH;
+        }
+        if (!path.startsWith("/api/protected/") || path.equals("/api/protected/events")
+                || path.startsWith("/api/protected/metrics/")) {
+            return null;
+        }
+        if (path.startsWith("/api/protected/payroll/") || path.startsWith("/api/protected/remittances/")
+                || path.startsWith("/api/protected/analytics/") || path.endsWith("/salary")
+                || path.endsWith("/salary:multiGet")) {
+            return RouteClass.PAYROLL;
+        }
+        if (method.equals("GET") || method.equals("HEAD") || path.endsWith(":multiGet")) {
+            return RouteClass.READS;
+        }
+        return RouteClass.WRITES;
+    }
+
+    private void release(Permit permit) {
+        boolean overTarget = permit.limiter.release(System.nanoTime() - permit.admittedAt);
+        if (overTarget && permit.limiter.routeClass == RouteClass.READS) {
+            limiters.get(RouteClass.PAYROLL).decrease(); // Shed payroll load before reads miss their target again
+        }
+    }
+
+    /**
+     * @return Per route class: current limit, in-flight and queued requests, admission and rejection
+     * counters, and mean latency.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("_enabled", enabled);
+        limiters.forEach((routeClass, limiter) -> snapshot.put(routeClass.name().toLowerCase(Locale.ROOT), limiter));
+        return snapshot;
+    }
+
+    private String initialLimits() {
+        StringBuilder limits = new StringBuilder();
+        for (RouteClass routeClass : RouteClass.values()) {
+            limits.append(limits.length() == 0 ? "" : ", ").append(routeClass.name().toLowerCase(Locale.ROOT))
+                    .append(' ').append(routeClass.initialLimit);
+        }
+        return limits.append('.').toString();
+    }
+
+    private static final class Permit {
+        private final Limiter limiter;
+        private final long admittedAt;
+
+        private Permit(Limiter limiter, long admittedAt) {
+            this.limiter = limiter;
+            this.admittedAt = admittedAt;
+        }
+    }
+
+    /**
+     * The adaptive concurrency limit and wait queue of one route class.
+     */
+    public static final class Limiter {
+        private final RouteClass routeClass;
+        private final long targetNanos;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition released = lock.newCondition();
+        private volatile double limit;
+        private volatile int inFlight;
+        private volatile int waiting;
+        private long lastDecreaseAt;
+        private volatile double meanLatencyMillis; // Exponentially weighted, over the last ~20 requests
+        private final LongAdder admitted = new LongAdder();
+        private final LongAdder queued = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder timedOut = new LongAdder();
+        private final LongAdder overTarget = new LongAdder();
+
+        private Limiter(RouteClass routeClass) {
+            this.routeClass = routeClass;
+            this.targetNanos = TimeUnit.MILLISECONDS.toNanos(routeClass.targetMillis);
+            this.limit = routeClass.initialLimit;
+            this.lastDecreaseAt = System.nanoTime() - targetNanos;
+        }
+
+        private Permit acquire() {
+            lock.lock();
+            try {
+                if (inFlight < (int) limit && waiting == 0) {
+                    return admit(); // No one is queued ahead of this request
+                }
+                if (waiting >= routeClass.queueCapacity) {
+                    rejected.increment();
+                    throw new RejectedException(routeClass.rejectStatus, rejectMessage());
+                }
+                queued.increment();
+                waiting++;
+                try {
+                    long remaining = TimeUnit.MILLISECONDS.toNanos(routeClass.maxWaitMillis);
+                    while (inFlight >= (int) limit) {
+                        if (remaining <= 0) {
+                            timedOut.increment();
+                            throw new RejectedException(routeClass.rejectStatus, rejectMessage());
+                        }
+                        remaining = released.awaitNanos(remaining);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    rejected.increment();
+                    throw new RejectedException(routeClass.rejectStatus, rejectMessage());
+                } finally {
+                    waiting--;
+                }
+                return admit();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private Permit admit() {
+            inFlight++;
+            admitted.increment();
+            return new Permit(this, System.nanoTime());
+        }
+
+        /**
+         * @return true if the request took longer than the class's latency target.
+         */
+        private boolean release(long latencyNanos) {
+            lock.lock();
+            try {
+                inFlight--;
+                meanLatencyMillis += (latencyNanos / 1_000_000.0 - meanLatencyMillis) / 20;
+                boolean slow = latencyNanos > targetNanos;
+                // Only a limit that is in use is adjusted; otherwise the latency says nothing about it
+                boolean inUse = inFlight + 1 >= limit / 2;
+                if (slow) {
+                    overTarget.increment();
+                    if (inUse) {
+                        decreaseLocked();
+                    }
+                } else if (inUse) {
+                    limit = Math.min(routeClass.maxLimit, limit + 1 / limit);
+                }
+                for (int free = (int) limit - inFlight; free > 0 && waiting > 0; free--) {
+                    released.signal();
+                }
+                return slow;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void decrease() {
+            lock.lock();
+            try {
+                decreaseLocked();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void decreaseLocked() {
+            long now = System.nanoTime();
+            if (now - lastDecreaseAt >= targetNanos) { // One cut per target interval, not one per slow request
+                limit = Math.max(routeClass.minLimit, limit * DECREASE_FACTOR);
+                lastDecreaseAt = now;
+            }
+        }
+
+        private String rejectMessage() {
+            return routeClass == RouteClass.AUTH
+                    ? "Too many authentication requests. Please retry shortly."
+                    : "Server is busy. Please retry shortly.";
+        }
+
+        public int getLimit() { return (int) limit; }
+        public int getInFlight() { return inFlight; }
+        public int getQueued() { return waiting; }
+        public int getQueueCapacity() { return routeClass.queueCapacity; }
+        public long getLatencyTargetMillis() { return routeClass.targetMillis; }
+        public double getMeanLatencyMillis() { return meanLatencyMillis; }
+        public long getAdmitted() { return admitted.sum(); }
+        public long getWaited() { return queued.sum(); }
+        public long getRejected() { return rejected.sum(); }
+        public long getTimedOut() { return timedOut.sum(); }
+        public long getOverTarget() { return overTarget.sum(); }
+    }
+}
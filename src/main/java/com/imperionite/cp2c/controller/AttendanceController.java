@@ -0,0 +1,94 @@
+package com.imperionite.cp2c.controller;
+
+import com.imperionite.cp2c.dto.MessageResponse;
+import com.imperionite.cp2c.model.AttendanceRecord;
+import com.imperionite.cp2c.model.AttendanceSummary;
+import com.imperionite.cp2c.service.SalaryCalculatorService;
+import io.javalin.Javalin;
+
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Controller for attendance analytics endpoints.
+ * All routes under `/api/protected/*` are protected and require authentication
+ * (handled by AuthController's before filter).
+ */
+public class AttendanceController {
+
+    /**
+     * Registers all attendance routes.
+     *
+     * @param app                     The Javalin app instance to register routes
+     *                                with.
+     * @param salaryCalculatorService The SalaryCalculatorService instance holding
+     *                                the aggregated attendance data.
+     * @param streamWriter            The writer for streamed (chunked) array
+     *                                responses.
+     */
+    public static void registerRoutes(Javalin app, SalaryCalculatorService salaryCalculatorService,
+            JsonStreamWriter streamWriter) {
+
+        // GET /api/protected/attendance/summary?yearMonth=2024-06[&employeeNumber=10001]
+        // Returns late, undertime, overtime and night-shift metrics for one employee,
+        // or for every employee with attendance in that month.
+        app.get("/api/protected/attendance/summary", ctx -> {
+            String yearMonth = ctx.queryParam("yearMonth");
+            String employeeNumber = ctx.queryParam("employeeNumber");
+
+            System.out.println("AttendanceController: Fetching attendance summary for " + yearMonth
+                    + (employeeNumber != null ? " (employee " + employeeNumber + ")" : ""));
+
+            if (yearMonth == null || yearMonth.isEmpty()) {
+                ctx.status(400);
+                ctx.json(new MessageResponse("Missing 'yearMonth' query parameter."));
+                return;
+            }
+
+            try {
+                if (employeeNumber != null && !employeeNumber.isEmpty()) {
+                    AttendanceSummary summary = salaryCalculatorService.getAttendanceSummary(employeeNumber, yearMonth);
+                    ctx.status(200);
+                    ctx.json(summary);
+                } else {
+                    List<AttendanceSummary> summaries = salaryCalculatorService.getAttendanceSummaries(yearMonth);
+                    ctx.status(200);
+                    ctx.json(summaries);
+                }
+            } catch (DateTimeParseException e) {
+                ctx.status(400);
+                ctx.json(new MessageResponse("Invalid 'yearMonth' format. Expected yyyy-MM."));
+            } catch (IllegalArgumentException e) {
+                ctx.status(404);
+                ctx.json(new MessageResponse(e.getMessage()));
+            }
+        });
+
+        // GET /api/protected/attendance/records?yearMonth=2024-06[&employeeNumber=10001]
+        // Raw attendance records (date, login, logout) for a month. Streamed element by
+        // element, since a month covers thousands of records. Accept: application/x-jackson-smile
+        // or application/cbor selects a binary encoding.
+        app.get("/api/protected/attendance/records", ctx -> {
+            String yearMonth = ctx.queryParam("yearMonth");
+            String employeeNumber = ctx.queryParam("employeeNumber");
+
+            if (yearMonth == null || yearMonth.isEmpty()) {
+                ctx.status(400);
+                ctx.json(new MessageResponse("Missing 'yearMonth' query parameter."));
+                return;
+            }
+
+            try {
+                Iterator<AttendanceRecord> records = salaryCalculatorService
+                        .streamAttendanceRecords(yearMonth, employeeNumber == null || employeeNumber.isEmpty() ? null : employeeNumber)
+                        .iterator();
+                int written = streamWriter.writeArray(ctx, records);
+                System.out.println("AttendanceController: Streamed " + written + " attendance records for " + yearMonth);
+            } catch (DateTimeParseException e) {
+                ctx.status(400);
+                ctx.json(new MessageResponse("Invalid 'yearMonth' format. Expected yyyy-MM."));
+            }
+        });
+    }
+}
@@ -0,0 +1,311 @@
+package com.imperionite.cp2c.controller;
+
+import com.imperionite.cp2c.dto.MessageResponse;
+import io.javalin.http.Context;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs expensive route work (salary and payroll computations) on a dedicated executor via ctx.future(),
+ * so it never occupies the server's request threads and cheap reads keep flowing while payroll is busy.
+ * The executor has a fixed number of threads and a bounded queue: when the queue is full the request is
+ * rejected at once with 503 instead of piling up, and every request has a timeout (504) that also covers
+ * its time in the queue. Queue wait and execution time are reported separately, per request in the
+ * Server-Timing header and per route in {@link #getStats()}.
+ */
+public class ComputeDispatcher {
+
+    private static final int DEFAULT_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private static final int DEFAULT_QUEUE_CAPACITY = 64;
+    private static final long DEFAULT_TIMEOUT_MILLIS = 10_000;
+
+    private final ThreadPoolExecutor executor;
+    private final Duration defaultTimeout;
+    private final Map<String, RouteStats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a dispatcher sized from -Dcp2c.computeThreads, -Dcp2c.computeQueue and -Dcp2c.computeTimeoutMs
+     * (or CP2C_COMPUTE_THREADS, CP2C_COMPUTE_QUEUE and CP2C_COMPUTE_TIMEOUT_MS).
+     */
+    public ComputeDispatcher() {
+        this(setting("cp2c.computeThreads", DEFAULT_THREADS),
+                setting("cp2c.computeQueue", DEFAULT_QUEUE_CAPACITY),
+                Duration.ofMillis(setting("cp2c.computeTimeoutMs", DEFAULT_TIMEOUT_MILLIS)));
+    }
+
+    /**
+     * @param threads        The number of compute threads.
+     * @param queueCapacity  How many requests may wait for a thread before new ones are rejected.
+     * @param defaultTimeout The per-request timeout, measured from submission.
+     */
+    public ComputeDispatcher(int threads, int queueCapacity, Duration defaultTimeout) {
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "cp2c-compute-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.defaultTimeout = defaultTimeout;
+        System.out.println("ComputeDispatcher: " + threads + " threads, queue of " + queueCapacity + ", timeout "
+                + defaultTimeout.toMillis() + " ms.");
+    }
+
+    /**
+     * Computes a response body off the request thread and writes it when ready, using the default timeout.
+     *
+     * @param ctx                   The Javalin context.
+     * @param route                 The route name used for stats and logs (e.g., "salary").
+     * @param invalidArgumentStatus The status to answer when the work throws IllegalArgumentException (400 or 404).
+     * @param work                  Computes the result; runs on a compute thread and must not touch ctx.
+     * @param writer                Writes a successful result to the response.
+     * @param <T>                   The result type.
+     */
+    public <T> void dispatch(Context ctx, String route, int invalidArgumentStatus, Supplier<T> work,
+                             BiConsumer<Context, T> writer) {
+        dispatch(ctx, route, defaultTimeout, invalidArgumentStatus, work, writer);
+    }
+
+    /**
+     * Computes a response body off the request thread and writes it when ready.
+     *
+     * @param ctx                   The Javalin context.
+     * @param route                 The route name used for stats and logs (e.g., "salary").
+     * @param timeout               How long the request may wait and run before it is answered with 504.
+     * @param invalidArgumentStatus The status to answer when the work throws IllegalArgumentException (400 or 404).
+     * @param work                  Computes the result; runs on a compute thread and must not touch ctx.
+     * @param writer                Writes a successful result to the response.
+     * @param <T>                   The result type.
+     */
+    public <T> void dispatch(Context ctx, String route, Duration timeout, int invalidArgumentStatus, Supplier<T> work,
+                             BiConsumer<Context, T> writer) {
+        Job<T> job;
+        try {
+            job = submit(route, work);
+        } catch (RejectedExecutionException e) {
+            respondBusy(ctx);
+            return;
+        }
+        // This request is the job's only consumer, so its timeout may abandon the job itself
+        respond(ctx, route, job, timeout, invalidArgumentStatus, writer, true);
+    }
+
+    /**
+     * Like {@link #dispatch(Context, String, int, Supplier, BiConsumer)}, for computations that concurrent
+     * identical requests share (see PayrollRequestCoalescer). A request that joins an in-flight computation
+     * takes no compute thread or queue slot of its own.
+     *
+     * @param ctx                   The Javalin context.
+     * @param route                 The route name used for stats and logs.
+     * @param invalidArgumentStatus The status to answer when the work throws IllegalArgumentException.
+     * @param start                 Returns the computation's future, starting it through {@link #submit} if
+     *                              no identical computation is in flight.
+     * @param writer                Writes a successful result to the response.
+     * @param <T>                   The result type.
+     */
+    public <T> void dispatchShared(Context ctx, String route, int invalidArgumentStatus,
+                                   Supplier<CompletableFuture<T>> start, BiConsumer<Context, T> writer) {
+        CompletableFuture<T> future;
+        try {
+            future = start.get();
+        } catch (RejectedExecutionException e) {
+            respondBusy(ctx);
+            return;
+        }
+        // Other requests may be waiting on the same computation; time out only this request's view of it
+        respond(ctx, route, future, defaultTimeout, invalidArgumentStatus, writer, false);
+    }
+
+    /**
+     * Queues work on the compute executor.
+     *
+     * @param route The route name used for stats and logs.
+     * @param work  The computation.
+     * @param <T>   The result type.
+     * @return The job's future, which also carries its queue wait and execution times.
+     * @throws RejectedExecutionException if the queue is full.
+     */
+    public <T> Job<T> submit(String route, Supplier<T> work) {
+        RouteStats routeStats = stats.computeIfAbsent(route, name -> new RouteStats());
+        Job<T> job = new Job<>();
+        long submittedAt = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                long startedAt = System.nanoTime();
+                job.queueNanos = startedAt - submittedAt;
+                routeStats.queueWait.record(job.queueNanos);
+                if (job.isDone()) {
+                    return; // Timed out while queued; nobody is waiting for the result any more
+                }
+                T value = null;
+                Throwable failure = null;
+                try {
+                    value = work.get();
+                } catch (Throwable t) {
+                    failure = t;
+                }
+                // Record before completing, so the response sees both timings
+                job.execNanos = System.nanoTime() - startedAt;
+                routeStats.execution.record(job.execNanos);
+                if (failure != null) {
+                    job.completeExceptionally(failure);
+                } else {
+                    job.complete(value);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            routeStats.rejected.increment();
+            System.err.println("ComputeDispatcher: Queue full, rejecting " + route + " request.");
+            throw e;
+        }
+        routeStats.submitted.increment();
+        return job;
+    }
+
+    private <T> void respond(Context ctx, String route, CompletableFuture<T> future, Duration timeout,
+                             int invalidArgumentStatus, BiConsumer<Context, T> writer, boolean abandonOnTimeout) {
+        RouteStats routeStats = stats.computeIfAbsent(route, name -> new RouteStats());
+        CompletableFuture<T> waiting = abandonOnTimeout ? future : future.copy();
+        ctx.future(() -> waiting.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS).handle((value, error) -> {
+            if (future instanceof Job) {
+                Job<T> job = (Job<T>) future;
+                ctx.header("Server-Timing", String.format(Locale.ROOT, "queue;dur=%.1f, exec;dur=%.1f",
+                        job.queueNanos / 1_000_000.0, job.execNanos / 1_000_000.0));
+            } else {
+                ctx.header("Server-Timing", "coalesced;desc=\"joined an in-flight computation\"");
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause == null) {
+                routeStats.completed.increment();
+                writer.accept(ctx, value);
+            } else if (cause instanceof TimeoutException) {
+                routeStats.timedOut.increment();
+                System.err.println("ComputeDispatcher: " + route + " request timed out after " + timeout.toMillis() + " ms.");
+                ctx.status(504);
+                ctx.json(new MessageResponse("The computation took too long and was abandoned. Please retry."));
+            } else if (cause instanceof RejectedExecutionException) {
+                respondBusy(ctx); // Joined a computation that could not be queued
+            } else if (cause instanceof DateTimeParseException) {
+                routeStats.failed.increment();
+                ctx.status(400);
+                ctx.json(new MessageResponse("Invalid yearMonth format. Expected yyyy-MM."));
+            } else if (cause instanceof IllegalArgumentException) {
+                routeStats.failed.increment();
+                ctx.status(invalidArgumentStatus);
+                ctx.json(new MessageResponse(cause.getMessage()));
+            } else {
+                routeStats.failed.increment();
+                System.err.println("ComputeDispatcher: Error computing " + route + ": " + cause.getMessage());
+                cause.printStackTrace();
+                ctx.status(500);
+                ctx.json(new MessageResponse("An unexpected error occurred while computing the response."));
+            }
+            return null;
+        }));
+    }
+
+    private static void respondBusy(Context ctx) {
+        ctx.header("Retry-After", "1");
+        ctx.status(503);
+        ctx.json(new MessageResponse("Server is busy computing other requests. Please retry shortly."));
+    }
+
+    /**
+     * A queued computation: its result plus how long it waited for a thread and how long it ran.
+     */
+    public static final class Job<T> extends CompletableFuture<T> {
+        private volatile long queueNanos;
+        private volatile long execNanos;
+    }
+
+    /**
+     * @return Per-route counters and timings, plus the executor's current load under "_executor".
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> snapshot = new TreeMap<>(stats);
+        snapshot.put("_executor", Map.of(
+                "threads", executor.getMaximumPoolSize(),
+                "active", executor.getActiveCount(),
+                "queued", executor.getQueue().size(),
+                "queueCapacity", executor.getQueue().size() + executor.getQueue().remainingCapacity()));
+        return snapshot;
+    }
+
+    /**
+     * Counters and timings of one route.
+     */
+    public static final class RouteStats {
+        private final LongAdder submitted = new LongAdder();
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder timedOut = new LongAdder();
+        private final Timing queueWait = new Timing();
+        private final Timing execution = new Timing();
+
+        public long getSubmitted() { return submitted.sum(); }
+        public long getCompleted() { return completed.sum(); }
+        public long getFailed() { return failed.sum(); }
+        public long getRejected() { return rejected.sum(); }
+        public long getTimedOut() { return timedOut.sum(); }
+        public Timing getQueueWait() { return queueWait; }
+        public Timing getExecution() { return execution; }
+    }
+
+    /**
+     * Count, mean and maximum of a duration, in milliseconds.
+     */
+    public static final class Timing {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        public long getCount() { return count.sum(); }
+        public double getMeanMillis() {
+            long n = count.sum();
+            return n == 0 ? 0 : totalNanos.sum() / (double) n / 1_000_000.0;
+        }
+        public double getMaxMillis() { return maxNanos.get() / 1_000_000.0; }
+    }
+
+    private static int setting(String property, int defaultValue) {
+        return (int) setting(property, (long) defaultValue);
+    }
+
+    private static long setting(String property, long defaultValue) {
+        String env = "CP2C_" + property.substring("cp2c.".length()).replaceAll("([A-Z])", "_$1").toUpperCase(Locale.ROOT);
+        String value = System.getProperty(property, System.getenv(env));
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Math.max(1, Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            System.err.println("ComputeDispatcher: Invalid " + property + " '" + value + "'; using " + defaultValue + ".");
+            return defaultValue;
+        }
+    }
+}
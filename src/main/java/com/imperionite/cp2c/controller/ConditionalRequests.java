@@ -0,0 +1,109 @@
+package com.imperionite.cp2c.controller;
+
+import io.javalin.http.Context;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Helpers for conditional GETs (ETag / If-None-Match and Last-Modified / If-Modified-Since).
+ * ETags are built from data version counters, so revalidation is a string comparison done before any
+ * data is read or serialized. Every ETag includes a per-process boot id because the counters restart
+ * from zero when the server restarts.
+ */
+public final class ConditionalRequests {
+
+    private static final String BOOT_ID = Long.toString(System.currentTimeMillis(), 36);
+
+    private ConditionalRequests() {
+    }
+
+    /**
+     * @return The per-process boot id; data versions are only comparable within one boot id.
+     */
+    public static String getBootId() {
+        return BOOT_ID;
+    }
+
+    /**
+     * Builds a strong ETag from the given parts, e.g. etag("employee", "10001", 7) -> "employee-10001-<boot>.7".
+     * The last part is expected to be the data version.
+     *
+     * @param parts The identifying parts of the representation, ending with its version.
+     * @return The quoted ETag value.
+     */
+    public static String etag(Object... parts) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < parts.length; i++) {
+            if (i == parts.length - 1) {
+                sb.append(i > 0 ? "-" : "").append(BOOT_ID).append('.');
+            } else if (i > 0) {
+                sb.append('-');
+            }
+            sb.append(parts[i]);
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * Sets the validator headers and checks the request's preconditions. When the client's copy is current,
+     * the response status is set to 304 and the caller must return without writing a body.
+     *
+     * @param ctx                The Javalin context.
+     * @param etag               The quoted ETag of the current representation.
+     * @param lastModifiedMillis The last modification time, or 0 to omit Last-Modified.
+     * @return true if a 304 Not Modified response was prepared.
+     */
+    public static boolean isNotModified(Context ctx, String etag, long lastModifiedMillis) {
+        ctx.header("ETag", etag);
+        ctx.header("Cache-Control", "private, no-cache"); // Cache, but always revalidate
+        if (lastModifiedMillis > 0) {
+            ctx.header("Last-Modified", DateTimeFormatter.RFC_1123_DATE_TIME
+                    .format(ZonedDateTime.ofInstant(Instant.ofEpochMilli(lastModifiedMillis), ZoneOffset.UTC)));
+        }
+
+        String ifNoneMatch = ctx.header("If-None-Match");
+        boolean notModified;
+        if (ifNoneMatch != null) {
+            // If-None-Match takes precedence over If-Modified-Since (RFC 9110 13.2.2)
+            notModified = matchesAny(ifNoneMatch, etag);
+        } else {
+            notModified = lastModifiedMillis > 0 && notModifiedSince(ctx.header("If-Modified-Since"), lastModifiedMillis);
+        }
+        if (notModified) {
+            ctx.status(304);
+        }
+        return notModified;
+    }
+
+    private static boolean matchesAny(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2); // If-None-Match uses weak comparison
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean notModifiedSince(String ifModifiedSince, long lastModifiedMillis) {
+        if (ifModifiedSince == null) {
+            return false;
+        }
+        try {
+            long since = ZonedDateTime.parse(ifModifiedSince, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            return lastModifiedMillis / 1000 <= since / 1000; // HTTP dates have one-second resolution
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.imperionite.cp2c.controller;
+
+import com.imperionite.cp2c.dto.DashboardResponse;
+import com.imperionite.cp2c.dto.MessageResponse;
+import com.imperionite.cp2c.service.DashboardService;
+import io.javalin.Javalin;
+
+/**
+ * Controller for the GUI home page summary.
+ * All routes under `/api/protected/*` are protected and require authentication
+ * (handled by AuthController's before filter).
+ */
+public class DashboardController {
+
+    /**
+     * Registers the dashboard route.
+     *
+     * @param app              The Javalin app instance to register routes with.
+     * @param dashboardService The DashboardService instance assembling the summary.
+     */
+    public static void registerRoutes(Javalin app, DashboardService dashboardService) {
+
+        // GET /api/protected/dashboard?changes=10 - Headcount by status, total monthly payroll
+        // cost, latest cutoff and the last `changes` (0-50) employee, user and payroll changes.
+        // Read from counters kept up to date as data changes; nothing is scanned.
+        app.get("/api/protected/dashboard", ctx -> {
+            int changes = DashboardResponse.DEFAULT_CHANGES;
+            if (ctx.queryParam("changes") != null) {
+                try {
+                    changes = Integer.parseInt(ctx.queryParam("changes").trim());
+                } catch (NumberFormatException e) {
+                    changes = -1;
+                }
+                if (changes < 0 || changes > DashboardResponse.MAX_CHANGES) {
+                    ctx.status(400);
+                    ctx.json(new MessageResponse("'changes' must be between 0 and " + DashboardResponse.MAX_CHANGES + "."));
+                    return;
+                }
+            }
+
+            String etag = ConditionalRequests.etag("dashboard", changes, dashboardService.getRevision());
+            if (ConditionalRequests.isNotModified(ctx, etag, 0)) {
+                return;
+            }
+            ctx.status(200);
+            ctx.json(dashboardService.getDashboard(changes));
+        });
+    }
+}
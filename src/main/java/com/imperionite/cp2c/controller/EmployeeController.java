@@ -1,14 +1,27 @@
 package com.imperionite.cp2c.controller;
 
+import com.imperionite.cp2c.dto.ChangeSetResponse;
+import com.imperionite.cp2c.dto.EmployeeBatchRequest;
+import com.imperionite.cp2c.dto.EmployeeBatchResponse;
 import com.imperionite.cp2c.dto.EmployeeDto;
+import com.imperionite.cp2c.dto.EmployeeQuery;
+import com.imperionite.cp2c.dto.EmployeeSearchResponse;
 import com.imperionite.cp2c.dto.MessageResponse;
+import com.imperionite.cp2c.dto.MultiGetRequest;
+import com.imperionite.cp2c.dto.ReportsResponse;
+import com.imperionite.cp2c.dto.SalaryStatsQuery;
 import com.imperionite.cp2c.model.Employee;
-import com.imperionite.cp2c.model.MonthlyCutoff;
-import com.imperionite.cp2c.model.MonthlySalaryCalculationResult;
 import com.imperionite.cp2c.service.EmployeeService;
+import com.imperionite.cp2c.service.MonthlyCutoffCatalog;
+import com.imperionite.cp2c.service.PayrollRequestCoalescer;
 import com.imperionite.cp2c.service.SalaryCalculatorService;
 import io.javalin.Javalin;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 /**
  * Controller for handling employee-related API endpoints.
@@ -17,6 +30,13 @@ import java.util.List;
  */
 public class EmployeeController {
 
+    // Query parameters that switch GET /api/protected/employees to paged responses
+    private static final Set<String> PAGE_PARAMS = Set.of("limit", "cursor", "sort", "status", "position",
+            "supervisor", "name", "minBasicSalary", "maxBasicSalary", "minHourlyRate", "maxHourlyRate",
+            "minGrossSemiMonthlyRate", "maxGrossSemiMonthlyRate", "filter");
+    // Response header carrying "<epoch>.<employee data version>" of list responses
+    public static final String DATA_VERSION_HEADER = "X-Data-Version";
+
     /**
      * Registers all employee routes.
      *
@@ -26,9 +46,19 @@ public class EmployeeController {
      *                                business logic.
      * @param salaryCalculatorService The SalaryCalculatorService instance for
      *                                salary computations.
+     * @param responseCache           The cache of pre-encoded list and detail
+     *                                responses.
+     * @param streamWriter            The writer for streamed (chunked) array
+     *                                responses.
+     * @param computeDispatcher       The executor for salary computations, kept
+     *                                off the request threads.
+     * @param payrollCoalescer        The single-flight layer shared by identical
+     *                                concurrent salary requests.
      */
     public static void registerRoutes(Javalin app, EmployeeService employeeService,
-            SalaryCalculatorService salaryCalculatorService) {
+            SalaryCalculatorService salaryCalculatorService, JsonResponseCache responseCache,
+            JsonStreamWriter streamWriter, ComputeDispatcher computeDispatcher,
+            PayrollRequestCoalescer payrollCoalescer) {
 
         // All routes for EmployeeController are typically under /api/protected/
         // The authentication filter for /api/protected/* is set up in AuthController.
@@ -36,10 +66,214 @@ public class EmployeeController {
         // *before* EmployeeController.registerRoutes(app, employeeService) in your
         // Main/App class setup.
 
-        // GET /api/protected/employees - List all employees with summary attributes
+        // GET /api/protected/employees - List employees with summary attributes.
+        // With any of limit, cursor, sort, status, position, supervisor or name (last-name
+        // prefix) the response is one page ({items, nextCursor, ...}); without them it is
+        // the full array, as before; add stream=true to have it written element by element
+        // (chunked) instead of from the cache. Salary bands are filtered with inclusive
+        // min/max parameters per field, e.g. minBasicSalary=20000&maxBasicSalary=40000 or
+        // minHourlyRate=150 (also maxHourlyRate, min/maxGrossSemiMonthlyRate). Ad-hoc conditions go
+        // in `filter`, e.g. filter=status = "Regular" and basicSalary > 50000 and position ~ "Manager"
+        // (fields as in employee JSON; = != < <= > >= and ~ for "words start with"; and/or/not).
+        // Accept: application/x-jackson-smile or application/cbor selects a binary encoding.
         app.get("/api/protected/employees", ctx -> {
-            System.out.println("EmployeeController: Fetching all employee summaries.");
-            ctx.json(employeeService.getAllEmployeeSummaries());
+            // Revalidation first: the list only changes when the employee data version does
+            String queryString = ctx.queryString();
+            WireFormat format = WireFormat.negotiate(ctx); // JSON unless the client accepts Smile or CBOR
+            long version = employeeService.getEmployeesVersion();
+            String etag = ConditionalRequests.etag("employees",
+                    (queryString == null ? "all" : Integer.toHexString(queryString.hashCode())) + format.getTagSuffix(),
+                    version);
+            // The version the body is at least as new as; clients pass it as `since` to /employees/changes
+            ctx.header(DATA_VERSION_HEADER, ConditionalRequests.getBootId() + "." + version);
+            if (ConditionalRequests.isNotModified(ctx, etag, employeeService.getEmployeesLastModified())) {
+                return;
+            }
+
+            boolean paged = ctx.queryParamMap().keySet().stream().anyMatch(PAGE_PARAMS::contains);
+            if (!paged && "true".equalsIgnoreCase(ctx.queryParam("stream"))) {
+                int written = streamWriter.writeArray(ctx, employeeService.streamEmployeeSummaries().iterator());
+                System.out.println("EmployeeController: Streamed " + written + " employee summaries.");
+                return;
+            }
+            if (!paged) {
+                System.out.println("EmployeeController: Fetching all employee summaries.");
+                JsonResponseCache.write(ctx, responseCache.get("employees", format, version,
+                        employeeService::getAllEmployeeSummaries));
+                return;
+            }
+
+            try {
+                EmployeeQuery query = new EmployeeQuery();
+                query.applySortParam(ctx.queryParam("sort"));
+                if (ctx.queryParam("limit") != null) {
+                    int limit = Integer.parseInt(ctx.queryParam("limit"));
+                    if (limit < 1 || limit > EmployeeQuery.MAX_LIMIT) {
+                        throw new IllegalArgumentException("'limit' must be between 1 and " + EmployeeQuery.MAX_LIMIT + ".");
+                    }
+                    query.setLimit(limit);
+                }
+                query.setCursor(ctx.queryParam("cursor"));
+                query.setStatus(ctx.queryParam("status"));
+                query.setPosition(ctx.queryParam("position"));
+                query.setSupervisor(ctx.queryParam("supervisor"));
+                query.setNamePrefix(ctx.queryParam("name"));
+                query.setFilter(ctx.queryParam("filter"));
+                for (EmployeeQuery.SalaryField field : EmployeeQuery.SalaryField.values()) {
+                    query.setSalaryRange(field, parseAmount(field.getMinParam(), ctx.queryParam(field.getMinParam())),
+                            parseAmount(field.getMaxParam(), ctx.queryParam(field.getMaxParam())));
+                }
+                System.out.println("EmployeeController: Fetching employee summary page (sort " + query.getSortParam()
+                        + ", limit " + query.getLimit() + ").");
+
+                JsonResponseCache.write(ctx, responseCache.get("employees?" + queryString, format, version,
+                        () -> employeeService.getEmployeeSummaryPage(query)));
+            } catch (NumberFormatException e) {
+                ctx.status(400);
+                ctx.json(new MessageResponse("'limit' must be a number."));
+            } catch (IllegalArgumentException e) {
+                ctx.status(400);
+                ctx.json(new MessageResponse(e.getMessage()));
+            }
+        });
+
+        // GET /api/protected/employees/changes?since=<version>[&epoch=<epoch>] - Delta sync:
+        // the latest state of every employee created or updated after `since`, and a tombstone
+        // for every employee deleted after it. `since` may also be given as "<epoch>.<version>"
+        // (the X-Data-Version header of list responses). resyncRequired=true means the change
+        // log no longer reaches back that far (or the server restarted): reload the list and
+        // continue from the returned version. Registered before /employees/{employeeNumber}.
+        app.get("/api/protected/employees/changes", ctx -> {
+            String sinceParam = ctx.queryParam("since");
+            String epoch = ctx.queryParam("epoch");
+            if (sinceParam == null || sinceParam.isBlank()) {
+                ctx.status(400);
+                ctx.json(new MessageResponse("'since' is required."));
+                return;
+            }
+            int separator = sinceParam.lastIndexOf('.');
+            if (separator >= 0) {
+                epoch = sinceParam.substring(0, separator);
+                sinceParam = sinceParam.substring(separator + 1);
+            }
+            long since;
+            try {
+                since = Long.parseLong(sinceParam.trim());
+            } catch (NumberFormatException e) {
+                ctx.status(400);
+                ctx.json(new MessageResponse("'since' must be a version number."));
+                return;
+            }
+
+            ChangeSetResponse<EmployeeDto> changeSet = epoch != null && !epoch.equals(ConditionalRequests.getBootId())
+                    ? ChangeSetResponse.resync(since, employeeService.getEmployeesVersion()) // Versions restarted
+                    : employeeService.getEmployeeChangesSince(since);
+            changeSet.setEpoch(ConditionalRequests.getBootId());
+            System.out.println("EmployeeController: Delta sync since version " + since + ": "
+                    + (changeSet.isResyncRequired() ? "resync required" : changeSet.getChanges().size() + " changes")
+                    + " (now at " + changeSet.getVersion() + ").");
+            ctx.header("Cache-Control", "no-store");
+            ctx.header(DATA_VERSION_HEADER, ConditionalRequests.getBootId() + "." + changeSet.getVersion());
+            ctx.status(200);
+            ctx.json(changeSet);
+        });
+
+        // GET /api/protected/employees/search?q=&limit= - Type-ahead search over last name,
+        // first name, position and immediate supervisor. Every word must match the start of a
+        // word in one of those fields; words of 4+ letters tolerate a typo. Best match first.
+        // Registered before /employees/{employeeNumber}.
+        app.get("/api/protected/employees/search", ctx -> {
+            String q = ctx.queryParam("q");
+            if (q == null || q.isBlank()) {
+                ctx.status(400);
+                ctx.json(new MessageResponse("'q' is required."));
+                return;
+            }
+            int limit = EmployeeSearchResponse.DEFAULT_LIMIT;
+            if (ctx.queryParam("limit") != null) {
+                try {
+                    limit = Integer.parseInt(ctx.queryParam("limit"));
+                } catch (NumberFormatException e) {
+                    limit = -1;
+                }
+                if (limit < 1 || limit > EmployeeSearchResponse.MAX_LIMIT) {
+                    ctx.status(400);
+                    ctx.json(new MessageResponse("'limit' must be a number between 1 and "
+                            + EmployeeSearchResponse.MAX_LIMIT + "."));
+                    return;
+                }
+            }
+
+            // Results only change with the employee data, so repeated keystrokes revalidate cheaply
+            String etag = ConditionalRequests.etag("employee-search",
+                    Integer.toHexString((q.trim().toLowerCase(Locale.ROOT) + "|" + limit).hashCode()),
+                    employeeService.getEmployeesVersion());
+            if (ConditionalRequests.isNotModified(ctx, etag, 0)) {
+                return;
+            }
+            ctx.status(200);
+            ctx.json(employeeService.searchEmployees(q, limit));
+        });
+
+        // GET /api/protected/employees/salary-stats?field=&min=&max=&percentiles=&bounds=|width=
+        // - Distribution of basicSalary (default), hourlyRate or grossSemiMonthlyRate over the
+        // employees within [min, max]: count, lowest/highest, percentiles (default 25,50,75,90)
+        // and a histogram cut at explicit `bounds` (e.g. 0,20000,40000) or every `width`.
+        // Answered from the field's range index. Registered before /employees/{employeeNumber}.
+        app.get("/api/protected/employees/salary-stats", ctx -> {
+            String queryString = ctx.queryString();
+            String etag = ConditionalRequests.etag("salary-stats",
+                    queryString == null ? "all" : Integer.toHexString(queryString.hashCode()),
+                    employeeService.getEmployeesVersion());
+            if (ConditionalRequests.isNotModified(ctx, etag, 0)) {
+                return;
+            }
+            try {
+                SalaryStatsQuery query = new SalaryStatsQuery();
+                if (ctx.queryParam("field") != null) {
+                    query.setField(EmployeeQuery.SalaryField.fromParam(ctx.queryParam("field").trim()));
+                }
+                query.setMin(parseAmount("min", ctx.queryParam("min")));
+                query.setMax(parseAmount("max", ctx.queryParam("max")));
+                if (query.getMin() != null && query.getMax() != null && query.getMin().compareTo(query.getMax()) > 0) {
+                    throw new IllegalArgumentException("'min' must not be greater than 'max'.");
+                }
+                if (ctx.queryParam("percentiles") != null) {
+                    List<BigDecimal> percentiles = parseAmounts("percentiles", ctx.queryParam("percentiles"));
+                    for (BigDecimal percentile : percentiles) {
+                        if (percentile.signum() <= 0 || percentile.compareTo(BigDecimal.valueOf(100)) > 0) {
+                            throw new IllegalArgumentException("'percentiles' must be between 0 (exclusive) and 100.");
+                        }
+                    }
+                    query.setPercentiles(percentiles);
+                }
+                if (ctx.queryParam("bounds") != null) {
+                    List<BigDecimal> bounds = parseAmounts("bounds", ctx.queryParam("bounds"));
+                    if (bounds.size() < 2 || bounds.size() > SalaryStatsQuery.MAX_BANDS + 1) {
+                        throw new IllegalArgumentException("'bounds' must list between 2 and "
+                                + (SalaryStatsQuery.MAX_BANDS + 1) + " amounts.");
+                    }
+                    for (int i = 1; i < bounds.size(); i++) {
+                        if (bounds.get(i).compareTo(bounds.get(i - 1)) <= 0) {
+                            throw new IllegalArgumentException("'bounds' must be strictly ascending.");
+                        }
+                    }
+                    query.setBounds(bounds);
+                } else if (ctx.queryParam("width") != null) {
+                    BigDecimal width = parseAmount("width", ctx.queryParam("width"));
+                    if (width == null || width.signum() <= 0) {
+                        throw new IllegalArgumentException("'width' must be greater than 0.");
+                    }
+                    query.setWidth(width);
+                }
+                System.out.println("EmployeeController: Computing " + query.getField().getParamName()
+                        + " distribution.");
+                ctx.status(200);
+                ctx.json(employeeService.getSalaryStats(query));
+            } catch (IllegalArgumentException e) {
+                ctx.status(400);
+                ctx.json(new MessageResponse(e.getMessage()));
+            }
         });
 
         // GET /api/protected/employees/:employeeNumber - Get full details of a single
@@ -48,11 +282,20 @@ public class EmployeeController {
             String employeeNumber = ctx.pathParam("employeeNumber");
             System.out.println("EmployeeController: Fetching details for employee number: " + employeeNumber);
 
-            Employee employee = employeeService.getEmployeeDetails(employeeNumber);
+            long version = employeeService.getEmployeeVersion(employeeNumber);
+            if (version >= 0 && ConditionalRequests.isNotModified(ctx,
+                    ConditionalRequests.etag("employee", employeeNumber, version), 0)) {
+                return;
+            }
+
+            JsonResponseCache.Entry entry = version < 0 ? null
+                    : responseCache.get("employee:" + employeeNumber, version, () -> {
+                        Employee employee = employeeService.getEmployeeDetails(employeeNumber);
+                        return employee != null ? new EmployeeDto(employee) : null; // Convert Employee model to DTO for response
+                    });
 
-            if (employee != null) {
-                ctx.status(200);
-                ctx.json(new EmployeeDto(employee)); // Convert Employee model to DTO for response
+            if (entry != null) {
+                JsonResponseCache.write(ctx, entry);
             } else {
                 ctx.status(404);
                 ctx.json(new MessageResponse("Employee with number " + employeeNumber + " not found."));
@@ -91,6 +334,60 @@ public class EmployeeController {
             }
         });
 
+        // POST /api/protected/employees:batch - Create, update and delete many employees in one request.
+        // Applied under a single lock with a single CSV write; each operation gets its own result.
+        app.post("/api/protected/employees:batch", ctx -> {
+            System.out.println("EmployeeController: Received employee batch request.");
+            try {
+                EmployeeBatchRequest batchRequest = ctx.bodyAsClass(EmployeeBatchRequest.class);
+                EmployeeBatchResponse batchResponse = employeeService.applyBatch(batchRequest);
+                ctx.status(200);
+                ctx.json(batchResponse);
+            } catch (IllegalArgumentException e) {
+                ctx.status(400); // Bad Request
+                System.err.println("EmployeeController: Rejected employee batch: " + e.getMessage());
+                ctx.json(new MessageResponse(e.getMessage()));
+            } catch (Exception e) {
+                ctx.status(500);
+                System.err.println("EmployeeController: Error applying employee batch: " + e.getMessage());
+                e.printStackTrace();
+                ctx.json(new MessageResponse("Internal server error during employee batch."));
+            }
+        });
+
+        // POST /api/protected/employees:multiGet - Full details of several employees in one request,
+        // e.g. {"employeeNumbers": ["10001", "10002"]}. Each number gets its own result (200, or
+        // 404 when no such employee exists), in request order.
+        app.post("/api/protected/employees:multiGet", ctx -> {
+            try {
+                MultiGetRequest multiGetRequest = ctx.bodyAsClass(MultiGetRequest.class);
+                ctx.status(200);
+                ctx.json(employeeService.getEmployeesDetails(multiGetRequest));
+            } catch (IllegalArgumentException e) {
+                ctx.status(400); // Bad Request
+                System.err.println("EmployeeController: Rejected employee multi-get: " + e.getMessage());
+                ctx.json(new MessageResponse(e.getMessage()));
+            }
+        });
+
+        // POST /api/protected/employees/salary:multiGet - Monthly salaries of several employees,
+        // e.g. {"yearMonth": "2024-06", "employeeNumbers": ["10001", "10002"]}. Calculated in
+        // parallel on the compute executor; employees without a salary for the month get a 404 result.
+        app.post("/api/protected/employees/salary:multiGet", ctx -> {
+            MultiGetRequest multiGetRequest = ctx.bodyAsClass(MultiGetRequest.class); // Parsed on the request thread
+            if (multiGetRequest.getYearMonth() == null || multiGetRequest.getYearMonth().isBlank()) {
+                ctx.status(400);
+                ctx.json(new MessageResponse("Missing 'yearMonth'."));
+                return;
+            }
+            computeDispatcher.dispatch(ctx, "salary-multiget", 400,
+                    () -> salaryCalculatorService.calculateMonthlySalaries(multiGetRequest),
+                    (context, response) -> {
+                        context.status(200);
+                        context.json(response);
+                    });
+        });
+
         // PATCH /api/protected/employees/:employeeNumber - Partially update an existing
         // employee (COMPLETED)
         app.patch("/api/protected/employees/{employeeNumber}", ctx -> {
@@ -150,12 +447,17 @@ public class EmployeeController {
         });
 
         // NEW: GET /api/protected/monthly-cutoffs - Get list of available monthly
-        // cutoffs
+        // cutoffs. Served from the catalog's pre-serialized snapshot; clients holding
+        // the current ETag get a 304 without any body being written.
         app.get("/api/protected/monthly-cutoffs", ctx -> {
             System.out.println("EmployeeController: Fetching monthly cutoffs for salary calculation.");
-            List<MonthlyCutoff> cutoffs = salaryCalculatorService.getMonthlyCutoffs();
-            ctx.json(cutoffs);
+            MonthlyCutoffCatalog.Snapshot snapshot = salaryCalculatorService.getMonthlyCutoffCatalog().getSnapshot();
+            if (ConditionalRequests.isNotModified(ctx, snapshot.getETag(), 0)) {
+                return;
+            }
             ctx.status(200);
+            ctx.contentType("application/json");
+            ctx.result(snapshot.getJson());
         });
 
         // NEW: GET /api/protected/employees/:employeeNumber/salary - Calculate monthly
@@ -173,21 +475,90 @@ public class EmployeeController {
                 return;
             }
 
-            try {
-                MonthlySalaryCalculationResult result = salaryCalculatorService.calculateMonthlySalary(employeeNumber,
-                        yearMonth);
-                ctx.json(result);
-                ctx.status(200);
-            } catch (IllegalArgumentException e) {
+            // The result depends only on the engine's loaded data (employees, attendance, tables)
+            String etag = ConditionalRequests.etag("salary", employeeNumber, yearMonth,
+                    salaryCalculatorService.getDataVersion());
+            if (ConditionalRequests.isNotModified(ctx, etag, 0)) {
+                return;
+            }
+
+            // Computed on the compute executor; concurrent identical requests share one
+            // computation. Unknown employees or months answer 404
+            computeDispatcher.dispatchShared(ctx, "salary", 404,
+                    () -> payrollCoalescer.calculateMonthlySalary(employeeNumber, yearMonth,
+                            work -> computeDispatcher.submit("salary", work)),
+                    (context, result) -> {
+                        context.status(200);
+                        context.json(result);
+                    });
+        });
+
+        // GET /api/protected/employees/:employeeNumber/reports?depth= - The employee's reports down to
+        // `depth` levels (default 1, 0 for totals only), with each employee's direct reports, subtree
+        // headcount and monthly payroll cost (basic salary plus allowances, themselves included).
+        // Supervisors are resolved from the "Last, First" immediate supervisor; totals are maintained
+        // as employees change, so only the returned levels are visited.
+        app.get("/api/protected/employees/{employeeNumber}/reports", ctx -> {
+            String employeeNumber = ctx.pathParam("employeeNumber");
+            int depth = ReportsResponse.DEFAULT_DEPTH;
+            if (ctx.queryParam("depth") != null) {
+                try {
+                    depth = Integer.parseInt(ctx.queryParam("depth").trim());
+                } catch (NumberFormatException e) {
+                    depth = -1;
+                }
+                if (depth < 0 || depth > ReportsResponse.MAX_DEPTH) {
+                    ctx.status(400);
+                    ctx.json(new MessageResponse("'depth' must be between 0 and " + ReportsResponse.MAX_DEPTH + "."));
+                    return;
+                }
+            }
+            System.out.println("EmployeeController: Fetching reports of employee " + employeeNumber + " (depth " + depth + ").");
+
+            // Any employee change can move people in or out of the subtree
+            String etag = ConditionalRequests.etag("reports", employeeNumber + ":" + depth,
+                    employeeService.getEmployeesVersion());
+            if (ConditionalRequests.isNotModified(ctx, etag, 0)) {
+                return;
+            }
+            ReportsResponse reports = employeeService.getReports(employeeNumber, depth);
+            if (reports == null) {
                 ctx.status(404);
-                ctx.json(new MessageResponse(e.getMessage()));
-            } catch (Exception e) {
-                System.err.println("EmployeeController: Error calculating salary for employee " + employeeNumber + ": "
-                        + e.getMessage());
-                e.printStackTrace();
-                ctx.status(500);
-                ctx.json(new MessageResponse("Error calculating salary: " + e.getMessage()));
+                ctx.json(new MessageResponse("Employee not found."));
+                return;
             }
+            ctx.status(200);
+            ctx.json(reports);
         });
     }
-}
\ No newline at end of file
+
+    /**
+     * Parses an amount query parameter.
+     *
+     * @return The amount, or null if the parameter is absent or blank.
+     * @throws IllegalArgumentException if the value is not a number.
+     */
+    private static BigDecimal parseAmount(String name, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("'" + name + "' must be a number."); // Not reported as a bad 'limit'
+        }
+    }
+
+    /**
+     * Parses a comma-separated list of amounts (e.g., "25,50,90").
+     */
+    private static List<BigDecimal> parseAmounts(String name, String value) {
+        List<BigDecimal> amounts = new ArrayList<>();
+        for (String part : value.split(",")) {
+            if (!part.isBlank()) {
+                amounts.add(parseAmount(name, part));
+            }
+        }
+        return amounts;
+    }
+}
@@ -0,0 +1,86 @@
+package com.imperionite.cp2c.controller;
+
+import com.imperionite.cp2c.dao.ChangeEventBus;
+import com.imperionite.cp2c.model.ChangeEvent;
+import io.javalin.Javalin;
+import io.javalin.http.sse.SseClient;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controller for the Server-Sent Events change feed.
+ * All routes under `/api/protected/*` are protected and require authentication
+ * (handled by AuthController's before filter).
+ */
+public class EventController {
+
+    private static final long HEARTBEAT_SECONDS = 20; // Keeps proxies from closing idle streams
+    // Response header with the server's boot id; event versions are only comparable within one epoch
+    public static final String EPOCH_HEADER = "X-Server-Epoch";
+    private static final Set<SseClient> CLIENTS = ConcurrentHashMap.newKeySet();
+    private static final ScheduledExecutorService HEARTBEAT = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cp2c-sse-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Registers the event stream routes.
+     *
+     * @param app      The Javalin app instance to register routes with.
+     * @param eventBus The bus the DAOs and payroll runs publish their changes to.
+     */
+    public static void registerRoutes(Javalin app, ChangeEventBus eventBus) {
+
+        HEARTBEAT.scheduleAtFixedRate(() -> CLIENTS.forEach(client -> {
+            synchronized (client) {
+                client.sendComment("heartbeat"); // A failed write closes the client and runs its onClose
+            }
+        }), HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+
+        app.before("/api/protected/events", ctx -> ctx.header(EPOCH_HEADER, ConditionalRequests.getBootId()));
+
+        // GET /api/protected/events - text/event-stream of employee, user and payroll changes.
+        // Each event is named after its record type and carries the op, key, version and the new record;
+        // a "resync" event means events were dropped and cached data must be refetched.
+        app.sse("/api/protected/events", client -> {
+            client.keepAlive();
+            ChangeEventBus.Subscription subscription = eventBus.subscribe(ChangeEventBus.DEFAULT_QUEUE_CAPACITY,
+                    event -> send(client, event));
+            CLIENTS.add(client);
+            client.onClose(() -> {
+                subscription.close();
+                CLIENTS.remove(client);
+                System.out.println("EventController: Event stream closed for " + client.ctx().ip());
+            });
+            synchronized (client) {
+                client.sendComment("connected");
+            }
+            // A reconnecting client may have missed events while it was away
+            if (client.ctx().header("Last-Event-ID") != null) {
+                subscription.requestResync();
+            }
+            System.out.println("EventController: Event stream opened for " + client.ctx().ip());
+        });
+
+        // GET /api/protected/metrics/events - Subscriber count and published/delivered/dropped/resync counters
+        app.get("/api/protected/metrics/events", ctx -> {
+            ctx.header("Cache-Control", "no-store");
+            ctx.status(200);
+            ctx.json(eventBus.getStats());
+        });
+    }
+
+    private static void send(SseClient client, ChangeEvent event) {
+        synchronized (client) {
+            if (client.terminated()) {
+                throw new IllegalStateException("Event stream is closed."); // Unsubscribes the client
+            }
+            client.sendEvent(event.getType(), event, event.getId());
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.imperionite.cp2c.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.imperionite.cp2c.config.ResponseCompression;
+import io.javalin.http.Context;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of pre-encoded JSON responses for hot read endpoints, keyed by route key and data version.
+ * A hit writes the stored bytes (or their gzip encoding, when compression is enabled and the client
+ * accepts it) straight to the response; the DTOs are serialized only once per data version, and compressed once, at the highest level,
+ * so hot payloads skip ResponseCompression's on-the-fly gzip. Smile and CBOR encodings (see WireFormat)
+ * are cached as separate entries, for clients that ask for them. Beyond MAX_ENTRIES the least recently used
+ * entry is evicted, so clients cycling through many distinct queries cannot flush the hot pages of others.
+ */
+public class JsonResponseCache {
+
+    private static final int MAX_ENTRIES = 512;
+
+    private final Map<WireFormat, ObjectMapper> mappers;
+    private final ReentrantLock lock = new ReentrantLock(); // Guards entries; access order changes on every read
+    private final Map<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * @param objectMapper The mapper used to encode cached bodies; normally the application's JSON mapper.
+     */
+    public JsonResponseCache(ObjectMapper objectMapper) {
+        this.mappers = WireFormat.mappers(objectMapper);
+    }
+
+    /**
+     * One encoded response body.
+     */
+    public static final class Entry {
+        private final long version;
+        private final String contentType;
+        private final byte[] json; // The body in the entry's encoding (JSON, Smile or CBOR)
+        private final byte[] gzip; // null when the body is below the compression threshold or compression is off
+
+        private Entry(long version, String contentType, byte[] json, byte[] gzip) {
+            this.version = version;
+            this.contentType = contentType;
+            this.json = json;
+            this.gzip = gzip;
+        }
+
+        public long getVersion() { return version; }
+        public int getSize() { return json.length; }
+    }
+
+    /**
+     * Returns the cached encoding for the key at the given version, producing and encoding it on a miss.
+     *
+     * @param key      The cache key (route plus any parameters that shape the body).
+     * @param version  The data version the body is derived from; read it before producing the body.
+     * @param producer Produces the response object; may return null for "no such resource".
+     * @return The cached entry, or null if the producer returned null.
+     */
+    public Entry get(String key, long version, Supplier<Object> producer) {
+        return get(key, WireFormat.JSON, version, producer);
+    }
+
+    /**
+     * Like {@link #get(String, long, Supplier)}, for the given encoding.
+     *
+     * @param key      The cache key (route plus any parameters that shape the body).
+     * @param format   The encoding to return; each encoding is cached separately.
+     * @param version  The data version the body is derived from; read it before producing the body.
+     * @param producer Produces the response object; may return null for "no such resource".
+     * @return The cached entry, or null if the producer returned null.
+     */
+    public Entry get(String key, WireFormat format, long version, Supplier<Object> producer) {
+        key = key + format.getTagSuffix();
+        Entry entry;
+        lock.lock();
+        try {
+            entry = entries.get(key);
+        } finally {
+            lock.unlock();
+        }
+        if (entry != null && entry.version == version) {
+            return entry;
+        }
+        Object body = producer.get();
+        if (body == null) {
+            return null;
+        }
+        Entry fresh = encode(format, version, body);
+        lock.lock();
+        try {
+            // Never let a slower request overwrite a newer version
+            entries.merge(key, fresh, (current, candidate) -> current.version > candidate.version ? current : candidate);
+        } finally {
+            lock.unlock();
+        }
+        return fresh;
+    }
+
+    /**
+     * Writes a cached entry as a 200 response in its encoding, gzip-encoded when the client accepts it.
+     *
+     * @param ctx   The Javalin context.
+     * @param entry The entry to write.
+     */
+    public static void write(Context ctx, Entry entry) {
+        ctx.status(200);
+        ctx.contentType(entry.contentType);
+        ctx.header("Vary", "Accept");
+        if (entry.gzip != null && acceptsGzip(ctx.header("Accept-Encoding"))) {
+            ctx.header("Content-Encoding", "gzip");
+            ctx.header("Vary", "Accept, Accept-Encoding");
+            ctx.result(entry.gzip);
+        } else {
+            ctx.result(entry.json);
+        }
+    }
+
+    /**
+     * Removes all cached entries.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Entry encode(WireFormat format, long version, Object body) {
+        try {
+            byte[] json = mappers.get(format).writeValueAsBytes(body);
+            boolean compress = ResponseCompression.isEnabled() && json.length >= ResponseCompression.getMinBytes();
+            return new Entry(version, format.getContentType(), json, compress ? gzip(json) : null);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("JsonResponseCache: Failed to encode response body.", e);
+        }
+    }
+
+    /**
+     * Reads Accept-Encoding the way WireFormat.negotiate reads Accept: gzip is accepted when it is listed
+     * with a q-value above 0, or, if it is not listed, when "*" is. "gzip;q=0" refuses it.
+     *
+     * @param acceptEncoding The Accept-Encoding header, or null.
+     * @return true if a gzip-encoded body may be sent.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+            return false;
+        }
+        double gzipQuality = -1;
+        double wildcardQuality = -1;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (!name.equals("gzip") && !name.equals("x-gzip") && !name.equals("*")) {
+                continue;
+            }
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (name.equals("*")) {
+                wildcardQuality = Math.max(wildcardQuality, quality);
+            } else {
+                gzipQuality = Math.max(gzipQuality, quality);
+            }
+        }
+        return (gzipQuality >= 0 ? gzipQuality : wildcardQuality) > 0;
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(ResponseCompression.PRECOMPRESSED_LEVEL);
+            }
+        }) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,68 @@
+package com.imperionite.cp2c.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.javalin.http.Context;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Writes large collections as a JSON array directly onto the response stream, one element at a time,
+ * as the iterator produces them. Nothing is buffered beyond the generator's own buffer, so memory per
+ * request stays constant regardless of collection size. The response is sent chunked (no Content-Length),
+ * flushing every {@link #CHUNK_ELEMENTS} elements. Clients that accept Smile or CBOR get the same array in
+ * that encoding (see WireFormat).
+ */
+public class JsonStreamWriter {
+
+    private static final int CHUNK_ELEMENTS = 128;
+
+    private final Map<WireFormat, ObjectMapper> mappers;
+    private final Map<WireFormat, ObjectWriter> elementWriters = new EnumMap<>(WireFormat.class);
+
+    /**
+     * @param objectMapper The application's JSON mapper; its settings (modules, indentation) apply to each element.
+     */
+    public JsonStreamWriter(ObjectMapper objectMapper) {
+        this.mappers = WireFormat.mappers(objectMapper);
+        // Flushing is done per chunk, not per element
+        mappers.forEach((format, mapper) ->
+                elementWriters.put(format, mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)));
+    }
+
+    /**
+     * Streams the elements as a 200 array response, in JSON or in the binary encoding the client accepts.
+     * Elements are pulled from the iterator only as they are written, so lazily computed streams
+     * (e.g., per-employee salary calculations) are evaluated one at a time.
+     *
+     * @param ctx      The Javalin context.
+     * @param elements The elements to write.
+     * @return The number of elements written.
+     * @throws IOException if writing to the client fails (e.g., the client disconnected).
+     */
+    public int writeArray(Context ctx, Iterator<?> elements) throws IOException {
+        WireFormat format = WireFormat.negotiate(ctx);
+        ObjectWriter elementWriter = elementWriters.get(format);
+        ctx.status(200);
+        ctx.contentType(format.getContentType());
+        ctx.header("Vary", "Accept");
+        int count = 0;
+        // Jetty's GzipHandler (see ResponseCompression) compresses the stream when the client accepts it
+        try (JsonGenerator generator = mappers.get(format).getFactory().createGenerator(ctx.outputStream())) {
+            generator.writeStartArray();
+            while (elements.hasNext()) {
+                elementWriter.writeValue(generator, elements.next());
+                if (++count % CHUNK_ELEMENTS == 0) {
+                    generator.flush(); // Chunk boundary: push what we have to the client
+                }
+            }
+            generator.writeEndArray();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,51 @@
+package com.imperionite.cp2c.controller;
+
+import com.imperionite.cp2c.service.PayrollRequestCoalescer;
+import io.javalin.Javalin;
+
+/**
+ * Controller for operational metrics endpoints.
+ * All routes under `/api/protected/*` are protected and require authentication
+ * (handled by AuthController's before filter).
+ */
+public class MetricsController {
+
+    /**
+     * Registers all metrics routes.
+     *
+     * @param app               The Javalin app instance to register routes with.
+     * @param computeDispatcher The compute executor whose per-route counters and
+     *                          queue/execution timings are reported.
+     * @param payrollCoalescer  The single-flight layer whose duplicate
+     *                          suppression is reported.
+     * @param admissionControl  The admission filter whose per-route-class limits
+     *                          and rejections are reported.
+     */
+    public static void registerRoutes(Javalin app, ComputeDispatcher computeDispatcher,
+            PayrollRequestCoalescer payrollCoalescer, AdmissionControl admissionControl) {
+
+        // GET /api/protected/metrics/compute - Per-route submitted/completed/failed/
+        // rejected/timed-out counts, queue wait and execution times, and current load
+        app.get("/api/protected/metrics/compute", ctx -> {
+            ctx.header("Cache-Control", "no-store");
+            ctx.status(200);
+            ctx.json(computeDispatcher.getStats());
+        });
+
+        // GET /api/protected/metrics/single-flight - Per computation kind: computations
+        // started, duplicate concurrent requests suppressed, and computations in flight
+        app.get("/api/protected/metrics/single-flight", ctx -> {
+            ctx.header("Cache-Control", "no-store");
+            ctx.status(200);
+            ctx.json(payrollCoalescer.getStats());
+        });
+
+        // GET /api/protected/metrics/admission - Per route class: current adaptive limit,
+        // in-flight and queued requests, admitted/waited/rejected/timed-out counts, latency
+        app.get("/api/protected/metrics/admission", ctx -> {
+            ctx.header("Cache-Control", "no-store");
+            ctx.status(200);
+            ctx.json(admissionControl.getStats());
+        });
+    }
+}
@@ -0,0 +1,154 @@
+package com.imperionite.cp2c.controller;
+
+import com.imperionite.cp2c.dto.MessageResponse;
+import com.imperionite.cp2c.dto.SimulationRequest;
+import com.imperionite.cp2c.service.PayrollAnalyticsService;
+import com.imperionite.cp2c.service.PayrollLedgerService;
+import com.imperionite.cp2c.service.PayrollRequestCoalescer;
+import com.imperionite.cp2c.service.PayrollSimulationService;
+import com.imperionite.cp2c.service.RemittanceReportService;
+import com.imperionite.cp2c.service.SalaryCalculatorService;
+import io.javalin.Javalin;
+
+import java.time.format.DateTimeParseException;
+
+/**
+ * Controller for company-wide payroll report endpoints.
+ * All routes under `/api/protected/*` are protected and require authentication
+ * (handled by AuthController's before filter).
+ */
+public class ReportController {
+
+    /**
+     * Registers all report routes.
+     *
+     * @param app                     The Javalin app instance to register routes
+     *                                with.
+     * @param remittanceReportService The RemittanceReportService instance for
+     *                                government remittance totals.
+     * @param payrollLedgerService    The PayrollLedgerService instance for
+     *                                year-to-date totals.
+     * @param payrollSimulationService The PayrollSimulationService instance for
+     *                                 what-if payroll scenarios.
+     * @param salaryCalculatorService  The SalaryCalculatorService instance for
+     *                                 bulk payroll results.
+     * @param streamWriter             The writer for streamed (chunked) array
+     *                                 responses.
+     * @param computeDispatcher        The executor for payroll computations, kept
+     *                                 off the request threads.
+     * @param payrollCoalescer         The single-flight layer shared by identical
+     *                                 concurrent report requests.
+     */
+    public static void registerRoutes(Javalin app, RemittanceReportService remittanceReportService,
+            PayrollLedgerService payrollLedgerService, PayrollSimulationService payrollSimulationService,
+            SalaryCalculatorService salaryCalculatorService, JsonStreamWriter streamWriter,
+            ComputeDispatcher computeDispatcher, PayrollRequestCoalescer payrollCoalescer) {
+
+        // GET /api/protected/remittances/{yearMonth} - SSS, PhilHealth and Pag-IBIG
+        // totals (employee and employer shares) for the whole company
+        app.get("/api/protected/remittances/{yearMonth}", ctx -> {
+            String yearMonth = ctx.pathParam("yearMonth");
+            System.out.println("ReportController: Fetching remittance report for " + yearMonth);
+
+            computeDispatcher.dispatchShared(ctx, "remittances", 404,
+                    () -> payrollCoalescer.getRemittanceReport(yearMonth,
+                            work -> computeDispatcher.submit("remittances", work)),
+                    (context, report) -> {
+                        context.status(200);
+                        context.json(report);
+                    });
+        });
+
+        // GET /api/protected/payroll/ytd?year=2024&throughMonth=12 - Year-to-date gross,
+        // contributions, 13th-month pay and annual tax reconciliation for every employee
+        // (annualTaxDue/taxStillDue stay null until all 12 months are posted)
+        app.get("/api/protected/payroll/ytd", ctx -> {
+            System.out.println("ReportController: Fetching company year-to-date payroll.");
+
+            Integer year;
+            int throughMonth;
+            try {
+                year = ctx.queryParam("year") != null ? Integer.valueOf(ctx.queryParam("year")) : null;
+                throughMonth = ctx.queryParam("throughMonth") != null
+                        ? Integer.parseInt(ctx.queryParam("throughMonth"))
+                        : 12;
+            } catch (NumberFormatException e) {
+                ctx.status(400);
+                ctx.json(new MessageResponse("'year' and 'throughMonth' must be numbers."));
+                return;
+            }
+
+            computeDispatcher.dispatchShared(ctx, "payroll-ytd", 400,
+                    () -> payrollCoalescer.getCompanyYearToDate(year, throughMonth,
+                            work -> computeDispatcher.submit("payroll-ytd", work)),
+                    (context, summaries) -> {
+                        context.status(200);
+                        context.json(summaries);
+                    });
+        });
+
+        // GET /api/protected/analytics/payroll?yearMonth=2024-06&dimension=position - Gross,
+        // deductions, net and employer contributions for the month, totalled by position,
+        // status or supervisor (default position)
+        app.get("/api/protected/analytics/payroll", ctx -> {
+            String yearMonth = ctx.queryParam("yearMonth");
+            String dimensionParam = ctx.queryParam("dimension");
+            if (yearMonth == null || yearMonth.isBlank()) {
+                ctx.status(400);
+                ctx.json(new MessageResponse("'yearMonth' query parameter is required (yyyy-MM)."));
+                return;
+            }
+            PayrollAnalyticsService.Dimension dimension;
+            try {
+                dimension = dimensionParam != null ? PayrollAnalyticsService.Dimension.fromParam(dimensionParam)
+                        : PayrollAnalyticsService.Dimension.POSITION;
+            } catch (IllegalArgumentException e) {
+                ctx.status(400);
+                ctx.json(new MessageResponse(e.getMessage()));
+                return;
+            }
+            System.out.println("ReportController: Fetching payroll totals by " + dimension.getParam() + " for " + yearMonth);
+
+            computeDispatcher.dispatchShared(ctx, "payroll-analytics", 404,
+                    () -> payrollCoalescer.getPayrollAnalytics(yearMonth, dimension,
+                            work -> computeDispatcher.submit("payroll-analytics", work)),
+                    (context, report) -> {
+                        context.status(200);
+                        context.json(report);
+                    });
+        });
+
+        // POST /api/protected/payroll/simulations - Evaluate what-if scenarios (raises,
+        // allowance changes, contribution table changes) against a month's payroll.
+        // Nothing is persisted; the response holds aggregate and per-employee deltas.
+        app.post("/api/protected/payroll/simulations", ctx -> {
+            System.out.println("ReportController: Running payroll simulation.");
+
+            SimulationRequest request = ctx.bodyAsClass(SimulationRequest.class); // Parsed on the request thread
+            computeDispatcher.dispatch(ctx, "payroll-simulations", 400,
+                    () -> payrollSimulationService.simulate(request),
+                    (context, outcomes) -> {
+                        context.status(200);
+                        context.json(outcomes);
+                    });
+        });
+
+        // GET /api/protected/payroll/{yearMonth}/results - Salary results of every employee
+        // for the month. Each result is calculated as it is written to the response, so the
+        // whole payroll is never held in memory. Accept: application/x-jackson-smile or
+        // application/cbor selects a binary encoding.
+        app.get("/api/protected/payroll/{yearMonth}/results", ctx -> {
+            String yearMonth = ctx.pathParam("yearMonth");
+            System.out.println("ReportController: Streaming payroll results for " + yearMonth);
+
+            try {
+                int written = streamWriter.writeArray(ctx,
+                        salaryCalculatorService.streamMonthlySalaries(yearMonth).iterator());
+                System.out.println("ReportController: Streamed " + written + " payroll results for " + yearMonth);
+            } catch (DateTimeParseException e) {
+                ctx.status(400);
+                ctx.json(new MessageResponse("Invalid yearMonth format. Expected yyyy-MM."));
+            }
+        });
+    }
+}
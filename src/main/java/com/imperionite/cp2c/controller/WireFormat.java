@@ -0,0 +1,107 @@
+package com.imperionite.cp2c.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.javalin.http.Context;
+
+import java.util.EnumMap;
+import java.util.Locale;
+
+/**
+ * Response encodings for bulk endpoints, chosen from the request's Accept header. Smile and CBOR are
+ * binary encodings of the same data model as JSON: numbers (including BigDecimal amounts) are written
+ * in binary rather than as decimal text, and Smile also back-references repeated field names and short
+ * strings, so large arrays of records are smaller and cheaper to encode. JSON remains the default.
+ */
+public enum WireFormat {
+    JSON("application/json", ""),
+    SMILE("application/x-jackson-smile", ".smile"),
+    CBOR("application/cbor", ".cbor");
+
+    private final String contentType;
+    private final String tagSuffix;
+
+    WireFormat(String contentType, String tagSuffix) {
+        this.contentType = contentType;
+        this.tagSuffix = tagSuffix;
+    }
+
+    public String getContentType() { return contentType; }
+
+    /**
+     * @return A suffix distinguishing this encoding in ETags and cache keys; empty for JSON, so JSON tags
+     *         are unchanged.
+     */
+    public String getTagSuffix() { return tagSuffix; }
+
+    /**
+     * Picks the encoding the client prefers: the supported media type with the highest q-value in Accept,
+     * the earlier one on a tie. Wildcards, a missing header and unsupported types all mean JSON.
+     *
+     * @param ctx The Javalin context.
+     * @return The encoding to respond with.
+     */
+    public static WireFormat negotiate(Context ctx) {
+        String accept = ctx.header("Accept");
+        if (accept == null || accept.isEmpty()) {
+            return JSON;
+        }
+        WireFormat best = JSON;
+        double bestQuality = 0;
+        for (String range : accept.split(",")) {
+            String[] parts = range.split(";");
+            WireFormat format = forMediaType(parts[0].trim().toLowerCase(Locale.ROOT));
+            if (format == null) {
+                continue;
+            }
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (quality > bestQuality) {
+                best = format;
+                bestQuality = quality;
+            }
+        }
+        return best;
+    }
+
+    private static WireFormat forMediaType(String mediaType) {
+        switch (mediaType) {
+            case "application/x-jackson-smile":
+                return SMILE;
+            case "application/cbor":
+                return CBOR;
+            case "application/json":
+            case "application/*":
+            case "*/*":
+                return JSON;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Derives a mapper for every encoding from the application's JSON mapper. Each copy keeps the JSON
+     * mapper's modules and settings (JavaTimeModule, BigDecimalDeserializer, date format), so all encodings
+     * describe the same data; indentation only applies to JSON.
+     *
+     * @param jsonMapper The application's JSON mapper.
+     * @return One mapper per encoding.
+     */
+    public static EnumMap<WireFormat, ObjectMapper> mappers(ObjectMapper jsonMapper) {
+        EnumMap<WireFormat, ObjectMapper> mappers = new EnumMap<>(WireFormat.class);
+        mappers.put(JSON, jsonMapper);
+        mappers.put(SMILE, jsonMapper.copyWith(new SmileFactory()));
+        mappers.put(CBOR, jsonMapper.copyWith(new CBORFactory()));
+        return mappers;
+    }
+}
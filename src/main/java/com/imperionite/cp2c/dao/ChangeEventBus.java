@@ -0,0 +1,182 @@
+package com.imperionite.cp2c.dao;
+
+import com.imperionite.cp2c.model.ChangeEvent;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * In-process publish/subscribe bus for record changes. DAOs and services publish while holding their
+ * write lock, so events for a collection are published in version order; publishing never blocks.
+ * Every subscriber has its own bounded queue drained by a small shared delivery pool, so a slow subscriber
+ * cannot delay the publisher or other subscribers. When a subscriber's queue overflows its pending events
+ * are dropped and it receives a single {@link ChangeEvent#resync()} event instead, telling it to refetch.
+ */
+public class ChangeEventBus {
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 256;
+    private static final int DELIVERY_THREADS = 4;
+
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor deliveryExecutor;
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong resyncs = new AtomicLong();
+
+    public ChangeEventBus() {
+        AtomicInteger counter = new AtomicInteger();
+        this.deliveryExecutor = new ThreadPoolExecutor(DELIVERY_THREADS, DELIVERY_THREADS, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "cp2c-events-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.deliveryExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * One subscriber's queue. Events are handed to the sink one at a time, never concurrently.
+     */
+    public final class Subscription implements AutoCloseable {
+        private final int capacity;
+        private final BlockingQueue<ChangeEvent> queue;
+        private final Consumer<ChangeEvent> sink;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean overflowed = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscription(int capacity, Consumer<ChangeEvent> sink) {
+            this.capacity = capacity;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.sink = sink;
+        }
+
+        private void offer(ChangeEvent event) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                // Too far behind: drop what is pending and tell the subscriber to refetch instead
+                dropped.addAndGet(queue.size() + 1L);
+                queue.clear();
+                overflowed.set(true);
+            }
+            scheduleDrain();
+        }
+
+        /**
+         * Queues a resync event for this subscriber only, e.g. when it reconnects after missing events.
+         */
+        public void requestResync() {
+            overflowed.set(true);
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!closed && draining.compareAndSet(false, true)) {
+                deliveryExecutor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                // Deliver at most one queue's worth per run so busy subscribers take turns on the pool
+                for (int i = 0; i <= capacity && !closed; i++) {
+                    ChangeEvent event;
+                    if (overflowed.getAndSet(false)) {
+                        queue.clear(); // The resync supersedes anything still pending
+                        resyncs.incrementAndGet();
+                        event = ChangeEvent.resync();
+                    } else {
+                        event = queue.poll();
+                    }
+                    if (event == null) {
+                        break;
+                    }
+                    sink.accept(event);
+                    delivered.incrementAndGet();
+                }
+            } catch (RuntimeException e) {
+                System.err.println("ChangeEventBus: Dropping subscriber after delivery failure: " + e.getMessage());
+                close();
+            } finally {
+                draining.set(false);
+            }
+            if (!queue.isEmpty() || overflowed.get()) {
+                scheduleDrain(); // Events arrived after the last poll
+            }
+        }
+
+        /**
+         * Stops delivery and removes the subscription from the bus.
+         */
+        @Override
+        public void close() {
+            closed = true;
+            queue.clear();
+            subscriptions.remove(this);
+        }
+    }
+
+    /**
+     * Registers a subscriber.
+     *
+     * @param capacity The maximum number of undelivered events before the subscriber is resynced.
+     * @param sink     Receives the events, on a delivery thread; throwing unsubscribes it.
+     * @return The subscription; close it when the subscriber goes away.
+     */
+    public Subscription subscribe(int capacity, Consumer<ChangeEvent> sink) {
+        Subscription subscription = new Subscription(Math.max(1, capacity), sink);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    /**
+     * Publishes an event to every subscriber. Never blocks.
+     *
+     * @param event The event to publish.
+     */
+    public void publish(ChangeEvent event) {
+        published.incrementAndGet();
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(event);
+        }
+    }
+
+    /**
+     * Publishes an upsert or delete of a record.
+     *
+     * @param type    The record type (see ChangeEvent.TYPE_*).
+     * @param key     The record key.
+     * @param version The collection version at which the record changed.
+     * @param data    The record's new state, or null if it was deleted.
+     */
+    public void publishChange(String type, String key, long version, Object data) {
+        publish(new ChangeEvent(type, data != null ? ChangeEvent.OP_UPSERT : ChangeEvent.OP_DELETE, key, version, data));
+    }
+
+    /**
+     * @return Subscriber count and published/delivered/dropped/resync counters.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("subscribers", subscriptions.size());
+        stats.put("published", published.get());
+        stats.put("delivered", delivered.get());
+        stats.put("dropped", dropped.get());
+        stats.put("resyncs", resyncs.get());
+        return stats;
+    }
+}
@@ -0,0 +1,99 @@
+package com.imperionite.cp2c.dao;
+
+import com.imperionite.cp2c.dto.ChangeSetResponse;
+import com.imperionite.cp2c.dto.RecordChange;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bounded in-memory log of the most recent changes to a collection (upserts and tombstones), used to
+ * answer "what changed since version N" without sending the whole collection.
+ * When the log is full the oldest change is evicted and the floor moves up to its version; a client whose
+ * version is below the floor has missed changes that are no longer recorded and must resync.
+ * Not thread-safe on its own; the owning DAO guards it with its read/write lock.
+ *
+ * @param <T> The record type.
+ */
+class ChangeLog<T> {
+
+    private static final class Entry<T> {
+        private final long version;
+        private final String key;
+        private final T value; // null for a delete
+
+        private Entry(long version, String key, T value) {
+            this.version = version;
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private final int capacity;
+    private final ArrayDeque<Entry<T>> entries;
+    private long floor; // Changes after this version are all in the log
+
+    /**
+     * @param capacity     The maximum number of changes retained.
+     * @param startVersion The collection version when the log starts (nothing before it is recorded).
+     */
+    ChangeLog(int capacity, long startVersion) {
+        this.capacity = Math.max(1, capacity);
+        this.entries = new ArrayDeque<>(Math.min(this.capacity, 1024));
+        this.floor = startVersion;
+    }
+
+    /**
+     * Records a change; versions must be appended in increasing order.
+     *
+     * @param version The collection version of the change.
+     * @param key     The record key.
+     * @param value   The record's new state, or null if it was deleted.
+     */
+    void append(long version, String key, T value) {
+        if (entries.size() == capacity) {
+            floor = entries.removeFirst().version;
+        }
+        entries.addLast(new Entry<>(version, key, value));
+    }
+
+    /**
+     * Collects the latest change of every record changed after `since`, oldest first.
+     * Walks backwards from the newest change, so the cost is proportional to the changes since the version.
+     *
+     * @param since          The version the client is up to date with.
+     * @param currentVersion The collection's current version.
+     * @return The changes, or a resync response if `since` is below the floor or ahead of the collection.
+     */
+    ChangeSetResponse<T> since(long since, long currentVersion) {
+        if (since < floor || since > currentVersion) {
+            return ChangeSetResponse.resync(since, currentVersion);
+        }
+        List<RecordChange<T>> changes = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        Iterator<Entry<T>> newestFirst = entries.descendingIterator();
+        while (newestFirst.hasNext()) {
+            Entry<T> entry = newestFirst.next();
+            if (entry.version <= since) {
+                break;
+            }
+            if (seen.add(entry.key)) { // Only the latest change of each record matters
+                changes.add(new RecordChange<>(entry.key, entry.version, entry.value));
+            }
+        }
+        Collections.reverse(changes);
+        return new ChangeSetResponse<>(since, currentVersion, false, changes);
+    }
+
+    /**
+     * @return The oldest version a client can sync from without a resync.
+     */
+    long getFloor() {
+        return floor;
+    }
+}
@@ -1,5 +1,14 @@
 package com.imperionite.cp2c.dao;
 
+import com.imperionite.cp2c.dto.ChangeSetResponse;
+import com.imperionite.cp2c.dto.EmployeeQuery;
+import com.imperionite.cp2c.dto.EmployeeSearchResponse;
+import com.imperionite.cp2c.dto.PageResponse;
+import com.imperionite.cp2c.dto.ReportsResponse;
+import com.imperionite.cp2c.dto.SalaryStatsQuery;
+import com.imperionite.cp2c.dto.SalaryStatsResponse;
+import com.imperionite.cp2c.dto.WorkforceTotals;
+import com.imperionite.cp2c.model.ChangeEvent;
 import com.imperionite.cp2c.model.Employee;
 import java.io.IOException;
 import java.math.BigDecimal;
@@ -8,20 +17,60 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
 
 /**
  * Data Access Object for Employee entities, managing persistence to a CSV file.
  * This class handles reading Employee data from and writing to `employees.csv`.
  * It includes basic in-memory caching and thread-safety for concurrent access.
+ * Lookups and list pages are served from ordered in-memory indexes (see EmployeeIndex).
  */
 public class EmployeeDao {
+
+    /**
+     * Employee fields that must be unique across employees, each indexed to its owner.
+     */
+    public enum UniqueField {
+        PHONE_NUMBER("Phone Number", Employee::getPhoneNumber),
+        SSS_NUMBER("SSS Number", Employee::getSssNumber),
+        PHILHEALTH_NUMBER("PhilHealth Number", Employee::getPhilhealthNumber),
+        TIN_NUMBER("TIN Number", Employee::getTinNumber),
+        PAGIBIG_NUMBER("Pag-ibig Number", Employee::getPagibigNumber);
+
+        private final String label;
+        private final Function<Employee, String> getter;
+
+        UniqueField(String label, Function<Employee, String> getter) {
+            this.label = label;
+            this.getter = getter;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public String valueOf(Employee employee) {
+            return getter.apply(employee);
+        }
+    }
+
     private final String filePath;
-    private final List<Employee> employees; // In-memory cache of employees
+    private final List<Employee> employees; // In-memory cache of employees (file order)
+    private final EmployeeIndex index = new EmployeeIndex(); // Lookup and sort/filter indexes over the cache
+    private final VersionTracker versions = new VersionTracker(); // Global and per-employee change versions
+    // Immutable copy of the list, republished after each write so readers iterate it without locking or copying
+    private volatile List<Employee> snapshot;
     private final ReadWriteLock lock = new ReentrantReadWriteLock(); // For thread-safe access
+    private final ChangeEventBus eventBus; // Notified of every change; null when nobody listens
+    // Recent upserts and tombstones for delta sync (-Dcp2c.changeLogCapacity, default 10000 changes)
+    private final ChangeLog<Employee> changeLog = new ChangeLog<>(Integer.getInteger("cp2c.changeLogCapacity", 10000), 0L);
 
     // CSV header for the employees file
     private static final String CSV_HEADER = "employeeNumber,lastName,firstName,birthday,address,phoneNumber,sssNumber,philhealthNumber,tinNumber,pagibigNumber,status,position,immediateSupervisor,basicSalary,riceSubsidy,phoneAllowance,clothingAllowance,grossSemiMonthlyRate,hourlyRate";
@@ -31,12 +80,30 @@ public class EmployeeDao {
 
 
     public EmployeeDao(String filePath) {
+        this(filePath, null);
+    }
+
+    /**
+     * @param filePath The employees CSV file.
+     * @param eventBus The bus to publish employee changes to, or null.
+     */
+    public EmployeeDao(String filePath, ChangeEventBus eventBus) {
         this.filePath = filePath;
+        this.eventBus = eventBus;
         // Ensure the CSV file exists with its header when the DAO is initialized
         initializeCsvFile();
         // Load existing employees from CSV on initialization
         this.employees = loadEmployeesFromCsv();
+        employees.forEach(employee -> {
+            index.put(employee);
+            versions.register(employee.getEmployeeNumber());
+        });
+        this.snapshot = Collections.unmodifiableList(new ArrayList<>(employees));
         System.out.println("EmployeeDao: Initialized with " + employees.size() + " employees loaded from " + filePath);
+        int unresolved = index.countUnresolvedSupervisors();
+        if (unresolved > 0) {
+            System.out.println("EmployeeDao: " + unresolved + " immediate supervisors did not match exactly one employee.");
+        }
     }
 
     /**
@@ -226,6 +293,9 @@ public class EmployeeDao {
         lock.writeLock().lock(); // Acquire write lock
         try {
             employees.add(employee);
+            index.put(employee);
+            recordChange(employee.getEmployeeNumber(), versions.touch(employee.getEmployeeNumber()), employee);
+            snapshot = Collections.unmodifiableList(new ArrayList<>(employees));
             saveEmployeesToCsv(); // Persist changes
             System.out.println("EmployeeDao: Added new employee: " + employee.getEmployeeNumber());
         } finally {
@@ -242,10 +312,42 @@ public class EmployeeDao {
     public Employee findByEmployeeNumber(String employeeNumber) {
         lock.readLock().lock(); // Acquire read lock
         try {
-            return employees.stream()
-                    .filter(e -> e.getEmployeeNumber().equals(employeeNumber))
-                    .findFirst()
-                    .orElse(null);
+            return index.get(employeeNumber);
+        } finally {
+            lock.readLock().unlock(); // Release read lock
+        }
+    }
+
+    /**
+     * Finds several employees by employee number under a single read lock.
+     *
+     * @param employeeNumbers The employee numbers to look up.
+     * @return The employees in the same order, with null for numbers that match no employee.
+     */
+    public List<Employee> findByEmployeeNumbers(List<String> employeeNumbers) {
+        List<Employee> found = new ArrayList<>(employeeNumbers.size());
+        lock.readLock().lock(); // Acquire read lock
+        try {
+            for (String employeeNumber : employeeNumbers) {
+                found.add(index.get(employeeNumber));
+            }
+        } finally {
+            lock.readLock().unlock(); // Release read lock
+        }
+        return found;
+    }
+
+    /**
+     * Finds which employee holds a value of a unique field.
+     *
+     * @param field The unique field.
+     * @param value The value to look up.
+     * @return The employee number of the owner, or null if no employee has this value.
+     */
+    public String findOwner(UniqueField field, String value) {
+        lock.readLock().lock(); // Acquire read lock
+        try {
+            return index.ownerOf(field, value);
         } finally {
             lock.readLock().unlock(); // Release read lock
         }
@@ -263,6 +365,10 @@ public class EmployeeDao {
             for (int i = 0; i < employees.size(); i++) {
                 if (employees.get(i).getEmployeeNumber().equals(updatedEmployee.getEmployeeNumber())) {
                     employees.set(i, updatedEmployee);
+                    index.put(updatedEmployee);
+                    recordChange(updatedEmployee.getEmployeeNumber(), versions.touch(updatedEmployee.getEmployeeNumber()),
+                            updatedEmployee);
+                    snapshot = Collections.unmodifiableList(new ArrayList<>(employees));
                     saveEmployeesToCsv(); // Persist changes
                     System.out.println("EmployeeDao: Updated employee: " + updatedEmployee.getEmployeeNumber());
                     return true;
@@ -286,6 +392,9 @@ public class EmployeeDao {
         try {
             boolean removed = employees.removeIf(employee -> employee.getEmployeeNumber().equals(employeeNumber));
             if (removed) {
+                index.remove(employeeNumber);
+                recordChange(employeeNumber, versions.forget(employeeNumber), null);
+                snapshot = Collections.unmodifiableList(new ArrayList<>(employees));
                 saveEmployeesToCsv(); // Persist changes
                 System.out.println("EmployeeDao: Deleted employee: " + employeeNumber);
             } else {
@@ -299,16 +408,251 @@ public class EmployeeDao {
 
     /**
      * Retrieves an unmodifiable list of all employees.
+     * The list is the snapshot published by the last write, so this is constant-time and lock-free;
+     * iterating it never blocks writers and is unaffected by later changes.
      *
      * @return A list of all Employee objects.
      */
     public List<Employee> getAllEmployees() {
+        return snapshot;
+    }
+
+    /**
+     * Returns the change versions of the employee data. Callers that derive a response from this DAO
+     * should read the version before reading the data, so a concurrent write can only make the version stale
+     * (forcing a later refetch), never newer than the data it labels.
+     *
+     * @return The VersionTracker for this DAO.
+     */
+    public VersionTracker getVersions() {
+        return versions;
+    }
+
+    /**
+     * Returns the latest change of every employee changed after the given version, from the change log.
+     *
+     * @param since The employee data version the caller is up to date with.
+     * @return The changes (upserts with the current record, deletes as tombstones) up to the current version,
+     *         or a resync response if the log no longer reaches back to `since`.
+     */
+    public ChangeSetResponse<Employee> findChangesSince(long since) {
+        lock.readLock().lock(); // Acquire read lock
+        try {
+            return changeLog.since(since, versions.getVersion());
+        } finally {
+            lock.readLock().unlock(); // Release read lock
+        }
+    }
+
+    /**
+     * Searches employees by last name, first name, position and immediate supervisor. Every word of the query
+     * must match a word of one of those fields as a prefix; longer words also match with a typo or two.
+     *
+     * @param query The search text (e.g., "garc man").
+     * @param limit The maximum number of results (capped at 50).
+     * @return The matching employees, best match first.
+     */
+    public EmployeeSearchResponse search(String query, int limit) {
         lock.readLock().lock(); // Acquire read lock
         try {
-            // Return an unmodifiable list to prevent external modification of the internal cache
-            return Collections.unmodifiableList(new ArrayList<>(employees));
+            return index.search(query, limit);
         } finally {
             lock.readLock().unlock(); // Release read lock
         }
     }
+
+    /**
+     * Retrieves an employee's place in the org chart: their resolved supervisor, subtree headcount and
+     * payroll cost, and their reports down to the given depth.
+     *
+     * @param employeeNumber The employee.
+     * @param depth          Levels of reports to include (0 for the totals only).
+     * @return The employee's reports, or null if the employee does not exist.
+     */
+    public ReportsResponse getReports(String employeeNumber, int depth) {
+        lock.readLock().lock(); // Acquire read lock
+        try {
+            return index.reports(employeeNumber, depth);
+        } finally {
+            lock.readLock().unlock(); // Release read lock
+        }
+    }
+
+    /**
+     * Retrieves the workforce totals kept by the indexes: headcount, headcount by status and monthly payroll
+     * cost. Nothing is scanned; the counters are adjusted on every create, update and delete.
+     *
+     * @return The totals, labelled with the employee data version they were read at.
+     */
+    public WorkforceTotals getWorkforceTotals() {
+        lock.readLock().lock(); // Acquire read lock
+        try {
+            return index.workforceTotals(versions.getVersion());
+        } finally {
+            lock.readLock().unlock(); // Release read lock
+        }
+    }
+
+    /**
+     * Summarizes a salary field (basic salary, hourly rate or gross semi-monthly rate) over the employees
+     * within a range: count, lowest/highest, percentiles and a band histogram, from the field's range index.
+     * Reads under the read lock, so every figure comes from the same state of the data.
+     *
+     * @param query The field, range, percentiles and bands.
+     * @return The salary distribution.
+     * @throws IllegalArgumentException if the bands are invalid for the data.
+     */
+    public SalaryStatsResponse getSalaryStats(SalaryStatsQuery query) {
+        lock.readLock().lock(); // Acquire read lock
+        try {
+            return index.salaryStats(query);
+        } finally {
+            lock.readLock().unlock(); // Release read lock
+        }
+    }
+
+    /**
+     * Retrieves one page of employees in the query's sort order, applying its filters.
+     * Only the entries on the page (plus one look-ahead match) are visited when the filters are index-backed.
+     *
+     * @param query The page request (sort, limit, cursor and filters).
+     * @return The page of matching employees, with a cursor for the next page if there is one.
+     * @throws IllegalArgumentException if the cursor is invalid for the query.
+     */
+    public PageResponse<Employee> findPage(EmployeeQuery query) {
+        lock.readLock().lock(); // Acquire read lock
+        try {
+            return index.page(query);
+        } finally {
+            lock.readLock().unlock(); // Release read lock
+        }
+    }
+
+    /**
+     * A unit of work over the employee data, handed to {@link #executeBatch(Function)}.
+     * Changes are applied to the indexes immediately, so later operations in the same batch see earlier ones
+     * (e.g., a uniqueness check after a delete); the list, versions, snapshot and CSV file are updated once
+     * when the batch completes.
+     */
+    public final class Batch {
+        private final Map<String, Employee> changed = new LinkedHashMap<>(); // Employee number -> new state (null = deleted)
+        private final Map<String, Employee> original = new HashMap<>(); // Employee number -> state before the batch
+
+        private Batch() {
+        }
+
+        public Employee find(String employeeNumber) {
+            return index.get(employeeNumber);
+        }
+
+        public String findOwner(UniqueField field, String value) {
+            return index.ownerOf(field, value);
+        }
+
+        /**
+         * Adds an employee, or replaces the one with the same employee number.
+         */
+        public void put(Employee employee) {
+            remember(employee.getEmployeeNumber());
+            index.put(employee);
+            changed.put(employee.getEmployeeNumber(), employee);
+        }
+
+        /**
+         * @return true if the employee existed and was deleted.
+         */
+        public boolean delete(String employeeNumber) {
+            if (index.get(employeeNumber) == null) {
+                return false;
+            }
+            remember(employeeNumber);
+            index.remove(employeeNumber);
+            changed.put(employeeNumber, null);
+            return true;
+        }
+
+        /**
+         * Discards every change made so far in this batch.
+         */
+        public void rollback() {
+            original.forEach((employeeNumber, before) -> {
+                if (before != null) {
+                    index.put(before);
+                } else {
+                    index.remove(employeeNumber);
+                }
+            });
+            original.clear();
+            changed.clear();
+        }
+
+        private void remember(String employeeNumber) {
+            if (!original.containsKey(employeeNumber)) {
+                original.put(employeeNumber, index.get(employeeNumber));
+            }
+        }
+    }
+
+    /**
+     * Runs a batch of changes under a single write-lock acquisition and persists them with a single CSV write.
+     * If the work throws, all of its changes are rolled back.
+     *
+     * @param work The batch work; receives a Batch to read and change employees through.
+     * @param <R>  The work's result type.
+     * @return The work's result.
+     */
+    public <R> R executeBatch(Function<Batch, R> work) {
+        lock.writeLock().lock(); // Acquire write lock once for the whole batch
+        try {
+            Batch batch = new Batch();
+            R result;
+            try {
+                result = work.apply(batch);
+            } catch (RuntimeException e) {
+                batch.rollback();
+                throw e;
+            }
+            if (!batch.changed.isEmpty()) {
+                // Rebuild the file-ordered list in one pass: replace or drop changed employees, append new ones
+                List<Employee> rebuilt = new ArrayList<>(employees.size() + batch.changed.size());
+                for (Employee employee : employees) {
+                    String employeeNumber = employee.getEmployeeNumber();
+                    if (!batch.changed.containsKey(employeeNumber)) {
+                        rebuilt.add(employee);
+                    } else if (batch.changed.get(employeeNumber) != null) {
+                        rebuilt.add(batch.changed.get(employeeNumber));
+                    }
+                }
+                batch.changed.forEach((employeeNumber, employee) -> {
+                    if (employee != null && batch.original.get(employeeNumber) == null) {
+                        rebuilt.add(employee);
+                    }
+                    if (employee != null) {
+                        recordChange(employeeNumber, versions.touch(employeeNumber), employee);
+                    } else {
+                        recordChange(employeeNumber, versions.forget(employeeNumber), null);
+                    }
+                });
+                employees.clear();
+                employees.addAll(rebuilt);
+                snapshot = Collections.unmodifiableList(new ArrayList<>(employees));
+                saveEmployeesToCsv(); // Persist all changes at once
+                System.out.println("EmployeeDao: Applied batch of " + batch.changed.size() + " employee changes.");
+            }
+            return result;
+        } finally {
+            lock.writeLock().unlock(); // Release write lock
+        }
+    }
+
+    /**
+     * Appends a change to the change log and publishes it to the event bus. Called under the write lock,
+     * right after the version bump, so both see employee changes in version order.
+     */
+    private void recordChange(String employeeNumber, long version, Employee employee) {
+        changeLog.append(version, employeeNumber, employee);
+        if (eventBus != null) {
+            eventBus.publishChange(ChangeEvent.TYPE_EMPLOYEE, employeeNumber, version, employee);
+        }
+    }
 }
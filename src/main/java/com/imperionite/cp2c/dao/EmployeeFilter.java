@@ -0,0 +1,661 @@
+package com.imperionite.cp2c.dao;
+
+import com.imperionite.cp2c.model.Employee;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A compiled filter expression over employees, e.g.
+ * `status = "Regular" and basicSalary > 50000 and position ~ "Manager"`.
+ * Comparisons are `field operator value`, where the value is a "double-quoted" string (backslash escapes
+ * `\"` and `\\`) or a number; they combine with `and`, `or`, `not` and parentheses, in the usual precedence
+ * (not, then and, then or); keywords are case-insensitive.
+ * Text fields support `=` and `!=`, which ignore case and surrounding spaces like the list filters, and `~`,
+ * which holds when every word of the value starts a word of the field, ignoring case and accents like the
+ * type-ahead search. Amount fields support `=`, `!=`, `<`, `<=`, `>` and `>=` against a number; an employee
+ * without the amount only matches `!=`.
+ * Compiling resolves every field getter, operator and literal once, so evaluating is a tree of small
+ * specialized predicates with no parsing, lookups or literal conversion per employee. The comparisons
+ * joined by the top-level `and` are kept as separate conjuncts, so EmployeeIndex can read the most
+ * selective one from an index and evaluate only the rest (see {@link #residual}).
+ */
+class EmployeeFilter {
+
+    static final int MAX_LENGTH = 2000;
+    private static final int MAX_DEPTH = 32; // Nesting of parentheses and `not`
+
+    /**
+     * Fields an expression can test, by the names used in employee JSON.
+     */
+    enum Attribute {
+        EMPLOYEE_NUMBER("employeeNumber", Employee::getEmployeeNumber, null),
+        LAST_NAME("lastName", Employee::getLastName, null),
+        FIRST_NAME("firstName", Employee::getFirstName, null),
+        BIRTHDAY("birthday", Employee::getBirthday, null),
+        ADDRESS("address", Employee::getAddress, null),
+        PHONE_NUMBER("phoneNumber", Employee::getPhoneNumber, null),
+        SSS_NUMBER("sssNumber", Employee::getSssNumber, null),
+        PHILHEALTH_NUMBER("philhealthNumber", Employee::getPhilhealthNumber, null),
+        TIN_NUMBER("tinNumber", Employee::getTinNumber, null),
+        PAGIBIG_NUMBER("pagibigNumber", Employee::getPagibigNumber, null),
+        STATUS("status", Employee::getStatus, null),
+        POSITION("position", Employee::getPosition, null),
+        IMMEDIATE_SUPERVISOR("immediateSupervisor", Employee::getImmediateSupervisor, null),
+        BASIC_SALARY("basicSalary", null, Employee::getBasicSalary),
+        RICE_SUBSIDY("riceSubsidy", null, Employee::getRiceSubsidy),
+        PHONE_ALLOWANCE("phoneAllowance", null, Employee::getPhoneAllowance),
+        CLOTHING_ALLOWANCE("clothingAllowance", null, Employee::getClothingAllowance),
+        GROSS_SEMI_MONTHLY_RATE("grossSemiMonthlyRate", null, Employee::getGrossSemiMonthlyRate),
+        HOURLY_RATE("hourlyRate", null, Employee::getHourlyRate);
+
+        private static final Map<String, Attribute> BY_NAME = new HashMap<>();
+
+        static {
+            for (Attribute attribute : values()) {
+                BY_NAME.put(attribute.name, attribute);
+            }
+            BY_NAME.put("supervisor", IMMEDIATE_SUPERVISOR); // Same name as the list filter parameter
+        }
+
+        private final String name;
+        private final Function<Employee, String> text;
+        private final Function<Employee, BigDecimal> amount;
+
+        Attribute(String name, Function<Employee, String> text, Function<Employee, BigDecimal> amount) {
+            this.name = name;
+            this.text = text;
+            this.amount = amount;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        boolean isAmount() {
+            return amount != null;
+        }
+    }
+
+    enum Operator {
+        EQ("="), NE("!="), LT("<"), LE("<="), GT(">"), GE(">="), MATCHES("~");
+
+        private final String symbol;
+
+        Operator(String symbol) {
+            this.symbol = symbol;
+        }
+    }
+
+    /**
+     * A parsed expression; compiles to a predicate.
+     */
+    private abstract static class Expression {
+        abstract Predicate<Employee> compile();
+
+        /**
+         * @return Relative evaluation cost, used to test cheap conjuncts first.
+         */
+        abstract int cost();
+    }
+
+    /**
+     * One `field operator value` comparison, compiled when it is parsed.
+     */
+    static final class Comparison extends Expression {
+        private final Attribute attribute;
+        private final Operator operator;
+        private final String literal; // The value as written, unquoted
+        private final String text; // Text fields: trimmed, lower-case value for = and !=
+        private final List<String> words; // Text fields: the value's search words for ~
+        private final BigDecimal amount; // Amount fields: the parsed value
+        private final Predicate<Employee> predicate;
+
+        private Comparison(Attribute attribute, Operator operator, String literal, BigDecimal amount) {
+            this.attribute = attribute;
+            this.operator = operator;
+            this.literal = literal;
+            this.text = attribute.isAmount() ? null : normalize(literal);
+            this.words = operator == Operator.MATCHES ? EmployeeSearchIndex.tokenize(literal) : List.of();
+            this.amount = amount;
+            this.predicate = attribute.isAmount() ? amountPredicate() : textPredicate();
+        }
+
+        private Predicate<Employee> textPredicate() {
+            Function<Employee, String> getter = attribute.text;
+            String value = text;
+            switch (operator) {
+                case EQ:
+                    return employee -> equalsNormalized(getter.apply(employee), value);
+                case NE:
+                    return employee -> !equalsNormalized(getter.apply(employee), value);
+                default:
+                    String[] prefixes = words.toArray(new String[0]);
+                    return employee -> EmployeeSearchIndex.hasWordPrefixes(getter.apply(employee), prefixes);
+            }
+        }
+
+        private Predicate<Employee> amountPredicate() {
+            Function<Employee, BigDecimal> getter = attribute.amount;
+            BigDecimal value = amount;
+            switch (operator) {
+                case EQ:
+                    return employee -> {
+                        BigDecimal actual = getter.apply(employee);
+                        return actual != null && actual.compareTo(value) == 0;
+                    };
+                case NE:
+                    return employee -> {
+                        BigDecimal actual = getter.apply(employee);
+                        return actual == null || actual.compareTo(value) != 0;
+                    };
+                case LT:
+                    return employee -> {
+                        BigDecimal actual = getter.apply(employee);
+                        return actual != null && actual.compareTo(value) < 0;
+                    };
+                case LE:
+                    return employee -> {
+                        BigDecimal actual = getter.apply(employee);
+                        return actual != null && actual.compareTo(value) <= 0;
+                    };
+                case GT:
+                    return employee -> {
+                        BigDecimal actual = getter.apply(employee);
+                        return actual != null && actual.compareTo(value) > 0;
+                    };
+                default:
+                    return employee -> {
+                        BigDecimal actual = getter.apply(employee);
+                        return actual != null && actual.compareTo(value) >= 0;
+                    };
+            }
+        }
+
+        @Override
+        Predicate<Employee> compile() {
+            return predicate;
+        }
+
+        @Override
+        int cost() {
+            return operator == Operator.MATCHES ? 2 : 1; // ~ splits the field into words
+        }
+
+        Attribute getAttribute() { return attribute; }
+        Operator getOperator() { return operator; }
+        String getLiteral() { return literal; }
+        String getText() { return text; }
+        List<String> getWords() { return words; }
+        BigDecimal getAmount() { return amount; }
+    }
+
+    private static final class AllOf extends Expression {
+        private final List<Expression> operands;
+
+        private AllOf(List<Expression> operands) {
+            this.operands = operands;
+        }
+
+        @Override
+        Predicate<Employee> compile() {
+            return allOf(operands);
+        }
+
+        @Override
+        int cost() {
+            return operands.stream().mapToInt(Expression::cost).sum();
+        }
+    }
+
+    private static final class AnyOf extends Expression {
+        private final List<Expression> operands;
+
+        private AnyOf(List<Expression> operands) {
+            this.operands = operands;
+        }
+
+        @Override
+        Predicate<Employee> compile() {
+            List<Expression> ordered = new ArrayList<>(operands);
+            ordered.sort(Comparator.comparingInt(Expression::cost));
+            if (ordered.size() == 2) {
+                Predicate<Employee> first = ordered.get(0).compile();
+                Predicate<Employee> second = ordered.get(1).compile();
+                return employee -> first.test(employee) || second.test(employee);
+            }
+            Predicate<Employee>[] predicates = compileAll(ordered);
+            return employee -> {
+                for (Predicate<Employee> predicate : predicates) {
+                    if (predicate.test(employee)) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        }
+
+        @Override
+        int cost() {
+            return operands.stream().mapToInt(Expression::cost).sum();
+        }
+    }
+
+    private static final class Not extends Expression {
+        private final Expression operand;
+
+        private Not(Expression operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        Predicate<Employee> compile() {
+            Predicate<Employee> predicate = operand.compile();
+            return employee -> !predicate.test(employee);
+        }
+
+        @Override
+        int cost() {
+            return operand.cost();
+        }
+    }
+
+    /**
+     * The tightest amount range implied by the top-level comparisons on one amount field.
+     */
+    static final class AmountRange {
+        private BigDecimal min;
+        private boolean minInclusive;
+        private BigDecimal max;
+        private boolean maxInclusive;
+        private final List<Comparison> comparisons = new ArrayList<>(); // The comparisons the range replaces
+
+        private void narrow(Comparison comparison) {
+            BigDecimal value = comparison.amount;
+            Operator operator = comparison.operator;
+            if (operator == Operator.GT || operator == Operator.GE || operator == Operator.EQ) {
+                int order = min == null ? 1 : value.compareTo(min);
+                if (order > 0 || (order == 0 && operator == Operator.GT)) {
+                    min = value;
+                    minInclusive = operator != Operator.GT;
+                }
+            }
+            if (operator == Operator.LT || operator == Operator.LE || operator == Operator.EQ) {
+                int order = max == null ? -1 : value.compareTo(max);
+                if (order < 0 || (order == 0 && operator == Operator.LT)) {
+                    max = value;
+                    maxInclusive = operator != Operator.LT;
+                }
+            }
+            comparisons.add(comparison);
+        }
+
+        BigDecimal getMin() { return min; }
+        boolean isMinInclusive() { return minInclusive; }
+        BigDecimal getMax() { return max; }
+        boolean isMaxInclusive() { return maxInclusive; }
+        List<Comparison> getComparisons() { return comparisons; }
+    }
+
+    private final String source;
+    private final List<Comparison> comparisons = new ArrayList<>(); // Top-level conjuncts that are comparisons
+    private final List<Expression> others = new ArrayList<>(); // The other top-level conjuncts
+    private final Predicate<Employee> predicate;
+
+    private EmployeeFilter(String source, Expression root) {
+        this.source = source;
+        List<Expression> conjuncts = root instanceof AllOf ? ((AllOf) root).operands : List.of(root);
+        for (Expression conjunct : conjuncts) {
+            if (conjunct instanceof Comparison) {
+                comparisons.add((Comparison) conjunct);
+            } else {
+                others.add(conjunct);
+            }
+        }
+        this.predicate = residual(List.of());
+    }
+
+    /**
+     * Parses and compiles a filter expression.
+     *
+     * @param source The expression.
+     * @return The compiled filter.
+     * @throws IllegalArgumentException if the expression is invalid, naming the position of the problem.
+     */
+    static EmployeeFilter compile(String source) {
+        if (source.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("'filter' must be at most " + MAX_LENGTH + " characters.");
+        }
+        Parser parser = new Parser(source);
+        Expression root = parser.parseOr(0);
+        if (parser.token != Token.END) {
+            throw parser.error("expected 'and', 'or' or the end of the filter");
+        }
+        return new EmployeeFilter(source, root);
+    }
+
+    /**
+     * @return Whether the employee matches the whole expression.
+     */
+    boolean test(Employee employee) {
+        return predicate.test(employee);
+    }
+
+    /**
+     * @return The comparisons joined by the top-level `and`; an employee must match all of them.
+     */
+    List<Comparison> getComparisons() {
+        return comparisons;
+    }
+
+    /**
+     * @param attribute An amount field.
+     * @return The range the top-level comparisons restrict the field to, or null if they do not restrict it.
+     */
+    AmountRange amountRange(Attribute attribute) {
+        AmountRange range = null;
+        for (Comparison comparison : comparisons) {
+            if (comparison.attribute == attribute && comparison.operator != Operator.NE) {
+                if (range == null) {
+                    range = new AmountRange();
+                }
+                range.narrow(comparison);
+            }
+        }
+        return range;
+    }
+
+    /**
+     * Compiles the conjuncts an index has not already guaranteed into one predicate, cheapest first.
+     *
+     * @param covered Top-level comparisons every candidate is known to satisfy.
+     * @return The predicate for the remaining conjuncts.
+     */
+    Predicate<Employee> residual(Collection<Comparison> covered) {
+        List<Expression> remaining = new ArrayList<>(others);
+        for (Comparison comparison : comparisons) {
+            if (!covered.contains(comparison)) {
+                remaining.add(comparison);
+            }
+        }
+        return allOf(remaining);
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    private static Predicate<Employee> allOf(List<Expression> operands) {
+        List<Expression> ordered = new ArrayList<>(operands);
+        ordered.sort(Comparator.comparingInt(Expression::cost));
+        switch (ordered.size()) {
+            case 0:
+                return employee -> true;
+            case 1:
+                return ordered.get(0).compile();
+            case 2: {
+                Predicate<Employee> first = ordered.get(0).compile();
+                Predicate<Employee> second = ordered.get(1).compile();
+                return employee -> first.test(employee) && second.test(employee);
+            }
+            default: {
+                Predicate<Employee>[] predicates = compileAll(ordered);
+                return employee -> {
+                    for (Predicate<Employee> predicate : predicates) {
+                        if (!predicate.test(employee)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                };
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Predicate<Employee>[] compileAll(List<Expression> expressions) {
+        Predicate<Employee>[] predicates = new Predicate[expressions.size()];
+        for (int i = 0; i < predicates.length; i++) {
+            predicates[i] = expressions.get(i).compile();
+        }
+        return predicates;
+    }
+
+    /**
+     * Equivalent to `normalize(value).equals(expected)` without allocating for ASCII values.
+     */
+    private static boolean equalsNormalized(String value, String expected) {
+        if (value == null) {
+            return expected.isEmpty();
+        }
+        int start = 0;
+        int end = value.length();
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (end - start != expected.length()) {
+            for (int i = start; i < end; i++) {
+                if (value.charAt(i) >= 128) {
+                    return normalize(value).equals(expected); // Lower-casing some characters changes the length
+                }
+            }
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c >= 128) {
+                return normalize(value).equals(expected);
+            }
+            if (c >= 'A' && c <= 'Z') {
+                c += 'a' - 'A';
+            }
+            if (c != expected.charAt(i - start)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private enum Token {
+        IDENTIFIER, STRING, NUMBER, OPERATOR, OPEN, CLOSE, END
+    }
+
+    /**
+     * Recursive-descent parser with a one-token lookahead.
+     */
+    private static final class Parser {
+        private final String source;
+        private int position;
+        private int tokenStart;
+        private Token token;
+        private String value; // Identifier name, unescaped string, number or operator symbol
+
+        private Parser(String source) {
+            this.source = source;
+            advance();
+        }
+
+        private Expression parseOr(int depth) {
+            List<Expression> operands = new ArrayList<>();
+            operands.add(parseAnd(depth));
+            while (isKeyword("or")) {
+                advance();
+                operands.add(parseAnd(depth));
+            }
+            return operands.size() == 1 ? operands.get(0) : new AnyOf(operands);
+        }
+
+        private Expression parseAnd(int depth) {
+            List<Expression> operands = new ArrayList<>();
+            addOperand(operands, parseUnary(depth));
+            while (isKeyword("and")) {
+                advance();
+                addOperand(operands, parseUnary(depth));
+            }
+            return operands.size() == 1 ? operands.get(0) : new AllOf(operands);
+        }
+
+        private static void addOperand(List<Expression> operands, Expression operand) {
+            if (operand instanceof AllOf) {
+                operands.addAll(((AllOf) operand).operands); // (a and b) and c has three conjuncts
+            } else {
+                operands.add(operand);
+            }
+        }
+
+        private Expression parseUnary(int depth) {
+            if (depth >= MAX_DEPTH) {
+                throw error("nested too deeply");
+            }
+            if (isKeyword("not")) {
+                advance();
+                return new Not(parseUnary(depth + 1));
+            }
+            if (token == Token.OPEN) {
+                advance();
+                Expression inner = parseOr(depth + 1);
+                if (token != Token.CLOSE) {
+                    throw error("expected ')'");
+                }
+                advance();
+                return inner;
+            }
+            return parseComparison();
+        }
+
+        private Expression parseComparison() {
+            if (token != Token.IDENTIFIER) {
+                throw error("expected a field name");
+            }
+            Attribute attribute = Attribute.BY_NAME.get(value);
+            if (attribute == null) {
+                throw error("unknown field '" + value + "'");
+            }
+            advance();
+            if (token != Token.OPERATOR) {
+                throw error("expected an operator after '" + attribute.name + "'");
+            }
+            Operator operator = null;
+            for (Operator candidate : Operator.values()) {
+                if (candidate.symbol.equals(value)) {
+                    operator = candidate;
+                }
+            }
+            if (attribute.isAmount() && operator == Operator.MATCHES) {
+                throw error("'~' only applies to text fields");
+            }
+            if (!attribute.isAmount() && operator != Operator.EQ && operator != Operator.NE
+                    && operator != Operator.MATCHES) {
+                throw error("'" + operator.symbol + "' only applies to amount fields");
+            }
+            advance();
+            Comparison comparison;
+            if (attribute.isAmount()) {
+                if (token != Token.NUMBER) {
+                    throw error("'" + attribute.name + "' must be compared with a number");
+                }
+                comparison = new Comparison(attribute, operator, value, new BigDecimal(value));
+            } else {
+                if (token != Token.STRING && token != Token.NUMBER) {
+                    throw error("expected a value for '" + attribute.name + "'");
+                }
+                comparison = new Comparison(attribute, operator, value, null);
+                if (operator == Operator.MATCHES && comparison.words.isEmpty()) {
+                    throw error("'~' needs at least one word");
+                }
+            }
+            advance();
+            return comparison;
+        }
+
+        private boolean isKeyword(String keyword) {
+            return token == Token.IDENTIFIER && value.equalsIgnoreCase(keyword);
+        }
+
+        private IllegalArgumentException error(String problem) {
+            return new IllegalArgumentException("Invalid filter at position " + (tokenStart + 1) + ": " + problem + ".");
+        }
+
+        private void advance() {
+            while (position < source.length() && Character.isWhitespace(source.charAt(position))) {
+                position++;
+            }
+            tokenStart = position;
+            if (position == source.length()) {
+                token = Token.END;
+                value = null;
+                return;
+            }
+            char c = source.charAt(position);
+            if (Character.isLetter(c) || c == '_') {
+                while (position < source.length()
+                        && (Character.isLetterOrDigit(source.charAt(position)) || source.charAt(position) == '_')) {
+                    position++;
+                }
+                token = Token.IDENTIFIER;
+                value = source.substring(tokenStart, position);
+            } else if (c == '"') {
+                token = Token.STRING;
+                value = readString();
+            } else if (Character.isDigit(c) || (c == '-' && position + 1 < source.length()
+                    && Character.isDigit(source.charAt(position + 1)))) {
+                position++;
+                while (position < source.length()
+                        && (Character.isDigit(source.charAt(position)) || source.charAt(position) == '.')) {
+                    position++;
+                }
+                value = source.substring(tokenStart, position);
+                if (!value.matches("-?\\d+(\\.\\d+)?")) {
+                    throw error("invalid number '" + value + "'");
+                }
+                token = Token.NUMBER;
+            } else if (c == '(' || c == ')') {
+                position++;
+                token = c == '(' ? Token.OPEN : Token.CLOSE;
+                value = String.valueOf(c);
+            } else {
+                String symbol = source.startsWith("!=", position) || source.startsWith("<=", position)
+                        || source.startsWith(">=", position) ? source.substring(position, position + 2)
+                        : "=<>~".indexOf(c) >= 0 ? String.valueOf(c) : null;
+                if (symbol == null) {
+                    throw error("unexpected character '" + c + "'");
+                }
+                position += symbol.length();
+                token = Token.OPERATOR;
+                value = symbol;
+            }
+        }
+
+        private String readString() {
+            StringBuilder text = new StringBuilder();
+            position++; // Opening quote
+            while (position < source.length()) {
+                char c = source.charAt(position++);
+                if (c == '"') {
+                    return text.toString();
+                }
+                if (c == '\\' && position < source.length()) {
+                    c = source.charAt(position++);
+                }
+                text.append(c);
+            }
+            throw error("unterminated string");
+        }
+    }
+}
@@ -0,0 +1,697 @@
+package com.imperionite.cp2c.dao;
+
+import com.imperionite.cp2c.dto.EmployeeQuery;
+import com.imperionite.cp2c.dto.EmployeeQuery.SalaryField;
+import com.imperionite.cp2c.dto.EmployeeQuery.SortField;
+import com.imperionite.cp2c.dto.EmployeeSearchResponse;
+import com.imperionite.cp2c.dto.PageResponse;
+import com.imperionite.cp2c.dto.ReportsResponse;
+import com.imperionite.cp2c.dto.SalaryBand;
+import com.imperionite.cp2c.dto.SalaryStatsQuery;
+import com.imperionite.cp2c.dto.SalaryStatsResponse;
+import com.imperionite.cp2c.dto.WorkforceTotals;
+import com.imperionite.cp2c.model.Employee;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Ordered in-memory indexes over the employee cache, used to serve list pages without scanning or copying
+ * the whole list. Every sort order has its own sorted map, and every equality filter (status, position,
+ * supervisor) partitions employees into per-value sorted maps, so a page is read by seeking to the cursor
+ * in the narrowest map and walking at most `limit + 1` matching entries. Government IDs and phone numbers
+ * are indexed to their owner so uniqueness checks are lookups rather than scans, and names, positions and
+ * supervisors feed a type-ahead search index (see EmployeeSearchIndex). Salary fields have order-statistic
+ * range indexes (see SalaryRangeIndex), so range counts, percentiles and band histograms are answered
+ * without a scan. Filter expressions (see EmployeeFilter) are planned over all of these: a narrower equality
+ * partition is walked in place, while a salary range, search-trie or unique-ID read is re-sorted and so only
+ * becomes the page's source when it is cheaper than scanning until the page is full; whatever the source
+ * does not guarantee is evaluated as a residual predicate.
+ * Supervisors are resolved into a reporting hierarchy with subtree headcount and payroll totals (see
+ * OrgChartIndex). Headcount by status and the total monthly payroll cost are adjusted on every put and
+ * remove, so dashboard totals are read without a scan.
+ * Keys are recorded when an employee is indexed, so removal stays correct even if the caller has since
+ * mutated the Employee object.
+ * Not thread-safe on its own; EmployeeDao guards it with its read/write lock.
+ */
+class EmployeeIndex {
+
+    private static final char KEY_SEPARATOR = '\u0000';
+    private static final int EMPLOYEE_NUMBER_WIDTH = 20;
+    // Reading an employee from a range or text index and re-sorting it costs about as much as scanning this
+    // many entries of a sorted map and testing them (measured with 100k employees)
+    private static final int RESORT_COST = 16;
+
+    /**
+     * Equality filters backed by partitioned indexes.
+     */
+    private enum FilterField {
+        STATUS(Employee::getStatus, EmployeeQuery::getStatus),
+        POSITION(Employee::getPosition, EmployeeQuery::getPosition),
+        SUPERVISOR(Employee::getImmediateSupervisor, EmployeeQuery::getSupervisor);
+
+        private final Function<Employee, String> employeeValue;
+        private final Function<EmployeeQuery, String> queryValue;
+
+        FilterField(Function<Employee, String> employeeValue, Function<EmployeeQuery, String> queryValue) {
+            this.employeeValue = employeeValue;
+            this.queryValue = queryValue;
+        }
+    }
+
+    /**
+     * An indexed employee together with the keys it was indexed under.
+     */
+    private static final class Indexed {
+        private final Employee employee;
+        private final EnumMap<SortField, String> sortKeys = new EnumMap<>(SortField.class);
+        private final EnumMap<FilterField, String> filterValues = new EnumMap<>(FilterField.class);
+        private final EnumMap<EmployeeDao.UniqueField, String> uniqueValues = new EnumMap<>(EmployeeDao.UniqueField.class);
+        private final EnumMap<SalaryField, BigDecimal> salaries = new EnumMap<>(SalaryField.class);
+        private final String status;
+        private final BigDecimal monthlyCost;
+
+        private Indexed(Employee employee) {
+            this.employee = employee;
+            this.status = statusLabel(employee);
+            this.monthlyCost = OrgChartIndex.monthlyCost(employee);
+            for (SortField field : SortField.values()) {
+                sortKeys.put(field, sortKey(field, employee));
+            }
+            for (FilterField field : FilterField.values()) {
+                filterValues.put(field, normalize(field.employeeValue.apply(employee)));
+            }
+            for (EmployeeDao.UniqueField field : EmployeeDao.UniqueField.values()) {
+                String value = field.valueOf(employee);
+                if (value != null && !value.isEmpty()) {
+                    uniqueValues.put(field, value);
+                }
+            }
+            for (SalaryField field : SalaryField.values()) {
+                BigDecimal amount = salaryOf(field, employee);
+                if (amount != null) {
+                    salaries.put(field, amount);
+                }
+            }
+        }
+    }
+
+    /**
+     * One sorted map per sort order over the same set of employees.
+     */
+    private static final class Partition {
+        private final EnumMap<SortField, NavigableMap<String, Employee>> bySort = new EnumMap<>(SortField.class);
+
+        private Partition() {
+            for (SortField field : SortField.values()) {
+                bySort.put(field, new TreeMap<>());
+            }
+        }
+
+        private void add(Indexed indexed) {
+            for (SortField field : SortField.values()) {
+                bySort.get(field).put(indexed.sortKeys.get(field), indexed.employee);
+            }
+        }
+
+        private void remove(Indexed indexed) {
+            for (SortField field : SortField.values()) {
+                bySort.get(field).remove(indexed.sortKeys.get(field));
+            }
+        }
+
+        private boolean isEmpty() {
+            return bySort.get(SortField.EMPLOYEE_NUMBER).isEmpty();
+        }
+    }
+
+    /**
+     * An index read yielding a superset of a page's matches.
+     */
+    private static final class AccessPath {
+        private final int estimate; // Upper bound on the employees read
+        private final boolean resorted; // Read into a new map, rather than walked in place
+        private final List<EmployeeFilter.Comparison> covered; // Filter comparisons every employee read satisfies
+        private final Function<SortField, NavigableMap<String, Employee>> reader;
+
+        private AccessPath(int estimate, boolean resorted, List<EmployeeFilter.Comparison> covered,
+                Function<SortField, NavigableMap<String, Employee>> reader) {
+            this.estimate = estimate;
+            this.resorted = resorted;
+            this.covered = covered;
+            this.reader = reader;
+        }
+    }
+
+    private final Map<String, Indexed> byEmployeeNumber = new HashMap<>();
+    private final Partition all = new Partition();
+    private final EnumMap<FilterField, Map<String, Partition>> partitions = new EnumMap<>(FilterField.class);
+    // Unique field value -> employee number of its owner
+    private final EnumMap<EmployeeDao.UniqueField, Map<String, String>> owners = new EnumMap<>(EmployeeDao.UniqueField.class);
+    private final EmployeeSearchIndex search = new EmployeeSearchIndex();
+    private final EnumMap<SalaryField, SalaryRangeIndex> salaryIndexes = new EnumMap<>(SalaryField.class);
+    private final OrgChartIndex orgChart = new OrgChartIndex();
+    private final TreeMap<String, Integer> headcountByStatus = new TreeMap<>(); // Status as recorded -> employees
+    private BigDecimal monthlyPayrollCost = BigDecimal.ZERO; // Basic salary plus allowances, all employees
+
+    EmployeeIndex() {
+        for (FilterField field : FilterField.values()) {
+            partitions.put(field, new HashMap<>());
+        }
+        for (EmployeeDao.UniqueField field : EmployeeDao.UniqueField.values()) {
+            owners.put(field, new HashMap<>());
+        }
+        for (SalaryField field : SalaryField.values()) {
+            salaryIndexes.put(field, new SalaryRangeIndex());
+        }
+    }
+
+    /**
+     * Indexes an employee, replacing any previously indexed record with the same employee number.
+     */
+    void put(Employee employee) {
+        remove(employee.getEmployeeNumber());
+        Indexed indexed = new Indexed(employee);
+        byEmployeeNumber.put(employee.getEmployeeNumber(), indexed);
+        all.add(indexed);
+        for (FilterField field : FilterField.values()) {
+            partitions.get(field)
+                    .computeIfAbsent(indexed.filterValues.get(field), value -> new Partition())
+                    .add(indexed);
+        }
+        indexed.uniqueValues.forEach((field, value) -> owners.get(field).put(value, employee.getEmployeeNumber()));
+        indexed.salaries.forEach((field, amount) -> salaryIndexes.get(field).add(amount, employee.getEmployeeNumber()));
+        search.put(employee);
+        orgChart.put(employee);
+        headcountByStatus.merge(indexed.status, 1, Integer::sum);
+        monthlyPayrollCost = monthlyPayrollCost.add(indexed.monthlyCost);
+    }
+
+    /**
+     * Removes the employee with the given number from every index.
+     */
+    void remove(String employeeNumber) {
+        Indexed existing = byEmployeeNumber.remove(employeeNumber);
+        if (existing == null) {
+            return;
+        }
+        all.remove(existing);
+        search.remove(employeeNumber);
+        orgChart.remove(employeeNumber);
+        headcountByStatus.computeIfPresent(existing.status, (status, count) -> count > 1 ? count - 1 : null);
+        monthlyPayrollCost = monthlyPayrollCost.subtract(existing.monthlyCost);
+        existing.uniqueValues.forEach((field, value) -> owners.get(field).remove(value, employeeNumber));
+        existing.salaries.forEach((field, amount) -> salaryIndexes.get(field).remove(amount, employeeNumber));
+        for (FilterField field : FilterField.values()) {
+            Map<String, Partition> byValue = partitions.get(field);
+            String value = existing.filterValues.get(field);
+            Partition partition = byValue.get(value);
+            if (partition != null) {
+                partition.remove(existing);
+                if (partition.isEmpty()) {
+                    byValue.remove(value);
+                }
+            }
+        }
+    }
+
+    Employee get(String employeeNumber) {
+        Indexed indexed = byEmployeeNumber.get(employeeNumber);
+        return indexed != null ? indexed.employee : null;
+    }
+
+    /**
+     * @return The employee number owning the value of a unique field, or null if the value is unused.
+     */
+    String ownerOf(EmployeeDao.UniqueField field, String value) {
+        return value == null || value.isEmpty() ? null : owners.get(field).get(value);
+    }
+
+    /**
+     * Ranked type-ahead search over names, positions and supervisors.
+     *
+     * @param query The search text.
+     * @param limit The maximum number of results.
+     * @return The best matches.
+     */
+    EmployeeSearchResponse search(String query, int limit) {
+        return search.search(query, limit, this::get);
+    }
+
+    /**
+     * @param employeeNumber The employee.
+     * @param depth          Levels of reports to include.
+     * @return The employee's reports and subtree totals, or null if the employee does not exist.
+     */
+    ReportsResponse reports(String employeeNumber, int depth) {
+        return orgChart.reports(employeeNumber, depth);
+    }
+
+    /**
+     * @return The number of employees whose recorded supervisor names no single employee.
+     */
+    int countUnresolvedSupervisors() {
+        return orgChart.countUnresolved();
+    }
+
+    /**
+     * @param version The employee data version the totals are read at.
+     * @return Headcount, headcount by status and monthly payroll cost, from the maintained counters.
+     */
+    WorkforceTotals workforceTotals(long version) {
+        return new WorkforceTotals(version, byEmployeeNumber.size(), new LinkedHashMap<>(headcountByStatus),
+                monthlyPayrollCost);
+    }
+
+    /**
+     * Summarizes the distribution of a salary field within the query's range. Every figure is a rank or
+     * select on the range index, so the cost is O(log n) per percentile and per band.
+     *
+     * @param query The field, range, percentiles and bands.
+     * @return The count, lowest/highest amounts, percentiles and band histogram.
+     * @throws IllegalArgumentException if a band width would produce more than SalaryStatsQuery.MAX_BANDS bands.
+     */
+    SalaryStatsResponse salaryStats(SalaryStatsQuery query) {
+        SalaryRangeIndex index = salaryIndexes.get(query.getField());
+        int from = index.lowerRank(query.getMin());
+        int to = index.upperRank(query.getMax());
+        int count = Math.max(0, to - from);
+        BigDecimal lowest = count > 0 ? index.select(from) : null;
+        BigDecimal highest = count > 0 ? index.select(to - 1) : null;
+
+        Map<String, BigDecimal> percentiles = new LinkedHashMap<>();
+        for (BigDecimal percentile : query.getPercentiles()) {
+            BigDecimal value = null;
+            if (count > 0) {
+                // Nearest rank: the lowest amount with at least `percentile` percent of the range at or below it
+                int rank = percentile.multiply(BigDecimal.valueOf(count))
+                        .divide(BigDecimal.valueOf(100), 0, RoundingMode.CEILING).intValue();
+                value = index.select(from + Math.max(1, Math.min(rank, count)) - 1);
+            }
+            percentiles.put("p" + percentile.stripTrailingZeros().toPlainString(), value);
+        }
+
+        List<BigDecimal> bounds = query.getBounds();
+        if (bounds.isEmpty() && query.getWidth() != null && count > 0) {
+            bounds = widthBounds(query.getWidth(), query.getMin() != null ? query.getMin() : lowest,
+                    query.getMax() != null ? query.getMax() : highest);
+        }
+        List<SalaryBand> bands = new ArrayList<>(Math.max(0, bounds.size() - 1));
+        for (int i = 0; i + 1 < bounds.size(); i++) {
+            boolean last = i + 2 == bounds.size();
+            int bandFrom = Math.max(from, index.rank(bounds.get(i), false));
+            int bandTo = Math.min(to, index.rank(bounds.get(i + 1), last));
+            bands.add(new SalaryBand(bounds.get(i), bounds.get(i + 1), Math.max(0, bandTo - bandFrom)));
+        }
+        return new SalaryStatsResponse(query.getField().getParamName(), query.getMin(), query.getMax(), count,
+                lowest, highest, percentiles, bands);
+    }
+
+    /**
+     * Band boundaries `width` apart, starting at a multiple of the width and reaching at least `high`.
+     */
+    private static List<BigDecimal> widthBounds(BigDecimal width, BigDecimal low, BigDecimal high) {
+        BigDecimal bound = low.divide(width, 0, RoundingMode.FLOOR).multiply(width);
+        List<BigDecimal> bounds = new ArrayList<>();
+        bounds.add(bound);
+        do {
+            if (bounds.size() > SalaryStatsQuery.MAX_BANDS) {
+                throw new IllegalArgumentException("'width' is too small: the range would need more than "
+                        + SalaryStatsQuery.MAX_BANDS + " bands.");
+            }
+            bound = bound.add(width);
+            bounds.add(bound);
+        } while (bound.compareTo(high) < 0);
+        return bounds;
+    }
+
+    /**
+     * Reads one page for the query.
+     *
+     * @param query The page request.
+     * @return The page of matching employees in the requested order.
+     * @throws IllegalArgumentException if the cursor is malformed or was issued for a different sort order.
+     */
+    PageResponse<Employee> page(EmployeeQuery query) {
+        int limit = Math.max(1, Math.min(query.getLimit(), EmployeeQuery.MAX_LIMIT));
+        SortField sort = query.getSort();
+
+        // Plan: start from the smallest partition among the equality filters; the others become predicates
+        NavigableMap<String, Employee> source = all.bySort.get(sort);
+        FilterField sourceFilter = null;
+        for (FilterField field : FilterField.values()) {
+            String wanted = field.queryValue.apply(query);
+            if (wanted == null || wanted.isBlank()) {
+                continue;
+            }
+            Partition partition = partitions.get(field).get(normalize(wanted));
+            if (partition == null) {
+                return new PageResponse<>(List.of(), null, limit, query.getSortParam()); // No employee has this value
+            }
+            NavigableMap<String, Employee> candidate = partition.bySort.get(sort);
+            if (sourceFilter == null || candidate.size() < source.size()) {
+                source = candidate;
+                sourceFilter = field;
+            }
+        }
+
+        // The filter expression's indexed comparisons are candidate sources too; the rest of it is the residual
+        EmployeeFilter filter = query.getFilter() != null && !query.getFilter().isBlank()
+                ? EmployeeFilter.compile(query.getFilter()) : null;
+        List<AccessPath> paths = filter != null ? filterPaths(filter) : new ArrayList<>();
+        for (SalaryField field : SalaryField.values()) {
+            if (query.hasSalaryRange(field)) {
+                SalaryRangeIndex index = salaryIndexes.get(field);
+                BigDecimal min = query.getSalaryMin(field);
+                BigDecimal max = query.getSalaryMax(field);
+                paths.add(new AccessPath(index.count(min, max), true, List.of(),
+                        sortOrder -> sorted(sortOrder, visitor -> index.forEachInRange(min, max, visitor))));
+            }
+        }
+        AccessPath walked = null; // Narrower partition than the list filters', walked in place
+        AccessPath resorted = null; // Narrowest read from a range, text or unique index, re-sorted
+        // Expected matches, taking the conditions as independent: each keeps its share of all employees
+        double matches = source.size();
+        int total = byEmployeeNumber.size();
+        for (AccessPath path : paths) {
+            if (path.estimate == 0) {
+                return new PageResponse<>(List.of(), null, limit, query.getSortParam()); // A condition matches nobody
+            }
+            matches *= Math.min(1.0, (double) path.estimate / total);
+            if (path.resorted) {
+                resorted = cheaper(resorted, path);
+            } else if (path.estimate < (walked != null ? walked.estimate : source.size())) {
+                walked = path;
+            }
+        }
+        AccessPath chosen = null;
+        if (walked != null) {
+            source = walked.reader.apply(sort);
+            sourceFilter = null; // The equality filters are all predicates now
+            chosen = walked;
+        }
+        // Re-sorting only pays when it reads fewer entries than a scan of the source visits before it has
+        // found limit + 1 matches, assuming they are spread evenly through it
+        double scanCost = Math.min(source.size(), (limit + 1) * (double) source.size() / Math.max(1.0, matches));
+        if (resorted != null && (double) resorted.estimate * RESORT_COST < scanCost) {
+            source = resorted.reader.apply(sort);
+            sourceFilter = null;
+            chosen = resorted;
+        }
+        Predicate<Employee> residual = filter != null
+                ? filter.residual(chosen != null ? chosen.covered : List.of()) : null;
+
+        // A last-name prefix is a key range when sorting by last name; otherwise it is a predicate
+        String prefix = query.getNamePrefix() != null && !query.getNamePrefix().isBlank()
+                ? normalize(query.getNamePrefix()) : null;
+        if (prefix != null && sort == SortField.LAST_NAME) {
+            source = source.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        }
+        if (query.isDescending()) {
+            source = source.descendingMap();
+        }
+        if (query.getCursor() != null && !query.getCursor().isBlank()) {
+            source = source.tailMap(decodeCursor(query.getCursor(), query), false);
+        }
+
+        List<Employee> items = new ArrayList<>(limit);
+        String lastKey = null;
+        boolean hasMore = false;
+        Iterator<Map.Entry<String, Employee>> iterator = source.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Employee> entry = iterator.next();
+            Employee employee = entry.getValue();
+            if (!matches(employee, query, sourceFilter, prefix)
+                    || (residual != null && !residual.test(employee))) {
+                continue;
+            }
+            if (items.size() == limit) {
+                hasMore = true; // One extra match proves there is a next page
+                break;
+            }
+            items.add(employee);
+            lastKey = entry.getKey();
+        }
+        return new PageResponse<>(items, hasMore ? encodeCursor(lastKey, query) : null, limit, query.getSortParam());
+    }
+
+    /**
+     * Lists the index reads that can serve a filter's top-level comparisons: the primary key or a unique ID
+     * for `=`, an equality partition for status, position or supervisor `=`, a salary range index for the
+     * combined bounds on one salary field, and the search trie for `~` on a name, position or supervisor,
+     * driven by the value's rarest word.
+     */
+    private List<AccessPath> filterPaths(EmployeeFilter filter) {
+        List<AccessPath> paths = new ArrayList<>();
+        for (EmployeeFilter.Comparison comparison : filter.getComparisons()) {
+            AccessPath path = accessPath(comparison);
+            if (path != null) {
+                paths.add(path);
+            }
+        }
+        for (SalaryField field : SalaryField.values()) {
+            EmployeeFilter.AmountRange range = filter.amountRange(attributeOf(field));
+            if (range != null) {
+                SalaryRangeIndex index = salaryIndexes.get(field);
+                int count = index.count(range.getMin(), range.isMinInclusive(), range.getMax(), range.isMaxInclusive());
+                paths.add(new AccessPath(count, true, range.getComparisons(), sort -> sorted(sort,
+                        visitor -> index.forEachInRange(range.getMin(), range.isMinInclusive(), range.getMax(),
+                                range.isMaxInclusive(), visitor))));
+            }
+        }
+        return paths;
+    }
+
+    private static AccessPath cheaper(AccessPath best, AccessPath candidate) {
+        return candidate != null && (best == null || candidate.estimate < best.estimate) ? candidate : best;
+    }
+
+    private AccessPath accessPath(EmployeeFilter.Comparison comparison) {
+        List<EmployeeFilter.Comparison> covered = List.of(comparison);
+        String value = comparison.getLiteral().trim();
+        if (comparison.getOperator() == EmployeeFilter.Operator.EQ) {
+            switch (comparison.getAttribute()) {
+                case EMPLOYEE_NUMBER:
+                    return single(byEmployeeNumber.get(value), covered);
+                case PHONE_NUMBER:
+                    return single(byEmployeeNumber.get(ownerOf(EmployeeDao.UniqueField.PHONE_NUMBER, value)), covered);
+                case SSS_NUMBER:
+                    return single(byEmployeeNumber.get(ownerOf(EmployeeDao.UniqueField.SSS_NUMBER, value)), covered);
+                case PHILHEALTH_NUMBER:
+                    return single(byEmployeeNumber.get(ownerOf(EmployeeDao.UniqueField.PHILHEALTH_NUMBER, value)),
+                            covered);
+                case TIN_NUMBER:
+                    return single(byEmployeeNumber.get(ownerOf(EmployeeDao.UniqueField.TIN_NUMBER, value)), covered);
+                case PAGIBIG_NUMBER:
+                    return single(byEmployeeNumber.get(ownerOf(EmployeeDao.UniqueField.PAGIBIG_NUMBER, value)),
+                            covered);
+                case LAST_NAME:
+                    return textPath(EmployeeSearchIndex.Field.LAST_NAME, comparison);
+                case FIRST_NAME:
+                    return textPath(EmployeeSearchIndex.Field.FIRST_NAME, comparison);
+                case STATUS:
+                    return partitionPath(FilterField.STATUS, comparison);
+                case POSITION:
+                    return partitionPath(FilterField.POSITION, comparison);
+                case IMMEDIATE_SUPERVISOR:
+                    return partitionPath(FilterField.SUPERVISOR, comparison);
+                default:
+                    return null;
+            }
+        }
+        if (comparison.getOperator() == EmployeeFilter.Operator.MATCHES) {
+            switch (comparison.getAttribute()) {
+                case LAST_NAME:
+                    return textPath(EmployeeSearchIndex.Field.LAST_NAME, comparison);
+                case FIRST_NAME:
+                    return textPath(EmployeeSearchIndex.Field.FIRST_NAME, comparison);
+                case POSITION:
+                    return textPath(EmployeeSearchIndex.Field.POSITION, comparison);
+                case IMMEDIATE_SUPERVISOR:
+                    return textPath(EmployeeSearchIndex.Field.SUPERVISOR, comparison);
+                default:
+                    return null;
+            }
+        }
+        return null;
+    }
+
+    private static AccessPath single(Indexed indexed, List<EmployeeFilter.Comparison> covered) {
+        return new AccessPath(indexed == null ? 0 : 1, true, covered, sort -> {
+            NavigableMap<String, Employee> source = new TreeMap<>();
+            if (indexed != null) {
+                source.put(indexed.sortKeys.get(sort), indexed.employee);
+            }
+            return source;
+        });
+    }
+
+    private AccessPath partitionPath(FilterField field, EmployeeFilter.Comparison comparison) {
+        Partition partition = partitions.get(field).get(comparison.getText());
+        if (partition == null) {
+            return new AccessPath(0, false, List.of(comparison), sort -> new TreeMap<>());
+        }
+        // Already sorted every way, so nothing is copied
+        return new AccessPath(partition.bySort.get(SortField.EMPLOYEE_NUMBER).size(), false, List.of(comparison),
+                partition.bySort::get);
+    }
+
+    /**
+     * Reads the employees whose field has a word starting with the comparison's rarest word. That is all a
+     * `~` with one word needs; for `=` (whose words must all occur) and longer values it is a superset.
+     */
+    private AccessPath textPath(EmployeeSearchIndex.Field field, EmployeeFilter.Comparison comparison) {
+        List<String> words = comparison.getOperator() == EmployeeFilter.Operator.MATCHES ? comparison.getWords()
+                : EmployeeSearchIndex.tokenize(comparison.getLiteral());
+        if (words.isEmpty()) {
+            return null;
+        }
+        String rarest = null;
+        int estimate = Integer.MAX_VALUE;
+        for (String word : words) {
+            int count = search.countWithPrefix(field, word);
+            if (count < estimate) {
+                estimate = count;
+                rarest = word;
+            }
+        }
+        String driver = rarest;
+        boolean exact = comparison.getOperator() == EmployeeFilter.Operator.MATCHES && words.size() == 1;
+        return new AccessPath(estimate, true, exact ? List.of(comparison) : List.of(),
+                sort -> sorted(sort, visitor -> search.forEachWithPrefix(field, driver, visitor)));
+    }
+
+    /**
+     * Collects employees by number into a map ordered by the sort key; duplicates collapse.
+     */
+    private NavigableMap<String, Employee> sorted(SortField sort, Consumer<Consumer<String>> employeeNumbers) {
+        NavigableMap<String, Employee> source = new TreeMap<>();
+        employeeNumbers.accept(employeeNumber -> {
+            Indexed indexed = byEmployeeNumber.get(employeeNumber);
+            source.put(indexed.sortKeys.get(sort), indexed.employee);
+        });
+        return source;
+    }
+
+    private static EmployeeFilter.Attribute attributeOf(SalaryField field) {
+        switch (field) {
+            case BASIC_SALARY:
+                return EmployeeFilter.Attribute.BASIC_SALARY;
+            case HOURLY_RATE:
+                return EmployeeFilter.Attribute.HOURLY_RATE;
+            default:
+                return EmployeeFilter.Attribute.GROSS_SEMI_MONTHLY_RATE;
+        }
+    }
+
+    private static boolean matches(Employee employee, EmployeeQuery query, FilterField sourceFilter, String prefix) {
+        for (FilterField field : FilterField.values()) {
+            if (field == sourceFilter) {
+                continue; // Already guaranteed by the partition being walked
+            }
+            String wanted = field.queryValue.apply(query);
+            if (wanted != null && !wanted.isBlank()
+                    && !normalize(wanted).equals(normalize(field.employeeValue.apply(employee)))) {
+                return false;
+            }
+        }
+        for (SalaryField field : SalaryField.values()) {
+            if (query.hasSalaryRange(field)
+                    && !inRange(salaryOf(field, employee), query.getSalaryMin(field), query.getSalaryMax(field))) {
+                return false;
+            }
+        }
+        return prefix == null || normalize(employee.getLastName()).startsWith(prefix);
+    }
+
+    private static boolean inRange(BigDecimal amount, BigDecimal min, BigDecimal max) {
+        return amount != null && (min == null || amount.compareTo(min) >= 0) && (max == null || amount.compareTo(max) <= 0);
+    }
+
+    private static BigDecimal salaryOf(SalaryField field, Employee employee) {
+        switch (field) {
+            case BASIC_SALARY:
+                return employee.getBasicSalary();
+            case HOURLY_RATE:
+                return employee.getHourlyRate();
+            default:
+                return employee.getGrossSemiMonthlyRate();
+        }
+    }
+
+    private static String sortKey(SortField field, Employee employee) {
+        String number = padEmployeeNumber(employee.getEmployeeNumber());
+        switch (field) {
+            case LAST_NAME:
+                return normalize(employee.getLastName()) + KEY_SEPARATOR + normalize(employee.getFirstName())
+                        + KEY_SEPARATOR + number;
+            case FIRST_NAME:
+                return normalize(employee.getFirstName()) + KEY_SEPARATOR + normalize(employee.getLastName())
+                        + KEY_SEPARATOR + number;
+            default:
+                return number;
+        }
+    }
+
+    /**
+     * Left-pads employee numbers so numeric numbers of different lengths sort numerically.
+     */
+    private static String padEmployeeNumber(String employeeNumber) {
+        String value = employeeNumber == null ? "" : employeeNumber.trim();
+        StringBuilder padded = new StringBuilder(EMPLOYEE_NUMBER_WIDTH);
+        for (int i = value.length(); i < EMPLOYEE_NUMBER_WIDTH; i++) {
+            padded.append('0');
+        }
+        return padded.append(value).toString();
+    }
+
+    private static String statusLabel(Employee employee) {
+        String status = employee.getStatus() != null ? employee.getStatus().trim() : "";
+        return status.isEmpty() ? "(none)" : status;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Cursors carry the sort order and the sort key of the last returned employee, so the next page resumes
+     * strictly after it even if employees were added or removed in between.
+     */
+    private static String encodeCursor(String key, EmployeeQuery query) {
+        String raw = query.getSortParam() + KEY_SEPARATOR + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeCursor(String cursor, EmployeeQuery query) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+        int separator = raw.indexOf(KEY_SEPARATOR);
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+        if (!raw.substring(0, separator).equals(query.getSortParam())) {
+            throw new IllegalArgumentException("Cursor was issued for a different sort order.");
+        }
+        return raw.substring(separator + 1);
+    }
+}
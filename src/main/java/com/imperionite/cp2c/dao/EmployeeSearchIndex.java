@@ -0,0 +1,832 @@
+package com.imperionite.cp2c.dao;
+
+import com.imperionite.cp2c.dto.EmployeeSearchHit;
+import com.imperionite.cp2c.dto.EmployeeSearchResponse;
+import com.imperionite.cp2c.model.Employee;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Type-ahead search over employee last names, first names, positions and immediate supervisors.
+ * Every word of those fields is a term in a character trie; a query word matches every term it is a prefix
+ * of, and, for words of four or more characters, every term whose prefix is within one edit (two edits from
+ * eight characters) of it, found by walking the trie with a Damerau-Levenshtein row per node and pruning
+ * branches that can no longer match. The most selective query word drives a best-first walk of its matching
+ * subtrees and the other words are checked against each candidate's own terms. Each node knows which fields
+ * occur below it, so the walk stops as soon as nothing left can outrank the current top results.
+ * Results are ranked by match quality (exact word, prefix, typo) and field (last name first, supervisor last);
+ * equal scores keep the order found, which within one term is by last name, first name, employee number.
+ * Updated on every put/remove; not thread-safe on its own, EmployeeIndex is guarded by EmployeeDao's lock.
+ */
+class EmployeeSearchIndex {
+
+    private static final int MAX_QUERY_TOKENS = 5;
+    // Upper bound on postings scored per query; only reached by broad multi-word queries matching few employees
+    private static final int MAX_POSTINGS = 20000;
+    // After this many candidates, another query word enumerates its matches once: every employee it matches
+    // if it has at most twice the driving word's postings, otherwise up to MAX_LOOKUP_TERMS matching terms
+    private static final int LOOKUP_AFTER_CHECKS = 256;
+    private static final int MAX_LOOKUP_TERMS = 4096;
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> EMPTY_VALUES = Set.of("null", "n/a", "none");
+
+    /**
+     * Searchable fields, declared in decreasing weight; the weight is added to the score of a word matched
+     * in that field.
+     */
+    enum Field {
+        LAST_NAME("lastName", 8, Employee::getLastName),
+        FIRST_NAME("firstName", 6, Employee::getFirstName),
+        POSITION("position", 4, Employee::getPosition),
+        SUPERVISOR("immediateSupervisor", 2, Employee::getImmediateSupervisor);
+
+        private final String label;
+        private final int weight;
+        private final Function<Employee, String> getter;
+        private final int bit = 1 << ordinal();
+
+        Field(String label, int weight, Function<Employee, String> getter) {
+            this.label = label;
+            this.weight = weight;
+            this.getter = getter;
+        }
+    }
+
+    private static final Field[] FIELDS = Field.values();
+
+    private static final class Node {
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private char[] keys = NO_KEYS; // Sorted child labels
+        private Node[] children = NO_CHILDREN;
+        private int size; // Number of children
+        private String term; // The term ending here, if any
+        private TreeMap<String, Posting> postings; // Employees with that term, by best field, then name
+        private int count; // Postings in this subtree
+        private final int[] fieldCounts = new int[FIELDS.length]; // Postings in this subtree per field
+
+        private Node child(char c) {
+            int i = Arrays.binarySearch(keys, 0, size, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        private Node addChild(char c) {
+            int i = Arrays.binarySearch(keys, 0, size, c);
+            if (i >= 0) {
+                return children[i];
+            }
+            int at = -i - 1;
+            if (size == keys.length) {
+                int capacity = Math.max(2, size * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(keys, at, keys, at + 1, size - at);
+            System.arraycopy(children, at, children, at + 1, size - at);
+            Node node = new Node();
+            keys[at] = c;
+            children[at] = node;
+            size++;
+            return node;
+        }
+
+        private void removeChild(char c) {
+            int i = Arrays.binarySearch(keys, 0, size, c);
+            if (i >= 0) {
+                System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+                System.arraycopy(children, i + 1, children, i, size - i - 1);
+                children[--size] = null;
+            }
+        }
+
+        private void count(int mask, int delta) {
+            count += delta;
+            for (Field field : FIELDS) {
+                if ((mask & field.bit) != 0) {
+                    fieldCounts[field.ordinal()] += delta;
+                }
+            }
+        }
+
+        /**
+         * @return The weight of the best field the term ending here occurs in.
+         */
+        private int termWeight() {
+            for (Field field : FIELDS) {
+                int own = fieldCounts[field.ordinal()];
+                for (int i = 0; i < size; i++) {
+                    own -= children[i].fieldCounts[field.ordinal()];
+                }
+                if (own > 0) {
+                    return field.weight;
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * @return The weight of the best field occurring anywhere in this subtree.
+         */
+        private int maxWeight() {
+            for (Field field : FIELDS) {
+                if (fieldCounts[field.ordinal()] > 0) {
+                    return field.weight;
+                }
+            }
+            return 0;
+        }
+    }
+
+    private static final class Posting {
+        private final String employeeNumber;
+        private final int mask; // Fields the term occurs in
+
+        private Posting(String employeeNumber, int mask) {
+            this.employeeNumber = employeeNumber;
+            this.mask = mask;
+        }
+    }
+
+    /**
+     * An indexed employee's words.
+     */
+    private static final class Entry {
+        private final String sortKey;
+        private final Map<String, Integer> terms; // Term -> fields it occurs in
+
+        private Entry(String sortKey, Map<String, Integer> terms) {
+            this.sortKey = sortKey;
+            this.terms = terms;
+        }
+    }
+
+    /**
+     * A trie node whose path is within the edit budget of a query word (so every term below it matches).
+     */
+    private static final class TokenMatch {
+        private final Node node;
+        private final int depth;
+        private final int edits;
+        private final boolean nested; // Below another match, so its postings are already counted there
+
+        private TokenMatch(Node node, int depth, int edits, boolean nested) {
+            this.node = node;
+            this.depth = depth;
+            this.edits = edits;
+            this.nested = nested;
+        }
+    }
+
+    /**
+     * A node waiting in the best-first walk; the bound is the best driver score of any term below it.
+     */
+    private static final class Frontier {
+        private final Node node;
+        private final int depth;
+        private final int edits;
+        private final int quality;
+        private final int bound;
+
+        private Frontier(Node node, int depth, int edits, int tokenLength) {
+            this.node = node;
+            this.depth = depth;
+            this.edits = edits;
+            this.quality = quality(tokenLength, depth, edits);
+            this.bound = quality + node.maxWeight();
+        }
+    }
+
+    /**
+     * A scored employee.
+     */
+    private static final class Candidate {
+        private final String employeeNumber;
+        private final int driverScore;
+        private final int score;
+        private final int fieldMask;
+        private final int order; // Discovery order, the tie-breaker
+
+        private Candidate(String employeeNumber, int driverScore, int score, int fieldMask, int order) {
+            this.employeeNumber = employeeNumber;
+            this.driverScore = driverScore;
+            this.score = score;
+            this.fieldMask = fieldMask;
+            this.order = order;
+        }
+    }
+
+    /**
+     * Scores a query word other than the driver against a candidate's own terms.
+     */
+    private final class WordMatcher {
+        private final int tokenLength;
+        private final List<TokenMatch> tokenMatches; // Fewest edits first
+        private final Map<Node, Integer> nodes = new HashMap<>(); // Matching node -> fewest edits
+        private final long driverPostings;
+        private long postings; // Postings below the matching nodes
+        private int maxDepth; // Depth of the deepest matching node
+        private final int bound; // Best score the word can add
+        private Map<String, Integer> terms; // Matching term -> fewest edits, once built
+        private Map<String, Integer> employees; // Employee number -> best score << 4 | its fields, once built
+        private int checks; // Candidates checked so far
+
+        private WordMatcher(String token, List<TokenMatch> tokenMatches, long driverPostings) {
+            this.tokenLength = token.length();
+            // Visiting a node first through its best match lets later visits be skipped
+            this.tokenMatches = new ArrayList<>(tokenMatches);
+            this.tokenMatches.sort(Comparator.comparingInt(m -> m.edits));
+            this.driverPostings = driverPostings;
+            for (TokenMatch tokenMatch : tokenMatches) {
+                nodes.merge(tokenMatch.node, tokenMatch.edits, Math::min);
+                postings += tokenMatch.nested ? 0 : tokenMatch.node.count;
+                maxDepth = Math.max(maxDepth, tokenMatch.depth);
+            }
+            this.bound = bestTermScore();
+        }
+
+        /**
+         * @return The best score of any matching term, found best-first like the driving walk.
+         */
+        private int bestTermScore() {
+            PriorityQueue<Frontier> queue = new PriorityQueue<>(Comparator.comparingInt((Frontier f) -> -f.bound));
+            for (TokenMatch tokenMatch : tokenMatches) {
+                queue.add(new Frontier(tokenMatch.node, tokenMatch.depth, tokenMatch.edits, tokenLength));
+            }
+            Set<Node> visited = new HashSet<>();
+            int best = 0;
+            while (!queue.isEmpty() && queue.peek().bound > best) {
+                Frontier next = queue.poll();
+                if (!visited.add(next.node)) {
+                    continue;
+                }
+                if (next.node.term != null) {
+                    best = Math.max(best, next.quality + next.node.termWeight());
+                }
+                for (int i = 0; i < next.node.size; i++) {
+                    queue.add(new Frontier(next.node.children[i], next.depth + 1, next.edits, tokenLength));
+                }
+            }
+            return best;
+        }
+
+        /**
+         * @param employeeNumber The candidate.
+         * @param candidateTerms The candidate's terms and the fields they occur in.
+         * @param fieldMask      Receives the fields of the best matching term.
+         * @return The word's best score for the candidate, or -1 if none of its terms matches.
+         */
+        private int score(String employeeNumber, Map<String, Integer> candidateTerms, int[] fieldMask) {
+            if (++checks == LOOKUP_AFTER_CHECKS) {
+                // Enough candidates to pay for enumerating the word's matches once
+                if (postings <= 2 * driverPostings) {
+                    employees = scoreEmployees();
+                } else {
+                    terms = matchingTerms();
+                }
+            }
+            if (employees != null) {
+                Integer packed = employees.get(employeeNumber);
+                if (packed == null) {
+                    return -1;
+                }
+                fieldMask[0] = packed & 0xF;
+                return packed >> 4;
+            }
+            int best = -1;
+            for (Map.Entry<String, Integer> entry : candidateTerms.entrySet()) {
+                int edits = editsFor(entry.getKey());
+                if (edits < 0) {
+                    continue;
+                }
+                int score = quality(tokenLength, entry.getKey().length(), edits) + bestWeight(entry.getValue());
+                if (score > best) {
+                    best = score;
+                    fieldMask[0] = entry.getValue();
+                }
+            }
+            return best;
+        }
+
+        private int editsFor(String term) {
+            if (terms != null) {
+                Integer edits = terms.get(term);
+                return edits != null ? edits : -1;
+            }
+            int best = -1;
+            Node node = root;
+            for (int i = 0; i < Math.min(term.length(), maxDepth) && node != null; i++) {
+                node = node.child(term.charAt(i));
+                Integer edits = node != null ? nodes.get(node) : null;
+                if (edits != null && (best < 0 || edits < best)) {
+                    best = edits;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * @return Matching term -> fewest edits, or null if the word matches more than MAX_LOOKUP_TERMS terms.
+         */
+        private Map<String, Integer> matchingTerms() {
+            Map<String, Integer> lookup = new HashMap<>();
+            Set<Node> visited = new HashSet<>();
+            ArrayDeque<Node> stack = new ArrayDeque<>();
+            for (TokenMatch tokenMatch : tokenMatches) {
+                stack.push(tokenMatch.node);
+                while (!stack.isEmpty()) {
+                    Node node = stack.pop();
+                    if (!visited.add(node)) {
+                        continue;
+                    }
+                    if (node.term != null) {
+                        lookup.put(node.term, tokenMatch.edits);
+                        if (lookup.size() > MAX_LOOKUP_TERMS) {
+                            return null;
+                        }
+                    }
+                    for (int i = 0; i < node.size; i++) {
+                        stack.push(node.children[i]);
+                    }
+                }
+            }
+            return lookup;
+        }
+
+        /**
+         * @return Employee number -> best score << 4 | fields, for every employee the word matches.
+         */
+        private Map<String, Integer> scoreEmployees() {
+            Map<String, Integer> scores = new HashMap<>((int) (postings * 4 / 3) + 1);
+            Set<Node> visited = new HashSet<>();
+            ArrayDeque<Node> stack = new ArrayDeque<>();
+            for (TokenMatch tokenMatch : tokenMatches) {
+                stack.push(tokenMatch.node);
+                while (!stack.isEmpty()) {
+                    Node node = stack.pop();
+                    if (!visited.add(node)) {
+                        continue;
+                    }
+                    if (node.postings != null) {
+                        int quality = quality(tokenLength, node.term.length(), tokenMatch.edits);
+                        for (Posting posting : node.postings.values()) {
+                            scores.merge(posting.employeeNumber,
+                                    (quality + bestWeight(posting.mask)) << 4 | posting.mask, Math::max);
+                        }
+                    }
+                    for (int i = 0; i < node.size; i++) {
+                        stack.push(node.children[i]);
+                    }
+                }
+            }
+            return scores;
+        }
+    }
+
+    private final Node root = new Node();
+    private final Map<String, Entry> entries = new HashMap<>(); // Employee number -> indexed words
+
+    /**
+     * Indexes an employee's searchable words, replacing any previously indexed words for that employee.
+     */
+    void put(Employee employee) {
+        String employeeNumber = employee.getEmployeeNumber();
+        remove(employeeNumber);
+        Map<String, Integer> terms = new HashMap<>();
+        for (Field field : FIELDS) {
+            for (String term : tokenize(field.getter.apply(employee))) {
+                terms.merge(term, field.bit, (a, b) -> a | b);
+            }
+        }
+        if (terms.isEmpty()) {
+            return;
+        }
+        Entry entry = new Entry(sortKey(employee), terms);
+        entries.put(employeeNumber, entry);
+        terms.forEach((term, mask) -> insert(term, postingKey(mask, entry.sortKey), new Posting(employeeNumber, mask)));
+    }
+
+    /**
+     * Removes an employee's words from the index.
+     */
+    void remove(String employeeNumber) {
+        Entry entry = entries.remove(employeeNumber);
+        if (entry != null) {
+            entry.terms.forEach((term, mask) -> delete(term, postingKey(mask, entry.sortKey), mask));
+        }
+    }
+
+    /**
+     * Orders a term's postings by their best field, so a walk can stop at the first one that cannot make
+     * the results, then by name.
+     */
+    private static String postingKey(int mask, String sortKey) {
+        return Integer.numberOfTrailingZeros(mask) + sortKey;
+    }
+
+    private void insert(String term, String sortKey, Posting posting) {
+        Node node = root;
+        node.count(posting.mask, 1);
+        for (int i = 0; i < term.length(); i++) {
+            node = node.addChild(term.charAt(i));
+            node.count(posting.mask, 1);
+        }
+        if (node.postings == null) {
+            node.term = term;
+            node.postings = new TreeMap<>();
+        }
+        node.postings.put(sortKey, posting);
+    }
+
+    private void delete(String term, String sortKey, int mask) {
+        Node[] path = new Node[term.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < term.length(); i++) {
+            path[i + 1] = path[i].child(term.charAt(i));
+            if (path[i + 1] == null) {
+                return;
+            }
+        }
+        Node last = path[term.length()];
+        if (last.postings == null || last.postings.remove(sortKey) == null) {
+            return;
+        }
+        if (last.postings.isEmpty()) {
+            last.term = null;
+            last.postings = null;
+        }
+        for (int i = term.length(); i >= 0; i--) {
+            path[i].count(mask, -1);
+            if (i > 0 && path[i].count == 0) {
+                path[i - 1].removeChild(term.charAt(i - 1)); // Prune the now-empty branch
+            }
+        }
+    }
+
+    /**
+     * @param field  The field to look in.
+     * @param prefix A word from tokenize.
+     * @return An upper bound on the employees with a word starting with the prefix in the field (an employee
+     *         with several such words is counted once per word).
+     */
+    int countWithPrefix(Field field, String prefix) {
+        Node node = find(prefix);
+        return node == null ? 0 : node.fieldCounts[field.ordinal()];
+    }
+
+    /**
+     * Visits the employees with a word starting with the prefix in the field; an employee with several such
+     * words is visited once per word.
+     *
+     * @param field   The field to look in.
+     * @param prefix  A word from tokenize.
+     * @param visitor Receives each employee number.
+     */
+    void forEachWithPrefix(Field field, String prefix, Consumer<String> visitor) {
+        Node start = find(prefix);
+        if (start == null) {
+            return;
+        }
+        ArrayDeque<Node> pending = new ArrayDeque<>();
+        pending.push(start);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            if (node.postings != null) {
+                for (Posting posting : node.postings.values()) {
+                    if ((posting.mask & field.bit) != 0) {
+                        visitor.accept(posting.employeeNumber);
+                    }
+                }
+            }
+            for (int i = 0; i < node.size; i++) {
+                if (node.children[i].fieldCounts[field.ordinal()] > 0) {
+                    pending.push(node.children[i]); // Skip branches without the field
+                }
+            }
+        }
+    }
+
+    private Node find(String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        return node;
+    }
+
+    /**
+     * Searches the index.
+     *
+     * @param query    The user's input; every word must match (as a prefix, allowing typos in longer words).
+     * @param limit    The maximum number of results.
+     * @param employee Looks up an indexed employee by number.
+     * @return The best-ranked matches.
+     */
+    EmployeeSearchResponse search(String query, int limit, Function<String, Employee> employee) {
+        int cappedLimit = Math.max(1, Math.min(limit, EmployeeSearchResponse.MAX_LIMIT));
+        List<String> tokens = tokenize(query);
+        if (tokens.size() > MAX_QUERY_TOKENS) {
+            tokens = tokens.subList(0, MAX_QUERY_TOKENS);
+        }
+        if (tokens.isEmpty()) {
+            return new EmployeeSearchResponse(query, List.of(), cappedLimit, false);
+        }
+
+        // Match every word against the trie and let the most selective one drive the walk
+        List<List<TokenMatch>> matches = new ArrayList<>(tokens.size());
+        int driver = 0;
+        long driverCount = Long.MAX_VALUE;
+        for (int t = 0; t < tokens.size(); t++) {
+            List<TokenMatch> tokenMatches = match(tokens.get(t));
+            if (tokenMatches.isEmpty()) {
+                return new EmployeeSearchResponse(query, List.of(), cappedLimit, false); // A word matches nothing
+            }
+            long count = tokenMatches.stream().filter(m -> !m.nested).mapToLong(m -> m.node.count).sum();
+            if (count < driverCount) {
+                driver = t;
+                driverCount = count;
+            }
+            matches.add(tokenMatches);
+        }
+        List<WordMatcher> others = new ArrayList<>(tokens.size() - 1);
+        int othersBound = 0;
+        for (int t = 0; t < tokens.size(); t++) {
+            if (t != driver) {
+                WordMatcher matcher = new WordMatcher(tokens.get(t), matches.get(t), driverCount);
+                others.add(matcher);
+                othersBound += matcher.bound;
+            }
+        }
+
+        int tokenLength = tokens.get(driver).length();
+        PriorityQueue<Frontier> frontier = new PriorityQueue<>(
+                Comparator.comparingInt((Frontier f) -> -f.bound).thenComparingInt(f -> f.depth));
+        for (TokenMatch tokenMatch : matches.get(driver)) {
+            frontier.add(new Frontier(tokenMatch.node, tokenMatch.depth, tokenMatch.edits, tokenLength));
+        }
+
+        // The best results so far, worst first: lowest score, then latest found
+        PriorityQueue<Candidate> top = new PriorityQueue<>(
+                Comparator.comparingInt((Candidate c) -> c.score).thenComparingInt(c -> -c.order));
+        Map<String, Candidate> scored = new HashMap<>();
+        Set<Node> visited = new HashSet<>();
+        int[] fieldMask = new int[1];
+        int examined = 0;
+        boolean truncated = false;
+
+        walk:
+        while (!frontier.isEmpty()) {
+            Frontier next = frontier.poll();
+            if (top.size() == cappedLimit && next.bound + othersBound <= top.peek().score) {
+                break; // Nothing left can outrank the current results
+            }
+            if (!visited.add(next.node)) {
+                continue; // Already reached through a better match
+            }
+            if (next.node.postings != null) {
+                for (Posting posting : next.node.postings.values()) {
+                    int driverScore = next.quality + bestWeight(posting.mask);
+                    if (top.size() == cappedLimit && driverScore + othersBound <= top.peek().score) {
+                        break; // Postings come best field first, so neither can the rest of this term
+                    }
+                    if (++examined > MAX_POSTINGS) {
+                        truncated = true;
+                        break walk;
+                    }
+                    Candidate previous = scored.get(posting.employeeNumber);
+                    if (previous != null && previous.driverScore >= driverScore) {
+                        continue; // Already scored through a better term of the same employee
+                    }
+                    int score = driverScore;
+                    int mask = posting.mask;
+                    boolean matchesAll = true;
+                    Map<String, Integer> terms = entries.get(posting.employeeNumber).terms;
+                    for (WordMatcher other : others) {
+                        int otherScore = other.score(posting.employeeNumber, terms, fieldMask);
+                        if (otherScore < 0) {
+                            matchesAll = false;
+                            break;
+                        }
+                        score += otherScore;
+                        mask |= fieldMask[0];
+                    }
+                    Candidate candidate = new Candidate(posting.employeeNumber, driverScore, score, mask, examined);
+                    scored.put(posting.employeeNumber, candidate);
+                    if (previous != null) {
+                        top.remove(previous);
+                    }
+                    if (matchesAll && (top.size() < cappedLimit || score > top.peek().score)) {
+                        top.add(candidate);
+                        if (top.size() > cappedLimit) {
+                            top.poll();
+                        }
+                    }
+                }
+            }
+            for (int i = 0; i < next.node.size; i++) {
+                frontier.add(new Frontier(next.node.children[i], next.depth + 1, next.edits, tokenLength));
+            }
+        }
+
+        List<Candidate> ranked = new ArrayList<>(top);
+        ranked.sort(Comparator.comparingInt((Candidate c) -> -c.score).thenComparingInt(c -> c.order));
+        List<EmployeeSearchHit> hits = new ArrayList<>(ranked.size());
+        for (Candidate candidate : ranked) {
+            hits.add(new EmployeeSearchHit(employee.apply(candidate.employeeNumber), candidate.score,
+                    fieldLabels(candidate.fieldMask)));
+        }
+        return new EmployeeSearchResponse(query, hits, cappedLimit, truncated);
+    }
+
+    /**
+     * Match quality of a term for a query word: exact word, then prefix (shorter completions first), then typos.
+     * Never increases with the term length, which is what lets the walk stop early.
+     */
+    private static int quality(int tokenLength, int termLength, int edits) {
+        int completion = Math.min(8, Math.max(0, termLength - tokenLength));
+        int base = edits == 0 ? (completion == 0 ? 30 : 20) : 14 - 6 * (edits - 1);
+        return base - completion / 2;
+    }
+
+    private static int bestWeight(int mask) {
+        for (Field field : FIELDS) {
+            if ((mask & field.bit) != 0) {
+                return field.weight;
+            }
+        }
+        return 0;
+    }
+
+    private static List<String> fieldLabels(int mask) {
+        List<String> labels = new ArrayList<>(FIELDS.length);
+        for (Field field : FIELDS) {
+            if ((mask & field.bit) != 0) {
+                labels.add(field.label);
+            }
+        }
+        return labels;
+    }
+
+    private static String sortKey(Employee employee) {
+        return (employee.getLastName() + '\u0000' + employee.getFirstName() + '\u0000' + employee.getEmployeeNumber())
+                .toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Finds the trie nodes whose path is within the word's edit budget (so every term below them matches).
+     */
+    private List<TokenMatch> match(String token) {
+        int maxEdits = maxEdits(token);
+        List<TokenMatch> matches = new ArrayList<>();
+        if (maxEdits == 0) {
+            Node node = root;
+            for (int i = 0; i < token.length() && node != null; i++) {
+                node = node.child(token.charAt(i));
+            }
+            if (node != null) {
+                matches.add(new TokenMatch(node, token.length(), 0, false));
+            }
+            return matches;
+        }
+        int[] firstRow = new int[token.length() + 1];
+        for (int j = 0; j < firstRow.length; j++) {
+            firstRow[j] = j;
+        }
+        for (int i = 0; i < root.size; i++) {
+            walk(root.children[i], root.keys[i], (char) 0, token, maxEdits, 1, null, firstRow, false, matches);
+        }
+        return matches;
+    }
+
+    /**
+     * One step of the Damerau-Levenshtein (optimal string alignment) walk: computes the row for the node
+     * reached by `c`, records the node if the whole word is within budget, and descends while any cell is.
+     */
+    private static void walk(Node node, char c, char previousChar, String token, int maxEdits, int depth,
+            int[] rowBeforePrevious, int[] previousRow, boolean nested, List<TokenMatch> matches) {
+        int columns = token.length() + 1;
+        int[] row = new int[columns];
+        row[0] = depth;
+        int rowMin = row[0];
+        for (int j = 1; j < columns; j++) {
+            char q = token.charAt(j - 1);
+            int cost = q == c ? 0 : 1;
+            int value = Math.min(Math.min(row[j - 1] + 1, previousRow[j] + 1), previousRow[j - 1] + cost);
+            if (rowBeforePrevious != null && j > 1 && q == previousChar && token.charAt(j - 2) == c) {
+                value = Math.min(value, rowBeforePrevious[j - 2] + 1); // Transposed pair
+            }
+            row[j] = value;
+            rowMin = Math.min(rowMin, value);
+        }
+        boolean matched = row[columns - 1] <= maxEdits;
+        if (matched) {
+            matches.add(new TokenMatch(node, depth, row[columns - 1], nested));
+        }
+        if (rowMin > maxEdits) {
+            return; // No extension of this path can come back within budget
+        }
+        for (int i = 0; i < node.size; i++) {
+            walk(node.children[i], node.keys[i], c, token, maxEdits, depth + 1, previousRow, row, nested || matched,
+                    matches);
+        }
+    }
+
+    /**
+     * Typo budget for a query word: exact prefixes for short words, where a single edit matches too much.
+     */
+    private static int maxEdits(String token) {
+        return token.length() < 4 ? 0 : token.length() < 8 ? 1 : 2;
+    }
+
+    /**
+     * Splits a value into lower-case words without accents (e.g., "Peñalosa-Cruz" -> "penalosa", "cruz").
+     */
+    static List<String> tokenize(String value) {
+        if (value == null || isEmptyValue(value)) {
+            return List.of();
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        Map<String, Boolean> words = new LinkedHashMap<>();
+        for (String word : NON_ALPHANUMERIC.split(folded)) {
+            if (!word.isEmpty()) {
+                words.put(word, Boolean.TRUE);
+            }
+        }
+        return new ArrayList<>(words.keySet());
+    }
+
+    /**
+     * Whether every prefix starts one of the value's words, as split by tokenize. ASCII values are checked in
+     * place, without normalizing or splitting the value.
+     *
+     * @param value    The field value.
+     * @param prefixes Words from tokenize.
+     * @return True if each prefix starts at least one word of the value.
+     */
+    static boolean hasWordPrefixes(String value, String[] prefixes) {
+        if (value == null || isEmptyValue(value)) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 128) {
+                List<String> words = tokenize(value); // Accents and non-ASCII letters need the full treatment
+                for (String prefix : prefixes) {
+                    if (words.stream().noneMatch(word -> word.startsWith(prefix))) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        for (String prefix : prefixes) {
+            if (!startsAsciiWord(value, prefix)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean startsAsciiWord(String value, String prefix) {
+        int last = value.length() - prefix.length();
+        for (int start = 0; start <= last; start++) {
+            if (start > 0 && isAsciiWordChar(value.charAt(start - 1))) {
+                continue; // Not the start of a word
+            }
+            int i = 0;
+            while (i < prefix.length() && Character.toLowerCase(value.charAt(start + i)) == prefix.charAt(i)) {
+                i++;
+            }
+            if (i == prefix.length()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAsciiWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+
+    private static boolean isEmptyValue(String value) {
+        String trimmed = value.trim(); // The same instance when there is nothing to trim
+        return trimmed.isEmpty() || (trimmed.length() <= 4 && EMPTY_VALUES.contains(trimmed.toLowerCase(Locale.ROOT)));
+    }
+}
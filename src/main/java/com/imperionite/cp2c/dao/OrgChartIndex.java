@@ -0,0 +1,231 @@
+package com.imperionite.cp2c.dao;
+
+import com.imperionite.cp2c.dto.OrgChartNode;
+import com.imperionite.cp2c.dto.ReportsResponse;
+import com.imperionite.cp2c.model.Employee;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Reporting hierarchy resolved from each employee's free-text "Last, First" immediate supervisor.
+ * A supervisor resolves to the one employee whose last and first names have the same words, ignoring case,
+ * accents and punctuation (so "San, Jose Brad" is San Jose, Brad). A name shared by several employees, or a
+ * link that would close a cycle, stays unresolved and the employee is a root. A supervisor name is resolved
+ * again whenever an employee with that name is added or removed, so links follow hires, renames and exits.
+ * Every node keeps the headcount and monthly payroll cost (basic salary plus allowances) of its subtree;
+ * linking or unlinking a subtree adds or subtracts its totals along its ancestors, so reads never walk it.
+ * Not thread-safe on its own; EmployeeIndex is guarded by EmployeeDao's lock.
+ */
+class OrgChartIndex {
+
+    // Shorter employee numbers first, so numeric numbers of different lengths are in numeric order
+    private static final Comparator<String> BY_EMPLOYEE_NUMBER = Comparator.comparingInt(String::length)
+            .thenComparing(Comparator.naturalOrder());
+
+    private static final class Node {
+        private final Employee employee;
+        private final String nameKey; // Empty if the employee has no name
+        private final String supervisorKey; // Empty if no supervisor is recorded
+        private final BigDecimal cost;
+        private Node parent;
+        private final TreeMap<String, Node> children = new TreeMap<>(BY_EMPLOYEE_NUMBER);
+        private int subtreeHeadcount = 1;
+        private BigDecimal subtreeCost;
+
+        private Node(Employee employee) {
+            this.employee = employee;
+            this.nameKey = nameKey(employee.getLastName() + " " + employee.getFirstName());
+            this.supervisorKey = nameKey(employee.getImmediateSupervisor());
+            this.cost = monthlyCost(employee);
+            this.subtreeCost = cost;
+        }
+    }
+
+    private final Map<String, Node> nodes = new HashMap<>();
+    private final Map<String, List<Node>> byName = new HashMap<>(); // Name key -> employees with that name
+    private final Map<String, List<Node>> bySupervisor = new HashMap<>(); // Supervisor key -> employees naming it
+    private final Set<Node> cyclic = new LinkedHashSet<>(); // Unresolved only because the link would close a cycle
+
+    /**
+     * Adds an employee, linking them under their supervisor and any employees naming them as supervisor.
+     * The employee number must not already be present.
+     */
+    void put(Employee employee) {
+        Node node = new Node(employee);
+        nodes.put(employee.getEmployeeNumber(), node);
+        if (!node.nameKey.isEmpty()) {
+            byName.computeIfAbsent(node.nameKey, key -> new ArrayList<>()).add(node);
+        }
+        if (!node.supervisorKey.isEmpty()) {
+            bySupervisor.computeIfAbsent(node.supervisorKey, key -> new ArrayList<>()).add(node);
+        }
+        link(node);
+        relinkReportsOf(node.nameKey); // They may resolve to this employee now, or become ambiguous
+        retryCyclic();
+    }
+
+    /**
+     * Removes an employee; their reports are relinked to another employee of the same name, if there is
+     * exactly one, and otherwise become roots.
+     */
+    void remove(String employeeNumber) {
+        Node node = nodes.remove(employeeNumber);
+        if (node == null) {
+            return;
+        }
+        setParent(node, null);
+        cyclic.remove(node);
+        removeFrom(byName, node.nameKey, node);
+        removeFrom(bySupervisor, node.supervisorKey, node);
+        relinkReportsOf(node.nameKey);
+        retryCyclic();
+    }
+
+    /**
+     * @return The number of employees whose recorded supervisor did not resolve to an employee.
+     */
+    int countUnresolved() {
+        int unresolved = 0;
+        for (Node node : nodes.values()) {
+            if (node.parent == null && !node.supervisorKey.isEmpty()) {
+                unresolved++;
+            }
+        }
+        return unresolved;
+    }
+
+    /**
+     * The employee's subtree totals, with their reports nested down to the given depth. Totals are read
+     * from the maintained aggregates; only the nodes returned are visited.
+     *
+     * @param employeeNumber The employee.
+     * @param depth          Levels of reports to include (0 for the employee's own totals only).
+     * @return The employee's org chart, or null if the employee does not exist.
+     */
+    ReportsResponse reports(String employeeNumber, int depth) {
+        Node node = nodes.get(employeeNumber);
+        if (node == null) {
+            return null;
+        }
+        return new ReportsResponse(depth, node.employee.getImmediateSupervisor(),
+                node.parent != null ? node.parent.employee.getEmployeeNumber() : null, toDto(node, depth));
+    }
+
+    private static OrgChartNode toDto(Node node, int depth) {
+        List<OrgChartNode> reports = new ArrayList<>(depth > 0 ? node.children.size() : 0);
+        if (depth > 0) {
+            for (Node child : node.children.values()) {
+                reports.add(toDto(child, depth - 1));
+            }
+        }
+        Employee employee = node.employee;
+        return new OrgChartNode(employee.getEmployeeNumber(), employee.getLastName(), employee.getFirstName(),
+                employee.getPosition(), node.children.size(), node.subtreeHeadcount, node.subtreeCost, reports);
+    }
+
+    private void relinkReportsOf(String nameKey) {
+        List<Node> reports = bySupervisor.get(nameKey);
+        if (nameKey.isEmpty() || reports == null) {
+            return;
+        }
+        for (Node report : new ArrayList<>(reports)) {
+            link(report);
+        }
+    }
+
+    /**
+     * Links rejected as cycles may be fine after any change elsewhere in the chart; normally there are none.
+     */
+    private void retryCyclic() {
+        if (!cyclic.isEmpty()) {
+            for (Node node : new ArrayList<>(cyclic)) {
+                link(node);
+            }
+        }
+    }
+
+    /**
+     * Moves the node under the employee its supervisor currently resolves to, or makes it a root.
+     */
+    private void link(Node node) {
+        setParent(node, resolve(node));
+    }
+
+    private Node resolve(Node node) {
+        List<Node> holders = node.supervisorKey.isEmpty() ? null : byName.get(node.supervisorKey);
+        if (holders == null || holders.size() != 1) {
+            cyclic.remove(node);
+            return null; // Nobody or more than one employee has that name
+        }
+        Node supervisor = holders.get(0);
+        for (Node ancestor = supervisor; ancestor != null; ancestor = ancestor.parent) {
+            if (ancestor == node) {
+                cyclic.add(node); // The supervisor reports to this employee (or is them)
+                return null;
+            }
+        }
+        cyclic.remove(node);
+        return supervisor;
+    }
+
+    private static void setParent(Node node, Node parent) {
+        if (node.parent == parent) {
+            return;
+        }
+        if (node.parent != null) {
+            node.parent.children.remove(node.employee.getEmployeeNumber());
+            addToAncestors(node.parent, -node.subtreeHeadcount, node.subtreeCost.negate());
+        }
+        node.parent = parent;
+        if (parent != null) {
+            parent.children.put(node.employee.getEmployeeNumber(), node);
+            addToAncestors(parent, node.subtreeHeadcount, node.subtreeCost);
+        }
+    }
+
+    private static void addToAncestors(Node from, int headcount, BigDecimal cost) {
+        for (Node ancestor = from; ancestor != null; ancestor = ancestor.parent) {
+            ancestor.subtreeHeadcount += headcount;
+            ancestor.subtreeCost = ancestor.subtreeCost.add(cost);
+        }
+    }
+
+    private static void removeFrom(Map<String, List<Node>> map, String key, Node node) {
+        List<Node> list = map.get(key);
+        if (list != null) {
+            list.remove(node);
+            if (list.isEmpty()) {
+                map.remove(key);
+            }
+        }
+    }
+
+    /**
+     * "Last, First" and "Last First" give the same key: the name's words, lower-case and without accents.
+     */
+    private static String nameKey(String name) {
+        return String.join(" ", EmployeeSearchIndex.tokenize(name));
+    }
+
+    /**
+     * @return The employee's monthly payroll cost: basic salary plus rice, phone and clothing allowances.
+     */
+    static BigDecimal monthlyCost(Employee employee) {
+        BigDecimal cost = BigDecimal.ZERO;
+        for (BigDecimal amount : new BigDecimal[] {employee.getBasicSalary(), employee.getRiceSubsidy(),
+                employee.getPhoneAllowance(), employee.getClothingAllowance()}) {
+            if (amount != null) {
+                cost = cost.add(amount);
+            }
+        }
+        return cost;
+    }
+}
@@ -0,0 +1,157 @@
+package com.imperionite.cp2c.dao;
+
+import com.imperionite.cp2c.model.PayrollLedgerEntry;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Data Access Object for posted payroll results, managing persistence to a CSV file.
+ * Each (employeeNumber, yearMonth) pair has at most one entry; posting again replaces it.
+ * It includes basic in-memory caching and thread-safety for concurrent access.
+ */
+public class PayrollLedgerDao {
+    private final String filePath;
+    // In-memory cache keyed by "employeeNumber|yearMonth", kept in insertion order for stable CSV output
+    private final Map<String, PayrollLedgerEntry> entries;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock(); // For thread-safe access
+
+    // CSV header for the payroll ledger file
+    private static final String CSV_HEADER = "employeeNumber,yearMonth,basicPay,grossPay,sssContribution,philhealthContribution,pagibigContribution,taxableIncome,withholdingTax,netPay";
+    private static final String CSV_DELIMITER = ",";
+
+    public PayrollLedgerDao(String filePath) {
+        this.filePath = filePath;
+        // Ensure the CSV file exists with its header when the DAO is initialized
+        initializeCsvFile();
+        // Load existing entries from CSV on initialization
+        this.entries = new LinkedHashMap<>();
+        for (PayrollLedgerEntry entry : CSVUtils.loadFromCsv(filePath, this::mapCsvLineToEntry, true)) {
+            entries.put(key(entry.getEmployeeNumber(), entry.getYearMonth()), entry);
+        }
+        System.out.println("PayrollLedgerDao: Initialized with " + entries.size() + " ledger entries loaded from " + filePath);
+    }
+
+    /**
+     * Checks if the CSV file exists. If not, it creates the file with its header.
+     */
+    private void initializeCsvFile() {
+        Path path = Paths.get(filePath);
+        if (!Files.exists(path)) {
+            try {
+                // Ensure parent directory exists before creating the file
+                Path parentDir = path.getParent();
+                if (parentDir != null && !Files.exists(parentDir)) {
+                    Files.createDirectories(parentDir);
+                    System.out.println("PayrollLedgerDao: Created parent directory for ledger CSV: " + parentDir.toAbsolutePath());
+                }
+                Files.writeString(path, CSV_HEADER + System.lineSeparator());
+                System.out.println("PayrollLedgerDao: Created new ledger CSV file with header: " + path.toAbsolutePath());
+            } catch (IOException e) {
+                System.err.println("PayrollLedgerDao: Error creating ledger CSV file '" + filePath + "': " + e.getMessage());
+                // Rethrow as runtime exception since persistence won't work without the file
+                throw new RuntimeException("Failed to initialize payroll ledger CSV file.", e);
+            }
+        }
+    }
+
+    private static String key(String employeeNumber, String yearMonth) {
+        return employeeNumber + "|" + yearMonth;
+    }
+
+    /**
+     * Maps a single CSV line string to a PayrollLedgerEntry object.
+     *
+     * @param line The CSV line string.
+     * @return A PayrollLedgerEntry object, or null if parsing fails.
+     */
+    private PayrollLedgerEntry mapCsvLineToEntry(String line) {
+        try {
+            String[] parts = line.split(CSV_DELIMITER, -1);
+            if (parts.length < 10) {
+                System.err.println("PayrollLedgerDao: Skipping malformed CSV line (expected 10 parts, got " + parts.length + "): " + line);
+                return null;
+            }
+            return new PayrollLedgerEntry(
+                    parts[0].trim(),
+                    parts[1].trim(),
+                    new BigDecimal(parts[2].trim()),
+                    new BigDecimal(parts[3].trim()),
+                    new BigDecimal(parts[4].trim()),
+                    new BigDecimal(parts[5].trim()),
+                    new BigDecimal(parts[6].trim()),
+                    new BigDecimal(parts[7].trim()),
+                    new BigDecimal(parts[8].trim()),
+                    new BigDecimal(parts[9].trim()));
+        } catch (Exception e) {
+            System.err.println("PayrollLedgerDao: Error parsing CSV line to ledger entry: '" + line + "'. Error: " + e.getMessage());
+            return null; // Return null for unparseable lines
+        }
+    }
+
+    /**
+     * Maps a PayrollLedgerEntry object to a single CSV line string.
+     *
+     * @param entry The PayrollLedgerEntry object.
+     * @return A CSV formatted string.
+     */
+    private String mapEntryToCsvLine(PayrollLedgerEntry entry) {
+        return String.join(CSV_DELIMITER,
+                entry.getEmployeeNumber(),
+                entry.getYearMonth(),
+                entry.getBasicPay().toPlainString(),
+                entry.getGrossPay().toPlainString(),
+                entry.getSssContribution().toPlainString(),
+                entry.getPhilhealthContribution().toPlainString(),
+                entry.getPagibigContribution().toPlainString(),
+                entry.getTaxableIncome().toPlainString(),
+                entry.getWithholdingTax().toPlainString(),
+                entry.getNetPay().toPlainString());
+    }
+
+    /**
+     * Adds or replaces a batch of ledger entries and persists them with a single CSV write.
+     *
+     * @param newEntries The entries to post.
+     */
+    public void saveEntries(Collection<PayrollLedgerEntry> newEntries) {
+        if (newEntries.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock(); // Acquire write lock
+        try {
+            for (PayrollLedgerEntry entry : newEntries) {
+                entries.put(key(entry.getEmployeeNumber(), entry.getYearMonth()), entry);
+            }
+            CSVUtils.saveToCsv(filePath, new ArrayList<>(entries.values()), this::mapEntryToCsvLine, CSV_HEADER);
+            System.out.println("PayrollLedgerDao: Posted " + newEntries.size() + " ledger entries.");
+        } finally {
+            lock.writeLock().unlock(); // Release write lock
+        }
+    }
+
+    /**
+     * Retrieves an unmodifiable list of all ledger entries.
+     *
+     * @return A list of all PayrollLedgerEntry objects.
+     */
+    public List<PayrollLedgerEntry> getAllEntries() {
+        lock.readLock().lock(); // Acquire read lock
+        try {
+            // Return an unmodifiable list to prevent external modification of the internal cache
+            return Collections.unmodifiableList(new ArrayList<>(entries.values()));
+        } finally {
+            lock.readLock().unlock(); // Release read lock
+        }
+    }
+}
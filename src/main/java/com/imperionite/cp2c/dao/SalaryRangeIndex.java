@@ -0,0 +1,250 @@
+package com.imperionite.cp2c.dao;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * Sorted multiset of (amount, employee number) pairs for one salary field, kept in a treap whose nodes
+ * also store their subtree size. That makes rank ("how many earn less than X") and select ("the k-th
+ * lowest amount") O(log n), so range counts, percentiles and band histograms never scan employees.
+ * Amounts are compared numerically (20000 and 20000.00 are equal); ties are ordered by employee number.
+ * Not thread-safe on its own; EmployeeIndex is guarded by EmployeeDao's lock.
+ */
+class SalaryRangeIndex {
+
+    private static final class Node {
+        private final BigDecimal amount;
+        private final String employeeNumber;
+        private final int priority;
+        private Node left;
+        private Node right;
+        private int size = 1;
+
+        private Node(BigDecimal amount, String employeeNumber, int priority) {
+            this.amount = amount;
+            this.employeeNumber = employeeNumber;
+            this.priority = priority;
+        }
+    }
+
+    private final SplittableRandom random = new SplittableRandom(0x5A1A27L); // Fixed seed: reproducible shape
+    private Node root;
+
+    /**
+     * @return The number of indexed amounts.
+     */
+    int size() {
+        return size(root);
+    }
+
+    /**
+     * Adds an employee's amount; null amounts are not indexed.
+     */
+    void add(BigDecimal amount, String employeeNumber) {
+        if (amount == null) {
+            return;
+        }
+        Node[] parts = split(root, amount, employeeNumber);
+        root = merge(merge(parts[0], new Node(amount, employeeNumber, random.nextInt())), parts[1]);
+    }
+
+    /**
+     * Removes an employee's amount, given the same amount it was added with.
+     */
+    void remove(BigDecimal amount, String employeeNumber) {
+        if (amount != null) {
+            root = remove(root, amount, employeeNumber);
+        }
+    }
+
+    /**
+     * @param amount    The amount to compare with.
+     * @param inclusive Whether amounts equal to it are counted.
+     * @return The number of indexed amounts below (or at most) the given amount.
+     */
+    int rank(BigDecimal amount, boolean inclusive) {
+        int rank = 0;
+        Node node = root;
+        while (node != null) {
+            int comparison = node.amount.compareTo(amount);
+            if (comparison < 0 || (inclusive && comparison == 0)) {
+                rank += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * @param min The lowest amount counted, or null for no lower bound.
+     * @param max The highest amount counted, or null for no upper bound.
+     * @return The number of indexed amounts between min and max, inclusive.
+     */
+    int count(BigDecimal min, BigDecimal max) {
+        return count(min, true, max, true);
+    }
+
+    /**
+     * @param min          The lower bound, or null for none.
+     * @param minInclusive Whether amounts equal to min are counted.
+     * @param max          The upper bound, or null for none.
+     * @param maxInclusive Whether amounts equal to max are counted.
+     * @return The number of indexed amounts between min and max.
+     */
+    int count(BigDecimal min, boolean minInclusive, BigDecimal max, boolean maxInclusive) {
+        int from = min == null ? 0 : rank(min, !minInclusive);
+        int to = max == null ? size() : rank(max, maxInclusive);
+        return Math.max(0, to - from);
+    }
+
+    /**
+     * @return The rank of the first amount at or above min (0 without a lower bound).
+     */
+    int lowerRank(BigDecimal min) {
+        return min == null ? 0 : rank(min, false);
+    }
+
+    /**
+     * @return The rank just past the last amount at or below max (the size without an upper bound).
+     */
+    int upperRank(BigDecimal max) {
+        return max == null ? size() : rank(max, true);
+    }
+
+    /**
+     * @param rank A rank between 0 and size() - 1.
+     * @return The amount with that rank (0 is the lowest).
+     */
+    BigDecimal select(int rank) {
+        Node node = root;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (rank < leftSize) {
+                node = node.left;
+            } else if (rank == leftSize) {
+                return node.amount;
+            } else {
+                rank -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        throw new IndexOutOfBoundsException("Rank " + rank + " is out of range.");
+    }
+
+    /**
+     * Visits the employees with an amount between min and max, inclusive, lowest amount first.
+     *
+     * @param min     The lowest amount, or null for no lower bound.
+     * @param max     The highest amount, or null for no upper bound.
+     * @param visitor Receives each employee number.
+     */
+    void forEachInRange(BigDecimal min, BigDecimal max, Consumer<String> visitor) {
+        forEachInRange(root, min, true, max, true, visitor);
+    }
+
+    /**
+     * Visits the employees with an amount between min and max, lowest amount first.
+     *
+     * @param min          The lower bound, or null for none.
+     * @param minInclusive Whether amounts equal to min are visited.
+     * @param max          The upper bound, or null for none.
+     * @param maxInclusive Whether amounts equal to max are visited.
+     * @param visitor      Receives each employee number.
+     */
+    void forEachInRange(BigDecimal min, boolean minInclusive, BigDecimal max, boolean maxInclusive,
+            Consumer<String> visitor) {
+        forEachInRange(root, min, minInclusive, max, maxInclusive, visitor);
+    }
+
+    private static void forEachInRange(Node node, BigDecimal min, boolean minInclusive, BigDecimal max,
+            boolean maxInclusive, Consumer<String> visitor) {
+        while (node != null) {
+            int fromMin = min == null ? 1 : node.amount.compareTo(min);
+            int fromMax = max == null ? -1 : node.amount.compareTo(max);
+            boolean aboveMin = fromMin > 0 || (minInclusive && fromMin == 0);
+            boolean belowMax = fromMax < 0 || (maxInclusive && fromMax == 0);
+            if (aboveMin) {
+                forEachInRange(node.left, min, minInclusive, max, maxInclusive, visitor);
+            }
+            if (aboveMin && belowMax) {
+                visitor.accept(node.employeeNumber);
+            }
+            if (!belowMax) {
+                return; // Everything to the right is above max too
+            }
+            node = node.right; // Loop instead of recursing, so the right spine costs no stack
+        }
+    }
+
+    private static int compare(BigDecimal amount, String employeeNumber, Node node) {
+        int comparison = amount.compareTo(node.amount);
+        return comparison != 0 ? comparison : employeeNumber.compareTo(node.employeeNumber);
+    }
+
+    /**
+     * Splits a subtree into the entries ordered before (amount, employeeNumber) and the rest.
+     */
+    private static Node[] split(Node node, BigDecimal amount, String employeeNumber) {
+        if (node == null) {
+            return new Node[] {null, null};
+        }
+        if (compare(amount, employeeNumber, node) > 0) {
+            Node[] parts = split(node.right, amount, employeeNumber);
+            node.right = parts[0];
+            update(node);
+            return new Node[] {node, parts[1]};
+        }
+        Node[] parts = split(node.left, amount, employeeNumber);
+        node.left = parts[1];
+        update(node);
+        return new Node[] {parts[0], node};
+    }
+
+    /**
+     * Joins two subtrees where every entry of the first is ordered before every entry of the second.
+     */
+    private static Node merge(Node first, Node second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            update(first);
+            return first;
+        }
+        second.left = merge(first, second.left);
+        update(second);
+        return second;
+    }
+
+    private static Node remove(Node node, BigDecimal amount, String employeeNumber) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = compare(amount, employeeNumber, node);
+        if (comparison == 0) {
+            return merge(node.left, node.right);
+        }
+        if (comparison < 0) {
+            node.left = remove(node.left, amount, employeeNumber);
+        } else {
+            node.right = remove(node.right, amount, employeeNumber);
+        }
+        update(node);
+        return node;
+    }
+
+    private static void update(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+}
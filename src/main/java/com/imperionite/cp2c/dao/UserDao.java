@@ -1,14 +1,20 @@
 package com.imperionite.cp2c.dao;
 
+import com.imperionite.cp2c.model.ChangeEvent;
 import com.imperionite.cp2c.model.User;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.regex.Pattern;
@@ -22,6 +28,8 @@ public class UserDao {
     private final String filePath;
     private final List<User> users; // In-memory cache of users
     private final ReadWriteLock lock = new ReentrantReadWriteLock(); // For thread-safe access
+    private final VersionTracker versions = new VersionTracker(); // Global and per-user change versions
+    private final ChangeEventBus eventBus; // Notified of every change; null when nobody listens
 
     // CSV header for the users file
     private static final String CSV_HEADER = "id,username,passwordHash,token";
@@ -29,11 +37,21 @@ public class UserDao {
     private static final String CSV_DELIMITER = ",";
 
     public UserDao(String filePath) {
+        this(filePath, null);
+    }
+
+    /**
+     * @param filePath The users CSV file.
+     * @param eventBus The bus to publish user changes to, or null.
+     */
+    public UserDao(String filePath, ChangeEventBus eventBus) {
         this.filePath = filePath;
+        this.eventBus = eventBus;
         // Ensure the CSV file exists with its header when the DAO is initialized
         initializeCsvFile();
         // Load existing users from CSV on initialization
         this.users = loadUsersFromCsv();
+        users.forEach(user -> versions.register(user.getId()));
         System.out.println("UserDao: Initialized with " + users.size() + " users loaded from " + filePath);
     }
 
@@ -145,12 +163,37 @@ public class UserDao {
                 users.add(user);
                 System.out.println("UserDao: Added new user with ID: " + user.getId() + " and username: " + user.getUsername());
             }
+            publish(user.getId(), versions.touch(user.getId()), user);
             saveUsersToCsv(); // Persist changes to CSV
         } finally {
             lock.writeLock().unlock(); // Release write lock
         }
     }
 
+    /**
+     * Replaces a user's session token and persists it. A token refresh is not a change to the user record,
+     * so unlike {@link #saveUser(User)} it neither bumps the user's version nor publishes a change event.
+     *
+     * @param userId The user ID.
+     * @param token  The new token.
+     * @return true if the user exists and the token was saved, false otherwise.
+     */
+    public boolean updateToken(String userId, String token) {
+        lock.writeLock().lock(); // Acquire write lock
+        try {
+            for (User user : users) {
+                if (user.getId().equals(userId)) {
+                    user.setToken(token);
+                    saveUsersToCsv(); // Persist the new token
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.writeLock().unlock(); // Release write lock
+        }
+    }
+
     /**
      * Finds a user by their username.
      *
@@ -197,6 +240,7 @@ public class UserDao {
             // Remove from in-memory list
             boolean removed = users.removeIf(user -> user.getId().equals(userId));
             if (removed) {
+                publish(userId, versions.forget(userId), null);
                 saveUsersToCsv(); // Persist changes to CSV
                 System.out.println("UserDao: Successfully deleted user with ID: " + userId);
             } else {
@@ -208,6 +252,65 @@ public class UserDao {
         }
     }
 
+    /**
+     * Adds several new users with a single CSV write.
+     * The users are expected to be new (unique IDs and usernames already validated by the caller).
+     *
+     * @param newUsers The users to add.
+     */
+    public void saveUsers(Collection<User> newUsers) {
+        if (newUsers.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock(); // Acquire write lock
+        try {
+            for (User user : newUsers) {
+                users.add(user);
+                publish(user.getId(), versions.touch(user.getId()), user);
+            }
+            saveUsersToCsv(); // Persist all additions at once
+            System.out.println("UserDao: Added " + newUsers.size() + " new users.");
+        } finally {
+            lock.writeLock().unlock(); // Release write lock
+        }
+    }
+
+    /**
+     * Deletes several users by ID with a single CSV write.
+     *
+     * @param userIds The IDs of the users to delete.
+     * @return The number of users deleted.
+     */
+    public int deleteUsers(Collection<String> userIds) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        lock.writeLock().lock(); // Acquire write lock
+        try {
+            Set<String> ids = new HashSet<>(userIds);
+            List<String> removedIds = new ArrayList<>();
+            users.removeIf(user -> ids.contains(user.getId()) && removedIds.add(user.getId()));
+            int removed = removedIds.size();
+            if (removed > 0) {
+                removedIds.forEach(id -> publish(id, versions.forget(id), null));
+                saveUsersToCsv(); // Persist all deletions at once
+            }
+            System.out.println("UserDao: Deleted " + removed + " of " + ids.size() + " requested users.");
+            return removed;
+        } finally {
+            lock.writeLock().unlock(); // Release write lock
+        }
+    }
+
+    /**
+     * Returns the change versions of the user data (global and per user ID).
+     *
+     * @return The VersionTracker for this DAO.
+     */
+    public VersionTracker getVersions() {
+        return versions;
+    }
+
     /**
      * Retrieves an unmodifiable list of all users.
      *
@@ -222,4 +325,21 @@ public class UserDao {
             lock.readLock().unlock(); // Release read lock
         }
     }
+
+    /**
+     * Publishes a change to the event bus. Called under the write lock, right after the version bump.
+     * Only the ID and username are published; password hashes and tokens never leave the DAO.
+     */
+    private void publish(String userId, long version, User user) {
+        if (eventBus == null) {
+            return;
+        }
+        Map<String, Object> data = null;
+        if (user != null) {
+            data = new LinkedHashMap<>();
+            data.put("id", user.getId());
+            data.put("username", user.getUsername());
+        }
+        eventBus.publishChange(ChangeEvent.TYPE_USER, userId, version, data);
+    }
 }
@@ -0,0 +1,75 @@
+package com.imperionite.cp2c.dao;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonically increasing change counters for a DAO: one global version for the whole collection
+ * and one version per record (the global version at which that record last changed).
+ * Reads are lock-free so HTTP revalidation can compare versions without touching the data itself.
+ * Writers call {@link #touch(String)} / {@link #forget(String)} while holding the DAO's write lock.
+ */
+public class VersionTracker {
+    private final AtomicLong version = new AtomicLong();
+    private final Map<String, Long> recordVersions = new ConcurrentHashMap<>();
+    private volatile long lastModifiedMillis = System.currentTimeMillis();
+
+    /**
+     * Records a change to (or creation of) a record.
+     *
+     * @param key The record key.
+     * @return The new global version.
+     */
+    public long touch(String key) {
+        long next = version.incrementAndGet();
+        recordVersions.put(key, next);
+        lastModifiedMillis = System.currentTimeMillis();
+        return next;
+    }
+
+    /**
+     * Records the deletion of a record.
+     *
+     * @param key The record key.
+     * @return The new global version.
+     */
+    public long forget(String key) {
+        long next = version.incrementAndGet();
+        recordVersions.remove(key);
+        lastModifiedMillis = System.currentTimeMillis();
+        return next;
+    }
+
+    /**
+     * Registers a record loaded at startup without counting it as a change.
+     *
+     * @param key The record key.
+     */
+    public void register(String key) {
+        recordVersions.putIfAbsent(key, version.get());
+    }
+
+    /**
+     * @return The global version; it increases on every add, update and delete.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * @param key The record key.
+     * @return The global version at which the record last changed, or -1 if the record does not exist.
+     */
+    public long getRecordVersion(String key) {
+        Long recordVersion = recordVersions.get(key);
+        return recordVersion != null ? recordVersion : -1L;
+    }
+
+    /**
+     * @return Wall-clock time of the last change (or of startup if nothing has changed yet).
+     */
+    public long getLastModifiedMillis() {
+        return lastModifiedMillis;
+    }
+}
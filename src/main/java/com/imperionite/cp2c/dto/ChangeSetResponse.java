@@ -0,0 +1,45 @@
+package com.imperionite.cp2c.dto;
+
+import java.util.List;
+
+/**
+ * DTO for a delta sync response: the latest change of every record that changed after `since`,
+ * in version order. Pass `version` back as `since` on the next call.
+ * When `resyncRequired` is true the change log no longer reaches back to `since` (or `since` is from
+ * before a server restart); the client must reload the full collection and continue from `version`.
+ *
+ * @param <T> The record type.
+ */
+public class ChangeSetResponse<T> {
+    private long since;
+    private long version;
+    private String epoch; // Server boot id; versions from a different epoch are not comparable
+    private boolean resyncRequired;
+    private List<RecordChange<T>> changes;
+
+    // Default constructor for Jackson deserialization
+    public ChangeSetResponse() {
+    }
+
+    public ChangeSetResponse(long since, long version, boolean resyncRequired, List<RecordChange<T>> changes) {
+        this.since = since;
+        this.version = version;
+        this.resyncRequired = resyncRequired;
+        this.changes = changes;
+    }
+
+    /**
+     * @return A response telling the client to reload everything and continue from the given version.
+     */
+    public static <T> ChangeSetResponse<T> resync(long since, long version) {
+        return new ChangeSetResponse<>(since, version, true, List.of());
+    }
+
+    // Getters
+    public long getSince() { return since; }
+    public long getVersion() { return version; }
+    public String getEpoch() { return epoch; }
+    public void setEpoch(String epoch) { this.epoch = epoch; }
+    public boolean isResyncRequired() { return resyncRequired; }
+    public List<RecordChange<T>> getChanges() { return changes; }
+}
@@ -0,0 +1,38 @@
+package com.imperionite.cp2c.dto;
+
+import com.imperionite.cp2c.model.MonthlyCutoff;
+
+import java.util.List;
+
+/**
+ * DTO for GET /dashboard: the home page summary. Workforce totals come from counters kept by the employee
+ * indexes, the latest cutoff from the cutoff catalog, and recent changes from the change event feed, newest
+ * first. `latestCutoff` is null until attendance has been loaded.
+ */
+public class DashboardResponse {
+    public static final int DEFAULT_CHANGES = 10;
+    public static final int MAX_CHANGES = 50;
+
+    private WorkforceTotals workforce;
+    private MonthlyCutoff latestCutoff;
+    private int cutoffCount;
+    private List<RecentChange> recentChanges;
+
+    // Default constructor for Jackson deserialization
+    public DashboardResponse() {
+    }
+
+    public DashboardResponse(WorkforceTotals workforce, MonthlyCutoff latestCutoff, int cutoffCount,
+            List<RecentChange> recentChanges) {
+        this.workforce = workforce;
+        this.latestCutoff = latestCutoff;
+        this.cutoffCount = cutoffCount;
+        this.recentChanges = recentChanges;
+    }
+
+    // Getters
+    public WorkforceTotals getWorkforce() { return workforce; }
+    public MonthlyCutoff getLatestCutoff() { return latestCutoff; }
+    public int getCutoffCount() { return cutoffCount; }
+    public List<RecentChange> getRecentChanges() { return recentChanges; }
+}
@@ -0,0 +1,23 @@
+package com.imperionite.cp2c.dto;
+
+/**
+ * DTO for one operation of an employee batch request.
+ * "create" requires employee (with its employeeNumber); "update" requires employeeNumber and the fields
+ * to change in employee; "delete" requires only employeeNumber.
+ */
+public class EmployeeBatchOperation {
+    private String op; // "create", "update" or "delete"
+    private String employeeNumber;
+    private EmployeeDto employee;
+
+    // Default constructor for Jackson deserialization
+    public EmployeeBatchOperation() {
+    }
+
+    public String getOp() { return op; }
+    public void setOp(String op) { this.op = op; }
+    public String getEmployeeNumber() { return employeeNumber; }
+    public void setEmployeeNumber(String employeeNumber) { this.employeeNumber = employeeNumber; }
+    public EmployeeDto getEmployee() { return employee; }
+    public void setEmployee(EmployeeDto employee) { this.employee = employee; }
+}
@@ -0,0 +1,20 @@
+package com.imperionite.cp2c.dto;
+
+import java.util.List;
+
+/**
+ * DTO for employee batch requests: the operations to apply, in order.
+ */
+public class EmployeeBatchRequest {
+    private List<EmployeeBatchOperation> operations;
+    private boolean atomic; // When true, any failed operation rolls back the whole batch
+
+    // Default constructor for Jackson deserialization
+    public EmployeeBatchRequest() {
+    }
+
+    public List<EmployeeBatchOperation> getOperations() { return operations; }
+    public void setOperations(List<EmployeeBatchOperation> operations) { this.operations = operations; }
+    public boolean isAtomic() { return atomic; }
+    public void setAtomic(boolean atomic) { this.atomic = atomic; }
+}
@@ -0,0 +1,32 @@
+package com.imperionite.cp2c.dto;
+
+import java.util.List;
+
+/**
+ * DTO for employee batch responses: per-operation results in request order, plus totals.
+ */
+public class EmployeeBatchResponse {
+    private int total;
+    private int succeeded;
+    private int failed;
+    private boolean atomic;
+    private List<EmployeeBatchResult> results;
+
+    // Default constructor for Jackson deserialization
+    public EmployeeBatchResponse() {
+    }
+
+    public EmployeeBatchResponse(boolean atomic, List<EmployeeBatchResult> results) {
+        this.atomic = atomic;
+        this.results = results;
+        this.total = results.size();
+        this.succeeded = (int) results.stream().filter(EmployeeBatchResult::isSuccess).count();
+        this.failed = total - succeeded;
+    }
+
+    public int getTotal() { return total; }
+    public int getSucceeded() { return succeeded; }
+    public int getFailed() { return failed; }
+    public boolean isAtomic() { return atomic; }
+    public List<EmployeeBatchResult> getResults() { return results; }
+}
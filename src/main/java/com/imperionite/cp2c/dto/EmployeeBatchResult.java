@@ -0,0 +1,36 @@
+package com.imperionite.cp2c.dto;
+
+/**
+ * DTO for the outcome of one batch operation. The status uses the code the equivalent single-record
+ * request would have returned (201, 200, 204, 400, 404), or 424 for an operation that succeeded but was
+ * rolled back because another operation in an atomic batch failed.
+ */
+public class EmployeeBatchResult {
+    private int index;
+    private String op;
+    private String employeeNumber;
+    private int status;
+    private String message;
+
+    // Default constructor for Jackson deserialization
+    public EmployeeBatchResult() {
+    }
+
+    public EmployeeBatchResult(int index, String op, String employeeNumber, int status, String message) {
+        this.index = index;
+        this.op = op;
+        this.employeeNumber = employeeNumber;
+        this.status = status;
+        this.message = message;
+    }
+
+    public boolean isSuccess() { return status >= 200 && status < 300; }
+
+    public int getIndex() { return index; }
+    public String getOp() { return op; }
+    public String getEmployeeNumber() { return employeeNumber; }
+    public int getStatus() { return status; }
+    public void setStatus(int status) { this.status = status; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
@@ -0,0 +1,194 @@
+package com.imperionite.cp2c.dto;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * DTO describing one page request against the employee list: sort order, page size,
+ * an opaque cursor from the previous page, and optional filters.
+ */
+public class EmployeeQuery {
+    public static final int DEFAULT_LIMIT = 25;
+    public static final int MAX_LIMIT = 200;
+
+    /**
+     * Supported sort orders. Ties are always broken by employee number so the order is total and stable.
+     */
+    public enum SortField {
+        EMPLOYEE_NUMBER("employeeNumber"),
+        LAST_NAME("lastName"),
+        FIRST_NAME("firstName");
+
+        private final String paramName;
+
+        SortField(String paramName) {
+            this.paramName = paramName;
+        }
+
+        public String getParamName() {
+            return paramName;
+        }
+
+        /**
+         * Resolves a sort query parameter value (e.g., "lastName").
+         *
+         * @param paramName The parameter value.
+         * @return The matching SortField.
+         * @throws IllegalArgumentException if the value is not a supported sort field.
+         */
+        public static SortField fromParam(String paramName) {
+            for (SortField field : values()) {
+                if (field.paramName.equalsIgnoreCase(paramName)) {
+                    return field;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported sort field '" + paramName
+                    + "'. Expected employeeNumber, lastName or firstName (prefix with '-' for descending).");
+        }
+    }
+
+    /**
+     * Salary fields with range indexes; each can be filtered with `min<Field>` and `max<Field>` parameters
+     * (e.g., minBasicSalary=20000&maxBasicSalary=40000, both inclusive).
+     */
+    public enum SalaryField {
+        BASIC_SALARY("basicSalary"),
+        HOURLY_RATE("hourlyRate"),
+        GROSS_SEMI_MONTHLY_RATE("grossSemiMonthlyRate");
+
+        private final String paramName;
+
+        SalaryField(String paramName) {
+            this.paramName = paramName;
+        }
+
+        public String getParamName() {
+            return paramName;
+        }
+
+        /**
+         * @return The lower-bound query parameter, e.g. "minBasicSalary".
+         */
+        public String getMinParam() {
+            return "min" + Character.toUpperCase(paramName.charAt(0)) + paramName.substring(1);
+        }
+
+        /**
+         * @return The upper-bound query parameter, e.g. "maxBasicSalary".
+         */
+        public String getMaxParam() {
+            return "max" + Character.toUpperCase(paramName.charAt(0)) + paramName.substring(1);
+        }
+
+        /**
+         * Resolves a salary field name (e.g., "hourlyRate").
+         *
+         * @param paramName The field name.
+         * @return The matching SalaryField.
+         * @throws IllegalArgumentException if the value is not a range-indexed salary field.
+         */
+        public static SalaryField fromParam(String paramName) {
+            for (SalaryField field : values()) {
+                if (field.paramName.equalsIgnoreCase(paramName)) {
+                    return field;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported salary field '" + paramName
+                    + "'. Expected basicSalary, hourlyRate or grossSemiMonthlyRate.");
+        }
+    }
+
+    private SortField sort = SortField.EMPLOYEE_NUMBER;
+    private boolean descending;
+    private int limit = DEFAULT_LIMIT;
+    private String cursor;
+
+    // Filters (all optional, combined with AND, case-insensitive)
+    private String status;
+    private String position;
+    private String supervisor;
+    private String namePrefix; // Prefix of the last name
+    private String filter; // Filter expression, e.g. `status = "Regular" and basicSalary > 50000`
+    private final Map<SalaryField, BigDecimal> salaryMin = new EnumMap<>(SalaryField.class); // Inclusive
+    private final Map<SalaryField, BigDecimal> salaryMax = new EnumMap<>(SalaryField.class); // Inclusive
+
+    // Default constructor
+    public EmployeeQuery() {
+    }
+
+    /**
+     * Parses a sort parameter such as "lastName" or "-employeeNumber" into this query.
+     *
+     * @param sortParam The raw sort parameter; null keeps the default order.
+     */
+    public void applySortParam(String sortParam) {
+        if (sortParam == null || sortParam.isBlank()) {
+            return;
+        }
+        String value = sortParam.trim();
+        this.descending = value.startsWith("-");
+        this.sort = SortField.fromParam(descending ? value.substring(1) : value);
+    }
+
+    /**
+     * @return The sort parameter form of this query's order, e.g. "-lastName".
+     */
+    public String getSortParam() {
+        return (descending ? "-" : "") + sort.getParamName();
+    }
+
+    /**
+     * Restricts the query to employees whose salary field lies within a range.
+     *
+     * @param field The salary field.
+     * @param min   The lowest amount (inclusive), or null for no lower bound.
+     * @param max   The highest amount (inclusive), or null for no upper bound.
+     * @throws IllegalArgumentException if min is greater than max.
+     */
+    public void setSalaryRange(SalaryField field, BigDecimal min, BigDecimal max) {
+        if (min != null && max != null && min.compareTo(max) > 0) {
+            throw new IllegalArgumentException("'" + field.getMinParam() + "' must not be greater than '"
+                    + field.getMaxParam() + "'.");
+        }
+        putOrRemove(salaryMin, field, min);
+        putOrRemove(salaryMax, field, max);
+    }
+
+    private static void putOrRemove(Map<SalaryField, BigDecimal> bounds, SalaryField field, BigDecimal value) {
+        if (value != null) {
+            bounds.put(field, value);
+        } else {
+            bounds.remove(field);
+        }
+    }
+
+    /**
+     * @return Whether the query restricts the given salary field.
+     */
+    public boolean hasSalaryRange(SalaryField field) {
+        return salaryMin.containsKey(field) || salaryMax.containsKey(field);
+    }
+
+    // --- Getters and Setters ---
+    public SortField getSort() { return sort; }
+    public void setSort(SortField sort) { this.sort = sort; }
+    public boolean isDescending() { return descending; }
+    public void setDescending(boolean descending) { this.descending = descending; }
+    public int getLimit() { return limit; }
+    public void setLimit(int limit) { this.limit = limit; }
+    public String getCursor() { return cursor; }
+    public void setCursor(String cursor) { this.cursor = cursor; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public String getPosition() { return position; }
+    public void setPosition(String position) { this.position = position; }
+    public String getSupervisor() { return supervisor; }
+    public void setSupervisor(String supervisor) { this.supervisor = supervisor; }
+    public String getNamePrefix() { return namePrefix; }
+    public void setNamePrefix(String namePrefix) { this.namePrefix = namePrefix; }
+    public String getFilter() { return filter; }
+    public void setFilter(String filter) { this.filter = filter; }
+    public BigDecimal getSalaryMin(SalaryField field) { return salaryMin.get(field); }
+    public BigDecimal getSalaryMax(SalaryField field) { return salaryMax.get(field); }
+}
@@ -0,0 +1,41 @@
+package com.imperionite.cp2c.dto;
+
+import com.imperionite.cp2c.model.Employee;
+
+import java.util.List;
+
+/**
+ * DTO for one employee search result: the searchable fields, the relevance score and which fields matched.
+ */
+public class EmployeeSearchHit {
+    private String employeeNumber;
+    private String lastName;
+    private String firstName;
+    private String position;
+    private String immediateSupervisor;
+    private int score;
+    private List<String> matchedFields; // e.g. ["lastName", "position"]
+
+    // Default constructor for Jackson deserialization
+    public EmployeeSearchHit() {
+    }
+
+    public EmployeeSearchHit(Employee employee, int score, List<String> matchedFields) {
+        this.employeeNumber = employee.getEmployeeNumber();
+        this.lastName = employee.getLastName();
+        this.firstName = employee.getFirstName();
+        this.position = employee.getPosition();
+        this.immediateSupervisor = employee.getImmediateSupervisor();
+        this.score = score;
+        this.matchedFields = matchedFields;
+    }
+
+    // Getters
+    public String getEmployeeNumber() { return employeeNumber; }
+    public String getLastName() { return lastName; }
+    public String getFirstName() { return firstName; }
+    public String getPosition() { return position; }
+    public String getImmediateSupervisor() { return immediateSupervisor; }
+    public int getScore() { return score; }
+    public List<String> getMatchedFields() { return matchedFields; }
+}
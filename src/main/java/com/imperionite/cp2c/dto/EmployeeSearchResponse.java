@@ -0,0 +1,35 @@
+package com.imperionite.cp2c.dto;
+
+import java.util.List;
+
+/**
+ * DTO for employee search results, best match first.
+ * `truncated` is true when the query was so broad (e.g., one letter) that only the best candidates
+ * were ranked; typing more of the word narrows it.
+ */
+public class EmployeeSearchResponse {
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+
+    private String query;
+    private List<EmployeeSearchHit> items;
+    private int limit;
+    private boolean truncated;
+
+    // Default constructor for Jackson deserialization
+    public EmployeeSearchResponse() {
+    }
+
+    public EmployeeSearchResponse(String query, List<EmployeeSearchHit> items, int limit, boolean truncated) {
+        this.query = query;
+        this.items = items;
+        this.limit = limit;
+        this.truncated = truncated;
+    }
+
+    // Getters
+    public String getQuery() { return query; }
+    public List<EmployeeSearchHit> getItems() { return items; }
+    public int getLimit() { return limit; }
+    public boolean isTruncated() { return truncated; }
+}
@@ -0,0 +1,37 @@
+package com.imperionite.cp2c.dto;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * DTO for multi-get requests: the employees to fetch, and for salaries the month to calculate.
+ */
+public class MultiGetRequest {
+    public static final int MAX_EMPLOYEE_NUMBERS = 500;
+
+    private List<String> employeeNumbers;
+    private String yearMonth; // Salary multi-get only (e.g., "2024-06")
+
+    // Default constructor for Jackson deserialization
+    public MultiGetRequest() {
+    }
+
+    public List<String> getEmployeeNumbers() { return employeeNumbers; }
+    public void setEmployeeNumbers(List<String> employeeNumbers) { this.employeeNumbers = employeeNumbers; }
+    public String getYearMonth() { return yearMonth; }
+    public void setYearMonth(String yearMonth) { this.yearMonth = yearMonth; }
+
+    /**
+     * @return The requested employee numbers, trimmed, in request order.
+     * @throws IllegalArgumentException if none or more than MAX_EMPLOYEE_NUMBERS are given.
+     */
+    public List<String> requireEmployeeNumbers() {
+        if (employeeNumbers == null || employeeNumbers.isEmpty()) {
+            throw new IllegalArgumentException("At least one employee number is required.");
+        }
+        if (employeeNumbers.size() > MAX_EMPLOYEE_NUMBERS) {
+            throw new IllegalArgumentException("At most " + MAX_EMPLOYEE_NUMBERS + " employee numbers may be requested at once.");
+        }
+        return employeeNumbers.stream().map(number -> number != null ? number.trim() : "").collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,31 @@
+package com.imperionite.cp2c.dto;
+
+import java.util.List;
+
+/**
+ * DTO for multi-get responses: one result per requested employee number, in request order, plus totals.
+ *
+ * @param <T> The record type.
+ */
+public class MultiGetResponse<T> {
+    private int total;
+    private int found;
+    private int missing;
+    private List<MultiGetResult<T>> results;
+
+    // Default constructor for Jackson deserialization
+    public MultiGetResponse() {
+    }
+
+    public MultiGetResponse(List<MultiGetResult<T>> results) {
+        this.results = results;
+        this.total = results.size();
+        this.found = (int) results.stream().filter(MultiGetResult::isFound).count();
+        this.missing = total - found;
+    }
+
+    public int getTotal() { return total; }
+    public int getFound() { return found; }
+    public int getMissing() { return missing; }
+    public List<MultiGetResult<T>> getResults() { return results; }
+}
@@ -0,0 +1,40 @@
+package com.imperionite.cp2c.dto;
+
+/**
+ * DTO for one record of a multi-get response. The status is the code the equivalent single-record request
+ * would have returned (200, or 404 with a message); `data` is only set for 200.
+ *
+ * @param <T> The record type.
+ */
+public class MultiGetResult<T> {
+    private String employeeNumber;
+    private int status;
+    private String message;
+    private T data;
+
+    // Default constructor for Jackson deserialization
+    public MultiGetResult() {
+    }
+
+    public MultiGetResult(String employeeNumber, int status, String message, T data) {
+        this.employeeNumber = employeeNumber;
+        this.status = status;
+        this.message = message;
+        this.data = data;
+    }
+
+    public static <T> MultiGetResult<T> found(String employeeNumber, T data) {
+        return new MultiGetResult<>(employeeNumber, 200, null, data);
+    }
+
+    public static <T> MultiGetResult<T> notFound(String employeeNumber, String message) {
+        return new MultiGetResult<>(employeeNumber, 404, message, null);
+    }
+
+    public boolean isFound() { return status == 200; }
+
+    public String getEmployeeNumber() { return employeeNumber; }
+    public int getStatus() { return status; }
+    public String getMessage() { return message; }
+    public T getData() { return data; }
+}
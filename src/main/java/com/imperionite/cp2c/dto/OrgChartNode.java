@@ -0,0 +1,46 @@
+package com.imperionite.cp2c.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO for one employee in the org chart: their direct reports, the headcount and monthly payroll cost
+ * (basic salary plus allowances) of everyone under them including themselves, and their reports nested
+ * down to the requested depth.
+ */
+public class OrgChartNode {
+    private String employeeNumber;
+    private String lastName;
+    private String firstName;
+    private String position;
+    private int directReports;
+    private int subtreeHeadcount;
+    private BigDecimal subtreePayrollCost;
+    private List<OrgChartNode> reports; // Empty below the requested depth; directReports still counts them
+
+    // Default constructor for Jackson deserialization
+    public OrgChartNode() {
+    }
+
+    public OrgChartNode(String employeeNumber, String lastName, String firstName, String position,
+            int directReports, int subtreeHeadcount, BigDecimal subtreePayrollCost, List<OrgChartNode> reports) {
+        this.employeeNumber = employeeNumber;
+        this.lastName = lastName;
+        this.firstName = firstName;
+        this.position = position;
+        this.directReports = directReports;
+        this.subtreeHeadcount = subtreeHeadcount;
+        this.subtreePayrollCost = subtreePayrollCost;
+        this.reports = reports;
+    }
+
+    // Getters
+    public String getEmployeeNumber() { return employeeNumber; }
+    public String getLastName() { return lastName; }
+    public String getFirstName() { return firstName; }
+    public String getPosition() { return position; }
+    public int getDirectReports() { return directReports; }
+    public int getSubtreeHeadcount() { return subtreeHeadcount; }
+    public BigDecimal getSubtreePayrollCost() { return subtreePayrollCost; }
+    public List<OrgChartNode> getReports() { return reports; }
+}
@@ -0,0 +1,34 @@
+package com.imperionite.cp2c.dto;
+
+import java.util.List;
+
+/**
+ * DTO for one page of a cursor-paginated list.
+ * Pass nextCursor back as the `cursor` parameter to fetch the following page; it is null on the last page.
+ *
+ * @param <T> The item type.
+ */
+public class PageResponse<T> {
+    private List<T> items;
+    private String nextCursor;
+    private int limit;
+    private String sort;
+
+    // Default constructor for Jackson deserialization
+    public PageResponse() {
+    }
+
+    public PageResponse(List<T> items, String nextCursor, int limit, String sort) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.limit = limit;
+        this.sort = sort;
+    }
+
+    // Getters
+    public List<T> getItems() { return items; }
+    public String getNextCursor() { return nextCursor; }
+    public int getLimit() { return limit; }
+    public String getSort() { return sort; }
+    public boolean isHasMore() { return nextCursor != null; }
+}
@@ -0,0 +1,35 @@
+package com.imperionite.cp2c.dto;
+
+/**
+ * DTO for one entry of the dashboard's recent activity: which record changed, how, and when. Employee
+ * changes carry the employee's "Last, First" name as the label; other records have none.
+ */
+public class RecentChange {
+    private String type; // employee, user or payroll
+    private String op; // upsert, delete or posted
+    private String key; // Employee number, user ID or year-month
+    private String label;
+    private long version;
+    private long timestamp; // Epoch milliseconds
+
+    // Default constructor for Jackson deserialization
+    public RecentChange() {
+    }
+
+    public RecentChange(String type, String op, String key, String label, long version, long timestamp) {
+        this.type = type;
+        this.op = op;
+        this.key = key;
+        this.label = label;
+        this.version = version;
+        this.timestamp = timestamp;
+    }
+
+    // Getters
+    public String getType() { return type; }
+    public String getOp() { return op; }
+    public String getKey() { return key; }
+    public String getLabel() { return label; }
+    public long getVersion() { return version; }
+    public long getTimestamp() { return timestamp; }
+}
@@ -0,0 +1,35 @@
+package com.imperionite.cp2c.dto;
+
+/**
+ * DTO for the latest change to one record in a delta sync response: an upsert carrying the record's
+ * current state, or a delete (tombstone) with no data. Same shape as the events on /api/protected/events.
+ *
+ * @param <T> The record type.
+ */
+public class RecordChange<T> {
+    public static final String OP_UPSERT = "upsert";
+    public static final String OP_DELETE = "delete";
+
+    private String op;
+    private String key;
+    private long version;
+    private T data;
+
+    // Default constructor for Jackson deserialization
+    public RecordChange() {
+    }
+
+    public RecordChange(String key, long version, T data) {
+        this.op = data != null ? OP_UPSERT : OP_DELETE;
+        this.key = key;
+        this.version = version;
+        this.data = data;
+    }
+
+    // Getters
+    public String getOp() { return op; }
+    public String getKey() { return key; }
+    public long getVersion() { return version; }
+    public T getData() { return data; }
+    public boolean isDeleted() { return data == null; }
+}
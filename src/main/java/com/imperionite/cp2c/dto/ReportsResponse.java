@@ -0,0 +1,33 @@
+package com.imperionite.cp2c.dto;
+
+/**
+ * DTO for GET /employees/{employeeNumber}/reports: the employee's place in the org chart and their reports
+ * down to `depth` levels. `supervisor` is the immediate supervisor as recorded; `supervisorEmployeeNumber`
+ * is who it resolved to, or null if it names nobody, more than one employee, or would close a cycle.
+ */
+public class ReportsResponse {
+    public static final int DEFAULT_DEPTH = 1;
+    public static final int MAX_DEPTH = 10;
+
+    private int depth;
+    private String supervisor;
+    private String supervisorEmployeeNumber;
+    private OrgChartNode employee;
+
+    // Default constructor for Jackson deserialization
+    public ReportsResponse() {
+    }
+
+    public ReportsResponse(int depth, String supervisor, String supervisorEmployeeNumber, OrgChartNode employee) {
+        this.depth = depth;
+        this.supervisor = supervisor;
+        this.supervisorEmployeeNumber = supervisorEmployeeNumber;
+        this.employee = employee;
+    }
+
+    // Getters
+    public int getDepth() { return depth; }
+    public String getSupervisor() { return supervisor; }
+    public String getSupervisorEmployeeNumber() { return supervisorEmployeeNumber; }
+    public OrgChartNode getEmployee() { return employee; }
+}
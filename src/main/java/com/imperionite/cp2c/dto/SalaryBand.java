@@ -0,0 +1,28 @@
+package com.imperionite.cp2c.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for one histogram band: the number of employees earning at least `from` and less than `to`
+ * (the last band of a histogram also includes `to`).
+ */
+public class SalaryBand {
+    private BigDecimal from;
+    private BigDecimal to;
+    private int count;
+
+    // Default constructor for Jackson deserialization
+    public SalaryBand() {
+    }
+
+    public SalaryBand(BigDecimal from, BigDecimal to, int count) {
+        this.from = from;
+        this.to = to;
+        this.count = count;
+    }
+
+    // Getters
+    public BigDecimal getFrom() { return from; }
+    public BigDecimal getTo() { return to; }
+    public int getCount() { return count; }
+}
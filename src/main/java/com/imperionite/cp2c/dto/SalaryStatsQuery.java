@@ -0,0 +1,41 @@
+package com.imperionite.cp2c.dto;
+
+import com.imperionite.cp2c.dto.EmployeeQuery.SalaryField;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO describing a salary distribution request: the field, an optional inclusive range, the percentiles
+ * to report and how to cut the range into histogram bands (explicit bounds or a fixed band width).
+ */
+public class SalaryStatsQuery {
+    public static final int MAX_BANDS = 100;
+    public static final List<BigDecimal> DEFAULT_PERCENTILES = List.of(
+            new BigDecimal("25"), new BigDecimal("50"), new BigDecimal("75"), new BigDecimal("90"));
+
+    private SalaryField field = SalaryField.BASIC_SALARY;
+    private BigDecimal min; // Inclusive; null for no lower bound
+    private BigDecimal max; // Inclusive; null for no upper bound
+    private List<BigDecimal> percentiles = DEFAULT_PERCENTILES;
+    private List<BigDecimal> bounds = List.of(); // Ascending band boundaries
+    private BigDecimal width; // Band width, used when no bounds are given
+
+    // Default constructor
+    public SalaryStatsQuery() {
+    }
+
+    // --- Getters and Setters ---
+    public SalaryField getField() { return field; }
+    public void setField(SalaryField field) { this.field = field; }
+    public BigDecimal getMin() { return min; }
+    public void setMin(BigDecimal min) { this.min = min; }
+    public BigDecimal getMax() { return max; }
+    public void setMax(BigDecimal max) { this.max = max; }
+    public List<BigDecimal> getPercentiles() { return percentiles; }
+    public void setPercentiles(List<BigDecimal> percentiles) { this.percentiles = percentiles; }
+    public List<BigDecimal> getBounds() { return bounds; }
+    public void setBounds(List<BigDecimal> bounds) { this.bounds = bounds; }
+    public BigDecimal getWidth() { return width; }
+    public void setWidth(BigDecimal width) { this.width = width; }
+}
@@ -0,0 +1,47 @@
+package com.imperionite.cp2c.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for the distribution of one salary field over the employees within an optional range:
+ * how many there are, the lowest and highest amounts, nearest-rank percentiles (keyed "p50", "p90", ...)
+ * and a band histogram. Amounts are null when no employee is in range.
+ */
+public class SalaryStatsResponse {
+    private String field;
+    private BigDecimal min;
+    private BigDecimal max;
+    private int count;
+    private BigDecimal lowest;
+    private BigDecimal highest;
+    private Map<String, BigDecimal> percentiles;
+    private List<SalaryBand> bands;
+
+    // Default constructor for Jackson deserialization
+    public SalaryStatsResponse() {
+    }
+
+    public SalaryStatsResponse(String field, BigDecimal min, BigDecimal max, int count, BigDecimal lowest,
+            BigDecimal highest, Map<String, BigDecimal> percentiles, List<SalaryBand> bands) {
+        this.field = field;
+        this.min = min;
+        this.max = max;
+        this.count = count;
+        this.lowest = lowest;
+        this.highest = highest;
+        this.percentiles = percentiles;
+        this.bands = bands;
+    }
+
+    // Getters
+    public String getField() { return field; }
+    public BigDecimal getMin() { return min; }
+    public BigDecimal getMax() { return max; }
+    public int getCount() { return count; }
+    public BigDecimal getLowest() { return lowest; }
+    public BigDecimal getHighest() { return highest; }
+    public Map<String, BigDecimal> getPercentiles() { return percentiles; }
+    public List<SalaryBand> getBands() { return bands; }
+}
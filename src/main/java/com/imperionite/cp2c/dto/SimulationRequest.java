@@ -0,0 +1,23 @@
+package com.imperionite.cp2c.dto;
+
+import java.util.List;
+
+/**
+ * DTO for what-if payroll simulation requests: a month and the scenarios to evaluate against it.
+ */
+public class SimulationRequest {
+    private String yearMonth;
+    private List<SimulationScenario> scenarios;
+    private boolean includeDiffs = true; // Set to false to receive only the aggregate deltas
+
+    // Default constructor for Jackson deserialization
+    public SimulationRequest() {
+    }
+
+    public String getYearMonth() { return yearMonth; }
+    public void setYearMonth(String yearMonth) { this.yearMonth = yearMonth; }
+    public List<SimulationScenario> getScenarios() { return scenarios; }
+    public void setScenarios(List<SimulationScenario> scenarios) { this.scenarios = scenarios; }
+    public boolean isIncludeDiffs() { return includeDiffs; }
+    public void setIncludeDiffs(boolean includeDiffs) { this.includeDiffs = includeDiffs; }
+}
@@ -0,0 +1,56 @@
+package com.imperionite.cp2c.dto;
+
+import com.imperionite.cp2c.model.ContributionConfig;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO describing one what-if payroll scenario.
+ * Filters select which employees the employee-field overrides apply to (all employees when no filter is set).
+ * A contributionConfig, when present, replaces the matching rule lists for every employee;
+ * any rule list left null falls back to the current configuration.
+ */
+public class SimulationScenario {
+    private String name;
+
+    // Filters (all optional, combined with AND)
+    private String status;
+    private String position;
+    private List<String> employeeNumbers;
+
+    // Employee field overrides (all optional)
+    private BigDecimal basicSalaryPercent; // e.g., 5 for +5% basic salary
+    private BigDecimal basicSalary; // Absolute basic salary; applied before basicSalaryPercent
+    private BigDecimal riceSubsidy;
+    private BigDecimal phoneAllowance;
+    private BigDecimal clothingAllowance;
+
+    // Contribution/tax table overrides
+    private ContributionConfig contributionConfig;
+
+    // Default constructor for Jackson deserialization
+    public SimulationScenario() {
+    }
+
+    // --- Getters and Setters ---
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public String getPosition() { return position; }
+    public void setPosition(String position) { this.position = position; }
+    public List<String> getEmployeeNumbers() { return employeeNumbers; }
+    public void setEmployeeNumbers(List<String> employeeNumbers) { this.employeeNumbers = employeeNumbers; }
+    public BigDecimal getBasicSalaryPercent() { return basicSalaryPercent; }
+    public void setBasicSalaryPercent(BigDecimal basicSalaryPercent) { this.basicSalaryPercent = basicSalaryPercent; }
+    public BigDecimal getBasicSalary() { return basicSalary; }
+    public void setBasicSalary(BigDecimal basicSalary) { this.basicSalary = basicSalary; }
+    public BigDecimal getRiceSubsidy() { return riceSubsidy; }
+    public void setRiceSubsidy(BigDecimal riceSubsidy) { this.riceSubsidy = riceSubsidy; }
+    public BigDecimal getPhoneAllowance() { return phoneAllowance; }
+    public void setPhoneAllowance(BigDecimal phoneAllowance) { this.phoneAllowance = phoneAllowance; }
+    public BigDecimal getClothingAllowance() { return clothingAllowance; }
+    public void setClothingAllowance(BigDecimal clothingAllowance) { this.clothingAllowance = clothingAllowance; }
+    public ContributionConfig getContributionConfig() { return contributionConfig; }
+    public void setContributionConfig(ContributionConfig contributionConfig) { this.contributionConfig = contributionConfig; }
+}
@@ -0,0 +1,34 @@
+package com.imperionite.cp2c.dto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * DTO for the workforce totals EmployeeDao keeps as employees change: headcount, headcount by status
+ * (as recorded, in alphabetical order) and monthly payroll cost (basic salary plus allowances), all read
+ * at the same employee data version.
+ */
+public class WorkforceTotals {
+    private long version;
+    private int headcount;
+    private Map<String, Integer> headcountByStatus;
+    private BigDecimal monthlyPayrollCost;
+
+    // Default constructor for Jackson deserialization
+    public WorkforceTotals() {
+    }
+
+    public WorkforceTotals(long version, int headcount, Map<String, Integer> headcountByStatus,
+            BigDecimal monthlyPayrollCost) {
+        this.version = version;
+        this.headcount = headcount;
+        this.headcountByStatus = headcountByStatus;
+        this.monthlyPayrollCost = monthlyPayrollCost;
+    }
+
+    // Getters
+    public long getVersion() { return version; }
+    public int getHeadcount() { return headcount; }
+    public Map<String, Integer> getHeadcountByStatus() { return headcountByStatus; }
+    public BigDecimal getMonthlyPayrollCost() { return monthlyPayrollCost; }
+}
@@ -0,0 +1,32 @@
+package com.imperionite.cp2c.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Monthly remittance totals owed to one government agency (SSS, PhilHealth or Pag-IBIG).
+ */
+public class AgencyRemittance {
+    private String agency;
+    private int memberCount; // Employees with a non-zero contribution to this agency
+    private BigDecimal employeeShare;
+    private BigDecimal employerShare;
+    private BigDecimal totalRemittance;
+
+    // Default constructor for Jackson serialization
+    public AgencyRemittance() {}
+
+    public AgencyRemittance(String agency, int memberCount, BigDecimal employeeShare, BigDecimal employerShare) {
+        this.agency = agency;
+        this.memberCount = memberCount;
+        this.employeeShare = employeeShare;
+        this.employerShare = employerShare;
+        this.totalRemittance = employeeShare.add(employerShare);
+    }
+
+    // Getters
+    public String getAgency() { return agency; }
+    public int getMemberCount() { return memberCount; }
+    public BigDecimal getEmployeeShare() { return employeeShare; }
+    public BigDecimal getEmployerShare() { return employerShare; }
+    public BigDecimal getTotalRemittance() { return totalRemittance; }
+}
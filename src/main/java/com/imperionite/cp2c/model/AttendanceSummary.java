@@ -0,0 +1,53 @@
+package com.imperionite.cp2c.model;
+
+/**
+ * Aggregated attendance metrics for one employee over one month.
+ * All durations are kept in whole minutes; the hour getters are derived for convenience.
+ */
+public class AttendanceSummary {
+    private String employeeNumber;
+    private String yearMonth; // e.g., "2024-06"
+    private int daysPresent;
+    private int regularMinutes; // Worked minutes capped at the standard day, used as the salary base
+    private int lateMinutes;
+    private int undertimeMinutes;
+    private int overtimeMinutes;
+    private int nightMinutes; // Minutes worked inside the 22:00-06:00 night window
+    private int overnightShifts; // Shifts whose logout falls on the next calendar day
+    private int invalidRecords; // Records skipped because a login or logout time was missing
+
+    // Default constructor for Jackson serialization
+    public AttendanceSummary() {}
+
+    public AttendanceSummary(String employeeNumber, String yearMonth, int daysPresent, int regularMinutes,
+            int lateMinutes, int undertimeMinutes, int overtimeMinutes, int nightMinutes, int overnightShifts,
+            int invalidRecords) {
+        this.employeeNumber = employeeNumber;
+        this.yearMonth = yearMonth;
+        this.daysPresent = daysPresent;
+        this.regularMinutes = regularMinutes;
+        this.lateMinutes = lateMinutes;
+        this.undertimeMinutes = undertimeMinutes;
+        this.overtimeMinutes = overtimeMinutes;
+        this.nightMinutes = nightMinutes;
+        this.overnightShifts = overnightShifts;
+        this.invalidRecords = invalidRecords;
+    }
+
+    // Getters
+    public String getEmployeeNumber() { return employeeNumber; }
+    public String getYearMonth() { return yearMonth; }
+    public int getDaysPresent() { return daysPresent; }
+    public int getRegularMinutes() { return regularMinutes; }
+    public int getLateMinutes() { return lateMinutes; }
+    public int getUndertimeMinutes() { return undertimeMinutes; }
+    public int getOvertimeMinutes() { return overtimeMinutes; }
+    public int getNightMinutes() { return nightMinutes; }
+    public int getOvernightShifts() { return overnightShifts; }
+    public int getInvalidRecords() { return invalidRecords; }
+
+    // Derived hours, used by the salary engine
+    public double getRegularHours() { return regularMinutes / 60.0; }
+    public double getOvertimeHours() { return overtimeMinutes / 60.0; }
+    public double getNightHours() { return nightMinutes / 60.0; }
+}
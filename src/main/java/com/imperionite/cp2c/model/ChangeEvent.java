@@ -0,0 +1,57 @@
+package com.imperionite.cp2c.model;
+
+/**
+ * A change to a record, published on the in-process change event bus and pushed to SSE clients.
+ * The version is the collection's global version at which the change happened (the same counter used
+ * for ETags), so a client can drop an event older than what it already has cached.
+ */
+public class ChangeEvent {
+
+    public static final String TYPE_EMPLOYEE = "employee";
+    public static final String TYPE_USER = "user";
+    public static final String TYPE_PAYROLL = "payroll";
+    public static final String TYPE_RESYNC = "resync";
+
+    public static final String OP_UPSERT = "upsert";
+    public static final String OP_DELETE = "delete";
+    public static final String OP_POSTED = "posted";
+    public static final String OP_RESYNC = "resync";
+
+    private String type; // Collection the record belongs to (employee, user, payroll) or resync
+    private String op;
+    private String key; // Employee number, user ID or year-month
+    private long version;
+    private long timestamp; // Epoch milliseconds
+    private Object data; // The record's new state; null for deletes
+
+    // Default constructor for Jackson deserialization
+    public ChangeEvent() {}
+
+    public ChangeEvent(String type, String op, String key, long version, Object data) {
+        this.type = type;
+        this.op = op;
+        this.key = key;
+        this.version = version;
+        this.timestamp = System.currentTimeMillis();
+        this.data = data;
+    }
+
+    /**
+     * An event telling a subscriber that events were dropped and its cached state must be refetched.
+     */
+    public static ChangeEvent resync() {
+        return new ChangeEvent(TYPE_RESYNC, OP_RESYNC, null, 0L, null);
+    }
+
+    /**
+     * @return The SSE event ID, e.g. "employee-42"; clients send it back as Last-Event-ID when reconnecting.
+     */
+    public String getId() { return type + "-" + version; }
+
+    public String getType() { return type; }
+    public String getOp() { return op; }
+    public String getKey() { return key; }
+    public long getVersion() { return version; }
+    public long getTimestamp() { return timestamp; }
+    public Object getData() { return data; }
+}
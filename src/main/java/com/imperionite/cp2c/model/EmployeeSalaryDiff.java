@@ -0,0 +1,46 @@
+package com.imperionite.cp2c.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Baseline versus simulated payroll figures for one employee in a what-if scenario.
+ * Total cost is gross pay plus the employer's SSS, PhilHealth and Pag-IBIG shares.
+ */
+public class EmployeeSalaryDiff {
+    private String employeeNumber;
+    private BigDecimal baselineGross;
+    private BigDecimal scenarioGross;
+    private BigDecimal baselineNet;
+    private BigDecimal scenarioNet;
+    private BigDecimal deltaNet;
+    private BigDecimal baselineTotalCost;
+    private BigDecimal scenarioTotalCost;
+    private BigDecimal deltaTotalCost;
+
+    // Default constructor for Jackson serialization
+    public EmployeeSalaryDiff() {}
+
+    public EmployeeSalaryDiff(String employeeNumber, BigDecimal baselineGross, BigDecimal scenarioGross,
+            BigDecimal baselineNet, BigDecimal scenarioNet, BigDecimal baselineTotalCost, BigDecimal scenarioTotalCost) {
+        this.employeeNumber = employeeNumber;
+        this.baselineGross = baselineGross;
+        this.scenarioGross = scenarioGross;
+        this.baselineNet = baselineNet;
+        this.scenarioNet = scenarioNet;
+        this.deltaNet = scenarioNet.subtract(baselineNet);
+        this.baselineTotalCost = baselineTotalCost;
+        this.scenarioTotalCost = scenarioTotalCost;
+        this.deltaTotalCost = scenarioTotalCost.subtract(baselineTotalCost);
+    }
+
+    // Getters
+    public String getEmployeeNumber() { return employeeNumber; }
+    public BigDecimal getBaselineGross() { return baselineGross; }
+    public BigDecimal getScenarioGross() { return scenarioGross; }
+    public BigDecimal getBaselineNet() { return baselineNet; }
+    public BigDecimal getScenarioNet() { return scenarioNet; }
+    public BigDecimal getDeltaNet() { return deltaNet; }
+    public BigDecimal getBaselineTotalCost() { return baselineTotalCost; }
+    public BigDecimal getScenarioTotalCost() { return scenarioTotalCost; }
+    public BigDecimal getDeltaTotalCost() { return deltaTotalCost; }
+}
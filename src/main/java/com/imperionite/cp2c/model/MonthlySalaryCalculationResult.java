@@ -13,11 +13,17 @@ public class MonthlySalaryCalculationResult {
     private BigDecimal monthlyWithholdingTax;
     private BigDecimal totalDeductions;
     private BigDecimal netMonthlySalary;
+    // Employer shares are not deducted from pay; they are carried for remittance reporting
+    private BigDecimal monthlySssEmployerShare;
+    private BigDecimal monthlyPhilhealthEmployerShare;
+    private BigDecimal monthlyPagibigEmployerShare;
+    private BigDecimal proratedBasicSalary; // Basic pay actually earned; the base for 13th-month pay
+    private BigDecimal taxableIncome; // Gross less employee SSS, PhilHealth and Pag-IBIG shares
 
     // Default constructor for Jackson serialization
     public MonthlySalaryCalculationResult() {}
 
-    public MonthlySalaryCalculationResult(String employeeNumber, String yearMonth, double monthlyWorkedHours, BigDecimal grossMonthlySalary, BigDecimal monthlySssDeduction, BigDecimal monthlyPhilhealthDeduction, BigDecimal monthlyPagibigDeduction, BigDecimal monthlyWithholdingTax, BigDecimal totalDeductions, BigDecimal netMonthlySalary) {
+    public MonthlySalaryCalculationResult(String employeeNumber, String yearMonth, double monthlyWorkedHours, BigDecimal grossMonthlySalary, BigDecimal monthlySssDeduction, BigDecimal monthlyPhilhealthDeduction, BigDecimal monthlyPagibigDeduction, BigDecimal monthlyWithholdingTax, BigDecimal totalDeductions, BigDecimal netMonthlySalary, BigDecimal monthlySssEmployerShare, BigDecimal monthlyPhilhealthEmployerShare, BigDecimal monthlyPagibigEmployerShare, BigDecimal proratedBasicSalary, BigDecimal taxableIncome) {
         this.employeeNumber = employeeNumber;
         this.yearMonth = yearMonth;
         this.monthlyWorkedHours = monthlyWorkedHours;
@@ -28,6 +34,11 @@ public class MonthlySalaryCalculationResult {
         this.monthlyWithholdingTax = monthlyWithholdingTax;
         this.totalDeductions = totalDeductions;
         this.netMonthlySalary = netMonthlySalary;
+        this.monthlySssEmployerShare = monthlySssEmployerShare;
+        this.monthlyPhilhealthEmployerShare = monthlyPhilhealthEmployerShare;
+        this.monthlyPagibigEmployerShare = monthlyPagibigEmployerShare;
+        this.proratedBasicSalary = proratedBasicSalary;
+        this.taxableIncome = taxableIncome;
     }
 
     // Getters
@@ -41,5 +52,10 @@ public class MonthlySalaryCalculationResult {
     public BigDecimal getMonthlyWithholdingTax() { return monthlyWithholdingTax; }
     public BigDecimal getTotalDeductions() { return totalDeductions; }
     public BigDecimal getNetMonthlySalary() { return netMonthlySalary; }
+    public BigDecimal getMonthlySssEmployerShare() { return monthlySssEmployerShare; }
+    public BigDecimal getMonthlyPhilhealthEmployerShare() { return monthlyPhilhealthEmployerShare; }
+    public BigDecimal getMonthlyPagibigEmployerShare() { return monthlyPagibigEmployerShare; }
+    public BigDecimal getProratedBasicSalary() { return proratedBasicSalary; }
+    public BigDecimal getTaxableIncome() { return taxableIncome; }
 }
 
@@ -5,6 +5,7 @@ import java.math.BigDecimal;
 public class PagIbigContributionRule {
     private BigDecimal salaryCap;
     private BigDecimal contributionRate; // Employee share rate
+    private BigDecimal employerContributionRate; // Employer share rate
 
     public PagIbigContributionRule() {}
 
@@ -13,4 +14,7 @@ public class PagIbigContributionRule {
 
     public BigDecimal getContributionRate() { return contributionRate; }
     public void setContributionRate(BigDecimal contributionRate) { this.contributionRate = contributionRate; }
+
+    public BigDecimal getEmployerContributionRate() { return employerContributionRate; }
+    public void setEmployerContributionRate(BigDecimal employerContributionRate) { this.employerContributionRate = employerContributionRate; }
 }
\ No newline at end of file
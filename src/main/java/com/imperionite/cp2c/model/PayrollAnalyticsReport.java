@@ -0,0 +1,37 @@
+package com.imperionite.cp2c.model;
+
+import java.util.List;
+
+/**
+ * Company-wide payroll totals for one month, grouped by one employee attribute (position, status or
+ * supervisor). Groups are ordered by gross salary, largest first.
+ */
+public class PayrollAnalyticsReport {
+    private String yearMonth;
+    private String dimension;
+    private int employeesIncluded; // Employees with attendance whose payroll was computed
+    private int employeesSkipped; // Employees with attendance whose payroll could not be computed
+    private List<PayrollGroupTotals> groups;
+    private PayrollGroupTotals totals; // All groups together
+
+    // Default constructor for Jackson serialization
+    public PayrollAnalyticsReport() {}
+
+    public PayrollAnalyticsReport(String yearMonth, String dimension, int employeesIncluded, int employeesSkipped,
+                                  List<PayrollGroupTotals> groups, PayrollGroupTotals totals) {
+        this.yearMonth = yearMonth;
+        this.dimension = dimension;
+        this.employeesIncluded = employeesIncluded;
+        this.employeesSkipped = employeesSkipped;
+        this.groups = groups;
+        this.totals = totals;
+    }
+
+    // Getters
+    public String getYearMonth() { return yearMonth; }
+    public String getDimension() { return dimension; }
+    public int getEmployeesIncluded() { return employeesIncluded; }
+    public int getEmployeesSkipped() { return employeesSkipped; }
+    public List<PayrollGroupTotals> getGroups() { return groups; }
+    public PayrollGroupTotals getTotals() { return totals; }
+}
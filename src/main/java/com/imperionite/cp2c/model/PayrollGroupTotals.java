@@ -0,0 +1,49 @@
+package com.imperionite.cp2c.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Monthly payroll totals for one group of employees (e.g., everyone with the same position).
+ */
+public class PayrollGroupTotals {
+    private String group;
+    private int employees;
+    private BigDecimal grossSalary;
+    private BigDecimal sssDeduction;
+    private BigDecimal philhealthDeduction;
+    private BigDecimal pagibigDeduction;
+    private BigDecimal withholdingTax;
+    private BigDecimal totalDeductions;
+    private BigDecimal netSalary;
+    private BigDecimal employerContributions; // SSS, PhilHealth and Pag-IBIG employer shares
+
+    // Default constructor for Jackson serialization
+    public PayrollGroupTotals() {}
+
+    public PayrollGroupTotals(String group, int employees, BigDecimal grossSalary, BigDecimal sssDeduction,
+                              BigDecimal philhealthDeduction, BigDecimal pagibigDeduction, BigDecimal withholdingTax,
+                              BigDecimal totalDeductions, BigDecimal netSalary, BigDecimal employerContributions) {
+        this.group = group;
+        this.employees = employees;
+        this.grossSalary = grossSalary;
+        this.sssDeduction = sssDeduction;
+        this.philhealthDeduction = philhealthDeduction;
+        this.pagibigDeduction = pagibigDeduction;
+        this.withholdingTax = withholdingTax;
+        this.totalDeductions = totalDeductions;
+        this.netSalary = netSalary;
+        this.employerContributions = employerContributions;
+    }
+
+    // Getters
+    public String getGroup() { return group; }
+    public int getEmployees() { return employees; }
+    public BigDecimal getGrossSalary() { return grossSalary; }
+    public BigDecimal getSssDeduction() { return sssDeduction; }
+    public BigDecimal getPhilhealthDeduction() { return philhealthDeduction; }
+    public BigDecimal getPagibigDeduction() { return pagibigDeduction; }
+    public BigDecimal getWithholdingTax() { return withholdingTax; }
+    public BigDecimal getTotalDeductions() { return totalDeductions; }
+    public BigDecimal getNetSalary() { return netSalary; }
+    public BigDecimal getEmployerContributions() { return employerContributions; }
+}
@@ -0,0 +1,67 @@
+package com.imperionite.cp2c.model;
+
+import java.math.BigDecimal;
+
+/**
+ * A posted monthly payroll result for one employee, as stored in the payroll ledger.
+ * Only the amounts needed for year-to-date totals and annual reconciliation are kept.
+ */
+public class PayrollLedgerEntry {
+    private String employeeNumber;
+    private String yearMonth; // e.g., "2024-06"
+    private BigDecimal basicPay;
+    private BigDecimal grossPay;
+    private BigDecimal sssContribution;
+    private BigDecimal philhealthContribution;
+    private BigDecimal pagibigContribution;
+    private BigDecimal taxableIncome;
+    private BigDecimal withholdingTax;
+    private BigDecimal netPay;
+
+    // Default constructor for Jackson serialization
+    public PayrollLedgerEntry() {}
+
+    public PayrollLedgerEntry(String employeeNumber, String yearMonth, BigDecimal basicPay, BigDecimal grossPay,
+            BigDecimal sssContribution, BigDecimal philhealthContribution, BigDecimal pagibigContribution,
+            BigDecimal taxableIncome, BigDecimal withholdingTax, BigDecimal netPay) {
+        this.employeeNumber = employeeNumber;
+        this.yearMonth = yearMonth;
+        this.basicPay = basicPay;
+        this.grossPay = grossPay;
+        this.sssContribution = sssContribution;
+        this.philhealthContribution = philhealthContribution;
+        this.pagibigContribution = pagibigContribution;
+        this.taxableIncome = taxableIncome;
+        this.withholdingTax = withholdingTax;
+        this.netPay = netPay;
+    }
+
+    /**
+     * Builds a ledger entry from a salary engine result.
+     */
+    public static PayrollLedgerEntry fromResult(MonthlySalaryCalculationResult result) {
+        return new PayrollLedgerEntry(
+                result.getEmployeeNumber(),
+                result.getYearMonth(),
+                result.getProratedBasicSalary(),
+                result.getGrossMonthlySalary(),
+                result.getMonthlySssDeduction(),
+                result.getMonthlyPhilhealthDeduction(),
+                result.getMonthlyPagibigDeduction(),
+                result.getTaxableIncome(),
+                result.getMonthlyWithholdingTax(),
+                result.getNetMonthlySalary());
+    }
+
+    // Getters
+    public String getEmployeeNumber() { return employeeNumber; }
+    public String getYearMonth() { return yearMonth; }
+    public BigDecimal getBasicPay() { return basicPay; }
+    public BigDecimal getGrossPay() { return grossPay; }
+    public BigDecimal getSssContribution() { return sssContribution; }
+    public BigDecimal getPhilhealthContribution() { return philhealthContribution; }
+    public BigDecimal getPagibigContribution() { return pagibigContribution; }
+    public BigDecimal getTaxableIncome() { return taxableIncome; }
+    public BigDecimal getWithholdingTax() { return withholdingTax; }
+    public BigDecimal getNetPay() { return netPay; }
+}
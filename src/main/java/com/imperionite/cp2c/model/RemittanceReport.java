@@ -0,0 +1,39 @@
+package com.imperionite.cp2c.model;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Company-wide government remittance report for one month.
+ */
+public class RemittanceReport {
+    private String yearMonth;
+    private int employeesIncluded; // Employees with attendance whose payroll was computed
+    private int employeesSkipped; // Employees with attendance whose payroll could not be computed
+    private List<AgencyRemittance> agencies;
+    private BigDecimal totalEmployeeShare;
+    private BigDecimal totalEmployerShare;
+    private BigDecimal totalRemittance;
+
+    // Default constructor for Jackson serialization
+    public RemittanceReport() {}
+
+    public RemittanceReport(String yearMonth, int employeesIncluded, int employeesSkipped, List<AgencyRemittance> agencies) {
+        this.yearMonth = yearMonth;
+        this.employeesIncluded = employeesIncluded;
+        this.employeesSkipped = employeesSkipped;
+        this.agencies = agencies;
+        this.totalEmployeeShare = agencies.stream().map(AgencyRemittance::getEmployeeShare).reduce(BigDecimal.ZERO, BigDecimal::add);
+        this.totalEmployerShare = agencies.stream().map(AgencyRemittance::getEmployerShare).reduce(BigDecimal.ZERO, BigDecimal::add);
+        this.totalRemittance = totalEmployeeShare.add(totalEmployerShare);
+    }
+
+    // Getters
+    public String getYearMonth() { return yearMonth; }
+    public int getEmployeesIncluded() { return employeesIncluded; }
+    public int getEmployeesSkipped() { return employeesSkipped; }
+    public List<AgencyRemittance> getAgencies() { return agencies; }
+    public BigDecimal getTotalEmployeeShare() { return totalEmployeeShare; }
+    public BigDecimal getTotalEmployerShare() { return totalEmployerShare; }
+    public BigDecimal getTotalRemittance() { return totalRemittance; }
+}
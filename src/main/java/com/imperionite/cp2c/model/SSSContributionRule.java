@@ -5,6 +5,7 @@ import java.math.BigDecimal;
 public class SSSContributionRule {
     private BigDecimal salaryCap;
     private BigDecimal contribution; // Employee share
+    private BigDecimal employerContribution; // Employer share
 
     public SSSContributionRule() {}
 
@@ -13,4 +14,7 @@ public class SSSContributionRule {
 
     public BigDecimal getContribution() { return contribution; }
     public void setContribution(BigDecimal contribution) { this.contribution = contribution; }
+
+    public BigDecimal getEmployerContribution() { return employerContribution; }
+    public void setEmployerContribution(BigDecimal employerContribution) { this.employerContribution = employerContribution; }
 }
\ No newline at end of file
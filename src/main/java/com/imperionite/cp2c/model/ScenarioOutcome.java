@@ -0,0 +1,62 @@
+package com.imperionite.cp2c.model;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Aggregate result of one what-if payroll scenario, with the per-employee differences that produced it.
+ */
+public class ScenarioOutcome {
+    private String name;
+    private String yearMonth;
+    private int employeesEvaluated;
+    private int employeesAffected; // Employees whose net pay or total cost changed
+    private BigDecimal baselineGross;
+    private BigDecimal scenarioGross;
+    private BigDecimal deltaGross;
+    private BigDecimal baselineNet;
+    private BigDecimal scenarioNet;
+    private BigDecimal deltaNet;
+    private BigDecimal baselineTotalCost;
+    private BigDecimal scenarioTotalCost;
+    private BigDecimal deltaTotalCost;
+    private List<EmployeeSalaryDiff> diffs; // Only affected employees; null when diffs were not requested
+
+    // Default constructor for Jackson serialization
+    public ScenarioOutcome() {}
+
+    public ScenarioOutcome(String name, String yearMonth, int employeesEvaluated, int employeesAffected,
+            BigDecimal baselineGross, BigDecimal scenarioGross, BigDecimal baselineNet, BigDecimal scenarioNet,
+            BigDecimal baselineTotalCost, BigDecimal scenarioTotalCost, List<EmployeeSalaryDiff> diffs) {
+        this.name = name;
+        this.yearMonth = yearMonth;
+        this.employeesEvaluated = employeesEvaluated;
+        this.employeesAffected = employeesAffected;
+        this.baselineGross = baselineGross;
+        this.scenarioGross = scenarioGross;
+        this.deltaGross = scenarioGross.subtract(baselineGross);
+        this.baselineNet = baselineNet;
+        this.scenarioNet = scenarioNet;
+        this.deltaNet = scenarioNet.subtract(baselineNet);
+        this.baselineTotalCost = baselineTotalCost;
+        this.scenarioTotalCost = scenarioTotalCost;
+        this.deltaTotalCost = scenarioTotalCost.subtract(baselineTotalCost);
+        this.diffs = diffs;
+    }
+
+    // Getters
+    public String getName() { return name; }
+    public String getYearMonth() { return yearMonth; }
+    public int getEmployeesEvaluated() { return employeesEvaluated; }
+    public int getEmployeesAffected() { return employeesAffected; }
+    public BigDecimal getBaselineGross() { return baselineGross; }
+    public BigDecimal getScenarioGross() { return scenarioGross; }
+    public BigDecimal getDeltaGross() { return deltaGross; }
+    public BigDecimal getBaselineNet() { return baselineNet; }
+    public BigDecimal getScenarioNet() { return scenarioNet; }
+    public BigDecimal getDeltaNet() { return deltaNet; }
+    public BigDecimal getBaselineTotalCost() { return baselineTotalCost; }
+    public BigDecimal getScenarioTotalCost() { return scenarioTotalCost; }
+    public BigDecimal getDeltaTotalCost() { return deltaTotalCost; }
+    public List<EmployeeSalaryDiff> getDiffs() { return diffs; }
+}
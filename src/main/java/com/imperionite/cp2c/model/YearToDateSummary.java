@@ -0,0 +1,78 @@
+package com.imperionite.cp2c.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Year-to-date payroll totals for one employee, with 13th-month pay and annual tax reconciliation.
+ * The annual tax is only reconciled once all twelve months of the year are posted and included: before that,
+ * annualTaxDue and taxStillDue are null and taxReconciled is false, since the withholding table applied to a
+ * partial year's income would put it in too low a bracket.
+ */
+public class YearToDateSummary {
+    private String employeeNumber;
+    private int year;
+    private int throughMonth; // Last month (1-12) included in the totals
+    private int monthsPosted;
+    private BigDecimal ytdBasicPay;
+    private BigDecimal ytdGrossPay;
+    private BigDecimal ytdSssContribution;
+    private BigDecimal ytdPhilhealthContribution;
+    private BigDecimal ytdPagibigContribution;
+    private BigDecimal ytdContributions;
+    private BigDecimal ytdTaxableIncome;
+    private BigDecimal ytdWithholdingTax;
+    private BigDecimal ytdNetPay;
+    private BigDecimal thirteenthMonthPay; // Basic pay earned divided by 12
+    private BigDecimal annualTaxableIncome; // YTD taxable income plus 13th-month pay above the exemption
+    private boolean taxReconciled; // True once all 12 months are posted and included
+    private BigDecimal annualTaxDue; // Null until the tax is reconciled
+    private BigDecimal taxStillDue; // Positive when under-withheld, negative when a refund is owed; null until reconciled
+
+    // Default constructor for Jackson serialization
+    public YearToDateSummary() {}
+
+    public YearToDateSummary(String employeeNumber, int year, int throughMonth, int monthsPosted,
+            BigDecimal ytdBasicPay, BigDecimal ytdGrossPay, BigDecimal ytdSssContribution,
+            BigDecimal ytdPhilhealthContribution, BigDecimal ytdPagibigContribution, BigDecimal ytdTaxableIncome,
+            BigDecimal ytdWithholdingTax, BigDecimal ytdNetPay, BigDecimal thirteenthMonthPay,
+            BigDecimal annualTaxableIncome, BigDecimal annualTaxDue) {
+        this.employeeNumber = employeeNumber;
+        this.year = year;
+        this.throughMonth = throughMonth;
+        this.monthsPosted = monthsPosted;
+        this.ytdBasicPay = ytdBasicPay;
+        this.ytdGrossPay = ytdGrossPay;
+        this.ytdSssContribution = ytdSssContribution;
+        this.ytdPhilhealthContribution = ytdPhilhealthContribution;
+        this.ytdPagibigContribution = ytdPagibigContribution;
+        this.ytdContributions = ytdSssContribution.add(ytdPhilhealthContribution).add(ytdPagibigContribution);
+        this.ytdTaxableIncome = ytdTaxableIncome;
+        this.ytdWithholdingTax = ytdWithholdingTax;
+        this.ytdNetPay = ytdNetPay;
+        this.thirteenthMonthPay = thirteenthMonthPay;
+        this.annualTaxableIncome = annualTaxableIncome;
+        this.taxReconciled = annualTaxDue != null;
+        this.annualTaxDue = annualTaxDue;
+        this.taxStillDue = annualTaxDue != null ? annualTaxDue.subtract(ytdWithholdingTax) : null;
+    }
+
+    // Getters
+    public String getEmployeeNumber() { return employeeNumber; }
+    public int getYear() { return year; }
+    public int getThroughMonth() { return throughMonth; }
+    public int getMonthsPosted() { return monthsPosted; }
+    public BigDecimal getYtdBasicPay() { return ytdBasicPay; }
+    public BigDecimal getYtdGrossPay() { return ytdGrossPay; }
+    public BigDecimal getYtdSssContribution() { return ytdSssContribution; }
+    public BigDecimal getYtdPhilhealthContribution() { return ytdPhilhealthContribution; }
+    public BigDecimal getYtdPagibigContribution() { return ytdPagibigContribution; }
+    public BigDecimal getYtdContributions() { return ytdContributions; }
+    public BigDecimal getYtdTaxableIncome() { return ytdTaxableIncome; }
+    public BigDecimal getYtdWithholdingTax() { return ytdWithholdingTax; }
+    public BigDecimal getYtdNetPay() { return ytdNetPay; }
+    public BigDecimal getThirteenthMonthPay() { return thirteenthMonthPay; }
+    public BigDecimal getAnnualTaxableIncome() { return annualTaxableIncome; }
+    public boolean isTaxReconciled() { return taxReconciled; }
+    public BigDecimal getAnnualTaxDue() { return annualTaxDue; }
+    public BigDecimal getTaxStillDue() { return taxStillDue; }
+}
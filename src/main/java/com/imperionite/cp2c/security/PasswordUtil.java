@@ -1,10 +1,17 @@
 package com.imperionite.cp2c.security;
 
+import com.imperionite.cp2c.config.ComputeExecutors;
 import org.mindrot.jbcrypt.BCrypt; // Import for BCrypt operations
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
 /**
  * Utility class for handling password hashing and verification using BCrypt.
  * BCrypt is a strong, adaptive hashing algorithm, essential for secure password storage.
+ * Hashing is deliberately CPU-expensive, so it runs on the bounded password-hashing pool rather than on
+ * the request thread. When that pool's queue is full, the methods below throw RejectedExecutionException;
+ * for login and registration requests Main answers it with 429 and 503 respectively.
  */
 public class PasswordUtil {
 
@@ -17,28 +24,44 @@ public class PasswordUtil {
      *
      * @param plainPassword The password string to hash.
      * @return The BCrypt hashed password string.
+     * @throws RejectedExecutionException if the password-hashing pool is saturated.
      */
     public static String hashPassword(String plainPassword) {
         System.out.println("PasswordUtil: Hashing password...");
-        // genSalt() generates a new salt with the specified rounds.
-        // hashpw() hashes the password using the generated salt.
-        String hashedPassword = BCrypt.hashpw(plainPassword, BCrypt.gensalt(SALT_ROUNDS));
+        String hashedPassword = ComputeExecutors.await(hashPasswordAsync(plainPassword));
         System.out.println("PasswordUtil: Password hashed successfully.");
         return hashedPassword;
     }
 
+    /**
+     * Hashes a plain-text password using BCrypt on the password-hashing pool without waiting for it,
+     * so several passwords can be hashed in parallel.
+     *
+     * @param plainPassword The password string to hash.
+     * @return A future completing with the BCrypt hashed password string.
+     * @throws RejectedExecutionException if the password-hashing pool is saturated.
+     */
+    public static CompletableFuture<String> hashPasswordAsync(String plainPassword) {
+        // genSalt() generates a new salt with the specified rounds.
+        // hashpw() hashes the password using the generated salt.
+        return CompletableFuture.supplyAsync(() -> BCrypt.hashpw(plainPassword, BCrypt.gensalt(SALT_ROUNDS)),
+                ComputeExecutors.passwordHashing());
+    }
+
     /**
      * Verifies a plain-text password against a BCrypt hashed password.
      *
      * @param plainPassword  The plain-text password provided by the user.
      * @param hashedPassword The BCrypt hashed password retrieved from storage.
      * @return true if the passwords match, false otherwise.
+     * @throws RejectedExecutionException if the password-hashing pool is saturated.
      */
     public static boolean verifyPassword(String plainPassword, String hashedPassword) {
         System.out.println("PasswordUtil: Verifying password...");
         // checkpw() internally re-hashes the plainPassword with the salt extracted from
         // the hashedPassword and compares the result.
-        boolean isMatch = BCrypt.checkpw(plainPassword, hashedPassword);
+        boolean isMatch = ComputeExecutors.await(CompletableFuture.supplyAsync(
+                () -> BCrypt.checkpw(plainPassword, hashedPassword), ComputeExecutors.passwordHashing()));
         System.out.println("PasswordUtil: Password verification result: " + isMatch);
         return isMatch;
     }
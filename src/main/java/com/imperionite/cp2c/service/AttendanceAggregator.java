@@ -0,0 +1,111 @@
+package com.imperionite.cp2c.service;
+
+import com.imperionite.cp2c.model.AttendanceRecord;
+import com.imperionite.cp2c.model.AttendanceSummary;
+
+import java.time.LocalTime;
+
+/**
+ * Single-pass accumulator for one employee's attendance over one month.
+ * Each record is folded into primitive minute counters, so regular, late, undertime,
+ * overtime and night minutes are all computed together without allocating per record.
+ * Shifts whose logout time is earlier than the login time are treated as crossing midnight.
+ * A short day is counted once: late minutes are the time after the 08:00 start, and undertime is only the
+ * rest of the shortfall against the 8-hour day, so logging in at 08:30 and out at 16:00 is 30 minutes late
+ * and no undertime, while 08:30 to 15:00 is 30 late and 60 undertime. Overnight shifts have no lateness,
+ * so their whole shortfall is undertime.
+ */
+public class AttendanceAggregator {
+
+    static final int MINUTES_PER_DAY = 24 * 60;
+    static final int SHIFT_START_MINUTE = 8 * 60; // Scheduled start of the day shift (08:00)
+    static final int STANDARD_DAY_MINUTES = 8 * 60; // Same 8-hour cap the salary engine has always used
+    static final int NIGHT_START_MINUTE = 22 * 60; // Night window is 22:00 to 06:00
+    static final int NIGHT_END_MINUTE = 6 * 60;
+
+    private final String employeeNumber;
+    private final String yearMonth;
+
+    private int daysPresent;
+    private int regularMinutes;
+    private int lateMinutes;
+    private int undertimeMinutes;
+    private int overtimeMinutes;
+    private int nightMinutes;
+    private int overnightShifts;
+    private int invalidRecords;
+
+    public AttendanceAggregator(String employeeNumber, String yearMonth) {
+        this.employeeNumber = employeeNumber;
+        this.yearMonth = yearMonth;
+    }
+
+    /**
+     * Folds a single attendance record into the running totals.
+     *
+     * @param record The attendance record for one day.
+     */
+    public void accept(AttendanceRecord record) {
+        accept(record.getLoginTime(), record.getLogoutTime());
+    }
+
+    /**
+     * Folds a single login/logout pair into the running totals.
+     *
+     * @param loginTime  The time the employee logged in.
+     * @param logoutTime The time the employee logged out; earlier than loginTime for overnight shifts.
+     */
+    public void accept(LocalTime loginTime, LocalTime logoutTime) {
+        if (loginTime == null || logoutTime == null) {
+            invalidRecords++;
+            return;
+        }
+
+        int start = loginTime.toSecondOfDay() / 60;
+        int end = logoutTime.toSecondOfDay() / 60;
+        boolean overnight = end < start;
+        if (overnight) {
+            end += MINUTES_PER_DAY; // Logout happened on the following day
+            overnightShifts++;
+        }
+
+        int worked = end - start;
+        daysPresent++;
+        // Lateness only applies to day shifts; overnight shifts are scheduled differently
+        int late = !overnight && start > SHIFT_START_MINUTE
+                ? Math.min(start - SHIFT_START_MINUTE, STANDARD_DAY_MINUTES) : 0;
+        lateMinutes += late;
+        regularMinutes += Math.min(worked, STANDARD_DAY_MINUTES);
+        if (worked < STANDARD_DAY_MINUTES) {
+            undertimeMinutes += Math.max(0, STANDARD_DAY_MINUTES - worked - late); // Late minutes are already counted
+        } else {
+            overtimeMinutes += worked - STANDARD_DAY_MINUTES;
+        }
+
+        // Night windows that can intersect a shift of at most 24 hours starting on day 0:
+        // the tail of the previous night [-2h, 06:00) and tonight's window [22:00, 06:00 next day).
+        nightMinutes += overlap(start, end, NIGHT_START_MINUTE - MINUTES_PER_DAY, NIGHT_END_MINUTE);
+        nightMinutes += overlap(start, end, NIGHT_START_MINUTE, NIGHT_END_MINUTE + MINUTES_PER_DAY);
+    }
+
+    private static int overlap(int start, int end, int windowStart, int windowEnd) {
+        return Math.max(0, Math.min(end, windowEnd) - Math.max(start, windowStart));
+    }
+
+    /**
+     * @return true if no record has been folded into this aggregator yet.
+     */
+    public boolean isEmpty() {
+        return daysPresent == 0 && invalidRecords == 0;
+    }
+
+    /**
+     * Snapshots the running totals into an immutable summary.
+     *
+     * @return The AttendanceSummary for this employee and month.
+     */
+    public AttendanceSummary toSummary() {
+        return new AttendanceSummary(employeeNumber, yearMonth, daysPresent, regularMinutes, lateMinutes,
+                undertimeMinutes, overtimeMinutes, nightMinutes, overnightShifts, invalidRecords);
+    }
+}
@@ -1,13 +1,23 @@
 package com.imperionite.cp2c.service;
 
+import com.imperionite.cp2c.config.ComputeExecutors;
 import com.imperionite.cp2c.dao.UserDao;
 import com.imperionite.cp2c.model.User;
 import com.imperionite.cp2c.security.PasswordUtil;
 import com.imperionite.cp2c.security.TokenUtil;
 import com.imperionite.cp2c.dto.AuthResponse;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
 import java.util.regex.Pattern;
 
 /**
@@ -31,6 +41,7 @@ public class AuthService {
      * @param username The username for login.
      * @param password The plain-text password for login.
      * @return AuthResponse with token if successful, or null token and error message if not.
+     * @throws RejectedExecutionException if the password-hashing pool is saturated (answered with 429).
      */
     public AuthResponse login(String username, String password) {
         System.out.println("AuthService: Attempting login for username: " + username);
@@ -50,8 +61,11 @@ public class AuthService {
             System.out.println("AuthService: Password verification successful.");
             // Generate a NEW token on successful login
             String token = TokenUtil.generateToken(user.getId(), user.getUsername());
-            user.setToken(token);
-            userDao.saveUser(user); // Save user with new token to update the CSV
+            // Only the token changes; no user change event is published for a login
+            if (!userDao.updateToken(user.getId(), token)) {
+                System.out.println("AuthService: User '" + username + "' was deleted during login.");
+                return new AuthResponse(null, null, null, "Invalid username or password");
+            }
             System.out.println(
                     "AuthService: Login successful for user: " + user.getUsername() + ", generated token: " + (token.length() > 5 ? token.substring(0, 5) + "..." : token));
             return new AuthResponse(user.getId(), user.getUsername(), token, "Login successful");
@@ -69,6 +83,7 @@ public class AuthService {
      * @param username The desired username.
      * @param password The desired password.
      * @return AuthResponse with user details and token if successful, or an error message.
+     * @throws RejectedExecutionException if the password-hashing pool is saturated (answered with 503).
      */
     public AuthResponse registerUser(String username, String password) {
         System.out.println("AuthService: Attempting to register new user: " + username);
@@ -102,6 +117,88 @@ public class AuthService {
         }
     }
 
+    /**
+     * Registers several users sharing the same initial password.
+     * Usernames are validated against one snapshot of the existing users, passwords are hashed in parallel
+     * (BCrypt dominates the cost of registration), and all new users are persisted with a single write.
+     *
+     * @param usernames The desired usernames.
+     * @param password  The initial password for every user.
+     * @return Usernames that could not be registered, mapped to the reason; empty if all succeeded.
+     */
+    public Map<String, String> registerUsers(List<String> usernames, String password) {
+        System.out.println("AuthService: Attempting to register " + usernames.size() + " new users.");
+        Map<String, String> errors = new LinkedHashMap<>();
+        Set<String> taken = userDao.getAllUsers().stream().map(User::getUsername).collect(Collectors.toSet());
+        List<String> accepted = new ArrayList<>();
+        for (String username : usernames) {
+            if (username == null || !USERNAME_PATTERN.matcher(username).matches()) {
+                errors.put(username, "Username must be in the format user-##### (e.g., user-12345)");
+            } else if (!taken.add(username)) {
+                errors.put(username, "Username already exists");
+            } else {
+                accepted.add(username);
+            }
+        }
+
+        // Hash one window at a time, a hash per pool thread, so they run in parallel on the password-hashing
+        // pool without a large batch filling its bounded queue and crowding out logins
+        int window = ComputeExecutors.passwordHashingThreads();
+        List<User> newUsers = new ArrayList<>(accepted.size());
+        while (newUsers.size() < accepted.size()) {
+            List<String> pending = accepted.subList(newUsers.size(), Math.min(newUsers.size() + window, accepted.size()));
+            List<CompletableFuture<String>> hashes = new ArrayList<>(pending.size());
+            try {
+                for (int i = 0; i < pending.size(); i++) {
+                    hashes.add(PasswordUtil.hashPasswordAsync(password));
+                }
+            } catch (RejectedExecutionException e) {
+                // The pool is saturated; finish the hashes already started and register the rest another time
+            }
+            for (int i = 0; i < hashes.size(); i++) {
+                String username = pending.get(i);
+                String userId = UUID.randomUUID().toString();
+                newUsers.add(new User(userId, username, ComputeExecutors.await(hashes.get(i)),
+                        TokenUtil.generateToken(userId, username)));
+            }
+            if (hashes.size() < pending.size()) {
+                List<String> rejected = accepted.subList(newUsers.size(), accepted.size());
+                System.err.println("AuthService: Password hashing pool is full; " + rejected.size() + " users not registered.");
+                rejected.forEach(username -> errors.put(username, "Server is busy. Please retry shortly."));
+                break;
+            }
+        }
+        try {
+            userDao.saveUsers(newUsers);
+            System.out.println("AuthService: Registered " + newUsers.size() + " users; " + errors.size() + " rejected.");
+        } catch (Exception e) {
+            System.err.println("AuthService: Error registering users: " + e.getMessage());
+            newUsers.forEach(user -> errors.put(user.getUsername(), "Error during registration"));
+        }
+        return errors;
+    }
+
+    /**
+     * Deletes the users with the given usernames, if they exist, with a single write.
+     * Intended for cascading batch deletions from other services.
+     *
+     * @param usernames The usernames of the users to delete.
+     * @return The number of users deleted.
+     */
+    public int deleteUsersByUsername(Collection<String> usernames) {
+        Set<String> wanted = Set.copyOf(usernames);
+        List<String> userIds = userDao.getAllUsers().stream()
+                .filter(user -> wanted.contains(user.getUsername()))
+                .map(User::getId)
+                .collect(Collectors.toList());
+        try {
+            return userDao.deleteUsers(userIds);
+        } catch (Exception e) {
+            System.err.println("AuthService: Error deleting users: " + e.getMessage());
+            return 0;
+        }
+    }
+
     /**
      * Deletes a user by their ID.
      * This method is intended to be called by other services (e.g., EmployeeService) for cascading deletions.
@@ -0,0 +1,100 @@
+package com.imperionite.cp2c.service;
+
+import com.imperionite.cp2c.dao.ChangeEventBus;
+import com.imperionite.cp2c.dto.DashboardResponse;
+import com.imperionite.cp2c.dto.RecentChange;
+import com.imperionite.cp2c.dto.WorkforceTotals;
+import com.imperionite.cp2c.model.ChangeEvent;
+import com.imperionite.cp2c.model.Employee;
+import com.imperionite.cp2c.model.MonthlyCutoff;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service assembling the GUI home page summary without scanning any data. Headcount by status and the
+ * monthly payroll cost are counters the employee indexes adjust on every change, the latest cutoff is the
+ * last entry of the cutoff catalog rebuilt on attendance ingest, and recent changes are kept in a small
+ * ring fed by the change event bus.
+ */
+public class DashboardService {
+
+    private final EmployeeService employeeService;
+    private final SalaryCalculatorService salaryCalculatorService;
+    private final ArrayDeque<RecentChange> recentChanges = new ArrayDeque<>(DashboardResponse.MAX_CHANGES); // Guarded by this, newest last
+    private long changesSeen; // Guarded by this
+
+    /**
+     * @param employeeService         Source of the workforce totals.
+     * @param salaryCalculatorService Source of the monthly cutoff catalog.
+     * @param eventBus                The bus employee, user and payroll changes are published to.
+     */
+    public DashboardService(EmployeeService employeeService, SalaryCalculatorService salaryCalculatorService,
+                            ChangeEventBus eventBus) {
+        this.employeeService = employeeService;
+        this.salaryCalculatorService = salaryCalculatorService;
+        eventBus.subscribe(ChangeEventBus.DEFAULT_QUEUE_CAPACITY, this::record);
+    }
+
+    /**
+     * Builds the dashboard summary. Every part is read from maintained state, so the cost does not grow
+     * with the number of employees or attendance records.
+     *
+     * @param changes The number of recent changes to include (at most DashboardResponse.MAX_CHANGES).
+     * @return The dashboard summary.
+     */
+    public DashboardResponse getDashboard(int changes) {
+        WorkforceTotals workforce = employeeService.getWorkforceTotals();
+        List<MonthlyCutoff> cutoffs = salaryCalculatorService.getMonthlyCutoffs(); // Sorted catalog snapshot
+        MonthlyCutoff latestCutoff = cutoffs.isEmpty() ? null : cutoffs.get(cutoffs.size() - 1);
+        return new DashboardResponse(workforce, latestCutoff, cutoffs.size(), getRecentChanges(changes));
+    }
+
+    /**
+     * Identifies the current dashboard state for ETags. Read it before {@link #getDashboard(int)}, so a
+     * concurrent change can only make the tag stale, never newer than the body it labels.
+     *
+     * @return A string that changes whenever any part of the dashboard may have changed.
+     */
+    public String getRevision() {
+        long seen;
+        synchronized (this) {
+            seen = changesSeen;
+        }
+        return employeeService.getEmployeesVersion() + "." + salaryCalculatorService.getDataVersion() + "." + seen;
+    }
+
+    private synchronized List<RecentChange> getRecentChanges(int limit) {
+        List<RecentChange> newestFirst = new ArrayList<>(Math.min(limit, recentChanges.size()));
+        Iterator<RecentChange> it = recentChanges.descendingIterator();
+        while (it.hasNext() && newestFirst.size() < limit) {
+            newestFirst.add(it.next());
+        }
+        return newestFirst;
+    }
+
+    private synchronized void record(ChangeEvent event) {
+        if (ChangeEvent.TYPE_RESYNC.equals(event.getType())) {
+            // Events were dropped while delivery was behind; the recent changes just have a gap
+            System.out.println("DashboardService: Missed some change events; recent changes may be incomplete.");
+            return;
+        }
+        String label = null;
+        if (event.getData() instanceof Employee) {
+            Employee employee = (Employee) event.getData();
+            label = employee.getLastName() + ", " + employee.getFirstName();
+        } else if (ChangeEvent.TYPE_USER.equals(event.getType()) && event.getData() instanceof Map) {
+            Object username = ((Map<?, ?>) event.getData()).get("username"); // UserDao publishes id and username
+            label = username != null ? username.toString() : null;
+        }
+        if (recentChanges.size() == DashboardResponse.MAX_CHANGES) {
+            recentChanges.removeFirst();
+        }
+        recentChanges.addLast(new RecentChange(event.getType(), event.getOp(), event.getKey(), label,
+                event.getVersion(), event.getTimestamp()));
+        changesSeen++;
+    }
+}
@@ -2,13 +2,36 @@ package com.imperionite.cp2c.service;
 
 import com.imperionite.cp2c.dao.EmployeeDao;
 import com.imperionite.cp2c.dao.UserDao; // Needed for user lookup, though not directly used in employee creation/update
+import com.imperionite.cp2c.dto.ChangeSetResponse;
+import com.imperionite.cp2c.dto.EmployeeBatchOperation;
+import com.imperionite.cp2c.dto.EmployeeBatchRequest;
+import com.imperionite.cp2c.dto.EmployeeBatchResponse;
+import com.imperionite.cp2c.dto.EmployeeBatchResult;
+import com.imperionite.cp2c.dto.EmployeeDto;
+import com.imperionite.cp2c.dto.EmployeeQuery;
+import com.imperionite.cp2c.dto.EmployeeSearchResponse;
 import com.imperionite.cp2c.dto.EmployeeSummaryDto;
+import com.imperionite.cp2c.dto.MultiGetRequest;
+import com.imperionite.cp2c.dto.MultiGetResponse;
+import com.imperionite.cp2c.dto.MultiGetResult;
+import com.imperionite.cp2c.dto.PageResponse;
+import com.imperionite.cp2c.dto.RecordChange;
+import com.imperionite.cp2c.dto.ReportsResponse;
+import com.imperionite.cp2c.dto.SalaryStatsQuery;
+import com.imperionite.cp2c.dto.SalaryStatsResponse;
+import com.imperionite.cp2c.dto.WorkforceTotals;
 import com.imperionite.cp2c.model.Employee;
 import com.imperionite.cp2c.model.User;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service class handling business logic for employee data.
@@ -20,12 +43,122 @@ public class EmployeeService {
     private final UserDao userDao; // Injected for consistency and potential future direct user lookup
     private final AuthService authService; // Injected for cascading user deletion
 
+    // Upper bound on operations per batch request, to keep the write-lock hold time bounded
+    public static final int MAX_BATCH_OPERATIONS = 5000;
+    // Initial password for users created alongside new employees
+    private static final String DEFAULT_USER_PASSWORD = "userPassword";
+
     public EmployeeService(EmployeeDao employeeDao, UserDao userDao, AuthService authService) {
         this.employeeDao = employeeDao;
         this.userDao = userDao;
         this.authService = authService;
     }
 
+    /**
+     * Lazily maps every employee to its summary, for callers that write results out one at a time.
+     * Iterates the DAO's current snapshot, so no list of employees or DTOs is materialized.
+     *
+     * @return A lazy stream of EmployeeSummaryDto objects.
+     */
+    public Stream<EmployeeSummaryDto> streamEmployeeSummaries() {
+        return employeeDao.getAllEmployees().stream().map(EmployeeSummaryDto::fromEmployee);
+    }
+
+    /**
+     * @return The global employee data version; it increases on every create, update and delete.
+     */
+    public long getEmployeesVersion() {
+        return employeeDao.getVersions().getVersion();
+    }
+
+    /**
+     * @return The time of the last employee data change, in epoch milliseconds.
+     */
+    public long getEmployeesLastModified() {
+        return employeeDao.getVersions().getLastModifiedMillis();
+    }
+
+    /**
+     * @param employeeNumber The employee number.
+     * @return The version at which this employee last changed, or -1 if it does not exist.
+     */
+    public long getEmployeeVersion(String employeeNumber) {
+        return employeeDao.getVersions().getRecordVersion(employeeNumber);
+    }
+
+    /**
+     * Retrieves the latest change of every employee changed after the given version, for delta sync.
+     *
+     * @param since The employee data version the client is up to date with.
+     * @return Upserts (full employee details) and deletes since that version, or a resync response
+     *         if the change log no longer reaches back that far.
+     */
+    public ChangeSetResponse<EmployeeDto> getEmployeeChangesSince(long since) {
+        ChangeSetResponse<Employee> changeSet = employeeDao.findChangesSince(since);
+        List<RecordChange<EmployeeDto>> changes = changeSet.getChanges().stream()
+                .map(change -> new RecordChange<>(change.getKey(), change.getVersion(),
+                        change.isDeleted() ? null : new EmployeeDto(change.getData())))
+                .collect(Collectors.toList());
+        return new ChangeSetResponse<>(changeSet.getSince(), changeSet.getVersion(), changeSet.isResyncRequired(),
+                changes);
+    }
+
+    /**
+     * Ranked type-ahead search over employee names, positions and supervisors.
+     *
+     * @param query The search text.
+     * @param limit The maximum number of results.
+     * @return The matching employees, best match first.
+     */
+    public EmployeeSearchResponse searchEmployees(String query, int limit) {
+        return employeeDao.search(query, limit);
+    }
+
+    /**
+     * Retrieves an employee's reports and the headcount and payroll cost of everyone under them.
+     *
+     * @param employeeNumber The employee.
+     * @param depth          Levels of reports to include.
+     * @return The employee's reports, or null if the employee does not exist.
+     */
+    public ReportsResponse getReports(String employeeNumber, int depth) {
+        return employeeDao.getReports(employeeNumber, depth);
+    }
+
+    /**
+     * @return Headcount, headcount by status and monthly payroll cost, from counters kept as employees change.
+     */
+    public WorkforceTotals getWorkforceTotals() {
+        return employeeDao.getWorkforceTotals();
+    }
+
+    /**
+     * Summarizes the distribution of a salary field: count, percentiles and a band histogram.
+     *
+     * @param query The field, range, percentiles and bands.
+     * @return The salary distribution.
+     */
+    public SalaryStatsResponse getSalaryStats(SalaryStatsQuery query) {
+        return employeeDao.getSalaryStats(query);
+    }
+
+    /**
+     * Retrieves one page of employee summaries. Only the employees on the page are mapped to DTOs.
+     *
+     * @param query The page request (sort, limit, cursor and filters).
+     * @return A page of EmployeeSummaryDto objects.
+     * @throws IllegalArgumentException if the cursor is invalid for the query.
+     */
+    public PageResponse<EmployeeSummaryDto> getEmployeeSummaryPage(EmployeeQuery query) {
+        PageResponse<Employee> page = employeeDao.findPage(query);
+        List<EmployeeSummaryDto> items = page.getItems().stream()
+                .map(EmployeeSummaryDto::fromEmployee)
+                .collect(Collectors.toList());
+        System.out.println("EmployeeService: Prepared page of " + items.size() + " employee summaries (sort "
+                + page.getSort() + ").");
+        return new PageResponse<>(items, page.getNextCursor(), page.getLimit(), page.getSort());
+    }
+
     /**
      * Retrieves a list of all employees with summarized key attributes.
      * Currently, user association for summary is not directly in DTO, but the service has access to both.
@@ -63,6 +196,39 @@ public class EmployeeService {
     }
 
 
+    /**
+     * Retrieves full details for several employees at once, resolved through the primary index under one lock.
+     *
+     * @param request The employee numbers.
+     * @return One result per requested number, in request order; missing employees get a 404 result.
+     * @throws IllegalArgumentException if no or too many employee numbers are given.
+     */
+    public MultiGetResponse<EmployeeDto> getEmployeesDetails(MultiGetRequest request) {
+        List<String> employeeNumbers = request.requireEmployeeNumbers();
+        List<Employee> employees = employeeDao.findByEmployeeNumbers(employeeNumbers);
+        List<MultiGetResult<EmployeeDto>> results = new ArrayList<>(employeeNumbers.size());
+        for (int i = 0; i < employeeNumbers.size(); i++) {
+            Employee employee = employees.get(i);
+            results.add(employee != null ? MultiGetResult.found(employeeNumbers.get(i), new EmployeeDto(employee))
+                    : MultiGetResult.notFound(employeeNumbers.get(i),
+                            "Employee with number " + employeeNumbers.get(i) + " not found."));
+        }
+        MultiGetResponse<EmployeeDto> response = new MultiGetResponse<>(results);
+        System.out.println("EmployeeService: Multi-get of " + response.getTotal() + " employees, "
+                + response.getMissing() + " not found.");
+        return response;
+    }
+
+    /**
+     * Looks up several employees at once, as one consistent read of the employee store.
+     *
+     * @param employeeNumbers The employee numbers.
+     * @return The employees in the same order, with null for numbers that match no employee.
+     */
+    public List<Employee> findEmployees(List<String> employeeNumbers) {
+        return employeeDao.findByEmployeeNumbers(employeeNumbers);
+    }
+
     /**
      * Retrieves full details for a specific employee by their employee number.
      *
@@ -124,7 +290,7 @@ public class EmployeeService {
             // Automatically create a user for this employee with a default password.
             // You might want a more sophisticated way to handle initial passwords in a real app.
             String associatedUsername = "user-" + newEmployee.getEmployeeNumber();
-            String defaultPassword = "userPassword"; // Consider generating a strong random password or prompting admin
+            String defaultPassword = DEFAULT_USER_PASSWORD; // Consider generating a strong random password or prompting admin
             authService.registerUser(associatedUsername, defaultPassword); // This call also handles username format/uniqueness
 
             System.out.println("EmployeeService: Successfully created associated user '" + associatedUsername + "' for employee " + newEmployee.getEmployeeNumber());
@@ -163,80 +329,30 @@ public class EmployeeService {
             return null; // Return null if employee not found
         }
 
-        // Apply partial updates to the existing employee object
-        // Use Optional.ofNullable for cleaner null checks and default values
-        existingEmployee.setLastName(Optional.ofNullable(partialEmployee.getLastName())
-                                            .filter(s -> !s.isEmpty())
-                                            .orElse(existingEmployee.getLastName()));
-        existingEmployee.setFirstName(Optional.ofNullable(partialEmployee.getFirstName())
-                                             .filter(s -> !s.isEmpty())
-                                             .orElse(existingEmployee.getFirstName()));
-        existingEmployee.setBirthday(Optional.ofNullable(partialEmployee.getBirthday())
-                                            .filter(s -> !s.isEmpty())
-                                            .orElse(existingEmployee.getBirthday()));
-        existingEmployee.setAddress(Optional.ofNullable(partialEmployee.getAddress())
-                                           .filter(s -> !s.isEmpty())
-                                           .orElse(existingEmployee.getAddress()));
-        existingEmployee.setPhoneNumber(Optional.ofNullable(partialEmployee.getPhoneNumber())
-                                               .filter(s -> !s.isEmpty())
-                                               .orElse(existingEmployee.getPhoneNumber()));
-        existingEmployee.setSssNumber(Optional.ofNullable(partialEmployee.getSssNumber())
-                                             .filter(s -> !s.isEmpty())
-                                             .orElse(existingEmployee.getSssNumber()));
-        existingEmployee.setPhilhealthNumber(Optional.ofNullable(partialEmployee.getPhilhealthNumber())
-                                                   .filter(s -> !s.isEmpty())
-                                                   .orElse(existingEmployee.getPhilhealthNumber()));
-        existingEmployee.setTinNumber(Optional.ofNullable(partialEmployee.getTinNumber())
-                                            .filter(s -> !s.isEmpty())
-                                            .orElse(existingEmployee.getTinNumber()));
-        existingEmployee.setPagibigNumber(Optional.ofNullable(partialEmployee.getPagibigNumber())
-                                                 .filter(s -> !s.isEmpty())
-                                                 .orElse(existingEmployee.getPagibigNumber()));
-        existingEmployee.setStatus(Optional.ofNullable(partialEmployee.getStatus())
-                                          .filter(s -> !s.isEmpty())
-                                          .orElse(existingEmployee.getStatus()));
-        existingEmployee.setPosition(Optional.ofNullable(partialEmployee.getPosition())
-                                            .filter(s -> !s.isEmpty())
-                                            .orElse(existingEmployee.getPosition()));
-        existingEmployee.setImmediateSupervisor(Optional.ofNullable(partialEmployee.getImmediateSupervisor())
-                                                       .filter(s -> !s.isEmpty())
-                                                       .orElse(existingEmployee.getImmediateSupervisor()));
-
-        // For BigDecimals, check for null explicitly as BigDecimal.ZERO is a valid value
-        existingEmployee.setBasicSalary(Optional.ofNullable(partialEmployee.getBasicSalary())
-                                                .orElse(existingEmployee.getBasicSalary()));
-        existingEmployee.setRiceSubsidy(Optional.ofNullable(partialEmployee.getRiceSubsidy())
-                                               .orElse(existingEmployee.getRiceSubsidy()));
-        existingEmployee.setPhoneAllowance(Optional.ofNullable(partialEmployee.getPhoneAllowance())
-                                                  .orElse(existingEmployee.getPhoneAllowance()));
-        existingEmployee.setClothingAllowance(Optional.ofNullable(partialEmployee.getClothingAllowance())
-                                                    .orElse(existingEmployee.getClothingAllowance()));
-        existingEmployee.setGrossSemiMonthlyRate(Optional.ofNullable(partialEmployee.getGrossSemiMonthlyRate())
-                                                        .orElse(existingEmployee.getGrossSemiMonthlyRate()));
-        existingEmployee.setHourlyRate(Optional.ofNullable(partialEmployee.getHourlyRate())
-                                              .orElse(existingEmployee.getHourlyRate()));
+        // Merge the partial update into a copy; the cached employee is replaced only once the merge validates
+        Employee mergedEmployee = mergePartial(existingEmployee, partialEmployee);
 
         // Validate the *merged* employee object for uniqueness (true for update)
-        String validationError = validateEmployeeUniqueness(existingEmployee, true);
+        String validationError = validateEmployeeUniqueness(mergedEmployee, true);
         if (validationError != null) {
             System.err.println("EmployeeService: Update failed due to validation error: " + validationError);
             throw new IllegalArgumentException(validationError);
         }
 
         try {
-            boolean success = employeeDao.updateEmployee(existingEmployee);
+            boolean success = employeeDao.updateEmployee(mergedEmployee);
             if (success) {
                 System.out.println(
-                        "EmployeeService: Successfully updated employee: " + existingEmployee.getEmployeeNumber());
-                return existingEmployee;
+                        "EmployeeService: Successfully updated employee: " + mergedEmployee.getEmployeeNumber());
+                return mergedEmployee;
             } else {
                 // This case should ideally not be hit if existingEmployee was found initially
-                System.err.println("EmployeeService: Failed to update employee " + existingEmployee.getEmployeeNumber()
+                System.err.println("EmployeeService: Failed to update employee " + mergedEmployee.getEmployeeNumber()
                         + " (DAO reported not found during update attempt).");
                 return null;
             }
         } catch (Exception e) {
-            System.err.println("EmployeeService: Error updating employee " + existingEmployee.getEmployeeNumber() + ": "
+            System.err.println("EmployeeService: Error updating employee " + mergedEmployee.getEmployeeNumber() + ": "
                     + e.getMessage());
             throw new RuntimeException("Failed to update employee.", e);
         }
@@ -289,8 +405,132 @@ public class EmployeeService {
         }
     }
 
+    /**
+     * Applies a batch of create, update and delete operations.
+     * The whole batch is validated against the DAO's indexes and applied under one write-lock acquisition with a
+     * single CSV write, instead of one lock, scan and rewrite per record. Operations are applied in order, so later
+     * operations see earlier ones (e.g., re-creating an employee number deleted earlier in the batch). Associated
+     * users are then created (with passwords hashed in parallel) or deleted in one write each.
+     *
+     * @param request The batch request.
+     * @return Per-operation results in request order.
+     * @throws IllegalArgumentException if the request has no operations or too many.
+     */
+    public EmployeeBatchResponse applyBatch(EmployeeBatchRequest request) {
+        List<EmployeeBatchOperation> operations = request.getOperations();
+        if (operations == null || operations.isEmpty()) {
+            throw new IllegalArgumentException("At least one operation is required.");
+        }
+        if (operations.size() > MAX_BATCH_OPERATIONS) {
+            throw new IllegalArgumentException("A batch may contain at most " + MAX_BATCH_OPERATIONS + " operations.");
+        }
+        System.out.println("EmployeeService: Applying batch of " + operations.size() + " operations (atomic: "
+                + request.isAtomic() + ").");
+
+        List<String> createdNumbers = new ArrayList<>();
+        List<String> deletedNumbers = new ArrayList<>();
+        List<EmployeeBatchResult> results = employeeDao.executeBatch(batch -> {
+            List<EmployeeBatchResult> outcomes = new ArrayList<>(operations.size());
+            for (int i = 0; i < operations.size(); i++) {
+                outcomes.add(applyBatchOperation(batch, i, operations.get(i), createdNumbers, deletedNumbers));
+            }
+            if (request.isAtomic() && outcomes.stream().anyMatch(result -> !result.isSuccess())) {
+                batch.rollback();
+                createdNumbers.clear();
+                deletedNumbers.clear();
+                outcomes.stream().filter(EmployeeBatchResult::isSuccess).forEach(result -> {
+                    result.setStatus(424); // Failed Dependency
+                    result.setMessage("Not applied: another operation in this atomic batch failed.");
+                });
+            }
+            return outcomes;
+        });
+
+        // Cascade to the associated users, one write each
+        if (!createdNumbers.isEmpty()) {
+            List<String> usernames = createdNumbers.stream().map(number -> "user-" + number).collect(Collectors.toList());
+            Map<String, String> userErrors = authService.registerUsers(usernames, DEFAULT_USER_PASSWORD);
+            userErrors.forEach((username, error) -> System.err.println("EmployeeService: Could not create associated user '"
+                    + username + "': " + error));
+        }
+        if (!deletedNumbers.isEmpty()) {
+            authService.deleteUsersByUsername(deletedNumbers.stream().map(number -> "user-" + number)
+                    .collect(Collectors.toList()));
+        }
+
+        EmployeeBatchResponse response = new EmployeeBatchResponse(request.isAtomic(), results);
+        System.out.println("EmployeeService: Batch finished: " + response.getSucceeded() + " succeeded, "
+                + response.getFailed() + " failed.");
+        return response;
+    }
+
+    private EmployeeBatchResult applyBatchOperation(EmployeeDao.Batch batch, int index, EmployeeBatchOperation operation,
+            List<String> createdNumbers, List<String> deletedNumbers) {
+        String op = operation.getOp() == null ? "" : operation.getOp().trim().toLowerCase(Locale.ROOT);
+        Employee payload = operation.getEmployee() != null ? operation.getEmployee().toEmployee() : null;
+        String employeeNumber = operation.getEmployeeNumber();
+        if ((employeeNumber == null || employeeNumber.isBlank()) && payload != null) {
+            employeeNumber = payload.getEmployeeNumber();
+        }
+        if (employeeNumber == null || employeeNumber.isBlank()) {
+            return new EmployeeBatchResult(index, op, null, 400, "Employee Number is required.");
+        }
+
+        switch (op) {
+            case "create": {
+                if (payload == null) {
+                    return new EmployeeBatchResult(index, op, employeeNumber, 400, "Employee data is required.");
+                }
+                payload.setEmployeeNumber(employeeNumber);
+                String error = payload.getFirstName() == null || payload.getFirstName().trim().isEmpty()
+                        ? "First Name is required."
+                        : payload.getLastName() == null || payload.getLastName().trim().isEmpty()
+                        ? "Last Name is required."
+                        : validateEmployeeUniqueness(payload, false, number -> batch.find(number) != null, batch::findOwner);
+                if (error != null) {
+                    return new EmployeeBatchResult(index, op, employeeNumber, 400, error);
+                }
+                batch.put(payload);
+                createdNumbers.add(employeeNumber);
+                deletedNumbers.remove(employeeNumber);
+                return new EmployeeBatchResult(index, op, employeeNumber, 201, "Created.");
+            }
+            case "update": {
+                Employee existing = batch.find(employeeNumber);
+                if (existing == null) {
+                    return new EmployeeBatchResult(index, op, employeeNumber, 404,
+                            "Employee with number " + employeeNumber + " not found for update.");
+                }
+                if (payload == null) {
+                    return new EmployeeBatchResult(index, op, employeeNumber, 400, "Employee data is required.");
+                }
+                Employee merged = mergePartial(existing, payload);
+                String error = validateEmployeeUniqueness(merged, true, number -> batch.find(number) != null, batch::findOwner);
+                if (error != null) {
+                    return new EmployeeBatchResult(index, op, employeeNumber, 400, error);
+                }
+                batch.put(merged);
+                return new EmployeeBatchResult(index, op, employeeNumber, 200, "Updated.");
+            }
+            case "delete": {
+                if (!batch.delete(employeeNumber)) {
+                    return new EmployeeBatchResult(index, op, employeeNumber, 404,
+                            "Employee with number " + employeeNumber + " not found for deletion.");
+                }
+                if (!createdNumbers.remove(employeeNumber)) {
+                    deletedNumbers.add(employeeNumber);
+                }
+                return new EmployeeBatchResult(index, op, employeeNumber, 204, "Deleted.");
+            }
+            default:
+                return new EmployeeBatchResult(index, op, employeeNumber, 400,
+                        "Unknown operation '" + operation.getOp() + "'; expected create, update or delete.");
+        }
+    }
+
     /**
      * Validates the uniqueness of key employee fields (employee number, SSS, PhilHealth, TIN, Pag-ibig, Phone Number).
+     * Uses the DAO's unique-field indexes, so each check is a lookup rather than a scan.
      *
      * @param employee The employee object to validate.
      * @param isUpdate A flag indicating if this is an update operation (true) or creation (false).
@@ -298,46 +538,62 @@ public class EmployeeService {
      * @return A String containing an error message if a uniqueness violation is found, otherwise null.
      */
     private String validateEmployeeUniqueness(Employee employee, boolean isUpdate) {
-        List<Employee> allExistingEmployees = employeeDao.getAllEmployees();
-
-        // Filter out the employee being updated if it's an update operation
-        List<Employee> otherEmployees;
-        if (isUpdate) {
-            otherEmployees = allExistingEmployees.stream()
-                    .filter(e -> !e.getEmployeeNumber().equals(employee.getEmployeeNumber()))
-                    .collect(Collectors.toList());
-        } else {
-            // For creation, all existing employees are "other" employees
-            otherEmployees = allExistingEmployees;
-        }
+        return validateEmployeeUniqueness(employee, isUpdate,
+                employeeNumber -> employeeDao.findByEmployeeNumber(employeeNumber) != null, employeeDao::findOwner);
+    }
 
+    private static String validateEmployeeUniqueness(Employee employee, boolean isUpdate, Predicate<String> exists,
+            BiFunction<EmployeeDao.UniqueField, String, String> owners) {
         // Validate Employee Number uniqueness
-        if (otherEmployees.stream().anyMatch(e -> e.getEmployeeNumber().equals(employee.getEmployeeNumber()))) {
+        if (!isUpdate && exists.test(employee.getEmployeeNumber())) {
             return "Employee Number " + employee.getEmployeeNumber() + " already exists.";
         }
 
         // Validate uniqueness for other fields (only if they are provided/non-empty in the current employee)
-        if (employee.getPhoneNumber() != null && !employee.getPhoneNumber().isEmpty() &&
-                otherEmployees.stream().anyMatch(e -> employee.getPhoneNumber().equals(e.getPhoneNumber()))) {
-            return "Phone Number " + employee.getPhoneNumber() + " already exists.";
-        }
-        if (employee.getSssNumber() != null && !employee.getSssNumber().isEmpty() &&
-                otherEmployees.stream().anyMatch(e -> employee.getSssNumber().equals(e.getSssNumber()))) {
-            return "SSS Number " + employee.getSssNumber() + " already exists.";
-        }
-        if (employee.getPhilhealthNumber() != null && !employee.getPhilhealthNumber().isEmpty() &&
-                otherEmployees.stream().anyMatch(e -> employee.getPhilhealthNumber().equals(e.getPhilhealthNumber()))) {
-            return "PhilHealth Number " + employee.getPhilhealthNumber() + " already exists.";
-        }
-        if (employee.getTinNumber() != null && !employee.getTinNumber().isEmpty() &&
-                otherEmployees.stream().anyMatch(e -> employee.getTinNumber().equals(e.getTinNumber()))) {
-            return "TIN Number " + employee.getTinNumber() + " already exists.";
-        }
-        if (employee.getPagibigNumber() != null && !employee.getPagibigNumber().isEmpty() &&
-                otherEmployees.stream().anyMatch(e -> employee.getPagibigNumber().equals(e.getPagibigNumber()))) {
-            return "Pag-ibig Number " + employee.getPagibigNumber() + " already exists.";
+        for (EmployeeDao.UniqueField field : EmployeeDao.UniqueField.values()) {
+            String value = field.valueOf(employee);
+            String owner = owners.apply(field, value);
+            if (owner != null && !owner.equals(employee.getEmployeeNumber())) {
+                return field.getLabel() + " " + value + " already exists.";
+            }
         }
 
         return null; // No validation errors found
     }
+
+    /**
+     * Builds the result of applying a partial update (PATCH semantics) to an employee, without modifying either input.
+     * Only fields present (non-null/non-empty strings, non-null BigDecimals) in the partial employee are taken from it.
+     *
+     * @param existing The current employee.
+     * @param partial  The fields to change.
+     * @return A new Employee with the merged values.
+     */
+    private static Employee mergePartial(Employee existing, Employee partial) {
+        return new Employee(
+                existing.getEmployeeNumber(),
+                pick(partial.getLastName(), existing.getLastName()),
+                pick(partial.getFirstName(), existing.getFirstName()),
+                pick(partial.getBirthday(), existing.getBirthday()),
+                pick(partial.getAddress(), existing.getAddress()),
+                pick(partial.getPhoneNumber(), existing.getPhoneNumber()),
+                pick(partial.getSssNumber(), existing.getSssNumber()),
+                pick(partial.getPhilhealthNumber(), existing.getPhilhealthNumber()),
+                pick(partial.getTinNumber(), existing.getTinNumber()),
+                pick(partial.getPagibigNumber(), existing.getPagibigNumber()),
+                pick(partial.getStatus(), existing.getStatus()),
+                pick(partial.getPosition(), existing.getPosition()),
+                pick(partial.getImmediateSupervisor(), existing.getImmediateSupervisor()),
+                // For BigDecimals, check for null explicitly as BigDecimal.ZERO is a valid value
+                Optional.ofNullable(partial.getBasicSalary()).orElse(existing.getBasicSalary()),
+                Optional.ofNullable(partial.getRiceSubsidy()).orElse(existing.getRiceSubsidy()),
+                Optional.ofNullable(partial.getPhoneAllowance()).orElse(existing.getPhoneAllowance()),
+                Optional.ofNullable(partial.getClothingAllowance()).orElse(existing.getClothingAllowance()),
+                Optional.ofNullable(partial.getGrossSemiMonthlyRate()).orElse(existing.getGrossSemiMonthlyRate()),
+                Optional.ofNullable(partial.getHourlyRate()).orElse(existing.getHourlyRate()));
+    }
+
+    private static String pick(String candidate, String fallback) {
+        return Optional.ofNullable(candidate).filter(s -> !s.isEmpty()).orElse(fallback);
+    }
 }
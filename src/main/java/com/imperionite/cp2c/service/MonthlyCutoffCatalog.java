@@ -0,0 +1,111 @@
+package com.imperionite.cp2c.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.imperionite.cp2c.model.MonthlyCutoff;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.zip.CRC32;
+
+/**
+ * Catalog of the monthly cutoffs (pay periods) found in the attendance data.
+ * The catalog is built while attendance is ingested and only rebuilt when a new month appears,
+ * so reads return a prepared snapshot, including its pre-serialized JSON and ETag, in constant time.
+ */
+public class MonthlyCutoffCatalog {
+
+    private static final DateTimeFormatter YEAR_MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM");
+    private static final DateTimeFormatter MONTH_DAY_FORMATTER = DateTimeFormatter.ofPattern("MMM d");
+
+    private final ObjectMapper objectMapper;
+    private final TreeSet<YearMonth> months = new TreeSet<>(); // Guarded by this
+    private volatile Snapshot snapshot;
+
+    public MonthlyCutoffCatalog(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.snapshot = buildSnapshot();
+    }
+
+    /**
+     * Adds the given months to the catalog. The snapshot is rebuilt only if at least one month is new.
+     *
+     * @param yearMonths The months seen in newly ingested attendance records.
+     * @return true if the catalog changed.
+     */
+    public synchronized boolean addMonths(Collection<YearMonth> yearMonths) {
+        boolean changed = false;
+        for (YearMonth ym : yearMonths) {
+            changed |= months.add(ym);
+        }
+        if (changed) {
+            snapshot = buildSnapshot();
+            System.out.println("MonthlyCutoffCatalog: Catalog now holds " + months.size() + " monthly cutoffs.");
+        }
+        return changed;
+    }
+
+    /**
+     * @return The current catalog snapshot. Never null.
+     */
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * @return The sorted list of monthly cutoffs in the current snapshot.
+     */
+    public List<MonthlyCutoff> getCutoffs() {
+        return snapshot.getCutoffs();
+    }
+
+    private Snapshot buildSnapshot() {
+        List<MonthlyCutoff> cutoffs = new ArrayList<>(months.size());
+        for (YearMonth ym : months) {
+            LocalDate firstDayOfMonth = ym.atDay(1);
+            LocalDate lastDayOfMonth = ym.atEndOfMonth();
+            cutoffs.add(new MonthlyCutoff(ym.format(YEAR_MONTH_FORMATTER),
+                    firstDayOfMonth.format(MONTH_DAY_FORMATTER),
+                    lastDayOfMonth.format(MONTH_DAY_FORMATTER)));
+        }
+
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(cutoffs);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize monthly cutoffs.", e);
+        }
+
+        // Content-derived strong ETag: identical catalogs always produce the same tag, even across restarts
+        CRC32 crc = new CRC32();
+        crc.update(json);
+        String etag = "\"cutoffs-" + Long.toHexString(crc.getValue()) + "-" + json.length + "\"";
+
+        return new Snapshot(Collections.unmodifiableList(cutoffs), json, etag);
+    }
+
+    /**
+     * Immutable view of the catalog: the cutoff list, its compact JSON encoding and the matching ETag.
+     */
+    public static final class Snapshot {
+        private final List<MonthlyCutoff> cutoffs;
+        private final byte[] json;
+        private final String etag;
+
+        private Snapshot(List<MonthlyCutoff> cutoffs, byte[] json, String etag) {
+            this.cutoffs = cutoffs;
+            this.json = json;
+            this.etag = etag;
+        }
+
+        public List<MonthlyCutoff> getCutoffs() { return cutoffs; }
+        public byte[] getJson() { return json; } // Shared buffer; callers must not modify it
+        public String getETag() { return etag; }
+    }
+}
@@ -0,0 +1,296 @@
+package com.imperionite.cp2c.service;
+
+import com.imperionite.cp2c.config.ComputeExecutors;
+import com.imperionite.cp2c.model.AttendanceSummary;
+import com.imperionite.cp2c.model.Employee;
+import com.imperionite.cp2c.model.MonthlySalaryCalculationResult;
+import com.imperionite.cp2c.model.PayrollAnalyticsReport;
+import com.imperionite.cp2c.model.PayrollGroupTotals;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collector;
+
+/**
+ * Service producing monthly payroll totals (gross, deductions, net and employer contributions) grouped by
+ * position, status or immediate supervisor. The payroll engine is run for every employee with attendance
+ * in the month on a parallel stream; each thread sums its employees into primitive centavo accumulators
+ * per group, and the partial aggregates are merged pairwise. BigDecimals are only built for the final groups.
+ * Employees are grouped by their current position, status and supervisor from EmployeeService, so edits
+ * are reflected at once; an employee no longer on file is grouped by the payroll engine's copy of the record.
+ * Reports are cached per (month, dimension) until the SalaryCalculatorService data version or the employee
+ * data version changes.
+ */
+public class PayrollAnalyticsService {
+
+    static final String NO_VALUE = "(none)";
+
+    /**
+     * The employee attribute payroll totals are grouped by.
+     */
+    public enum Dimension {
+        POSITION("position"),
+        STATUS("status"),
+        SUPERVISOR("supervisor");
+
+        private final String param;
+
+        Dimension(String param) {
+            this.param = param;
+        }
+
+        public String getParam() {
+            return param;
+        }
+
+        /**
+         * @param param The query parameter value, in any case (e.g., "position").
+         * @return The matching dimension.
+         * @throws IllegalArgumentException if the value names no dimension.
+         */
+        public static Dimension fromParam(String param) {
+            for (Dimension dimension : values()) {
+                if (dimension.param.equalsIgnoreCase(param.trim())) {
+                    return dimension;
+                }
+            }
+            throw new IllegalArgumentException("Unknown dimension '" + param
+                    + "'. Expected position, status or supervisor.");
+        }
+
+        String groupOf(Employee employee) {
+            if (employee == null) {
+                return NO_VALUE;
+            }
+            String value;
+            switch (this) {
+                case POSITION:
+                    value = employee.getPosition();
+                    break;
+                case STATUS:
+                    value = employee.getStatus();
+                    break;
+                default:
+                    value = employee.getImmediateSupervisor();
+                    break;
+            }
+            if (value == null) {
+                return NO_VALUE;
+            }
+            value = value.trim();
+            if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                value = value.substring(1, value.length() - 1).trim(); // The payroll engine keeps CSV quoting
+            }
+            if (value.isEmpty() || value.equalsIgnoreCase("N/A") || value.equalsIgnoreCase("NULL")) {
+                return NO_VALUE;
+            }
+            return value;
+        }
+    }
+
+    private final SalaryCalculatorService salaryCalculatorService;
+    private final EmployeeService employeeService;
+    private final Map<String, CachedReport> cache = new ConcurrentHashMap<>(); // "yyyy-MM|dimension" -> report
+
+    public PayrollAnalyticsService(SalaryCalculatorService salaryCalculatorService, EmployeeService employeeService) {
+        this.salaryCalculatorService = salaryCalculatorService;
+        this.employeeService = employeeService;
+    }
+
+    /**
+     * Retrieves a month's payroll totals grouped by a dimension, computing them only if the cached copy is stale.
+     *
+     * @param yearMonth The month to report on (e.g., "2024-06").
+     * @param dimension The attribute to group by.
+     * @return The PayrollAnalyticsReport for the month.
+     * @throws IllegalArgumentException if no attendance data exists for the month.
+     * @throws java.time.format.DateTimeParseException if yearMonth is not in yyyy-MM format.
+     */
+    public PayrollAnalyticsReport getReport(String yearMonth, Dimension dimension) {
+        YearMonth ym = YearMonth.parse(yearMonth);
+        String key = ym + "|" + dimension.param;
+        // Read both versions before computing, so a concurrent change leaves the cached copy stale, not wrong
+        long version = salaryCalculatorService.getDataVersion();
+        long employeesVersion = employeeService.getEmployeesVersion();
+        CachedReport cached = cache.get(key);
+        if (cached != null && cached.version == version && cached.employeesVersion == employeesVersion) {
+            System.out.println("PayrollAnalyticsService: Serving cached " + dimension.param + " totals for " + yearMonth);
+            return cached.report;
+        }
+
+        PayrollAnalyticsReport report = computeReport(ym.toString(), dimension);
+        cache.put(key, new CachedReport(version, employeesVersion, report));
+        return report;
+    }
+
+    private PayrollAnalyticsReport computeReport(String yearMonth, Dimension dimension) {
+        List<AttendanceSummary> attendance = salaryCalculatorService.getAttendanceSummaries(yearMonth);
+        if (attendance.isEmpty()) {
+            throw new IllegalArgumentException("No attendance records found for month " + yearMonth + ". Cannot build payroll analytics.");
+        }
+
+        long start = System.nanoTime();
+        Map<String, Employee> current = currentEmployees(attendance);
+        GroupTotals totals = ComputeExecutors.payroll(() -> attendance.parallelStream()
+                    .collect(Collector.of(
+                            GroupTotals::new,
+                            (partial, summary) -> add(partial, summary.getEmployeeNumber(), yearMonth, dimension, current),
+                            GroupTotals::merge,
+                            Collector.Characteristics.UNORDERED)));
+        System.out.println(String.format("PayrollAnalyticsService: Computed %s totals for %s over %d employees in %d groups in %.2f ms",
+                dimension.param, yearMonth, totals.included, totals.slots.size(), (System.nanoTime() - start) / 1_000_000.0));
+
+        return totals.toReport(yearMonth, dimension);
+    }
+
+    /**
+     * @return The current records of the employees with attendance, read from the employee store in one pass.
+     */
+    private Map<String, Employee> currentEmployees(List<AttendanceSummary> attendance) {
+        List<String> employeeNumbers = new ArrayList<>(attendance.size());
+        for (AttendanceSummary summary : attendance) {
+            employeeNumbers.add(summary.getEmployeeNumber());
+        }
+        List<Employee> employees = employeeService.findEmployees(employeeNumbers);
+        Map<String, Employee> current = new HashMap<>();
+        for (int i = 0; i < employeeNumbers.size(); i++) {
+            if (employees.get(i) != null) {
+                current.put(employeeNumbers.get(i), employees.get(i));
+            }
+        }
+        return current;
+    }
+
+    private void add(GroupTotals partial, String employeeNumber, String yearMonth, Dimension dimension,
+                     Map<String, Employee> current) {
+        MonthlySalaryCalculationResult result;
+        try {
+            result = salaryCalculatorService.calculateMonthlySalary(employeeNumber, yearMonth);
+        } catch (IllegalArgumentException e) {
+            // Attendance exists for someone the payroll engine does not know; count it as skipped
+            System.err.println("PayrollAnalyticsService: Skipping employee " + employeeNumber + ": " + e.getMessage());
+            partial.skipped++;
+            return;
+        }
+        Employee employee = current.get(employeeNumber);
+        if (employee == null) {
+            employee = salaryCalculatorService.findEmployeeForCalculation(employeeNumber); // No longer on file
+        }
+        partial.add(dimension.groupOf(employee), result);
+    }
+
+    /**
+     * Mutable per-thread accumulator for the collector. Each group gets a slot; its metrics are centavo
+     * sums at [slot * METRICS + metric] in one long array, so adding an employee allocates nothing once
+     * the group exists. Partial totals are merged pairwise by group name.
+     */
+    private static final class GroupTotals {
+        private static final int GROSS = 0, SSS = 1, PHILHEALTH = 2, PAGIBIG = 3, TAX = 4, DEDUCTIONS = 5,
+                NET = 6, EMPLOYER = 7;
+        private static final int METRICS = 8;
+
+        private final Map<String, Integer> slots = new HashMap<>();
+        private final List<String> groups = new ArrayList<>(); // Slot -> group name
+        private int[] employees = new int[8];
+        private long[] cents = new long[8 * METRICS];
+        private int included;
+        private int skipped;
+
+        void add(String group, MonthlySalaryCalculationResult result) {
+            included++;
+            int slot = slotOf(group);
+            employees[slot]++;
+            int base = slot * METRICS;
+            cents[base + GROSS] += toCents(result.getGrossMonthlySalary());
+            cents[base + SSS] += toCents(result.getMonthlySssDeduction());
+            cents[base + PHILHEALTH] += toCents(result.getMonthlyPhilhealthDeduction());
+            cents[base + PAGIBIG] += toCents(result.getMonthlyPagibigDeduction());
+            cents[base + TAX] += toCents(result.getMonthlyWithholdingTax());
+            cents[base + DEDUCTIONS] += toCents(result.getTotalDeductions());
+            cents[base + NET] += toCents(result.getNetMonthlySalary());
+            cents[base + EMPLOYER] += toCents(result.getMonthlySssEmployerShare())
+                    + toCents(result.getMonthlyPhilhealthEmployerShare())
+                    + toCents(result.getMonthlyPagibigEmployerShare());
+        }
+
+        GroupTotals merge(GroupTotals other) {
+            included += other.included;
+            skipped += other.skipped;
+            for (int otherSlot = 0; otherSlot < other.groups.size(); otherSlot++) {
+                int slot = slotOf(other.groups.get(otherSlot));
+                employees[slot] += other.employees[otherSlot];
+                for (int metric = 0; metric < METRICS; metric++) {
+                    cents[slot * METRICS + metric] += other.cents[otherSlot * METRICS + metric];
+                }
+            }
+            return this;
+        }
+
+        private int slotOf(String group) {
+            Integer slot = slots.get(group);
+            if (slot != null) {
+                return slot;
+            }
+            int added = groups.size();
+            if (added == employees.length) {
+                employees = Arrays.copyOf(employees, added * 2);
+                cents = Arrays.copyOf(cents, added * 2 * METRICS);
+            }
+            slots.put(group, added);
+            groups.add(group);
+            return added;
+        }
+
+        PayrollAnalyticsReport toReport(String yearMonth, Dimension dimension) {
+            List<PayrollGroupTotals> result = new ArrayList<>(groups.size());
+            long[] all = new long[METRICS];
+            for (int slot = 0; slot < groups.size(); slot++) {
+                result.add(toTotals(groups.get(slot), employees[slot], cents, slot * METRICS));
+                for (int metric = 0; metric < METRICS; metric++) {
+                    all[metric] += cents[slot * METRICS + metric];
+                }
+            }
+            result.sort(Comparator.comparing(PayrollGroupTotals::getGrossSalary).reversed()
+                    .thenComparing(totals -> totals.getGroup().toLowerCase(Locale.ROOT)));
+            return new PayrollAnalyticsReport(yearMonth, dimension.param, included, skipped, result,
+                    toTotals("All", included, all, 0));
+        }
+
+        private static PayrollGroupTotals toTotals(String group, int employees, long[] cents, int base) {
+            return new PayrollGroupTotals(group, employees, fromCents(cents[base + GROSS]),
+                    fromCents(cents[base + SSS]), fromCents(cents[base + PHILHEALTH]),
+                    fromCents(cents[base + PAGIBIG]), fromCents(cents[base + TAX]),
+                    fromCents(cents[base + DEDUCTIONS]), fromCents(cents[base + NET]),
+                    fromCents(cents[base + EMPLOYER]));
+        }
+
+        private static long toCents(BigDecimal amount) {
+            return amount == null ? 0 : amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        }
+
+        private static BigDecimal fromCents(long cents) {
+            return BigDecimal.valueOf(cents, 2);
+        }
+    }
+
+    private static final class CachedReport {
+        private final long version;
+        private final long employeesVersion;
+        private final PayrollAnalyticsReport report;
+
+        private CachedReport(long version, long employeesVersion, PayrollAnalyticsReport report) {
+            this.version = version;
+            this.employeesVersion = employeesVersion;
+            this.report = report;
+        }
+    }
+}
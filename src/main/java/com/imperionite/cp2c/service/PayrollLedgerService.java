@@ -0,0 +1,240 @@
+package com.imperionite.cp2c.service;
+
+import com.imperionite.cp2c.config.ComputeExecutors;
+import com.imperionite.cp2c.dao.ChangeEventBus;
+import com.imperionite.cp2c.dao.PayrollLedgerDao;
+import com.imperionite.cp2c.model.ChangeEvent;
+import com.imperionite.cp2c.model.AttendanceSummary;
+import com.imperionite.cp2c.model.MonthlyCutoff;
+import com.imperionite.cp2c.model.MonthlySalaryCalculationResult;
+import com.imperionite.cp2c.model.PayrollLedgerEntry;
+import com.imperionite.cp2c.model.YearToDateSummary;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+/**
+ * Service that posts monthly payroll results to the persisted ledger and answers
+ * year-to-date questions from per-employee prefix sums.
+ * Each employee-year is held as an immutable series of monthly amounts (in centavos) plus their
+ * running totals, so YTD figures, 13th-month pay and annual tax reconciliation are O(1) per employee.
+ */
+public class PayrollLedgerService {
+
+    // Non-taxable ceiling for 13th-month pay and other benefits
+    private static final BigDecimal THIRTEENTH_MONTH_EXEMPTION = BigDecimal.valueOf(90000);
+
+    private final PayrollLedgerDao payrollLedgerDao;
+    private final SalaryCalculatorService salaryCalculatorService;
+    // employeeNumber -> year -> series; series are replaced, never mutated, so readers need no locks
+    private final Map<String, Map<Integer, YearSeries>> seriesByEmployee = new ConcurrentSkipListMap<>();
+    private final Set<YearMonth> postedMonths = ConcurrentHashMap.newKeySet();
+    private long syncedDataVersion = -1; // Guarded by this
+    private long postingVersion; // Guarded by this; increases with every posted month
+    private final ChangeEventBus eventBus; // Notified of every posted month; may be null
+
+    public PayrollLedgerService(PayrollLedgerDao payrollLedgerDao, SalaryCalculatorService salaryCalculatorService) {
+        this(payrollLedgerDao, salaryCalculatorService, null);
+    }
+
+    /**
+     * @param payrollLedgerDao        The ledger persistence.
+     * @param salaryCalculatorService The salary engine used to compute posted results.
+     * @param eventBus                The bus to publish payroll runs to, or null.
+     */
+    public PayrollLedgerService(PayrollLedgerDao payrollLedgerDao, SalaryCalculatorService salaryCalculatorService,
+            ChangeEventBus eventBus) {
+        this.payrollLedgerDao = payrollLedgerDao;
+        this.salaryCalculatorService = salaryCalculatorService;
+        this.eventBus = eventBus;
+        for (PayrollLedgerEntry entry : payrollLedgerDao.getAllEntries()) {
+            index(entry);
+        }
+        System.out.println("PayrollLedgerService: Indexed " + postedMonths.size() + " posted months for " + seriesByEmployee.size() + " employees.");
+    }
+
+    /**
+     * Posts every cutoff month that has attendance data but is not in the ledger yet.
+     * Months already posted are final and are not recomputed.
+     * Cheap to call repeatedly: it does nothing unless the salary engine's inputs changed since the last sync.
+     */
+    public synchronized void syncPostedMonths() {
+        long version = salaryCalculatorService.getDataVersion();
+        if (version == syncedDataVersion) {
+            return;
+        }
+        for (MonthlyCutoff cutoff : salaryCalculatorService.getMonthlyCutoffs()) {
+            if (!postedMonths.contains(YearMonth.parse(cutoff.getYearMonth()))) {
+                postMonth(cutoff.getYearMonth());
+            }
+        }
+        syncedDataVersion = version;
+    }
+
+    /**
+     * Runs the salary engine for every employee with attendance in the month and posts the results
+     * to the ledger with a single persisted write, replacing any earlier entries for that month.
+     *
+     * @param yearMonth The month to post (e.g., "2024-06").
+     * @return The number of entries posted.
+     */
+    public synchronized int postMonth(String yearMonth) {
+        List<AttendanceSummary> attendance = salaryCalculatorService.getAttendanceSummaries(yearMonth);
+        List<PayrollLedgerEntry> entries = ComputeExecutors.payroll(() -> attendance.parallelStream()
+                    .map(summary -> calculateOrNull(summary.getEmployeeNumber(), yearMonth))
+                    .filter(Objects::nonNull)
+                    .map(PayrollLedgerEntry::fromResult)
+                    .collect(Collectors.toList()));
+
+        payrollLedgerDao.saveEntries(entries);
+        for (PayrollLedgerEntry entry : entries) {
+            index(entry);
+        }
+        postedMonths.add(YearMonth.parse(yearMonth));
+        postingVersion++;
+        if (eventBus != null) {
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("yearMonth", yearMonth);
+            data.put("entries", entries.size());
+            eventBus.publish(new ChangeEvent(ChangeEvent.TYPE_PAYROLL, ChangeEvent.OP_POSTED, yearMonth, postingVersion, data));
+        }
+        System.out.println("PayrollLedgerService: Posted " + entries.size() + " payroll results for " + yearMonth);
+        return entries.size();
+    }
+
+    private MonthlySalaryCalculationResult calculateOrNull(String employeeNumber, String yearMonth) {
+        try {
+            return salaryCalculatorService.calculateMonthlySalary(employeeNumber, yearMonth);
+        } catch (IllegalArgumentException e) {
+            System.err.println("PayrollLedgerService: Skipping employee " + employeeNumber + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void index(PayrollLedgerEntry entry) {
+        YearMonth ym = YearMonth.parse(entry.getYearMonth());
+        seriesByEmployee.computeIfAbsent(entry.getEmployeeNumber(), k -> new ConcurrentHashMap<>())
+                .compute(ym.getYear(), (year, series) -> (series != null ? series : YearSeries.EMPTY)
+                        .withMonth(ym.getMonthValue(), entry));
+        postedMonths.add(ym);
+    }
+
+    /**
+     * Computes year-to-date totals and reconciliation for every employee with posted payroll in the year,
+     * ordered by employee number.
+     *
+     * @param year         The calendar year.
+     * @param throughMonth The last month (1-12) to include.
+     * @return A list of YearToDateSummary objects.
+     */
+    public List<YearToDateSummary> getCompanyYearToDate(int year, int throughMonth) {
+        List<YearToDateSummary> summaries = new ArrayList<>();
+        for (Map.Entry<String, Map<Integer, YearSeries>> entry : seriesByEmployee.entrySet()) {
+            YearSeries series = entry.getValue().get(year);
+            if (series != null) {
+                summaries.add(summarize(entry.getKey(), year, throughMonth, series));
+            }
+        }
+        return summaries;
+    }
+
+    /**
+     * @return The most recent year with posted payroll, or the current year if the ledger is empty.
+     */
+    public int getLatestPostedYear() {
+        return postedMonths.stream().map(YearMonth::getYear).max(Integer::compare).orElse(YearMonth.now().getYear());
+    }
+
+    private YearToDateSummary summarize(String employeeNumber, int year, int throughMonth, YearSeries series) {
+        if (throughMonth < 1 || throughMonth > 12) {
+            throw new IllegalArgumentException("throughMonth must be between 1 and 12.");
+        }
+        BigDecimal ytdBasicPay = series.total(YearSeries.BASIC, throughMonth);
+        BigDecimal ytdTaxableIncome = series.total(YearSeries.TAXABLE, throughMonth);
+
+        BigDecimal thirteenthMonthPay = ytdBasicPay.divide(BigDecimal.valueOf(12), 2, RoundingMode.HALF_UP);
+        BigDecimal taxableThirteenthMonth = thirteenthMonthPay.subtract(THIRTEENTH_MONTH_EXEMPTION).max(BigDecimal.ZERO);
+        BigDecimal annualTaxableIncome = ytdTaxableIncome.add(taxableThirteenthMonth);
+        int monthsPosted = series.monthsPosted(throughMonth);
+        // The annual tax table only applies to a full year's income; a partial year is not reconciled
+        BigDecimal annualTaxDue = monthsPosted == 12
+                ? salaryCalculatorService.calculateAnnualIncomeTax(annualTaxableIncome)
+                : null;
+
+        return new YearToDateSummary(
+                employeeNumber,
+                year,
+                throughMonth,
+                monthsPosted,
+                ytdBasicPay,
+                series.total(YearSeries.GROSS, throughMonth),
+                series.total(YearSeries.SSS, throughMonth),
+                series.total(YearSeries.PHILHEALTH, throughMonth),
+                series.total(YearSeries.PAGIBIG, throughMonth),
+                ytdTaxableIncome,
+                series.total(YearSeries.TAX, throughMonth),
+                series.total(YearSeries.NET, throughMonth),
+                thirteenthMonthPay,
+                annualTaxableIncome,
+                annualTaxDue);
+    }
+
+    /**
+     * Immutable monthly amounts for one employee-year, stored in centavos with a prefix-sum row per metric.
+     * prefix[metric][m] is the total of months 1..m, so any YTD total is a single array read.
+     */
+    private static final class YearSeries {
+        static final int BASIC = 0, GROSS = 1, SSS = 2, PHILHEALTH = 3, PAGIBIG = 4, TAXABLE = 5, TAX = 6, NET = 7;
+        private static final int METRICS = 8;
+        static final YearSeries EMPTY = new YearSeries(new long[METRICS][13], 0);
+
+        private final long[][] prefix;
+        private final int postedMask; // Bit m set when month m (1-12) has an entry
+
+        private YearSeries(long[][] prefix, int postedMask) {
+            this.prefix = prefix;
+            this.postedMask = postedMask;
+        }
+
+        YearSeries withMonth(int month, PayrollLedgerEntry entry) {
+            long[] amounts = {
+                    toCentavos(entry.getBasicPay()), toCentavos(entry.getGrossPay()),
+                    toCentavos(entry.getSssContribution()), toCentavos(entry.getPhilhealthContribution()),
+                    toCentavos(entry.getPagibigContribution()), toCentavos(entry.getTaxableIncome()),
+                    toCentavos(entry.getWithholdingTax()), toCentavos(entry.getNetPay())};
+            long[][] next = new long[METRICS][];
+            for (int metric = 0; metric < METRICS; metric++) {
+                long[] row = prefix[metric].clone();
+                // Replace the month's amount and shift every later running total by the difference
+                long delta = amounts[metric] - (row[month] - row[month - 1]);
+                for (int m = month; m <= 12; m++) {
+                    row[m] += delta;
+                }
+                next[metric] = row;
+            }
+            return new YearSeries(next, postedMask | (1 << month));
+        }
+
+        BigDecimal total(int metric, int throughMonth) {
+            return BigDecimal.valueOf(prefix[metric][throughMonth], 2);
+        }
+
+        int monthsPosted(int throughMonth) {
+            return Integer.bitCount(postedMask & ((1 << (throughMonth + 1)) - 1));
+        }
+
+        private static long toCentavos(BigDecimal amount) {
+            return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.imperionite.cp2c.service;
+
+import com.imperionite.cp2c.model.MonthlySalaryCalculationResult;
+import com.imperionite.cp2c.model.PayrollAnalyticsReport;
+import com.imperionite.cp2c.model.RemittanceReport;
+import com.imperionite.cp2c.model.YearToDateSummary;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight layer in front of SalaryCalculatorService and the report services. When payroll opens,
+ * many clients ask for the same salary or monthly report at once; concurrent identical requests share one
+ * in-flight computation instead of each computing it. Keys include the payroll data version, so a request
+ * made after a data change never joins a computation over older data.
+ * Where the computation runs is up to the caller: each method takes a runner that starts the work
+ * (e.g., on the compute executor) and returns its future.
+ */
+public class PayrollRequestCoalescer {
+
+    /**
+     * Starts a computation and returns its future.
+     */
+    public interface Runner<T> extends Function<Supplier<T>, CompletableFuture<T>> {
+    }
+
+    private final SalaryCalculatorService salaryCalculatorService;
+    private final RemittanceReportService remittanceReportService;
+    private final PayrollLedgerService payrollLedgerService;
+    private final PayrollAnalyticsService payrollAnalyticsService;
+    private final EmployeeService employeeService;
+
+    private final SingleFlight<String, MonthlySalaryCalculationResult> salaries = new SingleFlight<>();
+    private final SingleFlight<String, RemittanceReport> remittances = new SingleFlight<>();
+    private final SingleFlight<String, List<YearToDateSummary>> yearToDate = new SingleFlight<>();
+    private final SingleFlight<String, PayrollAnalyticsReport> analytics = new SingleFlight<>();
+
+    public PayrollRequestCoalescer(SalaryCalculatorService salaryCalculatorService,
+                                   RemittanceReportService remittanceReportService,
+                                   PayrollLedgerService payrollLedgerService,
+                                   PayrollAnalyticsService payrollAnalyticsService,
+                                   EmployeeService employeeService) {
+        this.salaryCalculatorService = salaryCalculatorService;
+        this.remittanceReportService = remittanceReportService;
+        this.payrollLedgerService = payrollLedgerService;
+        this.payrollAnalyticsService = payrollAnalyticsService;
+        this.employeeService = employeeService;
+    }
+
+    /**
+     * @see SalaryCalculatorService#calculateMonthlySalary(String, String)
+     */
+    public CompletableFuture<MonthlySalaryCalculationResult> calculateMonthlySalary(String employeeNumber,
+            String yearMonth, Runner<MonthlySalaryCalculationResult> runner) {
+        String key = employeeNumber + "|" + yearMonth + "|" + salaryCalculatorService.getDataVersion();
+        return salaries.execute(key,
+                () -> runner.apply(() -> salaryCalculatorService.calculateMonthlySalary(employeeNumber, yearMonth)));
+    }
+
+    /**
+     * @see RemittanceReportService#getReport(String)
+     */
+    public CompletableFuture<RemittanceReport> getRemittanceReport(String yearMonth, Runner<RemittanceReport> runner) {
+        String key = yearMonth + "|" + salaryCalculatorService.getDataVersion();
+        return remittances.execute(key, () -> runner.apply(() -> remittanceReportService.getReport(yearMonth)));
+    }
+
+    /**
+     * @see PayrollAnalyticsService#getReport(String, PayrollAnalyticsService.Dimension)
+     */
+    public CompletableFuture<PayrollAnalyticsReport> getPayrollAnalytics(String yearMonth,
+            PayrollAnalyticsService.Dimension dimension, Runner<PayrollAnalyticsReport> runner) {
+        // Groups come from the live employee records, so employee edits start a new computation too
+        String key = yearMonth + "|" + dimension.getParam() + "|" + salaryCalculatorService.getDataVersion()
+                + "|" + employeeService.getEmployeesVersion();
+        return analytics.execute(key, () -> runner.apply(() -> payrollAnalyticsService.getReport(yearMonth, dimension)));
+    }
+
+    /**
+     * Posts any newly available months, then returns the company year-to-date summaries.
+     *
+     * @param year         The year, or null for the latest posted year.
+     * @param throughMonth The last month (1-12) to include.
+     * @param runner       Starts the computation.
+     * @return The shared future of the summaries.
+     * @see PayrollLedgerService#getCompanyYearToDate(int, int)
+     */
+    public CompletableFuture<List<YearToDateSummary>> getCompanyYearToDate(Integer year, int throughMonth,
+            Runner<List<YearToDateSummary>> runner) {
+        String key = year + "|" + throughMonth + "|" + salaryCalculatorService.getDataVersion();
+        return yearToDate.execute(key, () -> runner.apply(() -> {
+            // Post any newly available months first; a no-op when nothing changed
+            payrollLedgerService.syncPostedMonths();
+            int reportYear = year != null ? year : payrollLedgerService.getLatestPostedYear();
+            return payrollLedgerService.getCompanyYearToDate(reportYear, throughMonth);
+        }));
+    }
+
+    /**
+     * @return Per computation kind: computations started, duplicate requests suppressed, and in flight now.
+     */
+    public Map<String, Map<String, Number>> getStats() {
+        Map<String, Map<String, Number>> stats = new LinkedHashMap<>();
+        stats.put("salary", statsOf(salaries));
+        stats.put("remittances", statsOf(remittances));
+        stats.put("payroll-ytd", statsOf(yearToDate));
+        stats.put("payroll-analytics", statsOf(analytics));
+        return stats;
+    }
+
+    private static Map<String, Number> statsOf(SingleFlight<?, ?> flight) {
+        Map<String, Number> stats = new LinkedHashMap<>();
+        stats.put("executions", flight.getExecutions());
+        stats.put("duplicatesSuppressed", flight.getSuppressed());
+        stats.put("inFlight", flight.getInFlight());
+        return stats;
+    }
+}
@@ -0,0 +1,309 @@
+package com.imperionite.cp2c.service;
+
+import com.imperionite.cp2c.config.ComputeExecutors;
+import com.imperionite.cp2c.dto.SimulationRequest;
+import com.imperionite.cp2c.dto.SimulationScenario;
+import com.imperionite.cp2c.model.AttendanceSummary;
+import com.imperionite.cp2c.model.ContributionConfig;
+import com.imperionite.cp2c.model.Employee;
+import com.imperionite.cp2c.model.EmployeeSalaryDiff;
+import com.imperionite.cp2c.model.MonthlySalaryCalculationResult;
+import com.imperionite.cp2c.model.PagIbigContributionRule;
+import com.imperionite.cp2c.model.PhilHealthContributionRule;
+import com.imperionite.cp2c.model.SSSContributionRule;
+import com.imperionite.cp2c.model.ScenarioOutcome;
+import com.imperionite.cp2c.model.WithholdingTaxRule;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service evaluating what-if payroll scenarios without touching persisted data.
+ * The baseline payroll for the month is computed once; each scenario then re-runs the engine in parallel
+ * on copy-on-write views: an employee is copied only when an override applies to it, and the contribution
+ * tables are overlaid only where the scenario supplies replacement rules. Untouched employees under
+ * unchanged tables reuse their baseline result without recomputation.
+ */
+public class PayrollSimulationService {
+
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+
+    private final SalaryCalculatorService salaryCalculatorService;
+
+    public PayrollSimulationService(SalaryCalculatorService salaryCalculatorService) {
+        this.salaryCalculatorService = salaryCalculatorService;
+    }
+
+    /**
+     * Evaluates every scenario of the request against the baseline payroll of its month.
+     *
+     * @param request The simulation request.
+     * @return One ScenarioOutcome per scenario, in request order.
+     * @throws IllegalArgumentException if the request is incomplete, a replacement rule list is empty or has a
+     *                                  missing or negative value, or the month has no attendance data.
+     */
+    public List<ScenarioOutcome> simulate(SimulationRequest request) {
+        if (request == null || request.getYearMonth() == null || request.getScenarios() == null || request.getScenarios().isEmpty()) {
+            throw new IllegalArgumentException("A yearMonth and at least one scenario are required.");
+        }
+        for (int i = 0; i < request.getScenarios().size(); i++) {
+            SimulationScenario scenario = request.getScenarios().get(i);
+            if (scenario == null) {
+                throw new IllegalArgumentException("Scenario " + (i + 1) + " is empty.");
+            }
+            validateRules(scenario.getName() != null ? scenario.getName() : "Scenario " + (i + 1), scenario.getContributionConfig());
+        }
+        String yearMonth = YearMonth.parse(request.getYearMonth()).toString();
+        List<AttendanceSummary> attendance = salaryCalculatorService.getAttendanceSummaries(yearMonth);
+        if (attendance.isEmpty()) {
+            throw new IllegalArgumentException("No attendance records found for month " + yearMonth + ". Cannot simulate payroll.");
+        }
+
+        // Parallel streams below run on the bounded payroll pool rather than the request thread
+        return ComputeExecutors.payroll(() -> evaluateAll(request, yearMonth, attendance));
+    }
+
+    private List<ScenarioOutcome> evaluateAll(SimulationRequest request, String yearMonth, List<AttendanceSummary> attendance) {
+        long start = System.nanoTime();
+        ContributionConfig baseConfig = salaryCalculatorService.getContributionConfig();
+        List<Baseline> baselines = attendance.parallelStream()
+                .map(summary -> {
+                    Employee employee = salaryCalculatorService.findEmployeeForCalculation(summary.getEmployeeNumber());
+                    return employee != null
+                            ? new Baseline(employee, summary, salaryCalculatorService.calculateMonthlySalary(employee, summary, baseConfig))
+                            : null;
+                })
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        List<ScenarioOutcome> outcomes = new ArrayList<>();
+        for (int i = 0; i < request.getScenarios().size(); i++) {
+            SimulationScenario scenario = request.getScenarios().get(i);
+            String name = scenario.getName() != null ? scenario.getName() : "Scenario " + (i + 1);
+            outcomes.add(evaluate(name, yearMonth, scenario, baselines, baseConfig, request.isIncludeDiffs()));
+        }
+        System.out.println(String.format("PayrollSimulationService: Evaluated %d scenarios over %d employees in %.2f ms",
+                outcomes.size(), baselines.size(), (System.nanoTime() - start) / 1_000_000.0));
+        return outcomes;
+    }
+
+    private ScenarioOutcome evaluate(String name, String yearMonth, SimulationScenario scenario, List<Baseline> baselines,
+                                     ContributionConfig baseConfig, boolean includeDiffs) {
+        ContributionConfig config = overlay(baseConfig, scenario.getContributionConfig());
+        boolean configChanged = config != baseConfig;
+        Set<String> employeeNumbers = scenario.getEmployeeNumbers() != null ? new HashSet<>(scenario.getEmployeeNumbers()) : null;
+
+        List<EmployeeSalaryDiff> diffs = baselines.parallelStream()
+                .map(baseline -> {
+                    boolean matches = matches(baseline.employee, scenario, employeeNumbers);
+                    if (!matches && !configChanged) {
+                        return toDiff(baseline.result, baseline.result); // Copy-on-write: nothing to recompute
+                    }
+                    Employee view = matches ? applyOverrides(baseline.employee, scenario) : baseline.employee;
+                    return toDiff(baseline.result, salaryCalculatorService.calculateMonthlySalary(view, baseline.attendance, config));
+                })
+                .collect(Collectors.toList());
+
+        BigDecimal baselineGross = BigDecimal.ZERO, scenarioGross = BigDecimal.ZERO;
+        BigDecimal baselineNet = BigDecimal.ZERO, scenarioNet = BigDecimal.ZERO;
+        BigDecimal baselineCost = BigDecimal.ZERO, scenarioCost = BigDecimal.ZERO;
+        List<EmployeeSalaryDiff> affected = new ArrayList<>();
+        for (EmployeeSalaryDiff diff : diffs) {
+            baselineGross = baselineGross.add(diff.getBaselineGross());
+            scenarioGross = scenarioGross.add(diff.getScenarioGross());
+            baselineNet = baselineNet.add(diff.getBaselineNet());
+            scenarioNet = scenarioNet.add(diff.getScenarioNet());
+            baselineCost = baselineCost.add(diff.getBaselineTotalCost());
+            scenarioCost = scenarioCost.add(diff.getScenarioTotalCost());
+            if (diff.getDeltaNet().signum() != 0 || diff.getDeltaTotalCost().signum() != 0) {
+                affected.add(diff);
+            }
+        }
+
+        return new ScenarioOutcome(name, yearMonth, diffs.size(), affected.size(), baselineGross, scenarioGross,
+                baselineNet, scenarioNet, baselineCost, scenarioCost, includeDiffs ? affected : null);
+    }
+
+    private static boolean matches(Employee employee, SimulationScenario scenario, Set<String> employeeNumbers) {
+        if (scenario.getStatus() != null && !scenario.getStatus().equalsIgnoreCase(employee.getStatus())) {
+            return false;
+        }
+        if (scenario.getPosition() != null && !scenario.getPosition().equalsIgnoreCase(employee.getPosition())) {
+            return false;
+        }
+        return employeeNumbers == null || employeeNumbers.contains(employee.getEmployeeNumber());
+    }
+
+    /**
+     * Returns a copy of the employee with the scenario's field overrides applied. The original is never modified.
+     */
+    private static Employee applyOverrides(Employee employee, SimulationScenario scenario) {
+        BigDecimal basicSalary = scenario.getBasicSalary() != null ? scenario.getBasicSalary() : employee.getBasicSalary();
+        if (scenario.getBasicSalaryPercent() != null) {
+            basicSalary = basicSalary.multiply(ONE_HUNDRED.add(scenario.getBasicSalaryPercent()))
+                    .divide(ONE_HUNDRED, 2, RoundingMode.HALF_UP);
+        }
+        return new Employee(
+                employee.getEmployeeNumber(),
+                employee.getLastName(),
+                employee.getFirstName(),
+                employee.getBirthday(),
+                employee.getAddress(),
+                employee.getPhoneNumber(),
+                employee.getSssNumber(),
+                employee.getPhilhealthNumber(),
+                employee.getTinNumber(),
+                employee.getPagibigNumber(),
+                employee.getStatus(),
+                employee.getPosition(),
+                employee.getImmediateSupervisor(),
+                basicSalary,
+                scenario.getRiceSubsidy() != null ? scenario.getRiceSubsidy() : employee.getRiceSubsidy(),
+                scenario.getPhoneAllowance() != null ? scenario.getPhoneAllowance() : employee.getPhoneAllowance(),
+                scenario.getClothingAllowance() != null ? scenario.getClothingAllowance() : employee.getClothingAllowance(),
+                employee.getGrossSemiMonthlyRate(),
+                employee.getHourlyRate());
+    }
+
+    /**
+     * Checks a scenario's replacement rule lists before they reach the payroll engine, which expects every
+     * list it is given to be non-empty and every bracket bound, rate and amount it reads to be set.
+     * PhilHealth rules need a fixed employee contribution or a rate; everything else is required.
+     *
+     * @throws IllegalArgumentException naming the scenario, table, rule and field at fault.
+     */
+    private static void validateRules(String scenario, ContributionConfig config) {
+        if (config == null) {
+            return;
+        }
+        if (config.getSss() != null) {
+            requireRules(scenario, "sss", config.getSss());
+            for (int i = 0; i < config.getSss().size(); i++) {
+                SSSContributionRule rule = requireRule(scenario, "sss", i, config.getSss().get(i));
+                requireAmount(scenario, "sss", i, "salaryCap", rule.getSalaryCap());
+                requireAmount(scenario, "sss", i, "contribution", rule.getContribution());
+                requireAmount(scenario, "sss", i, "employerContribution", rule.getEmployerContribution());
+            }
+        }
+        if (config.getPhilhealth() != null) {
+            requireRules(scenario, "philhealth", config.getPhilhealth());
+            for (int i = 0; i < config.getPhilhealth().size(); i++) {
+                PhilHealthContributionRule rule = requireRule(scenario, "philhealth", i, config.getPhilhealth().get(i));
+                requireRange(scenario, "philhealth", i, "minSalary", rule.getMinSalary(), "maxSalary", rule.getMaxSalary());
+                if (rule.getFixedEmployeeContribution() != null) {
+                    requireAmount(scenario, "philhealth", i, "fixedEmployeeContribution", rule.getFixedEmployeeContribution());
+                } else {
+                    requireAmount(scenario, "philhealth", i, "rate", rule.getRate());
+                }
+            }
+        }
+        if (config.getPagibig() != null) {
+            requireRules(scenario, "pagibig", config.getPagibig());
+            for (int i = 0; i < config.getPagibig().size(); i++) {
+                PagIbigContributionRule rule = requireRule(scenario, "pagibig", i, config.getPagibig().get(i));
+                requireAmount(scenario, "pagibig", i, "salaryCap", rule.getSalaryCap());
+                requireAmount(scenario, "pagibig", i, "contributionRate", rule.getContributionRate());
+                requireAmount(scenario, "pagibig", i, "employerContributionRate", rule.getEmployerContributionRate());
+            }
+        }
+        if (config.getWithholdingTax() != null) {
+            requireRules(scenario, "withholdingTax", config.getWithholdingTax());
+            for (int i = 0; i < config.getWithholdingTax().size(); i++) {
+                WithholdingTaxRule rule = requireRule(scenario, "withholdingTax", i, config.getWithholdingTax().get(i));
+                requireRange(scenario, "withholdingTax", i, "minTaxableIncome", rule.getMinTaxableIncome(),
+                        "maxTaxableIncome", rule.getMaxTaxableIncome());
+                requireAmount(scenario, "withholdingTax", i, "fixedTax", rule.getFixedTax());
+                requireAmount(scenario, "withholdingTax", i, "percentageOver", rule.getPercentageOver());
+                requireAmount(scenario, "withholdingTax", i, "excessOver", rule.getExcessOver());
+            }
+        }
+    }
+
+    private static void requireRules(String scenario, String table, List<?> rules) {
+        if (rules.isEmpty()) {
+            throw new IllegalArgumentException(scenario + ": " + table + " rules must not be empty; omit the list to keep the current table.");
+        }
+    }
+
+    private static <T> T requireRule(String scenario, String table, int index, T rule) {
+        if (rule == null) {
+            throw new IllegalArgumentException(scenario + ": " + table + " rule " + (index + 1) + " is empty.");
+        }
+        return rule;
+    }
+
+    private static void requireAmount(String scenario, String table, int index, String field, BigDecimal value) {
+        if (value == null) {
+            throw new IllegalArgumentException(scenario + ": " + table + " rule " + (index + 1) + " is missing " + field + ".");
+        }
+        if (value.signum() < 0) {
+            throw new IllegalArgumentException(scenario + ": " + table + " rule " + (index + 1) + " has a negative " + field + ".");
+        }
+    }
+
+    private static void requireRange(String scenario, String table, int index, String minField, BigDecimal min,
+                                     String maxField, BigDecimal max) {
+        requireAmount(scenario, table, index, minField, min);
+        requireAmount(scenario, table, index, maxField, max);
+        if (min.compareTo(max) > 0) {
+            throw new IllegalArgumentException(scenario + ": " + table + " rule " + (index + 1) + " has " + minField
+                    + " above " + maxField + ".");
+        }
+    }
+
+    /**
+     * Overlays replacement rule lists on the base configuration. Returns the base instance itself
+     * when nothing is overridden, so callers can detect the no-change case by identity.
+     */
+    private static ContributionConfig overlay(ContributionConfig base, ContributionConfig override) {
+        if (override == null || (override.getSss() == null && override.getPhilhealth() == null
+                && override.getPagibig() == null && override.getWithholdingTax() == null)) {
+            return base;
+        }
+        ContributionConfig merged = new ContributionConfig();
+        merged.setSss(override.getSss() != null ? new ArrayList<>(override.getSss()) : base.getSss());
+        merged.setPhilhealth(override.getPhilhealth() != null ? new ArrayList<>(override.getPhilhealth()) : base.getPhilhealth());
+        merged.setPagibig(override.getPagibig() != null ? new ArrayList<>(override.getPagibig()) : base.getPagibig());
+        merged.setWithholdingTax(override.getWithholdingTax() != null ? new ArrayList<>(override.getWithholdingTax()) : base.getWithholdingTax());
+        // Sorting only reorders the copied override lists; the shared base lists are already sorted
+        SalaryCalculatorService.sortRules(merged);
+        return merged;
+    }
+
+    private static EmployeeSalaryDiff toDiff(MonthlySalaryCalculationResult baseline, MonthlySalaryCalculationResult scenario) {
+        return new EmployeeSalaryDiff(
+                baseline.getEmployeeNumber(),
+                baseline.getGrossMonthlySalary(),
+                scenario.getGrossMonthlySalary(),
+                baseline.getNetMonthlySalary(),
+                scenario.getNetMonthlySalary(),
+                totalCost(baseline),
+                totalCost(scenario));
+    }
+
+    private static BigDecimal totalCost(MonthlySalaryCalculationResult result) {
+        return result.getGrossMonthlySalary()
+                .add(result.getMonthlySssEmployerShare())
+                .add(result.getMonthlyPhilhealthEmployerShare())
+                .add(result.getMonthlyPagibigEmployerShare());
+    }
+
+    private static final class Baseline {
+        private final Employee employee;
+        private final AttendanceSummary attendance;
+        private final MonthlySalaryCalculationResult result;
+
+        private Baseline(Employee employee, AttendanceSummary attendance, MonthlySalaryCalculationResult result) {
+            this.employee = employee;
+            this.attendance = attendance;
+            this.result = result;
+        }
+    }
+}
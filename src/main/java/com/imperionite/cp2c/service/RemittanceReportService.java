@@ -0,0 +1,147 @@
+package com.imperionite.cp2c.service;
+
+import com.imperionite.cp2c.config.ComputeExecutors;
+import com.imperionite.cp2c.model.AgencyRemittance;
+import com.imperionite.cp2c.model.AttendanceSummary;
+import com.imperionite.cp2c.model.MonthlySalaryCalculationResult;
+import com.imperionite.cp2c.model.RemittanceReport;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collector;
+
+/**
+ * Service producing monthly SSS, PhilHealth and Pag-IBIG remittance totals (employee and employer shares).
+ * The payroll engine is run for every employee with attendance in the month on a parallel stream,
+ * and the per-employee results are reduced into per-agency totals by a concurrent-safe collector.
+ * Reports are cached per month until the SalaryCalculatorService data version changes.
+ */
+public class RemittanceReportService {
+
+    static final String SSS = "SSS";
+    static final String PHILHEALTH = "PhilHealth";
+    static final String PAGIBIG = "Pag-IBIG";
+
+    private final SalaryCalculatorService salaryCalculatorService;
+    private final Map<YearMonth, CachedReport> cache = new ConcurrentHashMap<>();
+
+    public RemittanceReportService(SalaryCalculatorService salaryCalculatorService) {
+        this.salaryCalculatorService = salaryCalculatorService;
+    }
+
+    /**
+     * Retrieves the remittance report for a month, computing it only if the cached copy is stale.
+     *
+     * @param yearMonth The month to report on (e.g., "2024-06").
+     * @return The RemittanceReport for the month.
+     * @throws IllegalArgumentException if no attendance data exists for the month.
+     * @throws java.time.format.DateTimeParseException if yearMonth is not in yyyy-MM format.
+     */
+    public RemittanceReport getReport(String yearMonth) {
+        YearMonth ym = YearMonth.parse(yearMonth);
+        long version = salaryCalculatorService.getDataVersion();
+        CachedReport cached = cache.get(ym);
+        if (cached != null && cached.version == version) {
+            System.out.println("RemittanceReportService: Serving cached remittance report for " + yearMonth);
+            return cached.report;
+        }
+
+        RemittanceReport report = computeReport(ym.toString());
+        cache.put(ym, new CachedReport(version, report));
+        return report;
+    }
+
+    private RemittanceReport computeReport(String yearMonth) {
+        List<AttendanceSummary> attendance = salaryCalculatorService.getAttendanceSummaries(yearMonth);
+        if (attendance.isEmpty()) {
+            throw new IllegalArgumentException("No attendance records found for month " + yearMonth + ". Cannot build remittance report.");
+        }
+
+        long start = System.nanoTime();
+        RemittanceTotals totals = ComputeExecutors.payroll(() -> attendance.parallelStream()
+                    .map(summary -> calculateOrNull(summary.getEmployeeNumber(), yearMonth))
+                    .collect(Collector.of(
+                            RemittanceTotals::new,
+                            RemittanceTotals::add,
+                            RemittanceTotals::merge,
+                            Collector.Characteristics.UNORDERED)));
+        System.out.println(String.format("RemittanceReportService: Computed remittances for %s over %d employees in %.2f ms",
+                yearMonth, totals.included, (System.nanoTime() - start) / 1_000_000.0));
+
+        return totals.toReport(yearMonth);
+    }
+
+    private MonthlySalaryCalculationResult calculateOrNull(String employeeNumber, String yearMonth) {
+        try {
+            return salaryCalculatorService.calculateMonthlySalary(employeeNumber, yearMonth);
+        } catch (IllegalArgumentException e) {
+            // Attendance exists for someone the payroll engine does not know; count it as skipped
+            System.err.println("RemittanceReportService: Skipping employee " + employeeNumber + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Mutable per-thread accumulator for the collector; partial totals are merged pairwise.
+     */
+    private static final class RemittanceTotals {
+        private int included;
+        private int skipped;
+        private int sssMembers, philhealthMembers, pagibigMembers;
+        private BigDecimal sssEmployee = BigDecimal.ZERO, sssEmployer = BigDecimal.ZERO;
+        private BigDecimal philhealthEmployee = BigDecimal.ZERO, philhealthEmployer = BigDecimal.ZERO;
+        private BigDecimal pagibigEmployee = BigDecimal.ZERO, pagibigEmployer = BigDecimal.ZERO;
+
+        void add(MonthlySalaryCalculationResult result) {
+            if (result == null) {
+                skipped++;
+                return;
+            }
+            included++;
+            if (result.getMonthlySssDeduction().signum() > 0) sssMembers++;
+            if (result.getMonthlyPhilhealthDeduction().signum() > 0) philhealthMembers++;
+            if (result.getMonthlyPagibigDeduction().signum() > 0) pagibigMembers++;
+            sssEmployee = sssEmployee.add(result.getMonthlySssDeduction());
+            sssEmployer = sssEmployer.add(result.getMonthlySssEmployerShare());
+            philhealthEmployee = philhealthEmployee.add(result.getMonthlyPhilhealthDeduction());
+            philhealthEmployer = philhealthEmployer.add(result.getMonthlyPhilhealthEmployerShare());
+            pagibigEmployee = pagibigEmployee.add(result.getMonthlyPagibigDeduction());
+            pagibigEmployer = pagibigEmployer.add(result.getMonthlyPagibigEmployerShare());
+        }
+
+        RemittanceTotals merge(RemittanceTotals other) {
+            included += other.included;
+            skipped += other.skipped;
+            sssMembers += other.sssMembers;
+            philhealthMembers += other.philhealthMembers;
+            pagibigMembers += other.pagibigMembers;
+            sssEmployee = sssEmployee.add(other.sssEmployee);
+            sssEmployer = sssEmployer.add(other.sssEmployer);
+            philhealthEmployee = philhealthEmployee.add(other.philhealthEmployee);
+            philhealthEmployer = philhealthEmployer.add(other.philhealthEmployer);
+            pagibigEmployee = pagibigEmployee.add(other.pagibigEmployee);
+            pagibigEmployer = pagibigEmployer.add(other.pagibigEmployer);
+            return this;
+        }
+
+        RemittanceReport toReport(String yearMonth) {
+            return new RemittanceReport(yearMonth, included, skipped, List.of(
+                    new AgencyRemittance(SSS, sssMembers, sssEmployee, sssEmployer),
+                    new AgencyRemittance(PHILHEALTH, philhealthMembers, philhealthEmployee, philhealthEmployer),
+                    new AgencyRemittance(PAGIBIG, pagibigMembers, pagibigEmployee, pagibigEmployer)));
+        }
+    }
+
+    private static final class CachedReport {
+        private final long version;
+        private final RemittanceReport report;
+
+        private CachedReport(long version, RemittanceReport report) {
+            this.version = version;
+            this.report = report;
+        }
+    }
+}
@@ -4,6 +4,10 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.imperionite.cp2c.config.BigDecimalDeserializer; // Import the custom deserializer
+import com.imperionite.cp2c.config.ComputeExecutors;
+import com.imperionite.cp2c.dto.MultiGetRequest;
+import com.imperionite.cp2c.dto.MultiGetResponse;
+import com.imperionite.cp2c.dto.MultiGetResult;
 import com.imperionite.cp2c.model.*; // Import all models from your package
 
 import java.io.BufferedReader;
@@ -13,13 +17,16 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.nio.file.Files; // NEW
 import java.nio.file.Paths; // NEW
-import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service class for calculating employee monthly salary and government deductions.
@@ -41,8 +48,18 @@ public class SalaryCalculatorService {
     // In a real app, employee data might come from a DB via EmployeeDao.
     // Here, SalaryCalculatorService independently loads its necessary data.
     private List<Employee> employeesForCalculation; // Renamed to avoid confusion with DAO-managed employees
-    private List<AttendanceRecord> attendanceRecords;
+    private Map<String, Employee> employeesByNumber; // Primary-key index over employeesForCalculation
+    // Raw attendance records per month; copy-on-write so readers can stream a month without locking or copying
+    private final Map<YearMonth, List<AttendanceRecord>> attendanceRecords = new ConcurrentSkipListMap<>();
     private ContributionConfig contributionConfig;
+    // Running per-month, per-employee aggregators; guarded by this and only touched during ingestion
+    private final Map<YearMonth, Map<String, AttendanceAggregator>> attendanceAggregators = new HashMap<>();
+    // Published per-month, per-employee attendance metrics, read lock-free by the salary engine
+    private final Map<YearMonth, Map<String, AttendanceSummary>> attendanceSummaries = new ConcurrentSkipListMap<>();
+    // Available pay periods, maintained as attendance months appear
+    private final MonthlyCutoffCatalog monthlyCutoffCatalog;
+    // Bumped whenever calculation inputs change, so derived reports know when to recompute
+    private final AtomicLong dataVersion = new AtomicLong();
 
     // NEW: Constructor now accepts the employee CSV file path
     public SalaryCalculatorService(String employeeCsvFilePath) {
@@ -51,6 +68,7 @@ public class SalaryCalculatorService {
         // Register modules for Java 8 Date/Time and custom BigDecimal deserialization
         this.objectMapper.registerModule(new JavaTimeModule());
         this.objectMapper.registerModule(new SimpleModule().addDeserializer(BigDecimal.class, new BigDecimalDeserializer()));
+        this.monthlyCutoffCatalog = new MonthlyCutoffCatalog(objectMapper);
 
         loadData();
     }
@@ -63,8 +81,12 @@ public class SalaryCalculatorService {
         try {
             // Load Employees from the file system path
             employeesForCalculation = loadEmployeesFromFileSystem(employeeCsvFilePath, this::parseEmployee); // NEW method call
+            employeesByNumber = new HashMap<>();
+            for (Employee employee : employeesForCalculation) {
+                employeesByNumber.put(employee.getEmployeeNumber(), employee);
+            }
             // Load Attendance from classpath resource
-            attendanceRecords = loadResourceCsv(ATTENDANCE_FILE_RESOURCE, this::parseAttendanceRecord); // Renamed method
+            ingestAttendanceRecords(loadResourceCsv(ATTENDANCE_FILE_RESOURCE, this::parseAttendanceRecord)); // Renamed method
             // Load Contributions from classpath resource
             try (InputStream is = getClass().getResourceAsStream(CONTRIBUTIONS_FILE_RESOURCE)) { // Renamed constant
                 if (is == null) {
@@ -72,22 +94,10 @@ public class SalaryCalculatorService {
                 }
                 this.contributionConfig = objectMapper.readValue(is, ContributionConfig.class);
                 // Sort rules for correct lookup in calculation methods
-                if (this.contributionConfig.getSss() != null) {
-                    this.contributionConfig.getSss().sort(Comparator.comparing(SSSContributionRule::getSalaryCap));
-                }
-                if (this.contributionConfig.getPhilhealth() != null) {
-                    this.contributionConfig.getPhilhealth().sort(Comparator.comparing(PhilHealthContributionRule::getMinSalary));
-                }
-                if (this.contributionConfig.getPagibig() != null) {
-                    this.contributionConfig.getPagibig().sort(Comparator.comparing(PagIbigContributionRule::getSalaryCap));
-                }
-                if (this.contributionConfig.getWithholdingTax() != null) {
-                    this.contributionConfig.getWithholdingTax().sort(Comparator.comparing(WithholdingTaxRule::getMinTaxableIncome));
-                }
-
+                sortRules(this.contributionConfig);
             }
             System.out.println("SalaryCalculatorService: Data loaded successfully.");
-            System.out.println("SalaryCalculatorService: Loaded " + employeesForCalculation.size() + " employees, " + attendanceRecords.size() + " attendance records.");
+            System.out.println("SalaryCalculatorService: Loaded " + employeesForCalculation.size() + " employees, " + attendanceRecords.values().stream().mapToInt(List::size).sum() + " attendance records.");
         } catch (Exception e) {
             System.err.println("SalaryCalculatorService: Failed to load initial data: " + e.getMessage());
             e.printStackTrace();
@@ -95,6 +105,25 @@ public class SalaryCalculatorService {
         }
     }
 
+    /**
+     * Sorts every rule list of a contribution configuration into the order the calculation methods expect.
+     * @param config The configuration whose rule lists are sorted in place.
+     */
+    static void sortRules(ContributionConfig config) {
+        if (config.getSss() != null) {
+            config.getSss().sort(Comparator.comparing(SSSContributionRule::getSalaryCap));
+        }
+        if (config.getPhilhealth() != null) {
+            config.getPhilhealth().sort(Comparator.comparing(PhilHealthContributionRule::getMinSalary));
+        }
+        if (config.getPagibig() != null) {
+            config.getPagibig().sort(Comparator.comparing(PagIbigContributionRule::getSalaryCap));
+        }
+        if (config.getWithholdingTax() != null) {
+            config.getWithholdingTax().sort(Comparator.comparing(WithholdingTaxRule::getMinTaxableIncome));
+        }
+    }
+
     /**
      * Helper method to load CSV files from classpath resources.
      * @param resourcePath Path to the CSV file in resources.
@@ -231,29 +260,169 @@ public class SalaryCalculatorService {
         return record;
     }
 
+    /**
+     * Ingests attendance records: each record is folded into its (month, employee) aggregator in one pass,
+     * the summaries of the touched aggregators are republished, and any new months are added to the cutoff catalog.
+     * @param records The attendance records to ingest.
+     */
+    public synchronized void ingestAttendanceRecords(Collection<AttendanceRecord> records) {
+        Map<YearMonth, Set<String>> touched = new HashMap<>();
+        Map<YearMonth, List<AttendanceRecord>> recordsByMonth = new HashMap<>();
+        for (AttendanceRecord record : records) {
+            YearMonth ym = YearMonth.from(record.getDate());
+            recordsByMonth.computeIfAbsent(ym, k -> new ArrayList<>()).add(record);
+            attendanceAggregators.computeIfAbsent(ym, k -> new HashMap<>())
+                    .computeIfAbsent(record.getEmployeeNumber(), k -> new AttendanceAggregator(k, ym.toString()))
+                    .accept(record);
+            touched.computeIfAbsent(ym, k -> new HashSet<>()).add(record.getEmployeeNumber());
+        }
+        // One copy per touched month per ingestion, rather than per record
+        recordsByMonth.forEach((ym, monthRecords) -> attendanceRecords
+                .computeIfAbsent(ym, k -> new CopyOnWriteArrayList<>()).addAll(monthRecords));
+
+        for (Map.Entry<YearMonth, Set<String>> monthEntry : touched.entrySet()) {
+            Map<String, AttendanceAggregator> aggregators = attendanceAggregators.get(monthEntry.getKey());
+            Map<String, AttendanceSummary> byEmployee = attendanceSummaries
+                    .computeIfAbsent(monthEntry.getKey(), k -> new ConcurrentSkipListMap<>());
+            for (String employeeNumber : monthEntry.getValue()) {
+                byEmployee.put(employeeNumber, aggregators.get(employeeNumber).toSummary());
+            }
+        }
+        monthlyCutoffCatalog.addMonths(touched.keySet());
+        dataVersion.incrementAndGet();
+        System.out.println("SalaryCalculatorService: Ingested " + records.size() + " attendance records across " + touched.size() + " months.");
+    }
+
+    /**
+     * Retrieves the aggregated attendance metrics of one employee for a given month.
+     * @param employeeNumber The unique identifier of the employee.
+     * @param yearMonth The month to summarize (e.g., "2024-06").
+     * @return The AttendanceSummary for the employee and month.
+     * @throws IllegalArgumentException if no attendance data exists for the employee in that month.
+     */
+    public AttendanceSummary getAttendanceSummary(String employeeNumber, String yearMonth) {
+        Map<String, AttendanceSummary> byEmployee = attendanceSummaries.get(YearMonth.parse(yearMonth));
+        AttendanceSummary summary = byEmployee != null ? byEmployee.get(employeeNumber) : null;
+        if (summary == null) {
+            throw new IllegalArgumentException("No attendance records found for employee " + employeeNumber + " for month " + yearMonth + ".");
+        }
+        return summary;
+    }
+
+    /**
+     * Retrieves the aggregated attendance metrics of every employee for a given month,
+     * ordered by employee number.
+     * @param yearMonth The month to summarize (e.g., "2024-06").
+     * @return A list of AttendanceSummary objects; empty if the month has no attendance data.
+     */
+    public List<AttendanceSummary> getAttendanceSummaries(String yearMonth) {
+        Map<String, AttendanceSummary> byEmployee = attendanceSummaries.get(YearMonth.parse(yearMonth));
+        return byEmployee != null ? new ArrayList<>(byEmployee.values()) : Collections.emptyList();
+    }
+
+    /**
+     * Streams the raw attendance records of a month, optionally for one employee, in ingestion order.
+     * The stream reads a snapshot of the month without copying it, so records ingested meanwhile are not seen.
+     * @param yearMonth The month (e.g., "2024-06").
+     * @param employeeNumber The employee to restrict to, or null for every employee.
+     * @return A lazy stream of AttendanceRecord objects; empty if the month has no attendance data.
+     */
+    public Stream<AttendanceRecord> streamAttendanceRecords(String yearMonth, String employeeNumber) {
+        List<AttendanceRecord> monthRecords = attendanceRecords.get(YearMonth.parse(yearMonth));
+        if (monthRecords == null) {
+            return Stream.empty();
+        }
+        Stream<AttendanceRecord> stream = monthRecords.stream();
+        return employeeNumber != null ? stream.filter(r -> employeeNumber.equals(r.getEmployeeNumber())) : stream;
+    }
+
+    /**
+     * Lazily computes the monthly salary of every employee with attendance in the month, ordered by
+     * employee number. Each result is calculated only when the stream consumer pulls it, so callers
+     * writing results out one by one never hold the whole payroll in memory.
+     * Employees with attendance but unknown to the engine are skipped.
+     * @param yearMonth The month (e.g., "2024-06").
+     * @return A lazy stream of MonthlySalaryCalculationResult objects; empty if the month has no attendance data.
+     */
+    public Stream<MonthlySalaryCalculationResult> streamMonthlySalaries(String yearMonth) {
+        Map<String, AttendanceSummary> byEmployee = attendanceSummaries.get(YearMonth.parse(yearMonth));
+        if (byEmployee == null) {
+            return Stream.empty();
+        }
+        ContributionConfig config = contributionConfig;
+        return byEmployee.values().stream()
+                .filter(summary -> employeesByNumber.containsKey(summary.getEmployeeNumber()))
+                .map(summary -> calculateMonthlySalary(employeesByNumber.get(summary.getEmployeeNumber()), summary, config));
+    }
+
+    /**
+     * Calculates the monthly salary of several employees in parallel on the payroll pool. Each distinct
+     * employee number is calculated once, however often it is requested.
+     * @param request The employee numbers and the month (e.g., "2024-06").
+     * @return One result per requested number, in request order; employees unknown to the engine or without
+     *         attendance in the month get a 404 result.
+     * @throws IllegalArgumentException if no or too many employee numbers are given.
+     * @throws java.time.format.DateTimeParseException if yearMonth is not in yyyy-MM format.
+     */
+    public MultiGetResponse<MonthlySalaryCalculationResult> calculateMonthlySalaries(MultiGetRequest request) {
+        List<String> employeeNumbers = request.requireEmployeeNumbers();
+        String yearMonth = YearMonth.parse(request.getYearMonth() != null ? request.getYearMonth().trim() : "").toString();
+        Map<String, MultiGetResult<MonthlySalaryCalculationResult>> byNumber = ComputeExecutors.payroll(() ->
+                new LinkedHashSet<>(employeeNumbers).parallelStream()
+                        .collect(Collectors.toConcurrentMap(number -> number, number -> {
+                            try {
+                                return MultiGetResult.found(number, calculateMonthlySalary(number, yearMonth));
+                            } catch (IllegalArgumentException e) {
+                                return MultiGetResult.notFound(number, e.getMessage());
+                            }
+                        })));
+        List<MultiGetResult<MonthlySalaryCalculationResult>> results = new ArrayList<>(employeeNumbers.size());
+        for (String employeeNumber : employeeNumbers) {
+            results.add(byNumber.get(employeeNumber));
+        }
+        return new MultiGetResponse<>(results);
+    }
+
     /**
      * Retrieves a sorted list of unique YearMonth periods found in the attendance records.
      * These represent the available pay periods for salary calculation.
      * @return A list of MonthlyCutoff objects.
      */
     public List<MonthlyCutoff> getMonthlyCutoffs() {
-        Set<YearMonth> uniqueYearMonths = new TreeSet<>(); // Use TreeSet to keep them sorted
-        DateTimeFormatter monthDayFormatter = DateTimeFormatter.ofPattern("MMM d");
+        return monthlyCutoffCatalog.getCutoffs();
+    }
 
-        for (AttendanceRecord record : attendanceRecords) {
-            uniqueYearMonths.add(YearMonth.from(record.getDate()));
-        }
+    /**
+     * Exposes the cutoff catalog so callers can serve its pre-serialized snapshot directly.
+     * @return The MonthlyCutoffCatalog maintained by this service.
+     */
+    public MonthlyCutoffCatalog getMonthlyCutoffCatalog() {
+        return monthlyCutoffCatalog;
+    }
 
-        List<MonthlyCutoff> cutoffs = new ArrayList<>();
-        for (YearMonth ym : uniqueYearMonths) {
-            LocalDate firstDayOfMonth = ym.atDay(1);
-            LocalDate lastDayOfMonth = ym.atEndOfMonth();
-            String yearMonthStr = ym.format(DateTimeFormatter.ofPattern("yyyy-MM"));
-            String startDate = firstDayOfMonth.format(monthDayFormatter);
-            String endDate = lastDayOfMonth.format(monthDayFormatter);
-            cutoffs.add(new MonthlyCutoff(yearMonthStr, startDate, endDate));
-        }
-        return cutoffs;
+    /**
+     * @return The contribution and tax tables loaded at startup. Callers must treat them as read-only.
+     */
+    public ContributionConfig getContributionConfig() {
+        return contributionConfig;
+    }
+
+    /**
+     * Looks up an employee as known to the salary engine.
+     * @param employeeNumber The unique identifier of the employee.
+     * @return The Employee, or null if not found. Callers must treat it as read-only.
+     */
+    public Employee findEmployeeForCalculation(String employeeNumber) {
+        return employeesByNumber.get(employeeNumber);
+    }
+
+    /**
+     * Returns a counter that increases whenever the inputs of the salary engine change.
+     * Callers caching derived results compare it against the version they computed with.
+     * @return The current input data version.
+     */
+    public long getDataVersion() {
+        return dataVersion.get();
     }
 
     /**
@@ -264,33 +433,38 @@ public class SalaryCalculatorService {
      * @throws IllegalArgumentException if the employee is not found or no attendance data exists for the period.
      */
     public MonthlySalaryCalculationResult calculateMonthlySalary(String employeeNumber, String yearMonth) {
-        Employee employee = employeesForCalculation.stream() // Use employeesForCalculation
-                .filter(e -> e.getEmployeeNumber().equals(employeeNumber))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Employee not found: " + employeeNumber));
-
-        YearMonth targetYearMonth = YearMonth.parse(yearMonth);
+        Employee employee = employeesByNumber.get(employeeNumber);
+        if (employee == null) {
+            throw new IllegalArgumentException("Employee not found: " + employeeNumber);
+        }
 
-        List<AttendanceRecord> employeeMonthlyAttendance = attendanceRecords.stream()
-                .filter(record -> record.getEmployeeNumber().equals(employeeNumber) &&
-                                 YearMonth.from(record.getDate()).equals(targetYearMonth))
-                .collect(Collectors.toList());
+        // Attendance is pre-aggregated per employee and month, so no raw records are rescanned here.
+        // Overnight shifts are counted; each day is still capped at STANDARD_WORK_HOURS_PER_DAY.
+        Map<String, AttendanceSummary> monthlySummaries = attendanceSummaries.get(YearMonth.parse(yearMonth));
+        AttendanceSummary attendanceSummary = monthlySummaries != null ? monthlySummaries.get(employeeNumber) : null;
 
         // FIX: Throw an exception if no attendance records are found for the specific month.
-        if (employeeMonthlyAttendance.isEmpty()) {
+        if (attendanceSummary == null) {
             throw new IllegalArgumentException("No attendance records found for employee " + employeeNumber + " for month " + yearMonth + ". Cannot calculate salary.");
         }
 
-        double totalActualWorkedHours = employeeMonthlyAttendance.stream()
-            .mapToDouble(record -> {
-                if (record.getLoginTime() == null || record.getLogoutTime() == null || record.getLoginTime().isAfter(record.getLogoutTime())) {
-                    return 0;
-                }
-                Duration duration = Duration.between(record.getLoginTime(), record.getLogoutTime());
-                // Cap daily hours at STANDARD_WORK_HOURS_PER_DAY (8.0) for calculation base
-                return Math.min(duration.toMinutes() / 60.0, STANDARD_WORK_HOURS_PER_DAY.doubleValue());
-            })
-            .sum();
+        return calculateMonthlySalary(employee, attendanceSummary, contributionConfig);
+    }
+
+    /**
+     * Pure form of the payroll engine: computes the monthly salary from an employee, its aggregated
+     * attendance and a contribution configuration, without consulting any service state.
+     * Used directly by what-if simulations that evaluate copy-on-write views of the inputs.
+     * @param employee The employee whose salary fields drive the calculation.
+     * @param attendanceSummary The employee's aggregated attendance for the month.
+     * @param config The contribution and tax tables to apply; rule lists must be sorted as in loadData.
+     * @return A MonthlySalaryCalculationResult object.
+     */
+    public MonthlySalaryCalculationResult calculateMonthlySalary(Employee employee, AttendanceSummary attendanceSummary,
+                                                                 ContributionConfig config) {
+        String employeeNumber = employee.getEmployeeNumber();
+        String yearMonth = attendanceSummary.getYearMonth();
+        double totalActualWorkedHours = attendanceSummary.getRegularHours();
 
         // Calculate Gross Monthly Salary based on prorated basic salary + allowances
         BigDecimal proratedBasicSalary;
@@ -309,9 +483,9 @@ public class SalaryCalculatorService {
                 .setScale(2, RoundingMode.HALF_UP);
 
         // --- Calculate Mandated Deductions ---
-        BigDecimal monthlySssDeduction = calculateSssDeduction(grossMonthlySalary);
-        BigDecimal monthlyPhilhealthDeduction = calculatePhilhealthDeduction(grossMonthlySalary);
-        BigDecimal monthlyPagibigDeduction = calculatePagibigDeduction(grossMonthlySalary);
+        BigDecimal monthlySssDeduction = calculateSssDeduction(config, grossMonthlySalary);
+        BigDecimal monthlyPhilhealthDeduction = calculatePhilhealthDeduction(config, grossMonthlySalary);
+        BigDecimal monthlyPagibigDeduction = calculatePagibigDeduction(config, grossMonthlySalary);
 
         // Calculate Taxable Income: Gross Salary - Mandated Deductions (SSS, PhilHealth, Pag-IBIG employee shares)
         BigDecimal taxableIncome = grossMonthlySalary
@@ -325,7 +499,7 @@ public class SalaryCalculatorService {
             taxableIncome = BigDecimal.ZERO;
         }
 
-        BigDecimal monthlyWithholdingTax = calculateWithholdingTax(taxableIncome);
+        BigDecimal monthlyWithholdingTax = calculateWithholdingTax(config, taxableIncome);
 
         BigDecimal totalDeductions = monthlySssDeduction
                 .add(monthlyPhilhealthDeduction)
@@ -336,6 +510,12 @@ public class SalaryCalculatorService {
         BigDecimal netMonthlySalary = grossMonthlySalary.subtract(totalDeductions)
                 .setScale(2, RoundingMode.HALF_UP);
 
+        // --- Employer Shares (not deducted from pay, reported for remittance) ---
+        BigDecimal monthlySssEmployerShare = calculateSssEmployerShare(config, grossMonthlySalary);
+        // PhilHealth premiums are split equally between employee and employer
+        BigDecimal monthlyPhilhealthEmployerShare = monthlyPhilhealthDeduction;
+        BigDecimal monthlyPagibigEmployerShare = calculatePagibigEmployerShare(config, grossMonthlySalary);
+
         return new MonthlySalaryCalculationResult(
                 employeeNumber,
                 yearMonth,
@@ -346,46 +526,74 @@ public class SalaryCalculatorService {
                 monthlyPagibigDeduction,
                 monthlyWithholdingTax,
                 totalDeductions,
-                netMonthlySalary
+                netMonthlySalary,
+                monthlySssEmployerShare,
+                monthlyPhilhealthEmployerShare,
+                monthlyPagibigEmployerShare,
+                proratedBasicSalary.setScale(2, RoundingMode.HALF_UP),
+                taxableIncome
         );
     }
 
     /**
      * Calculates the SSS employee contribution based on gross monthly salary and rules.
      * Rules are assumed to be sorted by salaryCap in ascending order.
+     * @param config The contribution tables to apply.
      * @param grossMonthlySalary The employee's gross monthly salary.
      * @return The calculated SSS deduction.
      */
-    private BigDecimal calculateSssDeduction(BigDecimal grossMonthlySalary) {
-        if (contributionConfig == null || contributionConfig.getSss() == null || contributionConfig.getSss().isEmpty()) {
+    private BigDecimal calculateSssDeduction(ContributionConfig config, BigDecimal grossMonthlySalary) {
+        if (config == null || config.getSss() == null || config.getSss().isEmpty()) {
             System.err.println("SalaryCalculatorService: SSS contribution rules not loaded.");
             return BigDecimal.ZERO;
         }
 
         // Rules are pre-sorted during loadData
-        for (SSSContributionRule rule : contributionConfig.getSss()) {
+        for (SSSContributionRule rule : config.getSss()) {
             if (grossMonthlySalary.compareTo(rule.getSalaryCap()) <= 0) {
                 return rule.getContribution().setScale(2, RoundingMode.HALF_UP);
             }
         }
         // Fallback for amounts exceeding max cap (should be the last rule due to sorting)
-        return contributionConfig.getSss().get(contributionConfig.getSss().size() - 1).getContribution().setScale(2, RoundingMode.HALF_UP);
+        return config.getSss().get(config.getSss().size() - 1).getContribution().setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Calculates the SSS employer contribution using the same salary brackets as the employee share.
+     * @param config The contribution tables to apply.
+     * @param grossMonthlySalary The employee's gross monthly salary.
+     * @return The calculated SSS employer share.
+     */
+    private BigDecimal calculateSssEmployerShare(ContributionConfig config, BigDecimal grossMonthlySalary) {
+        if (config == null || config.getSss() == null || config.getSss().isEmpty()) {
+            return BigDecimal.ZERO;
+        }
+
+        SSSContributionRule matched = config.getSss().get(config.getSss().size() - 1);
+        for (SSSContributionRule rule : config.getSss()) {
+            if (grossMonthlySalary.compareTo(rule.getSalaryCap()) <= 0) {
+                matched = rule;
+                break;
+            }
+        }
+        return Optional.ofNullable(matched.getEmployerContribution()).orElse(BigDecimal.ZERO).setScale(2, RoundingMode.HALF_UP);
     }
 
     /**
      * Calculates the PhilHealth employee contribution based on gross monthly salary and rules.
      * Rules are assumed to be sorted by minSalary in ascending order.
+     * @param config The contribution tables to apply.
      * @param grossMonthlySalary The employee's gross monthly salary.
      * @return The calculated PhilHealth deduction.
      */
-    private BigDecimal calculatePhilhealthDeduction(BigDecimal grossMonthlySalary) {
-        if (contributionConfig == null || contributionConfig.getPhilhealth() == null || contributionConfig.getPhilhealth().isEmpty()) {
+    private BigDecimal calculatePhilhealthDeduction(ContributionConfig config, BigDecimal grossMonthlySalary) {
+        if (config == null || config.getPhilhealth() == null || config.getPhilhealth().isEmpty()) {
             System.err.println("SalaryCalculatorService: PhilHealth contribution rules not loaded.");
             return BigDecimal.ZERO;
         }
 
         // Rules are pre-sorted during loadData
-        for (PhilHealthContributionRule rule : contributionConfig.getPhilhealth()) {
+        for (PhilHealthContributionRule rule : config.getPhilhealth()) {
             // Check if grossMonthlySalary falls within the current rule's salary range
             if (grossMonthlySalary.compareTo(rule.getMinSalary()) >= 0 && grossMonthlySalary.compareTo(rule.getMaxSalary()) <= 0) {
                 if (rule.getFixedEmployeeContribution() != null) {
@@ -406,11 +614,12 @@ public class SalaryCalculatorService {
     /**
      * Calculates the Pag-IBIG employee contribution based on gross monthly salary and rules.
      * Rules are assumed to be sorted by salaryCap in ascending order.
+     * @param config The contribution tables to apply.
      * @param grossMonthlySalary The employee's gross monthly salary.
      * @return The calculated Pag-IBIG deduction.
      */
-    private BigDecimal calculatePagibigDeduction(BigDecimal grossMonthlySalary) {
-        if (contributionConfig == null || contributionConfig.getPagibig() == null || contributionConfig.getPagibig().isEmpty()) {
+    private BigDecimal calculatePagibigDeduction(ContributionConfig config, BigDecimal grossMonthlySalary) {
+        if (config == null || config.getPagibig() == null || config.getPagibig().isEmpty()) {
             System.err.println("SalaryCalculatorService: Pag-IBIG contribution rules not loaded.");
             return BigDecimal.ZERO;
         }
@@ -420,7 +629,7 @@ public class SalaryCalculatorService {
 
         // Rules are pre-sorted during loadData
         BigDecimal rate = BigDecimal.ZERO;
-        for (PagIbigContributionRule rule : contributionConfig.getPagibig()) {
+        for (PagIbigContributionRule rule : config.getPagibig()) {
             if (grossMonthlySalary.compareTo(rule.getSalaryCap()) <= 0) {
                 rate = rule.getContributionRate();
                 break;
@@ -428,8 +637,8 @@ public class SalaryCalculatorService {
         }
 
         // If grossMonthlySalary exceeds all caps, use the rate of the last rule.
-        if (rate.compareTo(BigDecimal.ZERO) == 0 && !contributionConfig.getPagibig().isEmpty()) {
-            rate = contributionConfig.getPagibig().get(contributionConfig.getPagibig().size() - 1).getContributionRate();
+        if (rate.compareTo(BigDecimal.ZERO) == 0 && !config.getPagibig().isEmpty()) {
+            rate = config.getPagibig().get(config.getPagibig().size() - 1).getContributionRate();
         }
 
         BigDecimal calculatedContribution = applicableSalary.multiply(rate);
@@ -437,21 +646,46 @@ public class SalaryCalculatorService {
         return calculatedContribution.min(BigDecimal.valueOf(100.00)).setScale(2, RoundingMode.HALF_UP);
     }
 
+    /**
+     * Calculates the Pag-IBIG employer contribution on the same capped salary credit as the employee share.
+     * @param config The contribution tables to apply.
+     * @param grossMonthlySalary The employee's gross monthly salary.
+     * @return The calculated Pag-IBIG employer share.
+     */
+    private BigDecimal calculatePagibigEmployerShare(ContributionConfig config, BigDecimal grossMonthlySalary) {
+        if (config == null || config.getPagibig() == null || config.getPagibig().isEmpty()) {
+            return BigDecimal.ZERO;
+        }
+
+        BigDecimal applicableSalary = grossMonthlySalary.min(BigDecimal.valueOf(5000));
+        PagIbigContributionRule matched = config.getPagibig().get(config.getPagibig().size() - 1);
+        for (PagIbigContributionRule rule : config.getPagibig()) {
+            if (grossMonthlySalary.compareTo(rule.getSalaryCap()) <= 0) {
+                matched = rule;
+                break;
+            }
+        }
+        BigDecimal rate = Optional.ofNullable(matched.getEmployerContributionRate()).orElse(BigDecimal.ZERO);
+        // Employer share is capped at P100, mirroring the employee share
+        return applicableSalary.multiply(rate).min(BigDecimal.valueOf(100.00)).setScale(2, RoundingMode.HALF_UP);
+    }
+
     /**
      * Calculates the monthly withholding tax based on taxable income and rules.
      * Taxable income = Gross Salary - (SSS + PhilHealth + Pag-IBIG employee shares).
      * Rules are assumed to be sorted by minTaxableIncome in ascending order.
+     * @param config The contribution tables to apply.
      * @param taxableIncome The employee's taxable income for the month.
      * @return The calculated withholding tax.
      */
-    private BigDecimal calculateWithholdingTax(BigDecimal taxableIncome) {
-        if (contributionConfig == null || contributionConfig.getWithholdingTax() == null || contributionConfig.getWithholdingTax().isEmpty()) {
+    private BigDecimal calculateWithholdingTax(ContributionConfig config, BigDecimal taxableIncome) {
+        if (config == null || config.getWithholdingTax() == null || config.getWithholdingTax().isEmpty()) {
             System.err.println("SalaryCalculatorService: Withholding tax rules not loaded.");
             return BigDecimal.ZERO;
         }
 
         // Rules are pre-sorted during loadData
-        for (WithholdingTaxRule rule : contributionConfig.getWithholdingTax()) {
+        for (WithholdingTaxRule rule : config.getWithholdingTax()) {
             // Check if taxableIncome falls within the current rule's range
             if (taxableIncome.compareTo(rule.getMinTaxableIncome()) >= 0 && taxableIncome.compareTo(rule.getMaxTaxableIncome()) <= 0) {
                 BigDecimal tax = rule.getFixedTax();
@@ -467,4 +701,19 @@ public class SalaryCalculatorService {
         System.err.println("SalaryCalculatorService: No withholding tax rule matched for taxable income: " + taxableIncome);
         return BigDecimal.ZERO;
     }
+
+    /**
+     * Calculates the annual income tax due for a full year of taxable income.
+     * The configured withholding table is the monthly schedule (the annual brackets divided by 12),
+     * so the annual tax is twelve times the monthly tax on the average monthly taxable income.
+     * @param annualTaxableIncome The employee's taxable income for the whole year.
+     * @return The annual income tax due.
+     */
+    public BigDecimal calculateAnnualIncomeTax(BigDecimal annualTaxableIncome) {
+        if (annualTaxableIncome.signum() <= 0) {
+            return BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP);
+        }
+        BigDecimal monthlyEquivalent = annualTaxableIncome.divide(BigDecimal.valueOf(12), 2, RoundingMode.HALF_UP);
+        return calculateWithholdingTax(contributionConfig, monthlyEquivalent).multiply(BigDecimal.valueOf(12)).setScale(2, RoundingMode.HALF_UP);
+    }
 }
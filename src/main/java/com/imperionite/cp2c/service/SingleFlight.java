@@ -0,0 +1,100 @@
+package com.imperionite.cp2c.service;
+
+import com.imperionite.cp2c.config.ComputeExecutors;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical computations: while a computation for a key is in flight, callers asking
+ * for the same key receive the same CompletableFuture instead of starting their own. Once it completes the
+ * key is released, so later callers compute afresh (results are not cached here).
+ * Keys must identify the computation completely, including the version of any data it reads.
+ *
+ * @param <K> The key type.
+ * @param <V> The result type.
+ */
+public class SingleFlight<K, V> {
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder suppressed = new LongAdder();
+
+    /**
+     * Returns the in-flight computation for the key, or starts one.
+     * The caller that starts the computation gets the starter's own future; callers that join it get a
+     * dependent future completing with the same outcome.
+     *
+     * @param key     Identifies the computation.
+     * @param starter Starts the computation and returns its future; called at most once per flight.
+     * @return The starter's future, or a future tied to the in-flight computation.
+     * @throws RuntimeException whatever the starter throws (e.g., RejectedExecutionException); callers that
+     *                          joined in the meantime see it as their future's failure.
+     */
+    public CompletableFuture<V> execute(K key, Supplier<? extends CompletableFuture<V>> starter) {
+        CompletableFuture<V> shared = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, shared);
+        if (existing != null) {
+            suppressed.increment();
+            return existing;
+        }
+        executions.increment();
+        CompletableFuture<V> source;
+        try {
+            source = starter.get();
+        } catch (RuntimeException e) {
+            inFlight.remove(key, shared);
+            shared.completeExceptionally(e);
+            throw e;
+        }
+        source.whenComplete((result, error) -> {
+            inFlight.remove(key, shared); // Release the key before waking joiners, so later callers start afresh
+            if (error != null) {
+                shared.completeExceptionally(error);
+            } else {
+                shared.complete(result);
+            }
+        });
+        return source;
+    }
+
+    /**
+     * Computes synchronously on the calling thread, or waits for the identical in-flight computation.
+     *
+     * @param key  Identifies the computation.
+     * @param work The computation.
+     * @return The result.
+     */
+    public V get(K key, Supplier<V> work) {
+        return ComputeExecutors.await(execute(key, () -> {
+            try {
+                return CompletableFuture.completedFuture(work.get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }));
+    }
+
+    /**
+     * @return The number of computations actually started.
+     */
+    public long getExecutions() {
+        return executions.sum();
+    }
+
+    /**
+     * @return The number of requests that joined an in-flight computation instead of starting one.
+     */
+    public long getSuppressed() {
+        return suppressed.sum();
+    }
+
+    /**
+     * @return The number of computations currently in flight.
+     */
+    public int getInFlight() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,97 @@
+package com.imperionite.cp2c.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.imperionite.cp2c.dao.EmployeeDao;
+import com.imperionite.cp2c.dto.EmployeeSummaryDto;
+import com.imperionite.cp2c.model.Employee;
+import com.imperionite.cp2c.model.MonthlyCutoff;
+import com.imperionite.cp2c.service.SalaryCalculatorService;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Benchmark for gzip levels: compressed size and time per body at levels 1, 4, 6 and 9 for the employee list
+ * and payroll bodies (as served, and replicated to export size), compact and indented, built from the data/ CSVs.
+ * Not a test; run it with
+ * mvn -Pbench test-compile exec:java -Dbench.class=com.imperionite.cp2c.config.ResponseCompressionBench
+ */
+public class ResponseCompressionBench {
+
+    private static final int[] LEVELS = {1, 4, 6, 9};
+
+    public static void main(String[] args) throws IOException {
+        ObjectMapper compact = new ObjectMapper();
+        compact.registerModule(new JavaTimeModule());
+        compact.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        ObjectMapper indented = compact.copy().enable(SerializationFeature.INDENT_OUTPUT);
+
+        SalaryCalculatorService salaryCalculatorService = new SalaryCalculatorService("data/employees.csv");
+        List<Object> payroll = new ArrayList<>();
+        for (MonthlyCutoff cutoff : salaryCalculatorService.getMonthlyCutoffs()) {
+            payroll.addAll(salaryCalculatorService.streamMonthlySalaries(cutoff.getYearMonth()).collect(Collectors.toList()));
+        }
+        List<Object> employees = new ArrayList<>();
+        for (Employee employee : new EmployeeDao("data/employees.csv").getAllEmployees()) {
+            employees.add(EmployeeSummaryDto.fromEmployee(employee));
+        }
+        List<Object> employeesExport = replicate(employees, 10_000);
+        List<Object> payrollExport = replicate(payroll, 10_000);
+
+        Map<String, byte[]> bodies = new LinkedHashMap<>();
+        bodies.put("employee list, " + employees.size() + " rows", compact.writeValueAsBytes(employees));
+        bodies.put("payroll month, " + employees.size() + " rows",
+                compact.writeValueAsBytes(payroll.subList(0, Math.min(employees.size(), payroll.size()))));
+        bodies.put("employee list x" + employeesExport.size(), compact.writeValueAsBytes(employeesExport));
+        bodies.put("employee list x" + employeesExport.size() + " indented", indented.writeValueAsBytes(employeesExport));
+        bodies.put("payroll export x" + payrollExport.size(), compact.writeValueAsBytes(payrollExport));
+        bodies.put("payroll export x" + payrollExport.size() + " indented", indented.writeValueAsBytes(payrollExport));
+
+        for (Map.Entry<String, byte[]> body : bodies.entrySet()) {
+            byte[] data = body.getValue();
+            System.out.printf("%-36s %9d bytes%n", body.getKey(), data.length);
+            int runs = Math.max(5, 20_000_000 / data.length); // About 20 MB per level
+            for (int level : LEVELS) {
+                byte[] compressed = null;
+                for (int i = 0; i < runs; i++) {
+                    compressed = gzip(data, level); // Warm-up
+                }
+                long start = System.nanoTime();
+                for (int i = 0; i < runs; i++) {
+                    compressed = gzip(data, level);
+                }
+                double millis = (System.nanoTime() - start) / 1e6 / runs;
+                System.out.printf("    level %d: %9d bytes (%4.1f%%)  %8.3f ms%n", level, compressed.length,
+                        100.0 * compressed.length / data.length, millis);
+            }
+        }
+    }
+
+    private static byte[] gzip(byte[] data, int level) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(level);
+            }
+        }) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    private static List<Object> replicate(List<Object> items, int size) {
+        List<Object> replicated = new ArrayList<>(size + items.size());
+        while (replicated.size() < size) {
+            replicated.addAll(items);
+        }
+        return replicated;
+    }
+}
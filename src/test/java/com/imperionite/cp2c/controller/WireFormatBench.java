@@ -0,0 +1,95 @@
+package com.imperionite.cp2c.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.imperionite.cp2c.config.BigDecimalDeserializer;
+import com.imperionite.cp2c.dao.EmployeeDao;
+import com.imperionite.cp2c.dto.EmployeeSummaryDto;
+import com.imperionite.cp2c.model.Employee;
+import com.imperionite.cp2c.model.MonthlyCutoff;
+import com.imperionite.cp2c.service.SalaryCalculatorService;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Benchmark for the response encodings: size, encode and decode time of JSON, Smile and CBOR for the bulk
+ * bodies (payroll results, attendance records, employee summaries), replicated from the data/ CSVs.
+ * Uses mappers configured like Main's (pass "pretty" to indent JSON like -Dcp2c.prettyJson).
+ * Not a test; run it with
+ * mvn -Pbench test-compile exec:java -Dbench.class=com.imperionite.cp2c.controller.WireFormatBench
+ */
+public class WireFormatBench {
+
+    private static final int RUNS = 10;
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper jsonMapper = new ObjectMapper();
+        if (args.length > 0 && args[0].equals("pretty")) {
+            jsonMapper.enable(SerializationFeature.INDENT_OUTPUT);
+        }
+        jsonMapper.registerModule(new JavaTimeModule());
+        jsonMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        jsonMapper.registerModule(new SimpleModule().addDeserializer(BigDecimal.class, new BigDecimalDeserializer()));
+        EnumMap<WireFormat, ObjectMapper> mappers = WireFormat.mappers(jsonMapper);
+
+        SalaryCalculatorService salaryCalculatorService = new SalaryCalculatorService("data/employees.csv");
+        List<Object> payroll = new ArrayList<>();
+        List<Object> attendance = new ArrayList<>();
+        for (MonthlyCutoff cutoff : salaryCalculatorService.getMonthlyCutoffs()) {
+            payroll.addAll(salaryCalculatorService.streamMonthlySalaries(cutoff.getYearMonth()).collect(Collectors.toList()));
+            attendance.addAll(salaryCalculatorService.streamAttendanceRecords(cutoff.getYearMonth(), null)
+                    .collect(Collectors.toList()));
+        }
+        List<Object> employees = new ArrayList<>();
+        for (Employee employee : new EmployeeDao("data/employees.csv").getAllEmployees()) {
+            employees.add(EmployeeSummaryDto.fromEmployee(employee));
+        }
+
+        Map<String, List<Object>> bodies = new LinkedHashMap<>();
+        bodies.put("payroll results", replicate(payroll, 50_000));
+        bodies.put("attendance records", replicate(attendance, 100_000));
+        bodies.put("employee summaries", replicate(employees, 50_000));
+        for (Map.Entry<String, List<Object>> body : bodies.entrySet()) {
+            for (WireFormat format : WireFormat.values()) {
+                ObjectMapper mapper = mappers.get(format);
+                byte[] encoded = null;
+                for (int i = 0; i < RUNS / 2; i++) {
+                    encoded = mapper.writeValueAsBytes(body.getValue()); // Warm-up
+                }
+                long start = System.nanoTime();
+                for (int i = 0; i < RUNS; i++) {
+                    encoded = mapper.writeValueAsBytes(body.getValue());
+                }
+                double encodeMillis = (System.nanoTime() - start) / 1e6 / RUNS;
+                for (int i = 0; i < RUNS / 2; i++) {
+                    mapper.readTree(encoded);
+                }
+                JsonNode tree = null;
+                start = System.nanoTime();
+                for (int i = 0; i < RUNS; i++) {
+                    tree = mapper.readTree(encoded);
+                }
+                double decodeMillis = (System.nanoTime() - start) / 1e6 / RUNS;
+                System.out.printf("%-20s x%-7d %-6s %10d bytes  encode %7.1f ms  decode %7.1f ms%n", body.getKey(),
+                        tree.size(), format, encoded.length, encodeMillis, decodeMillis);
+            }
+        }
+    }
+
+    private static List<Object> replicate(List<Object> items, int size) {
+        List<Object> replicated = new ArrayList<>(size + items.size());
+        while (replicated.size() < size) {
+            replicated.addAll(items);
+        }
+        return replicated;
+    }
+}
@@ -0,0 +1,95 @@
+package com.imperionite.cp2c.dao;
+
+import com.imperionite.cp2c.dto.EmployeeQuery;
+import com.imperionite.cp2c.model.Employee;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Benchmark for filter expressions: the first page of each filter from the index-aware planner
+ * (EmployeeIndex.page) against a naive stream().filter() over all employees in employee-number order.
+ * Runs over synthetic employees built from data/employees.csv, with unique IDs, numbers and salaries per copy.
+ * Not a test; run it with
+ * mvn -Pbench test-compile exec:java -Dbench.class=com.imperionite.cp2c.dao.EmployeeFilterBench [-Dbench.size=100000]
+ */
+public class EmployeeFilterBench {
+
+    private static final String[] FILTERS = {
+            "employeeNumber = \"150000\"",
+            "sssNumber = \"s1234\" and status != \"x\"",
+            "lastName ~ \"villanueva\" and basicSalary > 99000",
+            "lastName ~ \"villa\" and position ~ \"payroll\" and status = \"Probationary\"",
+            "basicSalary >= 50000 and basicSalary <= 50500",
+            "status = \"Regular\" and basicSalary > 50000",
+            "status = \"Regular\" or position ~ \"manager\"",
+            "position ~ \"account\" and not status = \"Probationary\"",
+            "hourlyRate < 150",
+            "immediateSupervisor ~ \"garcia\"",
+            "firstName = \"antonio\"",
+            "riceSubsidy = 1500 and phoneAllowance != 2000",
+            "(status = \"Probationary\" or status = \"Regular\") and basicSalary < 25000"
+    };
+
+    public static void main(String[] args) {
+        int size = Integer.getInteger("bench.size", 100_000);
+        List<Employee> base = new EmployeeDao("data/employees.csv").getAllEmployees();
+        EmployeeIndex index = new EmployeeIndex();
+        List<Employee> all = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Employee employee = copy(base.get(i % base.size()), 100_000 + i, i);
+            index.put(employee);
+            all.add(employee);
+        }
+        System.out.println("EmployeeFilterBench: " + size + " employees, first page of " + EmployeeQuery.DEFAULT_LIMIT + ".");
+
+        for (String source : FILTERS) {
+            EmployeeQuery query = new EmployeeQuery();
+            query.setFilter(source);
+            EmployeeFilter filter = EmployeeFilter.compile(source);
+            // The list is already in employee-number order, so the scan stops at the first page
+            Supplier<List<Employee>> naive = () -> all.stream().filter(filter::test)
+                    .limit(EmployeeQuery.DEFAULT_LIMIT).collect(Collectors.toList());
+            Supplier<List<Employee>> planned = () -> index.page(query).getItems();
+
+            boolean same = numbers(naive.get()).equals(numbers(planned.get()));
+            System.out.printf("%-80s naive %8.3f ms  planned %8.3f ms  %s%n", source, millis(naive), millis(planned),
+                    same ? "same page" : "DIFFERENT PAGE");
+        }
+    }
+
+    private static Employee copy(Employee from, int number, int i) {
+        BigDecimal salary = BigDecimal.valueOf(20_000 + (i * 37L) % 80_000);
+        return new Employee(String.valueOf(number), from.getLastName() + (i < 34 ? "" : " " + i % 500),
+                from.getFirstName(), from.getBirthday(), from.getAddress(), "p" + i, "s" + i, "h" + i, "t" + i, "g" + i,
+                from.getStatus(), from.getPosition(), from.getImmediateSupervisor(), salary, from.getRiceSubsidy(),
+                from.getPhoneAllowance(), from.getClothingAllowance(), salary.divide(BigDecimal.valueOf(2)),
+                salary.divide(BigDecimal.valueOf(168), 2, RoundingMode.HALF_UP));
+    }
+
+    private static List<String> numbers(List<Employee> employees) {
+        return employees.stream().map(Employee::getEmployeeNumber).collect(Collectors.toList());
+    }
+
+    /**
+     * @return The median time of one call, in milliseconds, after warm-up.
+     */
+    private static double millis(Supplier<?> run) {
+        for (int i = 0; i < 20; i++) {
+            run.get();
+        }
+        long[] samples = new long[31];
+        for (int i = 0; i < samples.length; i++) {
+            long start = System.nanoTime();
+            run.get();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[samples.length / 2] / 1e6;
+    }
+}